@@ -12,6 +12,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 
 import android.support.test.InstrumentationRegistry;
+import android.util.Log;
+import com.harvard.studyappmodule.activitybuilder.model.ActivityRun;
 import com.harvard.studyappmodule.activitylistmodel.ActivitiesWS;
 import com.harvard.studyappmodule.activitylistmodel.ActivityListData;
 import com.harvard.studyappmodule.activitylistmodel.AnchorDate;
@@ -20,10 +22,20 @@ import com.harvard.studyappmodule.activitylistmodel.Frequency;
 import com.harvard.studyappmodule.activitylistmodel.FrequencyRuns;
 import com.harvard.studyappmodule.activitylistmodel.QuestionInfo;
 import com.harvard.studyappmodule.activitylistmodel.SchedulingAnchorDate;
+import com.harvard.studyappmodule.custom.result.StepRecordCustom;
+import com.harvard.studyappmodule.custom.result.StepResultAggregate;
+import com.harvard.studyappmodule.studymodel.StudyList;
+import com.harvard.studyappmodule.studymodel.StudyResource;
+import com.harvard.studyappmodule.studymodel.StudySectionVersion;
+import com.harvard.studyappmodule.studymodel.StudyUpdateData;
+import com.harvard.usermodule.webservicemodel.Studies;
 import com.harvard.utils.AppController;
 import io.realm.Realm;
 import io.realm.RealmList;
 import io.realm.RealmResults;
+import java.util.Calendar;
+import java.util.Date;
+import org.json.JSONObject;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -53,6 +65,17 @@ public class DbServiceSubscriberTest {
   private static final int TEST_START_DAYS = 10;
   private static final int TEST_END_DAYS = 1;
   private static final boolean TEST_BRANCHING = false;
+  private static final String TAG = "DbServiceSubscriberTest";
+  // hourly runs for a year
+  private static final int TEST_RUN_COUNT = 24 * 365;
+  private static final long TEST_RUN_MILLIS = 60 * 60 * 1000;
+  private static final long TEST_RUN_START = 1577836800000L;
+  private static final int TEST_LOOKUP_COUNT = 1000;
+  private static final String TEST_RESULT_ACTIVITY_ID =
+      TEST_FETALKICK + "_STUDYID_" + TEST_FETALKICK;
+  private static final String TEST_RESULT_STEP_ID = "count";
+  private static final String TEST_STUDY_VERSION = "1.0";
+  private static final String TEST_NEW_STUDY_VERSION = "1.1";
 
   @Before
   public void setUp() {
@@ -76,6 +99,163 @@ public class DbServiceSubscriberTest {
     assertThat(date.get(0).getEndTime(), equalTo(TEST_ACTIVITYESWS_END_TIME));
   }
 
+  @Test
+  public void getActivityRunForStatsAndChartsTest() {
+    realm.executeTransaction(
+        new Realm.Transaction() {
+          @Override
+          public void execute(Realm realm) {
+            for (int i = 0; i < TEST_RUN_COUNT; i++) {
+              ActivityRun activityRun = realm.createObject(ActivityRun.class);
+              activityRun.setRunId(i + 1);
+              activityRun.setStudyId(TEST_FETALKICK);
+              activityRun.setActivityId(TEST_FETALKICK);
+              activityRun.setStartDate(new Date(TEST_RUN_START + i * TEST_RUN_MILLIS));
+              activityRun.setEndDate(new Date(TEST_RUN_START + (i + 1) * TEST_RUN_MILLIS - 1));
+            }
+          }
+        });
+
+    assertThat(getRun(new Date(TEST_RUN_START - 1)), equalTo(1));
+    assertThat(getRun(new Date(TEST_RUN_START)), equalTo(1));
+    assertThat(getRun(new Date(TEST_RUN_START + TEST_RUN_MILLIS - 1)), equalTo(1));
+    assertThat(getRun(new Date(TEST_RUN_START + 100 * TEST_RUN_MILLIS + 1)), equalTo(101));
+    assertThat(
+        getRun(new Date(TEST_RUN_START + TEST_RUN_COUNT * TEST_RUN_MILLIS)),
+        equalTo(TEST_RUN_COUNT));
+
+    long startTime = System.nanoTime();
+    for (int i = 0; i < TEST_LOOKUP_COUNT; i++) {
+      int runIndex = (i * 7919) % TEST_RUN_COUNT;
+      assertThat(
+          getRun(new Date(TEST_RUN_START + runIndex * TEST_RUN_MILLIS + 1)),
+          equalTo(runIndex + 1));
+    }
+    Log.i(
+        TAG,
+        TEST_LOOKUP_COUNT
+            + " run lookups over "
+            + TEST_RUN_COUNT
+            + " runs took "
+            + (System.nanoTime() - startTime) / 1000000
+            + " ms");
+  }
+
+  @Test
+  public void stepResultAggregateTest() {
+    // results are summarised per local day
+    Calendar calendar = Calendar.getInstance();
+    calendar.clear();
+    calendar.set(2020, Calendar.JANUARY, 1);
+    long dayStart = calendar.getTimeInMillis();
+    saveStepResult(1, "2", dayStart + TEST_RUN_MILLIS);
+    saveStepResult(2, "4", dayStart + 2 * TEST_RUN_MILLIS);
+    saveStepResult(3, "9", dayStart + 3 * TEST_RUN_MILLIS);
+    saveStepResult(
+        4, "{\"duration\":\"120\",\"value\":\"10\"}", dayStart + 30 * TEST_RUN_MILLIS);
+    // answering a run again replaces its value
+    saveStepResult(3, "6", dayStart + 3 * TEST_RUN_MILLIS);
+
+    RealmResults<StepResultAggregate> aggregates = getStepResultAggregates(dayStart);
+    assertThat(aggregates.size(), equalTo(2));
+    assertThat(aggregates.get(0).getCount(), equalTo(3));
+    assertThat(aggregates.get(0).getSum(), equalTo(12.0));
+    assertThat(aggregates.get(0).getMin(), equalTo(2.0));
+    assertThat(aggregates.get(0).getMax(), equalTo(6.0));
+    assertThat(aggregates.get(1).getSum(), equalTo(2.0));
+    assertThat(aggregates.get(1).getTaskValueSum(), equalTo(10.0));
+
+    dbServiceSubscriber.deleteResponseDataFromDb(
+        InstrumentationRegistry.getTargetContext(), TEST_RESULT_ACTIVITY_ID + "_1");
+    aggregates = getStepResultAggregates(dayStart);
+    assertThat(aggregates.get(0).getCount(), equalTo(2));
+    assertThat(aggregates.get(0).getMin(), equalTo(4.0));
+  }
+
+  @Test
+  public void studySectionVersionTest() {
+    saveStudyVersion(TEST_STUDY_VERSION);
+    StudyResource studyResource = new StudyResource();
+    studyResource.setStudyId(TEST_FETALKICK);
+    dbServiceSubscriber.saveResourceList(InstrumentationRegistry.getTargetContext(), studyResource);
+    studyResource = new StudyResource();
+    studyResource.setStudyId(TEST_FETALKICK);
+    dbServiceSubscriber.saveResourceList(InstrumentationRegistry.getTargetContext(), studyResource);
+    dbServiceSubscriber.setStudySectionSynced(
+        InstrumentationRegistry.getTargetContext(), TEST_FETALKICK, StudySectionVersion.ACTIVITIES);
+    assertThat(
+        realm.where(StudyResource.class).equalTo("mStudyId", TEST_FETALKICK).count(),
+        equalTo(1L));
+    assertThat(isStudySectionSynced(StudySectionVersion.RESOURCES), equalTo(true));
+    assertThat(isStudySectionSynced(StudySectionVersion.INFO), equalTo(false));
+
+    // a new study version only invalidates the sections the study updates flag
+    realm.beginTransaction();
+    realm
+        .where(StudyList.class)
+        .equalTo(TEST_STUDY_ID_KEY, TEST_FETALKICK)
+        .findFirst()
+        .setStudyVersion(TEST_NEW_STUDY_VERSION);
+    realm.commitTransaction();
+    assertThat(isStudySectionSynced(StudySectionVersion.ACTIVITIES), equalTo(false));
+    StudyUpdateData studyUpdateData = new StudyUpdateData();
+    studyUpdateData.setResources(true);
+    dbServiceSubscriber.updateStudySectionVersions(
+        InstrumentationRegistry.getTargetContext(), TEST_FETALKICK, studyUpdateData);
+    assertThat(isStudySectionSynced(StudySectionVersion.ACTIVITIES), equalTo(true));
+    assertThat(isStudySectionSynced(StudySectionVersion.RESOURCES), equalTo(false));
+  }
+
+  private void saveStudyVersion(final String version) {
+    realm.executeTransaction(
+        new Realm.Transaction() {
+          @Override
+          public void execute(Realm realm) {
+            StudyList studyList = new StudyList();
+            studyList.setStudyId(TEST_FETALKICK);
+            studyList.setStudyVersion(version);
+            realm.copyToRealmOrUpdate(studyList);
+            Studies studies = new Studies();
+            studies.setStudyId(TEST_FETALKICK);
+            studies.setVersion(version);
+            realm.copyToRealmOrUpdate(studies);
+          }
+        });
+  }
+
+  private boolean isStudySectionSynced(String section) {
+    realm.refresh();
+    return dbServiceSubscriber.isStudySectionSynced(TEST_FETALKICK, section, realm);
+  }
+
+  private void saveStepResult(int runId, String answer, long completed) {
+    StepRecordCustom stepRecordCustom = new StepRecordCustom();
+    stepRecordCustom.setStudyId(TEST_FETALKICK);
+    stepRecordCustom.setActivityID(TEST_RESULT_ACTIVITY_ID);
+    stepRecordCustom.setTaskId(TEST_RESULT_ACTIVITY_ID + "_" + runId);
+    stepRecordCustom.setStepId(TEST_RESULT_STEP_ID);
+    stepRecordCustom.setTaskStepID(
+        TEST_RESULT_ACTIVITY_ID + "_" + runId + "_" + TEST_RESULT_STEP_ID);
+    stepRecordCustom.setCompleted(new Date(completed));
+    stepRecordCustom.setResult("{\"answer\":" + JSONObject.quote(answer) + "}");
+    dbServiceSubscriber.updateStepRecord(
+        InstrumentationRegistry.getTargetContext(), stepRecordCustom);
+  }
+
+  private RealmResults<StepResultAggregate> getStepResultAggregates(long dayStart) {
+    return dbServiceSubscriber.getStepResultAggregates(
+        TEST_RESULT_ACTIVITY_ID,
+        TEST_RESULT_STEP_ID,
+        new Date(dayStart),
+        new Date(dayStart + 48 * TEST_RUN_MILLIS),
+        realm);
+  }
+
+  private int getRun(Date date) {
+    return dbServiceSubscriber.getActivityRunForStatsAndCharts(
+        TEST_FETALKICK, TEST_FETALKICK, date, realm);
+  }
+
   @After
   public void tearDown() {
     realm.executeTransaction(
@@ -124,6 +304,39 @@ public class DbServiceSubscriberTest {
                     .equalTo(TEST_START_DAYS_KEY, TEST_START_DAYS)
                     .findAll();
             anchorRunsRealmResults.deleteAllFromRealm();
+            RealmResults<ActivityRun> activityRunRealmResults =
+                realm.where(ActivityRun.class).equalTo(TEST_STUDY_ID_KEY, TEST_FETALKICK).findAll();
+            activityRunRealmResults.deleteAllFromRealm();
+            realm
+                .where(StepRecordCustom.class)
+                .equalTo(TEST_STUDY_ID_KEY, TEST_FETALKICK)
+                .findAll()
+                .deleteAllFromRealm();
+            realm
+                .where(StepResultAggregate.class)
+                .equalTo("activityID", TEST_RESULT_ACTIVITY_ID)
+                .findAll()
+                .deleteAllFromRealm();
+            realm
+                .where(StudyResource.class)
+                .equalTo("mStudyId", TEST_FETALKICK)
+                .findAll()
+                .deleteAllFromRealm();
+            realm
+                .where(StudySectionVersion.class)
+                .equalTo(TEST_STUDY_ID_KEY, TEST_FETALKICK)
+                .findAll()
+                .deleteAllFromRealm();
+            realm
+                .where(StudyList.class)
+                .equalTo(TEST_STUDY_ID_KEY, TEST_FETALKICK)
+                .findAll()
+                .deleteAllFromRealm();
+            realm
+                .where(Studies.class)
+                .equalTo(TEST_STUDY_ID_KEY, TEST_FETALKICK)
+                .findAll()
+                .deleteAllFromRealm();
           }
         });
     dbServiceSubscriber.closeRealmObj(realm);
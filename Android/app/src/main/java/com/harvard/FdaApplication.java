@@ -32,6 +32,7 @@ import com.harvard.utils.AppVisibilityDetector;
 import com.harvard.utils.Logger;
 import com.harvard.utils.realm.RealmEncryptionHelper;
 import com.harvard.webservicemodule.WebserviceSubscriber;
+import com.harvard.webservicemodule.apihelper.HttpRequest;
 import com.uphyca.stetho_realm.RealmInspectorModulesProvider;
 import io.realm.Realm;
 import java.nio.charset.StandardCharsets;
@@ -56,6 +57,7 @@ public class FdaApplication extends Application {
     instance = this;
     super.onCreate();
     dbInitialize();
+    HttpRequest.installCache(this);
     initChannel();
     randomAlphaNumeric(50);
     startEventProcessing();
@@ -15,6 +15,7 @@
 
 package com.harvard.notificationmodule;
 
+import static com.harvard.notificationmodule.NotificationModuleSubscriber.ACTION_NEXT_NOTIFICATION;
 import static com.harvard.notificationmodule.NotificationModuleSubscriber.REQUEST_CODE_24HR_NOTIFICATION;
 
 import android.app.AlarmManager;
@@ -69,6 +70,8 @@ public class AlarmReceiver extends BroadcastReceiver {
     }
     if (pendingIntentId == REQUEST_CODE_24HR_NOTIFICATION) {
       notificationForTodayAnd24HrAlarm(context);
+    } else if (ACTION_NEXT_NOTIFICATION.equals(intent.getAction())) {
+      showDueNotifications(context);
     } else {
       showLocalNotification(context, intent);
     }
@@ -250,28 +253,27 @@ public class AlarmReceiver extends BroadcastReceiver {
     return notification;
   }
 
-  private void notificationForTodayAnd24HrAlarm(Context context) {
+  private void showDueNotifications(Context context) {
     Realm realm = AppController.getRealmobj(context);
     DbServiceSubscriber dbServiceSubscriber = new DbServiceSubscriber();
-    RealmResults<NotificationDb> notificationDbs =
-            dbServiceSubscriber.getNotificationDbByCurrentDate(realm);
     NotificationModuleSubscriber notificationModuleSubscriber =
             new NotificationModuleSubscriber(dbServiceSubscriber, realm);
-    if (notificationDbs != null) {
-      for (NotificationDb notificationDb : notificationDbs) {
-        Calendar time = Calendar.getInstance();
-        time.setTime(notificationDb.getDateTime());
-        notificationModuleSubscriber.setAlarm(
-                context,
-                notificationDb.getTitle(),
-                notificationDb.getDescription(),
-                notificationDb.getType(),
-                notificationDb.getNotificationId(),
-                notificationDb.getStudyId(),
-                notificationDb.getActivityId(),
-                time);
-      }
+    RealmResults<NotificationDb> notificationDbs =
+            notificationModuleSubscriber.getDueNotifications(context);
+    for (NotificationDb notificationDb : notificationDbs) {
+      showLocalNotification(
+              context, notificationModuleSubscriber.getNotificationIntent(context, notificationDb));
     }
+    notificationModuleSubscriber.setNextNotificationAlarm(context);
+    dbServiceSubscriber.closeRealmObj(realm);
+  }
+
+  private void notificationForTodayAnd24HrAlarm(Context context) {
+    Realm realm = AppController.getRealmobj(context);
+    DbServiceSubscriber dbServiceSubscriber = new DbServiceSubscriber();
+    NotificationModuleSubscriber notificationModuleSubscriber =
+            new NotificationModuleSubscriber(dbServiceSubscriber, realm);
+    notificationModuleSubscriber.resetNextNotificationAlarm(context);
     Calendar calendar = NotificationModuleSubscriber.getCalenderNextDay();
 
     Intent notificationIntent =
@@ -46,7 +46,14 @@ public class NotificationModuleSubscriber {
   private int pendingId = 214747;
   private int pendingId1 = 214746;
   public static final int REQUEST_CODE_24HR_NOTIFICATION = 1;
+  public static final int REQUEST_CODE_NEXT_NOTIFICATION = 2;
+  // anchored resource alarms take request codes from a counter that reaches 2 as well, the action
+  // keeps the next notification alarm's PendingIntent distinct from theirs
+  public static final String ACTION_NEXT_NOTIFICATION =
+          "com.harvard.notificationmodule.action.NEXT_NOTIFICATION";
   public static final int RECURRING_ALARM_START_ID = 5;
+  // notifications due this soon after the alarm are shown with it instead of waking up again
+  private static final long NOTIFICATION_WINDOW_MILLIS = 60 * 1000;
 
   public NotificationModuleSubscriber(DbServiceSubscriber dbServiceSubscriber, Realm realm) {
     this.dbServiceSubscriber = dbServiceSubscriber;
@@ -166,103 +173,141 @@ public class NotificationModuleSubscriber {
                       + notificationFormat.format(activityRun.getEndDate())
                       + context.getResources().getString(R.string.participation_is_important2);
     }
-    updateNotificationToDbAndSetAlarm(context, activityRun, time, title, description, offset);
+    updateNotificationToDb(context, activityRun, time, title, description, offset);
     // Notification availability for monthly, weekly, One time
     if ((type.equalsIgnoreCase(SurveyScheduler.FREQUENCY_TYPE_MONTHLY)
             || type.equalsIgnoreCase(SurveyScheduler.FREQUENCY_TYPE_WEEKLY)
             || type.equalsIgnoreCase(SurveyScheduler.FREQUENCY_TYPE_ONE_TIME))) {
-      updateNotificationToDbAndSetAlarm(context, activityRun, time1, title, description1, offset);
+      updateNotificationToDb(context, activityRun, time1, title, description1, offset);
     }
   }
 
-  private void set24hourScheduler(Context context) {
-    Calendar calendar = getCalenderNextDay();
+  /**
+   * Arms a single alarm for the earliest upcoming activity notification rather than one alarm per
+   * notification. The alarm is left as it is when the earliest notification didn't change.
+   */
+  public void setNextNotificationAlarm(Context context) {
+    String armedTime =
+            AppController.getHelperSharedPreference()
+                    .readPreference(
+                            context,
+                            context.getResources().getString(R.string.nextNotificationAlarm),
+                            "");
+    if (armedTime.isEmpty()) {
+      // earlier versions set an alarm per notification, they would show them a second time
+      cancleActivityLocalNotification(context);
+    }
+    long deliveredUntil = readTimePreference(context, R.string.notificationsDeliveredUntil);
+    NotificationDb notificationDb =
+            dbServiceSubscriber.getNextNotificationDb(
+                    new Date(Math.max(deliveredUntil, System.currentTimeMillis())), realm);
+    long alarmTime = notificationDb == null ? 0 : notificationDb.getDateTime().getTime();
+    if (armedTime.equals(String.valueOf(alarmTime))) {
+      return;
+    }
+
+    AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
     Intent notificationIntent =
             new Intent(context, AlarmReceiver.class)
-                    .setAction("android.media.action.DISPLAY_NOTIFICATION")
-                    .addCategory("android.intent.category.DEFAULT")
-                    .putExtra("pendingIntentId", REQUEST_CODE_24HR_NOTIFICATION);
-    AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+                    .setAction(ACTION_NEXT_NOTIFICATION);
     PendingIntent broadcast =
             PendingIntent.getBroadcast(
                     context,
-                    REQUEST_CODE_24HR_NOTIFICATION,
+                    REQUEST_CODE_NEXT_NOTIFICATION,
                     notificationIntent,
                     PendingIntent.FLAG_UPDATE_CURRENT);
-    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-      alarmManager.setExactAndAllowWhileIdle(
-              AlarmManager.RTC_WAKEUP, calendar.getTimeInMillis(), broadcast);
+    if (notificationDb == null) {
+      alarmManager.cancel(broadcast);
+    } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+      alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, alarmTime, broadcast);
     } else {
-      alarmManager.setExact(AlarmManager.RTC_WAKEUP, calendar.getTimeInMillis(), broadcast);
+      alarmManager.setExact(AlarmManager.RTC_WAKEUP, alarmTime, broadcast);
+    }
+    if (notificationDb != null) {
+      // re-arms this alarm every night in case it was lost
+      set24hourScheduler(context);
     }
+    AppController.getHelperSharedPreference()
+            .writePreference(
+                    context,
+                    context.getResources().getString(R.string.nextNotificationAlarm),
+                    String.valueOf(alarmTime));
   }
 
-  private boolean isSameDay(Date date1, Date date2) {
-    Calendar calendar1 = Calendar.getInstance();
-    calendar1.setTime(date1);
-    Calendar calendar2 = Calendar.getInstance();
-    calendar2.setTime(date2);
-    return calendar1.get(Calendar.YEAR) == calendar2.get(Calendar.YEAR)
-            && calendar1.get(Calendar.MONTH) == calendar2.get(Calendar.MONTH)
-            && calendar1.get(Calendar.DAY_OF_MONTH) == calendar2.get(Calendar.DAY_OF_MONTH);
+  /** Arms the next notification alarm again, after a reboot or when it may have been lost. */
+  public void resetNextNotificationAlarm(Context context) {
+    AppController.getHelperSharedPreference()
+            .writePreference(
+                    context,
+                    context.getResources().getString(R.string.nextNotificationAlarm),
+                    "-1");
+    setNextNotificationAlarm(context);
   }
 
-  public void setAlarm(
-          Context context,
-          String title,
-          String description,
-          String type,
-          int notificationId,
-          String studyId,
-          String activityId,
-          Calendar time) {
-    AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
-    int notificationNumber = 1;
-    Intent notificationIntent =
-            new Intent(context, AlarmReceiver.class)
-                    .setAction("android.media.action.DISPLAY_NOTIFICATION")
-                    .addCategory("android.intent.category.DEFAULT")
-                    .putExtra("title", title)
-                    .putExtra("description", description)
-                    .putExtra("type", type)
-                    .putExtra("notificationId", notificationId)
-                    .putExtra("studyId", studyId)
-                    .putExtra("activityId", activityId)
-                    .putExtra("date", AppController.getDateFormatForApi().format(time.getTime()))
-                    .putExtra("notificationNumber", notificationNumber);
-
-    int pendingIntentId =
-            Integer.parseInt(
-                    AppController.getHelperSharedPreference()
-                            .readPreference(
-                                    context,
-                                    context.getResources().getString(R.string.pendingCount),
-                                    String.valueOf(RECURRING_ALARM_START_ID)))
-                    + 1;
+  /**
+   * Returns the notifications the next notification alarm fired for, together with the ones due
+   * shortly after it, and marks them as delivered.
+   */
+  public RealmResults<NotificationDb> getDueNotifications(Context context) {
+    long armedTime = readTimePreference(context, R.string.nextNotificationAlarm);
+    long deliveredUntil = readTimePreference(context, R.string.notificationsDeliveredUntil);
+    long until = System.currentTimeMillis() + NOTIFICATION_WINDOW_MILLIS;
+    RealmResults<NotificationDb> notificationDbs =
+            dbServiceSubscriber.getNotificationDbBetween(
+                    new Date(Math.max(deliveredUntil, armedTime - 1)), new Date(until), realm);
     AppController.getHelperSharedPreference()
             .writePreference(
-                    context, context.getResources().getString(R.string.pendingCount), "" + pendingIntentId);
+                    context,
+                    context.getResources().getString(R.string.notificationsDeliveredUntil),
+                    String.valueOf(until));
+    return notificationDbs;
+  }
+
+  public Intent getNotificationIntent(Context context, NotificationDb notificationDb) {
+    return new Intent(context, AlarmReceiver.class)
+            .setAction("android.media.action.DISPLAY_NOTIFICATION")
+            .addCategory("android.intent.category.DEFAULT")
+            .putExtra("title", notificationDb.getTitle())
+            .putExtra("description", notificationDb.getDescription())
+            .putExtra("type", notificationDb.getType())
+            .putExtra("notificationId", notificationDb.getNotificationId())
+            .putExtra("studyId", notificationDb.getStudyId())
+            .putExtra("activityId", notificationDb.getActivityId())
+            .putExtra(
+                    "date",
+                    AppController.getDateFormatForApi().format(notificationDb.getDateTime()))
+            .putExtra("notificationNumber", 1);
+  }
 
-    notificationIntent.putExtra("pendingIntentId", pendingIntentId);
+  private long readTimePreference(Context context, int key) {
+    try {
+      return Long.parseLong(
+              AppController.getHelperSharedPreference()
+                      .readPreference(context, context.getResources().getString(key), "0"));
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
 
+  private void set24hourScheduler(Context context) {
+    Calendar calendar = getCalenderNextDay();
+    Intent notificationIntent =
+            new Intent(context, AlarmReceiver.class)
+                    .setAction("android.media.action.DISPLAY_NOTIFICATION")
+                    .addCategory("android.intent.category.DEFAULT")
+                    .putExtra("pendingIntentId", REQUEST_CODE_24HR_NOTIFICATION);
+    AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
     PendingIntent broadcast =
             PendingIntent.getBroadcast(
-                    context, pendingIntentId, notificationIntent, PendingIntent.FLAG_UPDATE_CURRENT);
-    PendingIntents pendingIntents = new PendingIntents();
-    pendingIntents.setActivityId(activityId);
-    pendingIntents.setStudyId(studyId);
-    pendingIntents.setPendingIntentId(pendingIntentId);
-    pendingIntents.setDescription(description);
-    pendingIntents.setTitle(title);
-    pendingIntents.setType(type);
-    pendingIntents.setNotificationId(notificationId);
-
-    dbServiceSubscriber.savePendingIntentId(context, pendingIntents);
+                    context,
+                    REQUEST_CODE_24HR_NOTIFICATION,
+                    notificationIntent,
+                    PendingIntent.FLAG_UPDATE_CURRENT);
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
       alarmManager.setExactAndAllowWhileIdle(
-              AlarmManager.RTC_WAKEUP, time.getTimeInMillis(), broadcast);
+              AlarmManager.RTC_WAKEUP, calendar.getTimeInMillis(), broadcast);
     } else {
-      alarmManager.setExact(AlarmManager.RTC_WAKEUP, time.getTimeInMillis(), broadcast);
+      alarmManager.setExact(AlarmManager.RTC_WAKEUP, calendar.getTimeInMillis(), broadcast);
     }
   }
 
@@ -519,6 +564,8 @@ public class NotificationModuleSubscriber {
 
   public void cancleActivityLocalNotificationByIds(
           Context context, String activityId, String studyId) {
+    dbServiceSubscriber.deleteUpcomingNotificationDb(context, activityId, studyId);
+    setNextNotificationAlarm(context);
     AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
 
     RealmResults<PendingIntents> pendingIntentses =
@@ -550,6 +597,18 @@ public class NotificationModuleSubscriber {
 
   public void cancleActivityLocalNotification(Context context) {
     AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+    Intent nextNotificationIntent =
+            new Intent(context, AlarmReceiver.class)
+                    .setAction(ACTION_NEXT_NOTIFICATION);
+    alarmManager.cancel(
+            PendingIntent.getBroadcast(
+                    context,
+                    REQUEST_CODE_NEXT_NOTIFICATION,
+                    nextNotificationIntent,
+                    PendingIntent.FLAG_UPDATE_CURRENT));
+    AppController.getHelperSharedPreference()
+            .writePreference(
+                    context, context.getResources().getString(R.string.nextNotificationAlarm), "0");
 
     RealmResults<PendingIntents> pendingIntentses = dbServiceSubscriber.getPendingIntentId(realm);
     if (pendingIntentses != null) {
@@ -576,7 +635,7 @@ public class NotificationModuleSubscriber {
     }
   }
 
-  private void updateNotificationToDbAndSetAlarm(
+  private void updateNotificationToDb(
           Context context,
           ActivityRun activityRun,
           Calendar time,
@@ -599,19 +658,6 @@ public class NotificationModuleSubscriber {
     notificationDb.setDescription(description);
     notificationDb.setEndDateTime(removeOffset(activityRun.getEndDate(), offset));
     dbServiceSubscriber.updateNotificationToDb(context, notificationDb);
-
-    set24hourScheduler(context);
-    if (isSameDay(new Date(), time.getTime())) {
-      setAlarm(
-              context,
-              title,
-              description,
-              ACTIVITY,
-              notificationId,
-              activityRun.getStudyId(),
-              activityRun.getActivityId(),
-              time);
-    }
   }
 
   public static Calendar getCalenderNextDay() {
@@ -1,11 +1,12 @@
 package com.harvard.notificationmodule;
 
 import io.realm.RealmObject;
+import io.realm.annotations.Index;
 
 public class PendingIntents extends RealmObject {
   private int pendingIntentId;
 
-  private String activityId;
+  @Index private String activityId;
 
   private String title;
 
@@ -15,7 +16,7 @@ public class PendingIntents extends RealmObject {
 
   private int notificationId;
 
-  private String studyId;
+  @Index private String studyId;
 
   public int getNotificationId() {
     return notificationId;
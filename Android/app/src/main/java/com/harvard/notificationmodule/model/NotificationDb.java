@@ -15,17 +15,18 @@
 package com.harvard.notificationmodule.model;
 
 import io.realm.RealmObject;
+import io.realm.annotations.Index;
 import java.util.Date;
 
 public class NotificationDb extends RealmObject {
   private String title;
   private String description;
-  private String activityId;
-  private String studyId;
+  @Index private String activityId;
+  @Index private String studyId;
   private int notificationId;
   private String type;
   private int id;
-  private Date dateTime;
+  @Index private Date dateTime;
   private Date endDateTime;
 
   public Date getEndDateTime() {
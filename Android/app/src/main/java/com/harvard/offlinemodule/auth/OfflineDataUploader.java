@@ -0,0 +1,314 @@
+/*
+ * Copyright 2020 Google LLC
+ *
+ * Use of this source code is governed by an MIT-style
+ * license that can be found in the LICENSE file or at
+ * https://opensource.org/licenses/MIT.
+ */
+
+package com.harvard.offlinemodule.auth;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.SparseArray;
+import com.harvard.R;
+import com.harvard.offlinemodule.model.OfflineData;
+import com.harvard.storagemodule.DbServiceSubscriber;
+import com.harvard.studyappmodule.StudyModulePresenter;
+import com.harvard.studyappmodule.events.ProcessResponseEvent;
+import com.harvard.usermodule.UserModulePresenter;
+import com.harvard.usermodule.event.UpdatePreferenceEvent;
+import com.harvard.usermodule.event.UpdateUserProfileEvent;
+import com.harvard.usermodule.webservicemodel.LoginData;
+import com.harvard.utils.AppController;
+import com.harvard.utils.Logger;
+import com.harvard.utils.Urls;
+import com.harvard.webservicemodule.apihelper.ApiCall;
+import com.harvard.webservicemodule.events.ParticipantDatastoreConfigEvent;
+import com.harvard.webservicemodule.events.ParticipantEnrollmentDatastoreConfigEvent;
+import com.harvard.webservicemodule.events.ResponseDatastoreConfigEvent;
+import io.realm.Realm;
+import io.realm.RealmResults;
+import io.realm.Sort;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Uploads the pending {@link OfflineData} rows. Study and activity state rows for the same endpoint
+ * and participant are merged into one request, a few requests are kept in flight, and the rows of
+ * an acknowledged request are deleted together. Requests for the same endpoint, study and
+ * participant are sent one after another, in the order they were saved, so a later state never
+ * reaches the server before an earlier one. Failed requests are retried with an exponential
+ * backoff.
+ */
+public class OfflineDataUploader implements ApiCall.OnAsyncRequestComplete {
+
+  public interface OnUploadComplete {
+    void onUploadComplete();
+  }
+
+  private static final int MAX_IN_FLIGHT = 3;
+  private static final int MAX_ROWS_PER_REQUEST = 50;
+  private static final int MAX_RETRIES = 5;
+  private static final long INITIAL_BACKOFF_MILLIS = 2000;
+  // every in-flight request gets its own response code to find its rows in the callback
+  private static final int UPLOAD_RESPONSECODE_BASE = 1000;
+
+  private final Context context;
+  private final OnUploadComplete onUploadComplete;
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final DbServiceSubscriber dbServiceSubscriber = new DbServiceSubscriber();
+  private final Deque<UploadBatch> pendingBatches = new ArrayDeque<>();
+  private final SparseArray<UploadBatch> inFlightBatches = new SparseArray<>();
+  private final Set<String> inFlightKeys = new HashSet<>();
+  private int nextResponseCode = UPLOAD_RESPONSECODE_BASE;
+  private int retries;
+  private boolean retryScheduled;
+  private boolean completed;
+
+  public OfflineDataUploader(Context context, OnUploadComplete onUploadComplete) {
+    this.context = context;
+    this.onUploadComplete = onUploadComplete;
+  }
+
+  public void start() {
+    try {
+      loadBatches();
+    } catch (Exception e) {
+      Logger.log(e);
+    }
+    dispatch();
+  }
+
+  private void loadBatches() {
+    Realm realm = AppController.getRealmobj(context);
+    RealmResults<OfflineData> results =
+        realm.where(OfflineData.class).findAll().sort("number", Sort.ASCENDING);
+    Map<String, UploadBatch> batches = new LinkedHashMap<>();
+    for (OfflineData offlineData : results) {
+      String arrayKey = getMergeableArrayKey(offlineData.getUrl());
+      JSONObject json = parseJson(offlineData.getJsonParam());
+      String orderKey =
+          offlineData.getServerType()
+              + offlineData.getHttpMethod()
+              + offlineData.getUrl()
+              + (json == null ? "" : json.optString("studyId") + json.optString("participantId"));
+      String batchKey;
+      if (arrayKey == null || json == null || json.optJSONArray(arrayKey) == null) {
+        batchKey = "row" + offlineData.getNumber();
+      } else {
+        batchKey = orderKey;
+      }
+
+      UploadBatch batch = batches.get(batchKey);
+      if (batch != null && batch.numbers.size() >= MAX_ROWS_PER_REQUEST) {
+        pendingBatches.add(batch);
+        batches.remove(batchKey);
+        batch = null;
+      }
+      if (batch == null) {
+        batch = new UploadBatch(offlineData, json, orderKey);
+        batches.put(batchKey, batch);
+      } else {
+        batch.merge(offlineData.getNumber(), json.optJSONArray(arrayKey), arrayKey);
+      }
+    }
+    pendingBatches.addAll(batches.values());
+    dbServiceSubscriber.closeRealmObj(realm);
+  }
+
+  private static String getMergeableArrayKey(String url) {
+    if (Urls.UPDATE_STUDY_PREFERENCE.equals(url)) {
+      return "studies";
+    } else if (Urls.UPDATE_ACTIVITY_PREFERENCE.equals(url)) {
+      return "activity";
+    }
+    return null;
+  }
+
+  private static JSONObject parseJson(String jsonString) {
+    try {
+      return new JSONObject(jsonString);
+    } catch (Exception e) {
+      Logger.log(e);
+      return null;
+    }
+  }
+
+  private void dispatch() {
+    if (retryScheduled || completed) {
+      return;
+    }
+    Iterator<UploadBatch> iterator = pendingBatches.iterator();
+    while (retries <= MAX_RETRIES && inFlightBatches.size() < MAX_IN_FLIGHT && iterator.hasNext()) {
+      UploadBatch batch = iterator.next();
+      if (inFlightKeys.contains(batch.orderKey)) {
+        // waits for the earlier request of the same key
+        continue;
+      }
+      iterator.remove();
+      int responseCode = nextResponseCode++;
+      inFlightBatches.put(responseCode, batch);
+      inFlightKeys.add(batch.orderKey);
+      if (!updateServer(batch, responseCode)) {
+        // rows without a known server type can never be sent
+        inFlightBatches.remove(responseCode);
+        inFlightKeys.remove(batch.orderKey);
+      }
+    }
+    if (inFlightBatches.size() == 0 && (pendingBatches.isEmpty() || retries > MAX_RETRIES)) {
+      completed = true;
+      onUploadComplete.onUploadComplete();
+    }
+  }
+
+  private boolean updateServer(UploadBatch batch, int responseCode) {
+    HashMap<String, String> header = new HashMap<>();
+    header.put(
+        "auth",
+        AppController.getHelperSharedPreference()
+            .readPreference(context, context.getResources().getString(R.string.auth), ""));
+    header.put(
+        "userId",
+        AppController.getHelperSharedPreference()
+            .readPreference(context, context.getResources().getString(R.string.userid), ""));
+
+    if (batch.serverType.equalsIgnoreCase("ParticipantEnrollmentDatastore")) {
+      UpdatePreferenceEvent updatePreferenceEvent = new UpdatePreferenceEvent();
+      ParticipantEnrollmentDatastoreConfigEvent participantEnrollmentDatastoreConfigEvent =
+          new ParticipantEnrollmentDatastoreConfigEvent(
+              batch.httpMethod,
+              batch.url,
+              responseCode,
+              context,
+              LoginData.class,
+              null,
+              header,
+              batch.json,
+              false,
+              this);
+      updatePreferenceEvent.setParticipantEnrollmentDatastoreConfigEvent(
+          participantEnrollmentDatastoreConfigEvent);
+      UserModulePresenter userModulePresenter = new UserModulePresenter();
+      userModulePresenter.performUpdateUserPreference(updatePreferenceEvent);
+    } else if (batch.serverType.equalsIgnoreCase("ResponseDatastore")) {
+      ProcessResponseEvent processResponseEvent = new ProcessResponseEvent();
+      ResponseDatastoreConfigEvent responseDatastoreConfigEvent =
+          new ResponseDatastoreConfigEvent(
+              batch.httpMethod,
+              batch.url,
+              responseCode,
+              context,
+              LoginData.class,
+              null,
+              header,
+              batch.json,
+              false,
+              this);
+      processResponseEvent.setResponseDatastoreConfigEvent(responseDatastoreConfigEvent);
+      StudyModulePresenter studyModulePresenter = new StudyModulePresenter();
+      studyModulePresenter.performProcessResponse(processResponseEvent);
+    } else if (batch.serverType.equalsIgnoreCase("ParticipantDatastoreServer")) {
+      UpdateUserProfileEvent updateUserProfileEvent = new UpdateUserProfileEvent();
+      ParticipantDatastoreConfigEvent participantDatastoreConfigEvent =
+          new ParticipantDatastoreConfigEvent(
+              batch.httpMethod,
+              batch.url,
+              responseCode,
+              context,
+              LoginData.class,
+              null,
+              header,
+              batch.json,
+              false,
+              this);
+      updateUserProfileEvent.setParticipantDatastoreConfigEvent(participantDatastoreConfigEvent);
+      UserModulePresenter userModulePresenter = new UserModulePresenter();
+      userModulePresenter.performUpdateUserProfile(updateUserProfileEvent);
+    } else {
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public <T> void asyncResponse(T response, int responseCode) {
+    UploadBatch batch = inFlightBatches.get(responseCode);
+    if (batch == null) {
+      return;
+    }
+    inFlightBatches.remove(responseCode);
+    inFlightKeys.remove(batch.orderKey);
+    dbServiceSubscriber.deleteOfflineDataRows(
+        context, batch.numbers.toArray(new Integer[batch.numbers.size()]));
+    retries = 0;
+    dispatch();
+  }
+
+  @Override
+  public void asyncResponseFailure(int responseCode, String errormsg, String statusCode) {
+    UploadBatch batch = inFlightBatches.get(responseCode);
+    if (batch == null) {
+      return;
+    }
+    inFlightBatches.remove(responseCode);
+    inFlightKeys.remove(batch.orderKey);
+    pendingBatches.addFirst(batch);
+    if (!retryScheduled) {
+      retryScheduled = true;
+      long backoffMillis = INITIAL_BACKOFF_MILLIS << retries;
+      retries++;
+      handler.postDelayed(
+          new Runnable() {
+            @Override
+            public void run() {
+              retryScheduled = false;
+              dispatch();
+            }
+          },
+          retries > MAX_RETRIES ? 0 : backoffMillis);
+    }
+  }
+
+  private static class UploadBatch {
+    private final String httpMethod;
+    private final String url;
+    private final String serverType;
+    private final JSONObject json;
+    private final String orderKey;
+    private final List<Integer> numbers = new ArrayList<>();
+
+    UploadBatch(OfflineData offlineData, JSONObject json, String orderKey) {
+      this.httpMethod = offlineData.getHttpMethod();
+      this.url = offlineData.getUrl();
+      this.serverType = offlineData.getServerType();
+      this.json = json;
+      this.orderKey = orderKey;
+      numbers.add(offlineData.getNumber());
+    }
+
+    void merge(int number, JSONArray items, String arrayKey) {
+      JSONArray mergedItems = json.optJSONArray(arrayKey);
+      try {
+        for (int i = 0; i < items.length(); i++) {
+          mergedItems.put(items.get(i));
+        }
+        numbers.add(number);
+      } catch (JSONException e) {
+        Logger.log(e);
+      }
+    }
+  }
+}
@@ -24,37 +24,15 @@ import android.content.Intent;
 import android.content.SyncResult;
 import android.os.Build;
 import android.os.Bundle;
-import com.harvard.R;
-import com.harvard.offlinemodule.model.OfflineData;
-import com.harvard.storagemodule.DbServiceSubscriber;
-import com.harvard.studyappmodule.StudyModulePresenter;
-import com.harvard.studyappmodule.events.ProcessResponseEvent;
-import com.harvard.usermodule.UserModulePresenter;
-import com.harvard.usermodule.event.UpdatePreferenceEvent;
-import com.harvard.usermodule.webservicemodel.LoginData;
 import com.harvard.utils.ActiveTaskService;
-import com.harvard.utils.AppController;
-import com.harvard.utils.Logger;
-import com.harvard.webservicemodule.apihelper.ApiCall;
-import com.harvard.webservicemodule.events.ParticipantEnrollmentDatastoreConfigEvent;
-import com.harvard.webservicemodule.events.ResponseDatastoreConfigEvent;
-import io.realm.Realm;
-import io.realm.RealmResults;
-import java.util.HashMap;
-import org.json.JSONException;
-import org.json.JSONObject;
 
-public class SyncAdapter extends AbstractThreadedSyncAdapter
-    implements ApiCall.OnAsyncRequestComplete {
+public class SyncAdapter extends AbstractThreadedSyncAdapter {
 
   private Context context;
-  private static final int UPDATE_USERPREFERENCE_RESPONSECODE = 102;
-  private DbServiceSubscriber dbServiceSubscriber;
 
   public SyncAdapter(Context context, boolean autoInitialize) {
     super(context, autoInitialize);
     this.context = context;
-    dbServiceSubscriber = new DbServiceSubscriber();
   }
 
   @Override
@@ -86,105 +64,4 @@ public class SyncAdapter extends AbstractThreadedSyncAdapter
     }
     return false;
   }
-
-  private void getPendingData() {
-    try {
-      dbServiceSubscriber = new DbServiceSubscriber();
-      Realm realm = AppController.getRealmobj(context);
-      RealmResults<OfflineData> results = dbServiceSubscriber.getOfflineData(realm);
-      if (!results.isEmpty()) {
-        for (int i = 0; i < results.size(); i++) {
-          String httpMethod = results.get(i).getHttpMethod();
-          String url = results.get(i).getUrl();
-          String jsonObject = results.get(i).getJsonParam();
-          String serverType = results.get(i).getServerType();
-          updateServer(httpMethod, url, jsonObject, serverType);
-          break;
-        }
-      } else {
-        dbServiceSubscriber.closeRealmObj(realm);
-      }
-    } catch (Exception e) {
-      Logger.log(e);
-    }
-  }
-
-  private void updateServer(
-      String httpMethod, String url, String jsonObjectString, String serverType) {
-
-    JSONObject jsonObject = null;
-    try {
-      jsonObject = new JSONObject(jsonObjectString);
-    } catch (JSONException e) {
-      Logger.log(e);
-    }
-
-    if (serverType.equalsIgnoreCase("ParticipantEnrollmentDatastore")) {
-      HashMap<String, String> header = new HashMap();
-      header.put(
-          "auth",
-          AppController.getHelperSharedPreference()
-              .readPreference(context, context.getResources().getString(R.string.auth), ""));
-      header.put(
-          "userId",
-          AppController.getHelperSharedPreference()
-              .readPreference(context, context.getResources().getString(R.string.userid), ""));
-
-      UpdatePreferenceEvent updatePreferenceEvent = new UpdatePreferenceEvent();
-      ParticipantEnrollmentDatastoreConfigEvent participantEnrollmentDatastoreConfigEvent =
-          new ParticipantEnrollmentDatastoreConfigEvent(
-              httpMethod,
-              url,
-              UPDATE_USERPREFERENCE_RESPONSECODE,
-              context,
-              LoginData.class,
-              null,
-              header,
-              jsonObject,
-              false,
-              this);
-      updatePreferenceEvent.setParticipantEnrollmentDatastoreConfigEvent(
-          participantEnrollmentDatastoreConfigEvent);
-      UserModulePresenter userModulePresenter = new UserModulePresenter();
-      userModulePresenter.performUpdateUserPreference(updatePreferenceEvent);
-    } else if (serverType.equalsIgnoreCase("ResponseDatastore")) {
-      HashMap<String, String> header = new HashMap();
-      header.put(
-          "auth",
-          AppController.getHelperSharedPreference()
-              .readPreference(context, context.getResources().getString(R.string.auth), ""));
-      header.put(
-          "userId",
-          AppController.getHelperSharedPreference()
-              .readPreference(context, context.getResources().getString(R.string.userid), ""));
-      ProcessResponseEvent processResponseEvent = new ProcessResponseEvent();
-      ResponseDatastoreConfigEvent responseDatastoreConfigEvent =
-          new ResponseDatastoreConfigEvent(
-              httpMethod,
-              url,
-              UPDATE_USERPREFERENCE_RESPONSECODE,
-              context,
-              LoginData.class,
-              null,
-              header,
-              jsonObject,
-              false,
-              this);
-
-      processResponseEvent.setResponseDatastoreConfigEvent(responseDatastoreConfigEvent);
-      StudyModulePresenter studyModulePresenter = new StudyModulePresenter();
-      studyModulePresenter.performProcessResponse(processResponseEvent);
-    }
-  }
-
-  @Override
-  public <T> void asyncResponse(T response, int responseCode) {
-    if (responseCode == UPDATE_USERPREFERENCE_RESPONSECODE) {
-      dbServiceSubscriber.removeOfflineData(context);
-      getPendingData();
-    }
-  }
-
-  @Override
-  public void asyncResponseFailure(int responseCode, String errormsg, String statusCode) {}
 }
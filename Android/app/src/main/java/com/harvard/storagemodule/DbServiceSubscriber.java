@@ -22,12 +22,15 @@ import com.harvard.offlinemodule.model.OfflineData;
 import com.harvard.storagemodule.events.DatabaseEvent;
 import com.harvard.studyappmodule.SurveyActivitiesFragment;
 import com.harvard.studyappmodule.activitybuilder.model.ActivityRun;
+import com.harvard.studyappmodule.activitybuilder.model.ActivityRunSchedule;
 import com.harvard.studyappmodule.activitybuilder.model.servicemodel.ActivityObj;
 import com.harvard.studyappmodule.activitybuilder.model.servicemodel.Steps;
 import com.harvard.studyappmodule.activitylistmodel.ActivitiesWS;
 import com.harvard.studyappmodule.activitylistmodel.ActivityListData;
 import com.harvard.studyappmodule.consent.model.EligibilityConsent;
 import com.harvard.studyappmodule.custom.result.StepRecordCustom;
+import com.harvard.studyappmodule.custom.result.StepResultAggregate;
+import com.harvard.studyappmodule.custom.result.StepResultSummary;
 import com.harvard.studyappmodule.studymodel.ConsentDocumentData;
 import com.harvard.studyappmodule.studymodel.ConsentPDF;
 import com.harvard.studyappmodule.studymodel.ConsentPdfData;
@@ -40,7 +43,9 @@ import com.harvard.studyappmodule.studymodel.Study;
 import com.harvard.studyappmodule.studymodel.StudyHome;
 import com.harvard.studyappmodule.studymodel.StudyList;
 import com.harvard.studyappmodule.studymodel.StudyResource;
+import com.harvard.studyappmodule.studymodel.StudySectionVersion;
 import com.harvard.studyappmodule.studymodel.StudyUpdate;
+import com.harvard.studyappmodule.studymodel.StudyUpdateData;
 import com.harvard.studyappmodule.studymodel.StudyUpdateListdata;
 import com.harvard.usermodule.webservicemodel.Activities;
 import com.harvard.usermodule.webservicemodel.ActivityData;
@@ -58,6 +63,7 @@ import io.realm.Sort;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import org.researchstack.backbone.task.Task;
 
 public class DbServiceSubscriber {
@@ -179,18 +185,42 @@ public class DbServiceSubscriber {
             .findAll();
   }
 
-  public RealmResults<NotificationDb> getNotificationDbByCurrentDate(Realm realm) {
-    Calendar calendar = Calendar.getInstance();
-    calendar.set(Calendar.HOUR_OF_DAY, 23);
-    calendar.set(Calendar.MINUTE, 59);
-    calendar.set(Calendar.SECOND, 59);
+  public NotificationDb getNextNotificationDb(Date after, Realm realm) {
+    return realm
+            .where(NotificationDb.class)
+            .greaterThan("dateTime", after)
+            .sort("dateTime", Sort.ASCENDING)
+            .findFirst();
+  }
+
+  public RealmResults<NotificationDb> getNotificationDbBetween(
+          Date after, Date until, Realm realm) {
     return realm
             .where(NotificationDb.class)
-            .greaterThanOrEqualTo("dateTime", new Date())
-            .lessThanOrEqualTo("dateTime", calendar.getTime())
+            .greaterThan("dateTime", after)
+            .lessThanOrEqualTo("dateTime", until)
+            .sort("dateTime", Sort.ASCENDING)
             .findAll();
   }
 
+  public void deleteUpcomingNotificationDb(
+          Context context, final String activityId, final String studyId) {
+    realm = AppController.getRealmobj(context);
+    realm.executeTransaction(new Realm.Transaction() {
+      @Override
+      public void execute(Realm realm) {
+        realm
+                .where(NotificationDb.class)
+                .equalTo("activityId", activityId)
+                .equalTo("studyId", studyId)
+                .greaterThan("dateTime", new Date())
+                .findAll()
+                .deleteAllFromRealm();
+      }
+    });
+    closeRealmObj(realm);
+  }
+
   public RealmResults<NotificationDbResources> getNotificationDbResourcesByDate(
           Date startDate, Realm realm) {
     return realm
@@ -281,21 +311,15 @@ public class DbServiceSubscriber {
           String activityID, String studyId, Date date, Realm realm) {
     RealmResults<ActivityRun> activityRuns = getAllActivityRunFromDB(studyId, activityID, realm);
     int run = 1;
-    boolean available = false;
-    for (int i = 0; i < activityRuns.size(); i++) {
-      run = activityRuns.get(i).getRunId();
-      if ((activityRuns.get(i).getStartDate().equals(date)
-              || (date.after(activityRuns.get(i).getStartDate()))
-              && ((activityRuns.get(i).getEndDate().equals(date)
-              || date.before(activityRuns.get(i).getEndDate()))))) {
-        available = true;
-      }
-      if (date.before(activityRuns.get(i).getEndDate())) {
-        if (!available) {
-          run = run - 1;
-        }
-        break;
+    int index = findFirstRunEndingAfter(activityRuns, date);
+    if (index < activityRuns.size()) {
+      run = activityRuns.get(index).getRunId();
+      // the date falls before this run, so the previous run is the one it belongs to
+      if (date.before(activityRuns.get(index).getStartDate())) {
+        run = run - 1;
       }
+    } else if (!activityRuns.isEmpty()) {
+      run = activityRuns.get(activityRuns.size() - 1).getRunId();
     }
     if (run <= 0) {
       run = 1;
@@ -303,6 +327,25 @@ public class DbServiceSubscriber {
     return run;
   }
 
+  /**
+   * Binary search over runs sorted by run id, which also orders them by time.
+   *
+   * @return index of the first run ending after the date, or the size of the list if none does
+   */
+  static int findFirstRunEndingAfter(List<ActivityRun> activityRuns, Date date) {
+    int low = 0;
+    int high = activityRuns.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (date.before(activityRuns.get(mid).getEndDate())) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+
   public ActivityRun getPreviousActivityRunFromDB(
           String activityID, String studyId, Date currentDate, Realm realm) {
     return realm
@@ -325,6 +368,87 @@ public class DbServiceSubscriber {
             .findAll();
   }
 
+  /** Last run that contains the date, runs of a manual schedule may overlap. */
+  public ActivityRun getActivityRunContaining(
+          String studyId, String activityID, Date date, Realm realm) {
+    return realm
+            .where(ActivityRun.class)
+            .equalTo("studyId", studyId)
+            .equalTo("activityId", activityID)
+            .lessThanOrEqualTo("startDate", date)
+            .greaterThanOrEqualTo("endDate", date)
+            .sort("runId", Sort.DESCENDING)
+            .findAll()
+            .first(null);
+  }
+
+  /** Last run that is over before the date. */
+  public ActivityRun getActivityRunEndedBefore(
+          String studyId, String activityID, Date date, Realm realm) {
+    return realm
+            .where(ActivityRun.class)
+            .equalTo("studyId", studyId)
+            .equalTo("activityId", activityID)
+            .lessThan("startDate", date)
+            .lessThan("endDate", date)
+            .sort("runId", Sort.DESCENDING)
+            .findAll()
+            .first(null);
+  }
+
+  public ActivityRunSchedule getActivityRunSchedule(
+          String studyId, String activityID, Realm realm) {
+    return realm
+            .where(ActivityRunSchedule.class)
+            .equalTo("scheduleId", ActivityRunSchedule.getScheduleId(studyId, activityID))
+            .findFirst();
+  }
+
+  /**
+   * Writes generated runs and the schedule they belong to in one transaction. Runs that already
+   * exist keep their completion state and only get the new dates.
+   */
+  public void saveActivityRuns(
+          Context context,
+          final List<ActivityRun> activityRuns,
+          final ActivityRunSchedule activityRunSchedule,
+          final boolean replaceAll) {
+    realm = AppController.getRealmobj(context);
+    realm.executeTransaction(new Realm.Transaction() {
+      @Override
+      public void execute(Realm realm) {
+        if (replaceAll) {
+          realm
+                  .where(ActivityRun.class)
+                  .equalTo("studyId", activityRunSchedule.getStudyId())
+                  .equalTo("activityId", activityRunSchedule.getActivityId())
+                  .findAll()
+                  .deleteAllFromRealm();
+        }
+        for (ActivityRun activityRun : activityRuns) {
+          ActivityRun storedRun = null;
+          if (!replaceAll) {
+            storedRun =
+                    realm
+                            .where(ActivityRun.class)
+                            .equalTo("studyId", activityRun.getStudyId())
+                            .equalTo("activityId", activityRun.getActivityId())
+                            .equalTo("runId", activityRun.getRunId())
+                            .findFirst();
+          }
+          if (storedRun == null) {
+            realm.copyToRealm(activityRun);
+          } else {
+            storedRun.setStartDate(activityRun.getStartDate());
+            storedRun.setEndDate(activityRun.getEndDate());
+          }
+        }
+        realm.copyToRealmOrUpdate(activityRunSchedule);
+      }
+    });
+    closeRealmObj(realm);
+  }
+
   public void updateActivityRunToDB(Context context, String activityID, String studyId, int runId) {
     realm = AppController.getRealmobj(context);
     ActivityRun activityRun =
@@ -348,14 +472,6 @@ public class DbServiceSubscriber {
     closeRealmObj(realm);
   }
 
-  public void savePendingIntentId(Context context, PendingIntents pendingIntents) {
-    realm = AppController.getRealmobj(context);
-    realm.beginTransaction();
-    realm.copyToRealm(pendingIntents);
-    realm.commitTransaction();
-    closeRealmObj(realm);
-  }
-
   public void savePendingIntentIdResources(
           Context context, PendingIntentsResources pendingIntents) {
     realm = AppController.getRealmobj(context);
@@ -494,11 +610,17 @@ public class DbServiceSubscriber {
     return realm.where(StudyList.class).equalTo("studyId", studyId).findFirst();
   }
 
-  public void saveStudyInfoToDB(Context context, StudyHome studyHome) {
+  public void saveStudyInfoToDB(Context context, final StudyHome studyHome) {
     realm = AppController.getRealmobj(context);
-    realm.beginTransaction();
-    realm.copyToRealmOrUpdate(studyHome);
-    realm.commitTransaction();
+    realm.executeTransaction(new Realm.Transaction() {
+      @Override
+      public void execute(Realm realm) {
+        // the old info, branding and anchor date rows would otherwise be left behind
+        deleteStudyInfo(realm, studyHome.getStudyId());
+        realm.copyToRealmOrUpdate(studyHome);
+        setStudySectionSynced(realm, studyHome.getStudyId(), StudySectionVersion.INFO);
+      }
+    });
     closeRealmObj(realm);
   }
 
@@ -520,38 +642,27 @@ public class DbServiceSubscriber {
     return realm.where(DashboardData.class).equalTo("studyId", studyId).findFirst();
   }
 
-  public void deleteStudyInfoFromDb(Context context, final String studyId) {
-    realm = AppController.getRealmobj(context);
-    realm.executeTransaction(new Realm.Transaction() {
-      @Override
-      public void execute(Realm realm) {
-        try {
-          RealmResults<StudyHome> rows =
-                  realm.where(StudyHome.class).equalTo("mStudyId", studyId).findAll();
-          for (int i = 0; i < rows.size(); i++) {
-            if (rows.get(i).getInfo() != null) {
-              rows.get(i).getInfo().deleteAllFromRealm();
-            }
-            if (rows.get(i).getAnchorDate() != null) {
-              if (rows.get(i).getAnchorDate().getQuestionInfo() != null) {
-                rows.get(i).getAnchorDate().getQuestionInfo().deleteFromRealm();
-              }
-              rows.get(i).getAnchorDate().deleteFromRealm();
-            }
-            if (rows.get(i).getBranding() != null) {
-              rows.get(i).getBranding().deleteFromRealm();
-            }
-            if (rows.get(i).getWithdrawalConfig() != null) {
-              rows.get(i).getWithdrawalConfig().deleteFromRealm();
-            }
-            rows.deleteFromRealm(i);
-          }
-        } catch (Exception e) {
-          Logger.log(e);
-        }
+  private void deleteStudyInfo(Realm realm, String studyId) {
+    StudyHome studyHome = realm.where(StudyHome.class).equalTo("mStudyId", studyId).findFirst();
+    if (studyHome == null) {
+      return;
+    }
+    if (studyHome.getInfo() != null) {
+      studyHome.getInfo().deleteAllFromRealm();
+    }
+    if (studyHome.getAnchorDate() != null) {
+      if (studyHome.getAnchorDate().getQuestionInfo() != null) {
+        studyHome.getAnchorDate().getQuestionInfo().deleteFromRealm();
       }
-    });
-    closeRealmObj(realm);
+      studyHome.getAnchorDate().deleteFromRealm();
+    }
+    if (studyHome.getBranding() != null) {
+      studyHome.getBranding().deleteFromRealm();
+    }
+    if (studyHome.getWithdrawalConfig() != null) {
+      studyHome.getWithdrawalConfig().deleteFromRealm();
+    }
+    studyHome.deleteFromRealm();
   }
 
   public void deleteActivityRunsFromDb(
@@ -598,6 +709,11 @@ public class DbServiceSubscriber {
       @Override
       public void execute(Realm realm) {
         try {
+          realm
+                  .where(StepResultAggregate.class)
+                  .beginsWith("activityID", studyId + "_STUDYID_")
+                  .findAll()
+                  .deleteAllFromRealm();
           RealmResults<StepRecordCustom> rows =
                   realm.where(StepRecordCustom.class).equalTo("studyId", studyId).findAll();
           if (rows != null) {
@@ -703,12 +819,17 @@ public class DbServiceSubscriber {
         try {
           RealmResults<StepRecordCustom> rows =
                   realm.where(StepRecordCustom.class).equalTo("taskId", taskId).findAll();
+          List<StepRecordCustom> deletedRows = realm.copyFromRealm(rows, 0);
           for (int i = 0; i < rows.size(); i++) {
             if (rows.get(i).getTextChoices() != null) {
               rows.get(i).getTextChoices().deleteAllFromRealm();
             }
           }
           rows.deleteAllFromRealm();
+          for (StepRecordCustom deletedRow : deletedRows) {
+            updateStepResultAggregate(
+                    deletedRow.activityID, deletedRow.stepId, deletedRow.completed, realm);
+          }
         } catch (Exception e) {
           Logger.log(e);
         }
@@ -944,6 +1065,101 @@ public class DbServiceSubscriber {
     closeRealmObj(realm);
   }
 
+  /**
+   * Whether the stored copy of a section of the study's content matches the study version in the
+   * study list, so it doesn't need to be downloaded again.
+   */
+  public boolean isStudySectionSynced(String studyId, String section, Realm realm) {
+    StudyList studyList = realm.where(StudyList.class).equalTo("studyId", studyId).findFirst();
+    StudySectionVersion studySectionVersion =
+            realm
+                    .where(StudySectionVersion.class)
+                    .equalTo("sectionId", StudySectionVersion.getSectionId(studyId, section))
+                    .findFirst();
+    return studyList != null
+            && studyList.getStudyVersion() != null
+            && studySectionVersion != null
+            && studyList.getStudyVersion().equalsIgnoreCase(studySectionVersion.getVersion());
+  }
+
+  public void setStudySectionSynced(Context context, final String studyId, final String section) {
+    realm = AppController.getRealmobj(context);
+    realm.executeTransaction(new Realm.Transaction() {
+      @Override
+      public void execute(Realm realm) {
+        setStudySectionSynced(realm, studyId, section);
+      }
+    });
+    closeRealmObj(realm);
+  }
+
+  private void setStudySectionSynced(Realm realm, String studyId, String section) {
+    StudyList studyList = realm.where(StudyList.class).equalTo("studyId", studyId).findFirst();
+    if (studyId == null || studyList == null || studyList.getStudyVersion() == null) {
+      return;
+    }
+    StudySectionVersion studySectionVersion = new StudySectionVersion();
+    studySectionVersion.setSectionId(StudySectionVersion.getSectionId(studyId, section));
+    studySectionVersion.setStudyId(studyId);
+    studySectionVersion.setSection(section);
+    studySectionVersion.setVersion(studyList.getStudyVersion());
+    realm.copyToRealmOrUpdate(studySectionVersion);
+  }
+
+  /**
+   * Records the study updates between the participant's study version and the one in the study
+   * list. Sections that weren't flagged as changed carry over to the new version, flagged ones
+   * stay behind and are downloaded the next time they're needed. Has to run before the
+   * participant's study version is updated.
+   */
+  public void updateStudySectionVersions(
+          Context context, final String studyId, final StudyUpdateData studyUpdateData) {
+    realm = AppController.getRealmobj(context);
+    realm.executeTransaction(new Realm.Transaction() {
+      @Override
+      public void execute(Realm realm) {
+        Studies studies = realm.where(Studies.class).equalTo("studyId", studyId).findFirst();
+        StudyList studyList =
+                realm.where(StudyList.class).equalTo("studyId", studyId).findFirst();
+        if (studyUpdateData == null
+                || studies == null
+                || studies.getVersion() == null
+                || studyList == null
+                || studyList.getStudyVersion() == null) {
+          return;
+        }
+        String fromVersion = studies.getVersion();
+        String toVersion = studyList.getStudyVersion();
+        if (!studyUpdateData.isActivities()) {
+          advanceStudySectionVersion(
+                  realm, studyId, StudySectionVersion.ACTIVITIES, fromVersion, toVersion);
+        }
+        if (!studyUpdateData.isResources()) {
+          advanceStudySectionVersion(
+                  realm, studyId, StudySectionVersion.RESOURCES, fromVersion, toVersion);
+        }
+        if (!studyUpdateData.isInfo()) {
+          advanceStudySectionVersion(
+                  realm, studyId, StudySectionVersion.INFO, fromVersion, toVersion);
+        }
+      }
+    });
+    closeRealmObj(realm);
+  }
+
+  private void advanceStudySectionVersion(
+          Realm realm, String studyId, String section, String fromVersion, String toVersion) {
+    StudySectionVersion studySectionVersion =
+            realm
+                    .where(StudySectionVersion.class)
+                    .equalTo("sectionId", StudySectionVersion.getSectionId(studyId, section))
+                    .findFirst();
+    if (studySectionVersion != null
+            && fromVersion.equalsIgnoreCase(studySectionVersion.getVersion())) {
+      studySectionVersion.setVersion(toVersion);
+    }
+  }
+
   public void updateStudyWithddrawnDB(Context context, String studyId, String status) {
     realm = AppController.getRealmobj(context);
     Studies studies = realm.where(Studies.class).equalTo("studyId", studyId).findFirst();
@@ -1082,11 +1298,92 @@ public class DbServiceSubscriber {
   public void updateStepRecord(Context context, StepRecordCustom stepRecordCustom) {
     realm = AppController.getRealmobj(context);
     realm.beginTransaction();
+    StepRecordCustom previous =
+            realm
+                    .where(StepRecordCustom.class)
+                    .equalTo("taskStepID", stepRecordCustom.taskStepID)
+                    .findFirst();
+    Date previousCompleted = previous != null ? previous.getCompleted() : null;
     realm.copyToRealmOrUpdate(stepRecordCustom);
+    updateStepResultAggregate(
+            stepRecordCustom.activityID, stepRecordCustom.stepId, stepRecordCustom.completed, realm);
+    if (previousCompleted != null
+            && (stepRecordCustom.completed == null
+            || !StepResultSummary.getDay(previousCompleted)
+            .equals(StepResultSummary.getDay(stepRecordCustom.completed)))) {
+      updateStepResultAggregate(
+              stepRecordCustom.activityID, stepRecordCustom.stepId, previousCompleted, realm);
+    }
     realm.commitTransaction();
     closeRealmObj(realm);
   }
 
+  /** Returns the daily summaries of a step's results between two dates. */
+  public RealmResults<StepResultAggregate> getStepResultAggregates(
+          String activityId, String key, Date startDate, Date endDate, Realm realm) {
+    return realm
+            .where(StepResultAggregate.class)
+            .equalTo("activityID", activityId)
+            .equalTo("stepId", key)
+            .greaterThanOrEqualTo("day", StepResultSummary.getDay(startDate))
+            .lessThanOrEqualTo("day", endDate)
+            .sort("day", Sort.ASCENDING)
+            .findAll();
+  }
+
+  // recomputes the summary of the day a step result was completed on, inside a transaction
+  private static void updateStepResultAggregate(
+          String activityId, String key, Date completed, Realm realm) {
+    if (activityId == null || key == null || completed == null) {
+      return;
+    }
+    Date day = StepResultSummary.getDay(completed);
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(day);
+    calendar.add(Calendar.DATE, 1);
+    RealmResults<StepRecordCustom> rows =
+            realm
+                    .where(StepRecordCustom.class)
+                    .equalTo("activityID", activityId)
+                    .equalTo("stepId", key)
+                    .greaterThanOrEqualTo("completed", day)
+                    .lessThan("completed", calendar.getTime())
+                    .findAll();
+    StepResultSummary summary = new StepResultSummary();
+    for (StepRecordCustom row : rows) {
+      summary.add(row.result);
+    }
+    saveStepResultAggregate(activityId, key, day, summary, realm);
+  }
+
+  private static void saveStepResultAggregate(
+          String activityId, String key, Date day, StepResultSummary summary, Realm realm) {
+    if (day == null) {
+      return;
+    }
+    String aggregateId = StepResultAggregate.getAggregateId(activityId, key, day);
+    StepResultAggregate aggregate =
+            realm.where(StepResultAggregate.class).equalTo("aggregateId", aggregateId).findFirst();
+    if (summary.getCount() == 0) {
+      if (aggregate != null) {
+        aggregate.deleteFromRealm();
+      }
+      return;
+    }
+    if (aggregate == null) {
+      aggregate = realm.createObject(StepResultAggregate.class, aggregateId);
+      aggregate.setActivityID(activityId);
+      aggregate.setStepId(key);
+      aggregate.setDay(day);
+    }
+    aggregate.setCount(summary.getCount());
+    aggregate.setSum(summary.getSum());
+    aggregate.setMin(summary.getMin());
+    aggregate.setMax(summary.getMax());
+    aggregate.setTaskCount(summary.getTaskCount());
+    aggregate.setTaskValueSum(summary.getTaskValueSum());
+  }
+
   public void updateActivityState(Context context, ActivityData activityData) {
     realm = AppController.getRealmobj(context);
     realm.beginTransaction();
@@ -1216,67 +1513,25 @@ public class DbServiceSubscriber {
             .findAll();
   }
 
-  public RealmResults<StepRecordCustom> getResultForStat(
-          String activityId, String key, Date startDate, Date endDate, Realm realm) {
-    Calendar calendar = Calendar.getInstance();
-    if (startDate != null) {
-      calendar.setTime(startDate);
-    } else {
-      calendar.setTime(new Date());
-    }
-    calendar.set(Calendar.HOUR, 0);
-    calendar.set(Calendar.MINUTE, 0);
-    calendar.set(Calendar.SECOND, 0);
-    calendar.set(Calendar.MILLISECOND, 0);
-    calendar.set(Calendar.AM_PM, Calendar.AM);
-
-    Calendar calendar1 = Calendar.getInstance();
-    if (endDate != null) {
-      calendar1.setTime(endDate);
-    } else {
-      calendar1.setTime(new Date());
-    }
-    calendar1.set(Calendar.HOUR, 11);
-    calendar1.set(Calendar.MINUTE, 59);
-    calendar1.set(Calendar.SECOND, 59);
-    calendar1.set(Calendar.MILLISECOND, 0);
-    calendar1.set(Calendar.AM_PM, Calendar.PM);
-
-    return realm
-            .where(StepRecordCustom.class)
-            .equalTo("activityID", activityId)
-            .equalTo("stepId", key)
-            .greaterThanOrEqualTo("started", calendar.getTime())
-            .lessThanOrEqualTo("completed", calendar1.getTime())
-            .findAll();
-  }
-
-  public void saveResourceList(Context context, StudyResource studyResourceData) {
-    realm = AppController.getRealmobj(context);
-    realm.beginTransaction();
-    realm.copyToRealmOrUpdate(studyResourceData);
-    realm.commitTransaction();
-    closeRealmObj(realm);
-  }
-
-  public void deleteResourcesFromDb(Context context, final String studyId) {
+  public void saveResourceList(Context context, final StudyResource studyResourceData) {
     realm = AppController.getRealmobj(context);
     realm.executeTransaction(new Realm.Transaction() {
       @Override
       public void execute(Realm realm) {
-        try {
-          RealmResults<StudyResource> rows =
-                  realm.where(StudyResource.class).equalTo("mStudyId", studyId).findAll();
-
-          for (int i = 0; i < rows.size(); i++) {
-            if (rows.get(i).getResources() != null) {
-              rows.get(i).getResources().deleteAllFromRealm();
-            }
-            rows.deleteFromRealm(i);
+        StudyResource root =
+                realm
+                        .where(StudyResource.class)
+                        .equalTo("mStudyId", studyResourceData.getStudyId())
+                        .findFirst();
+        if (root != null) {
+          if (root.getResources() != null) {
+            root.getResources().deleteAllFromRealm();
           }
-        } catch (Exception e) {
-          Logger.log(e);
+          root.deleteFromRealm();
         }
+        realm.copyToRealmOrUpdate(studyResourceData);
+        setStudySectionSynced(
+                realm, studyResourceData.getStudyId(), StudySectionVersion.RESOURCES);
       }
     });
     closeRealmObj(realm);
@@ -1298,24 +1553,6 @@ public class DbServiceSubscriber {
     return realm.where(StudyHome.class).equalTo("mStudyId", studyId).findFirst();
   }
 
-  public void deleteStudyResourceDuplicateRow(Context context, final String studyId) {
-    realm = AppController.getRealmobj(context);
-    realm.executeTransaction(new Realm.Transaction() {
-      @Override
-      public void execute(Realm realm) {
-        StudyResource root =
-                realm.where(StudyResource.class).equalTo("mStudyId", studyId).findFirst();
-        if (root != null) {
-          if (root.getResources() != null) {
-            root.getResources().deleteAllFromRealm();
-          }
-          root.deleteFromRealm();
-        }
-      }
-    });
-    closeRealmObj(realm);
-  }
-
   public StudyResource getStudyResource(String studyId, Realm realm) {
     return realm.where(StudyResource.class).equalTo("mStudyId", studyId).findFirst();
   }
@@ -1376,6 +1613,19 @@ public class DbServiceSubscriber {
     closeRealmObj(realm);
   }
 
+  // remove the rows acknowledged by one upload in a single transaction
+  public void deleteOfflineDataRows(Context context, final Integer[] numbers) {
+    realm = AppController.getRealmobj(context);
+
+    realm.executeTransaction(new Realm.Transaction() {
+      @Override
+      public void execute(Realm realm) {
+        realm.where(OfflineData.class).in("number", numbers).findAll().deleteAllFromRealm();
+      }
+    });
+    closeRealmObj(realm);
+  }
+
   public void deleteActivityDataRow(Context context, final String studyId) {
     realm = AppController.getRealmobj(context);
 
@@ -1430,23 +1680,6 @@ public class DbServiceSubscriber {
     closeRealmObj(realm);
   }
 
-  // remove data from 0th row
-  public void removeOfflineData(Context context) {
-    realm = AppController.getRealmobj(context);
-    realm.executeTransaction(new Realm.Transaction() {
-      @Override
-      public void execute(Realm realm) {
-        try {
-          RealmResults<OfflineData> results = getOfflineData(realm);
-          results.deleteFromRealm(0);
-        } catch (Exception e) {
-          Logger.log(e);
-        }
-      }
-    });
-    closeRealmObj(realm);
-  }
-
   // save UserProfile Data
   public void saveUserProfileData(Context context, UserProfileData userProfileData) {
     realm = AppController.getRealmobj(context);
@@ -47,6 +47,7 @@ import com.harvard.storagemodule.DbServiceSubscriber;
 import com.harvard.studyappmodule.activitybuilder.model.ActivityRun;
 import com.harvard.studyappmodule.activitylistmodel.ActivitiesWS;
 import com.harvard.studyappmodule.custom.result.StepRecordCustom;
+import com.harvard.studyappmodule.custom.result.StepResultAggregate;
 import com.harvard.studyappmodule.studymodel.ChartDataSource;
 import com.harvard.studyappmodule.studymodel.DashboardData;
 import com.harvard.studyappmodule.studymodel.RunChart;
@@ -71,9 +72,6 @@ import org.json.JSONObject;
 public class ChartActivity extends AppCompatActivity {
   private LinearLayout chartlayout;
   private String[] day = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
-  private String[] monthfull = {
-    "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
-  };
   private String[] month = {"JAN", ".", ".", "APR", ".", ".", "JUL", ".", ".", "OCT", ".", "DEC"};
 
   private LinearLayout linearLayout1;
@@ -203,89 +201,13 @@ public class ChartActivity extends AppCompatActivity {
                   .getBarColor(),
               chartDataSource.getActivity().getActivityId());
 
-          for (int j = 0, size = stepRecordCustomList.size(); j < size; j++) {
-            if (stepRecordCustomList.get(j).getCompleted().before(endtime)
-                && stepRecordCustomList.get(j).getCompleted().after(starttime)) {
-              JSONObject jsonObject;
-              String answer = "";
-              String data = "";
-              try {
-                jsonObject = new JSONObject(stepRecordCustomList.get(j).result);
-
-                String[] id = stepRecordCustomList.get(j).activityID.split("_STUDYID_");
-                ActivitiesWS activityObj = dbServiceSubscriber.getActivityObj(id[1], id[0], realm);
-                if (activityObj.getType().equalsIgnoreCase("task")) {
-                  JSONObject answerjson = new JSONObject(jsonObject.getString("answer"));
-                  answer = answerjson.getString("duration");
-                  answer = Double.toString(Integer.parseInt(answer) / 60f);
-                  data = "min \nfor\n" + answerjson.getString("value") + " kicks";
-                } else {
-                  answer = jsonObject.getString("answer");
-                  data = "";
-                }
-
-                if (answer == null || answer.equalsIgnoreCase("")) {
-                  answer = "0";
-                }
-              } catch (JSONException e) {
-                Logger.log(e);
-                if (answer.equalsIgnoreCase("")) {
-                  answer = "0";
-                }
-              }
-              if (chartDataSource.getTimeRangeType().equalsIgnoreCase("days_of_week")) {
-                SimpleDateFormat simpleDateFormat = new SimpleDateFormat("EEE");
-                filteredXValues.clear();
-                for (int k = 0; k < day.length; k++) {
-                  String s = simpleDateFormat.format(stepRecordCustomList.get(j).getCompleted());
-                  if (s.equalsIgnoreCase(day[k])) {
-                    entryList.add(new Entry(Float.parseFloat(answer), k, data));
-                  }
-                  filteredXValues.add(day[k]);
-                }
-              } else if (chartDataSource.getTimeRangeType().equalsIgnoreCase("days_of_month")) {
-                SimpleDateFormat simpleDateFormat = new SimpleDateFormat("d");
-                int month = starttime.getMonth();
-                int year = starttime.getYear();
-                filteredXValues.clear();
-                for (int k = 1; k <= numberOfDaysInMonth(month, year); k++) {
-                  String s = simpleDateFormat.format(stepRecordCustomList.get(j).getCompleted());
-                  if (s.equalsIgnoreCase("" + k)) {
-                    entryList.add(new Entry(Float.parseFloat(answer), k - 1, data));
-                  }
-                  if (k % 5 == 0) {
-                    filteredXValues.add("" + k);
-                  } else {
-                    filteredXValues.add("");
-                  }
-                }
-              } else if (chartDataSource.getTimeRangeType().equalsIgnoreCase("weeks_of_month")) {
-                Calendar cal = Calendar.getInstance();
-                cal.setFirstDayOfWeek(Calendar.SUNDAY);
-                SimpleDateFormat simpleDateFormat = new SimpleDateFormat("MMM");
-                filteredXValues.clear();
-                int weekno = numberOfWeeksInMonth(simpleDateFormat.format(starttime));
-                for (int k = 1; k <= weekno; k++) {
-                  cal.setTime(stepRecordCustomList.get(j).getCompleted());
-                  int week = cal.get(Calendar.WEEK_OF_MONTH);
-                  if (k == week) {
-                    entryList.add(new Entry(Float.parseFloat(answer), k - 1, data));
-                  }
-                  filteredXValues.add("W" + k);
-                }
-              } else if (chartDataSource.getTimeRangeType().equalsIgnoreCase("months_of_year")) {
-                SimpleDateFormat simpleDateFormat = new SimpleDateFormat("MMM");
-                filteredXValues.clear();
-                for (int k = 0; k < month.length; k++) {
-                  String s = simpleDateFormat.format(stepRecordCustomList.get(j).getCompleted());
-                  if (s.equalsIgnoreCase(monthfull[k])) {
-                    entryList.add(new Entry(Float.parseFloat(answer), k, data));
-                  }
-                  filteredXValues.add(month[k]);
-                }
-              }
-            }
-          }
+          addTimeRangeEntries(
+              chartDataSource.getTimeRangeType(),
+              starttime,
+              endtime,
+              stepRecordCustomList,
+              filteredXValues,
+              entryList);
         } else if (chartDataSource.getTimeRangeType().equalsIgnoreCase("runs")) {
           linearLayout1 = new LinearLayout(ChartActivity.this);
           SimpleDateFormat simpleDateFormat = AppController.getDateFormatForApi();
@@ -1161,150 +1083,8 @@ public class ChartActivity extends AppCompatActivity {
     entryList.clear();
     filteredXValues.clear();
     if (!tag.equalsIgnoreCase("hours_of_day")) {
-      if (tag.equalsIgnoreCase("days_of_week")) {
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("EEE");
-        for (int k = 0; k < day.length; k++) {
-          for (int j = 0, size = stepRecordCustomList.size(); j < size; j++) {
-            if (stepRecordCustomList.get(j).getCompleted().before(endtime)
-                && stepRecordCustomList.get(j).getCompleted().after(startTime)) {
-              JSONObject jsonObject;
-              String answer = "";
-              String data = "";
-              try {
-                jsonObject = new JSONObject(stepRecordCustomList.get(j).result);
-                String[] id = stepRecordCustomList.get(j).activityID.split("_STUDYID_");
-                ActivitiesWS activityObj = dbServiceSubscriber.getActivityObj(id[1], id[0], realm);
-                if (activityObj.getType().equalsIgnoreCase("task")) {
-                  JSONObject answerjson = new JSONObject(jsonObject.getString("answer"));
-                  answer = answerjson.getString("duration");
-                  answer = Double.toString(Integer.parseInt(answer) / 60f);
-                  data = "min \nfor\n" + answerjson.getString("value") + " kicks";
-                } else {
-                  answer = jsonObject.getString("answer");
-                  data = "";
-                }
-              } catch (JSONException e) {
-                Logger.log(e);
-              }
-              String s = simpleDateFormat.format(stepRecordCustomList.get(j).getCompleted());
-
-              if (s.equalsIgnoreCase(day[k])) {
-                entryList.add(new Entry(Float.parseFloat(answer), k, data));
-              }
-            }
-          }
-          filteredXValues.add(day[k]);
-        }
-      } else if (tag.equalsIgnoreCase("days_of_month")) {
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("d");
-        int month = startTime.getMonth();
-        int year = startTime.getYear();
-        for (int k = 1; k <= numberOfDaysInMonth(month, year); k++) {
-          for (int j = 0, size = stepRecordCustomList.size(); j < size; j++) {
-            if (stepRecordCustomList.get(j).getCompleted().before(endtime)
-                && stepRecordCustomList.get(j).getCompleted().after(startTime)) {
-              JSONObject jsonObject;
-              String answer = "";
-              String data = "";
-              try {
-                jsonObject = new JSONObject(stepRecordCustomList.get(j).result);
-                String[] id = stepRecordCustomList.get(j).activityID.split("_STUDYID_");
-                ActivitiesWS activityObj = dbServiceSubscriber.getActivityObj(id[1], id[0], realm);
-                if (activityObj.getType().equalsIgnoreCase("task")) {
-                  JSONObject answerjson = new JSONObject(jsonObject.getString("answer"));
-                  answer = answerjson.getString("duration");
-                  answer = Double.toString(Integer.parseInt(answer) / 60f);
-                  data = "min \nfor\n" + answerjson.getString("value") + " kicks";
-                } else {
-                  answer = jsonObject.getString("answer");
-                  data = "";
-                }
-              } catch (JSONException e) {
-                Logger.log(e);
-              }
-
-              String s = simpleDateFormat.format(stepRecordCustomList.get(j).getCompleted());
-              if (s.equalsIgnoreCase("" + k)) {
-                entryList.add(new Entry(Float.parseFloat(answer), k - 1, data));
-              }
-            }
-          }
-          if (k % 5 == 0) {
-            filteredXValues.add("" + k);
-          } else {
-            filteredXValues.add("");
-          }
-        }
-      } else if (tag.equalsIgnoreCase("weeks_of_month")) {
-        Calendar cal = Calendar.getInstance();
-        cal.setFirstDayOfWeek(Calendar.SUNDAY);
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("MMM");
-        for (int k = 1; k <= numberOfWeeksInMonth(simpleDateFormat.format(startTime)); k++) {
-          for (int j = 0, size = stepRecordCustomList.size(); j < size; j++) {
-            if (stepRecordCustomList.get(j).getCompleted().before(endtime)
-                && stepRecordCustomList.get(j).getCompleted().after(startTime)) {
-              JSONObject jsonObject;
-              String answer = "";
-              String data = "";
-              try {
-                jsonObject = new JSONObject(stepRecordCustomList.get(j).result);
-                String[] id = stepRecordCustomList.get(j).activityID.split("_STUDYID_");
-                ActivitiesWS activityObj = dbServiceSubscriber.getActivityObj(id[1], id[0], realm);
-                if (activityObj.getType().equalsIgnoreCase("task")) {
-                  JSONObject answerjson = new JSONObject(jsonObject.getString("answer"));
-                  answer = answerjson.getString("duration");
-                  answer = Double.toString(Integer.parseInt(answer) / 60f);
-                  data = "min \nfor\n" + answerjson.getString("value") + " kicks";
-                } else {
-                  answer = jsonObject.getString("answer");
-                  data = "";
-                }
-              } catch (JSONException e) {
-                Logger.log(e);
-              }
-              cal.setTime(stepRecordCustomList.get(j).getCompleted());
-              int week = cal.get(Calendar.WEEK_OF_MONTH);
-              if (k == week) {
-                entryList.add(new Entry(Float.parseFloat(answer), k - 1, data));
-              }
-            }
-          }
-          filteredXValues.add("W" + k);
-        }
-      } else if (tag.equalsIgnoreCase("months_of_year")) {
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("MMM");
-        for (int k = 0; k < month.length; k++) {
-          for (int j = 0, size = stepRecordCustomList.size(); j < size; j++) {
-            if (stepRecordCustomList.get(j).getCompleted().before(endtime)
-                && stepRecordCustomList.get(j).getCompleted().after(startTime)) {
-              JSONObject jsonObject;
-              String answer = "";
-              String data = "";
-              try {
-                jsonObject = new JSONObject(stepRecordCustomList.get(j).result);
-                String[] id = stepRecordCustomList.get(j).activityID.split("_STUDYID_");
-                ActivitiesWS activityObj = dbServiceSubscriber.getActivityObj(id[1], id[0], realm);
-                if (activityObj.getType().equalsIgnoreCase("task")) {
-                  JSONObject answerjson = new JSONObject(jsonObject.getString("answer"));
-                  answer = answerjson.getString("duration");
-                  answer = Double.toString(Integer.parseInt(answer) / 60f);
-                  data = "min \nfor\n" + answerjson.getString("value") + " kicks";
-                } else {
-                  answer = jsonObject.getString("answer");
-                  data = "";
-                }
-              } catch (JSONException e) {
-                Logger.log(e);
-              }
-              String s = simpleDateFormat.format(stepRecordCustomList.get(j).getCompleted());
-              if (s.equalsIgnoreCase(monthfull[k])) {
-                entryList.add(new Entry(Float.parseFloat(answer), k, data));
-              }
-            }
-          }
-          filteredXValues.add(month[k]);
-        }
-      }
+      addTimeRangeEntries(
+          tag, startTime, endtime, stepRecordCustomList, filteredXValues, entryList);
     } else if (tag.equalsIgnoreCase("hours_of_day")) {
       activityRuns =
           dbServiceSubscriber.getAllActivityRunforDate(
@@ -1399,6 +1179,93 @@ public class ChartActivity extends AppCompatActivity {
     TempGraphHelper.updateLineChart(chart, 0, entryList, filteredXValues, barColor);
   }
 
+  // Plots one point per day, week or month of the range, read from the daily summaries. A
+  // position with several answers shows their average instead of one point per answer; the runs
+  // chart still plots every answer on its own.
+  private void addTimeRangeEntries(
+      String timeRangeType,
+      Date startTime,
+      Date endTime,
+      RealmResults<StepRecordCustom> stepRecordCustomList,
+      List<String> filteredXValues,
+      List<Entry> entryList) {
+    int positions;
+    if (timeRangeType.equalsIgnoreCase("days_of_week")) {
+      positions = day.length;
+      for (int k = 0; k < positions; k++) {
+        filteredXValues.add(day[k]);
+      }
+    } else if (timeRangeType.equalsIgnoreCase("days_of_month")) {
+      positions = numberOfDaysInMonth(startTime.getMonth(), startTime.getYear());
+      for (int k = 1; k <= positions; k++) {
+        if (k % 5 == 0) {
+          filteredXValues.add("" + k);
+        } else {
+          filteredXValues.add("");
+        }
+      }
+    } else if (timeRangeType.equalsIgnoreCase("weeks_of_month")) {
+      positions = numberOfWeeksInMonth(new SimpleDateFormat("MMM").format(startTime));
+      for (int k = 1; k <= positions; k++) {
+        filteredXValues.add("W" + k);
+      }
+    } else if (timeRangeType.equalsIgnoreCase("months_of_year")) {
+      positions = month.length;
+      for (int k = 0; k < positions; k++) {
+        filteredXValues.add(month[k]);
+      }
+    } else {
+      return;
+    }
+    if (stepRecordCustomList.isEmpty()) {
+      return;
+    }
+
+    RealmResults<StepResultAggregate> aggregates =
+        dbServiceSubscriber.getStepResultAggregates(
+            stepRecordCustomList.first().activityID,
+            stepRecordCustomList.first().stepId,
+            startTime,
+            endTime,
+            realm);
+    double[] sums = new double[positions];
+    int[] counts = new int[positions];
+    double[] taskValueSums = new double[positions];
+    int[] taskCounts = new int[positions];
+    Calendar cal = Calendar.getInstance();
+    cal.setFirstDayOfWeek(Calendar.SUNDAY);
+    for (StepResultAggregate aggregate : aggregates) {
+      cal.setTime(aggregate.getDay());
+      int position;
+      if (timeRangeType.equalsIgnoreCase("days_of_week")) {
+        position = cal.get(Calendar.DAY_OF_WEEK) - 1;
+      } else if (timeRangeType.equalsIgnoreCase("days_of_month")) {
+        position = cal.get(Calendar.DAY_OF_MONTH) - 1;
+      } else if (timeRangeType.equalsIgnoreCase("weeks_of_month")) {
+        position = cal.get(Calendar.WEEK_OF_MONTH) - 1;
+      } else {
+        position = cal.get(Calendar.MONTH);
+      }
+      if (position < 0 || position >= positions) {
+        continue;
+      }
+      sums[position] += aggregate.getSum();
+      counts[position] += aggregate.getCount();
+      taskValueSums[position] += aggregate.getTaskValueSum();
+      taskCounts[position] += aggregate.getTaskCount();
+    }
+
+    for (int k = 0; k < positions; k++) {
+      if (counts[k] > 0) {
+        String data = "";
+        if (taskCounts[k] > 0) {
+          data = "min \nfor\n" + Math.round(taskValueSums[k] / taskCounts[k]) + " kicks";
+        }
+        entryList.add(new Entry((float) (sums[k] / counts[k]), k, data));
+      }
+    }
+  }
+
   private void setDay(TextView textView1) {
     SimpleDateFormat dateFormatForApi = AppController.getDateFormatForApi();
     Calendar calendar = Calendar.getInstance();
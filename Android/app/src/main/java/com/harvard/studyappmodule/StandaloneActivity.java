@@ -392,12 +392,8 @@ public class StandaloneActivity extends AppCompatActivity
       studyUpdateListdata.setStudyUpdates(studyUpdates);
       dbServiceSubscriber.saveStudyUpdateListdataToDB(this, studyUpdateListdata);
 
-      if (studyUpdate.getStudyUpdateData().isResources()) {
-        dbServiceSubscriber.deleteResourcesFromDb(this, studyId);
-      }
-      if (studyUpdate.getStudyUpdateData().isInfo()) {
-        dbServiceSubscriber.deleteStudyInfoFromDb(this, studyId);
-      }
+      dbServiceSubscriber.updateStudySectionVersions(
+          this, studyId, studyUpdate.getStudyUpdateData());
       if (studyUpdate.getStudyUpdateData().isConsent()) {
         callConsentMetaDataWebservice();
       } else {
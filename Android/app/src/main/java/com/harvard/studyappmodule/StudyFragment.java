@@ -968,12 +968,8 @@ public class StudyFragment extends Fragment implements ApiCall.OnAsyncRequestCom
       studyUpdateListdata.setStudyUpdates(studyUpdates);
       dbServiceSubscriber.saveStudyUpdateListdataToDB(context, studyUpdateListdata);
 
-      if (studyUpdate.getStudyUpdateData().isResources()) {
-        dbServiceSubscriber.deleteResourcesFromDb(context, studyId);
-      }
-      if (studyUpdate.getStudyUpdateData().isInfo()) {
-        dbServiceSubscriber.deleteStudyInfoFromDb(context, studyId);
-      }
+      dbServiceSubscriber.updateStudySectionVersions(
+          context, studyId, studyUpdate.getStudyUpdateData());
       if (studyUpdate.getStudyUpdateData().isConsent()) {
         callConsentMetaDataWebservice();
       } else {
@@ -80,6 +80,7 @@ import com.harvard.studyappmodule.studymodel.MotivationalNotification;
 import com.harvard.studyappmodule.studymodel.StudyHome;
 import com.harvard.studyappmodule.studymodel.StudyList;
 import com.harvard.studyappmodule.studymodel.StudyResource;
+import com.harvard.studyappmodule.studymodel.StudySectionVersion;
 import com.harvard.studyappmodule.studymodel.StudyUpdate;
 import com.harvard.studyappmodule.studymodel.StudyUpdateListdata;
 import com.harvard.studyappmodule.surveyscheduler.SurveyScheduler;
@@ -119,6 +120,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -133,6 +136,8 @@ public class SurveyActivitiesFragment extends Fragment
   private static final int UPDATE_USERPREFERENCE_RESPONSECODE = 102;
   private static final int PERMISSION_REQUEST_CODE = 1000;
   private static final int GET_PREFERENCES = 112;
+  // run calculations write the run tables, so they stay ordered but off the shared AsyncTask queue
+  private static final Executor CALCULATE_RUNS_EXECUTOR = Executors.newSingleThreadExecutor();
   private static final int STUDY_UPDATES = 113;
   private static final int CONSENT_METADATA = 114;
   private static final int CONSENT_RESPONSECODE = 115;
@@ -177,6 +182,8 @@ public class SurveyActivitiesFragment extends Fragment
   private DbServiceSubscriber dbServiceSubscriber;
   private Realm realm;
   private boolean activityUpdated = false;
+  // set while the runs are worked out from an activity list fresh from the server
+  private boolean activityListDownloaded = false;
   public static String DELETE = "deleted";
   private static String ACTIVE = "active";
   private SurveyActivitiesListAdapter studyVideoAdapter;
@@ -184,7 +191,6 @@ public class SurveyActivitiesFragment extends Fragment
   private ArrayList<String> status = new ArrayList<>();
   private ArrayList<ActivitiesWS> activitiesArrayList1 = new ArrayList<>();
   private ArrayList<ActivityStatus> currentRunStatusForActivities = new ArrayList<>();
-  private StudyResource studyResource;
   private StepsBuilder stepsBuilder;
   private ArrayList<AnchorDateSchedulingDetails> arrayList;
   private ActivityData activityDataDB;
@@ -317,12 +323,19 @@ public class SurveyActivitiesFragment extends Fragment
     HashMap<String, String> header = new HashMap();
     StudyList studyList =
         dbServiceSubscriber.getStudiesDetails(((SurveyActivity) context).getStudyId(), realm);
+    // ask for the changes since the version the participant last synced
+    String studyVersion = studyList.getStudyVersion();
+    Studies studies =
+        dbServiceSubscriber.getStudies(((SurveyActivity) context).getStudyId(), realm);
+    if (studies != null && studies.getVersion() != null) {
+      studyVersion = studies.getVersion();
+    }
     String url =
         Urls.STUDY_UPDATES
             + "?studyId="
             + ((SurveyActivity) context).getStudyId()
             + "&studyVersion="
-            + studyList.getStudyVersion();
+            + studyVersion;
     StudyDatastoreConfigEvent studyDatastoreConfigEvent =
         new StudyDatastoreConfigEvent(
             "get", url, STUDY_UPDATES, context, StudyUpdate.class, null, header, null, false, this);
@@ -337,6 +350,14 @@ public class SurveyActivitiesFragment extends Fragment
     surveyActivitiesRecyclerView.setNestedScrollingEnabled(false);
 
     AppController.getHelperProgressDialog().showProgress(context, "", "", false);
+    String studyId = ((SurveyActivity) context).getStudyId();
+    if (dbServiceSubscriber.isStudySectionSynced(studyId, StudySectionVersion.ACTIVITIES, realm)
+        && dbServiceSubscriber.getActivities(studyId, realm) != null) {
+      // unchanged since the last download, the runs are worked out from the stored list
+      activityListData = null;
+      getActivityStateWebservice();
+      return;
+    }
     GetActivityListEvent getActivityListEvent = new GetActivityListEvent();
     HashMap<String, String> header = new HashMap();
     String url = Urls.ACTIVITY_LIST + "?studyId=" + ((SurveyActivity) context).getStudyId();
@@ -358,6 +379,44 @@ public class SurveyActivitiesFragment extends Fragment
     studyModulePresenter.performGetActivityList(getActivityListEvent);
   }
 
+  private void getActivityStateWebservice() {
+    HashMap<String, String> header = new HashMap();
+    header.put(
+        "Authorization",
+        "Bearer "
+            + AppController.getHelperSharedPreference()
+                .readPreference(context, context.getResources().getString(R.string.auth), ""));
+    header.put(
+        "userId",
+        AppController.getHelperSharedPreference()
+            .readPreference(context, context.getResources().getString(R.string.userid), ""));
+    Studies studies =
+        dbServiceSubscriber.getStudies(((SurveyActivity) context).getStudyId(), realm);
+
+    String url =
+        Urls.ACTIVITY_STATE
+            + "?studyId="
+            + ((SurveyActivity) context).getStudyId()
+            + "&participantId="
+            + studies.getParticipantId();
+    ResponseDatastoreConfigEvent responseDatastoreConfigEvent =
+        new ResponseDatastoreConfigEvent(
+            "get",
+            url,
+            GET_PREFERENCES,
+            context,
+            ActivityData.class,
+            null,
+            header,
+            null,
+            false,
+            this);
+    ActivityStateEvent activityStateEvent = new ActivityStateEvent();
+    activityStateEvent.setResponseDatastoreConfigEvent(responseDatastoreConfigEvent);
+    UserModulePresenter userModulePresenter = new UserModulePresenter();
+    userModulePresenter.performActivityState(activityStateEvent);
+  }
+
   private void callConsentMetaDataWebservice() {
 
     new CallConsentMetaData().execute();
@@ -602,14 +661,8 @@ public class SurveyActivitiesFragment extends Fragment
         ((Activity) context).finish();
       } else {
 
-        if (studyUpdate.getStudyUpdateData().isResources()) {
-          dbServiceSubscriber.deleteResourcesFromDb(
-              context, ((SurveyActivity) context).getStudyId());
-        }
-        if (studyUpdate.getStudyUpdateData().isInfo()) {
-          dbServiceSubscriber.deleteStudyInfoFromDb(
-              context, ((SurveyActivity) context).getStudyId());
-        }
+        dbServiceSubscriber.updateStudySectionVersions(
+            context, ((SurveyActivity) context).getStudyId(), studyUpdate.getStudyUpdateData());
         if (studyUpdate.getStudyUpdateData().isConsent()) {
           callConsentMetaDataWebservice();
         } else {
@@ -634,43 +687,8 @@ public class SurveyActivitiesFragment extends Fragment
     } else if (responseCode == ACTIVTTYLIST_RESPONSECODE) {
       activityListData = (ActivityListData) response;
       activityListData.setStudyId(((SurveyActivity) context).getStudyId());
-
-      HashMap<String, String> header = new HashMap();
-      header.put(
-          "Authorization",
-          "Bearer "
-              + AppController.getHelperSharedPreference()
-                  .readPreference(context, context.getResources().getString(R.string.auth), ""));
-      header.put(
-          "userId",
-          AppController.getHelperSharedPreference()
-              .readPreference(context, context.getResources().getString(R.string.userid), ""));
-      Realm realm = AppController.getRealmobj(context);
-      Studies studies =
-          dbServiceSubscriber.getStudies(((SurveyActivity) context).getStudyId(), realm);
-
-      String url =
-          Urls.ACTIVITY_STATE
-              + "?studyId="
-              + ((SurveyActivity) context).getStudyId()
-              + "&participantId="
-              + studies.getParticipantId();
-      ResponseDatastoreConfigEvent responseDatastoreConfigEvent =
-          new ResponseDatastoreConfigEvent(
-              "get",
-              url,
-              GET_PREFERENCES,
-              context,
-              ActivityData.class,
-              null,
-              header,
-              null,
-              false,
-              this);
-      ActivityStateEvent activityStateEvent = new ActivityStateEvent();
-      activityStateEvent.setResponseDatastoreConfigEvent(responseDatastoreConfigEvent);
-      UserModulePresenter userModulePresenter = new UserModulePresenter();
-      userModulePresenter.performActivityState(activityStateEvent);
+      activityListDownloaded = true;
+      getActivityStateWebservice();
 
     } else if (responseCode == GET_PREFERENCES) {
       ActivityData activityData1 = (ActivityData) response;
@@ -731,29 +749,31 @@ public class SurveyActivitiesFragment extends Fragment
     } else if (responseCode == UPDATE_STUDY_PREFERENCE) {
       // check for notification
       AppController.getHelperProgressDialog().dismissDialog();
-      getResourceListWebservice();
+      String studyId = ((SurveyActivity) context).getStudyId();
+      if (!dbServiceSubscriber.isStudySectionSynced(studyId, StudySectionVersion.RESOURCES, realm)
+          || dbServiceSubscriber.getStudyResource(studyId, realm) == null) {
+        getResourceListWebservice();
+      } else if (isStudyInfoOutdated()) {
+        callGetStudyInfoWebservice();
+      }
       onItemsLoadComplete();
       checkForNotification();
     } else if (responseCode == RESOURCE_REQUEST_CODE) {
-      // call study info
-      callGetStudyInfoWebservice();
       if (response != null) {
-        studyResource = (StudyResource) response;
+        StudyResource studyResource = (StudyResource) response;
+        // primary key studyId, replaces the stored resources
+        studyResource.setStudyId(((SurveyActivity) context).getStudyId());
+        dbServiceSubscriber.saveResourceList(context, studyResource);
+      }
+      // call study info
+      if (isStudyInfoOutdated()) {
+        callGetStudyInfoWebservice();
       }
     } else if (responseCode == STUDY_INFO) {
       if (response != null) {
         StudyHome studyHome = (StudyHome) response;
-        ((SurveyActivity) context).getStudyId();
-        String studyId = ((SurveyActivity) context).getStudyId();
+        studyHome.setStudyId(((SurveyActivity) context).getStudyId());
         dbServiceSubscriber.saveStudyInfoToDB(context, studyHome);
-
-        if (studyResource != null) {
-          // primary key studyId
-          studyResource.setStudyId(studyId);
-          // remove duplicate and
-          dbServiceSubscriber.deleteStudyResourceDuplicateRow(context, studyId);
-          dbServiceSubscriber.saveResourceList(context, studyResource);
-        }
       }
     } else {
       AppController.getHelperProgressDialog().dismissDialog();
@@ -1450,6 +1470,12 @@ public class SurveyActivitiesFragment extends Fragment
     studyModulePresenter.performGetResourceListEvent(getResourceListEvent);
   }
 
+  private boolean isStudyInfoOutdated() {
+    String studyId = ((SurveyActivity) context).getStudyId();
+    return !dbServiceSubscriber.isStudySectionSynced(studyId, StudySectionVersion.INFO, realm)
+        || dbServiceSubscriber.getStudyInfoListFromDB(studyId, realm) == null;
+  }
+
   private void callGetStudyInfoWebservice() {
     String studyId = ((SurveyActivity) context).getStudyId();
     HashMap<String, String> header = new HashMap<>();
@@ -1556,7 +1582,8 @@ public class SurveyActivitiesFragment extends Fragment
       ArrayList<String> activityIds,
       ArrayList<String> runIds,
       String errormsg) {
-    new CalculateRuns(activityListData, activityIds, runIds, errormsg).execute();
+    new CalculateRuns(activityListData, activityIds, runIds, errormsg)
+        .executeOnExecutor(CALCULATE_RUNS_EXECUTOR);
   }
 
   @Override
@@ -1606,6 +1633,7 @@ public class SurveyActivitiesFragment extends Fragment
     private ActivityListData activityListData2 = new ActivityListData();
     private ArrayList<String> activityIds;
     private ArrayList<String> runIds;
+    private boolean activityListDownloaded;
     int completed = 0;
     int missed = 0;
     int total = 0;
@@ -1623,6 +1651,8 @@ public class SurveyActivitiesFragment extends Fragment
       this.activityIds = activityIds;
       this.runIds = runIds;
       this.errormsg = errormsg;
+      this.activityListDownloaded = SurveyActivitiesFragment.this.activityListDownloaded;
+      SurveyActivitiesFragment.this.activityListDownloaded = false;
     }
 
     @Override
@@ -1863,7 +1893,11 @@ public class SurveyActivitiesFragment extends Fragment
             }
           }
 
-          if (updateRun || activityRuns == null || activityRuns.size() == 0) {
+          if (updateRun
+              || activityRuns == null
+              || activityRuns.size() == 0
+              || !activityIds.contains(activitiesArrayList.get(i).getActivityId())) {
+            // returns early when the stored runs still match the schedule
             if (!deleted) {
               survayScheduler.setRuns(
                   activitiesArrayList.get(i),
@@ -1873,50 +1907,48 @@ public class SurveyActivitiesFragment extends Fragment
                   joiningDate,
                   context);
             }
-          } else if (activityIds.size() > 0) {
+          } else {
             // remove runs for these Ids and set runs once again
-            if (activityIds.contains(activitiesArrayList.get(i).getActivityId())) {
-              dbServiceSubscriber.deleteActivityRunsFromDb(
-                  context,
-                  activitiesArrayList.get(i).getActivityId(),
-                  ((SurveyActivity) context).getStudyId());
-              if (!deleted) {
-                survayScheduler.setRuns(
-                    activitiesArrayList.get(i),
-                    ((SurveyActivity) context).getStudyId(),
-                    starttime,
-                    endtime,
-                    joiningDate,
-                    context);
-              }
-              // delete activity object that used for survey
-              dbServiceSubscriber.deleteActivityObjectFromDb(
-                  context,
-                  activitiesArrayList.get(i).getActivityId(),
-                  ((SurveyActivity) context).getStudyId());
-              for (int j = 0; j < activityData.getActivities().size(); j++) {
-                if (activitiesArrayList
-                    .get(i)
-                    .getActivityId()
-                    .equalsIgnoreCase(activityData.getActivities().get(j).getActivityId())) {
-                  if (!activityData
-                      .getActivities()
-                      .get(j)
-                      .getStatus()
-                      .equalsIgnoreCase(YET_To_START)) {
-                    // Delete response data
-                    if (!runIds
-                        .get(activityIds.indexOf(activitiesArrayList.get(i).getActivityId()))
-                        .equalsIgnoreCase("-1")) {
-                      dbServiceSubscriber.deleteResponseDataFromDb(
-                          context,
-                          ((SurveyActivity) context).getStudyId()
-                              + "_STUDYID_"
-                              + activitiesArrayList.get(i).getActivityId()
-                              + "_"
-                              + runIds.get(
-                                  activityIds.indexOf(activitiesArrayList.get(i).getActivityId())));
-                    }
+            dbServiceSubscriber.deleteActivityRunsFromDb(
+                context,
+                activitiesArrayList.get(i).getActivityId(),
+                ((SurveyActivity) context).getStudyId());
+            if (!deleted) {
+              survayScheduler.setRuns(
+                  activitiesArrayList.get(i),
+                  ((SurveyActivity) context).getStudyId(),
+                  starttime,
+                  endtime,
+                  joiningDate,
+                  context);
+            }
+            // delete activity object that used for survey
+            dbServiceSubscriber.deleteActivityObjectFromDb(
+                context,
+                activitiesArrayList.get(i).getActivityId(),
+                ((SurveyActivity) context).getStudyId());
+            for (int j = 0; j < activityData.getActivities().size(); j++) {
+              if (activitiesArrayList
+                  .get(i)
+                  .getActivityId()
+                  .equalsIgnoreCase(activityData.getActivities().get(j).getActivityId())) {
+                if (!activityData
+                    .getActivities()
+                    .get(j)
+                    .getStatus()
+                    .equalsIgnoreCase(YET_To_START)) {
+                  // Delete response data
+                  if (!runIds
+                      .get(activityIds.indexOf(activitiesArrayList.get(i).getActivityId()))
+                      .equalsIgnoreCase("-1")) {
+                    dbServiceSubscriber.deleteResponseDataFromDb(
+                        context,
+                        ((SurveyActivity) context).getStudyId()
+                            + "_STUDYID_"
+                            + activitiesArrayList.get(i).getActivityId()
+                            + "_"
+                            + runIds.get(
+                                activityIds.indexOf(activitiesArrayList.get(i).getActivityId())));
                   }
                 }
               }
@@ -2014,6 +2046,12 @@ public class SurveyActivitiesFragment extends Fragment
           }
         }
 
+        if (activityListDownloaded) {
+          // the stored list now matches the study version, see setRecyclerView
+          dbServiceSubscriber.setStudySectionSynced(
+              context, ((SurveyActivity) context).getStudyId(), StudySectionVersion.ACTIVITIES);
+        }
+
         activitiesArrayList.clear();
       } else {
         if (errormsg != null) {
@@ -60,6 +60,7 @@ import com.harvard.studyappmodule.activitylistmodel.ActivitiesWS;
 import com.harvard.studyappmodule.activitylistmodel.ActivityListData;
 import com.harvard.studyappmodule.circularprogressbar.DonutProgress;
 import com.harvard.studyappmodule.custom.result.StepRecordCustom;
+import com.harvard.studyappmodule.custom.result.StepResultAggregate;
 import com.harvard.studyappmodule.events.GetActivityListEvent;
 import com.harvard.studyappmodule.studymodel.DashboardData;
 import com.harvard.studyappmodule.studymodel.ResponseInfoActiveTaskModel;
@@ -87,7 +88,6 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -927,10 +927,10 @@ public class SurveyDashboardFragment extends Fragment implements ApiCall.OnAsync
     totalHoursSleep.setText(statistics.getDisplayName());
     unit.setText(statistics.getUnit());
 
-    RealmResults<StepRecordCustom> stepRecordCustomList = null;
+    RealmResults<StepResultAggregate> aggregates = null;
     try {
-      stepRecordCustomList =
-          dbServiceSubscriber.getResultForStat(
+      aggregates =
+          dbServiceSubscriber.getStepResultAggregates(
               ((SurveyActivity) context).getStudyId()
                   + "_STUDYID_"
                   + statistics.getDataSource().getActivity().getActivityId(),
@@ -942,42 +942,18 @@ public class SurveyDashboardFragment extends Fragment implements ApiCall.OnAsync
       Logger.log(e);
     }
 
-    ArrayList<Double> resultlist = new ArrayList<>();
-    for (int i = 0; i < stepRecordCustomList.size(); i++) {
-      if (stepRecordCustomList.get(i) != null) {
-        JSONObject formResultObj = null;
-        try {
-          formResultObj = new JSONObject(stepRecordCustomList.get(i).result);
-          String answer;
-          String[] id = stepRecordCustomList.get(i).activityID.split("_STUDYID_");
-          ActivitiesWS activityObj = dbServiceSubscriber.getActivityObj(id[1], id[0], realm);
-          if (activityObj.getType().equalsIgnoreCase("task")) {
-            JSONObject answerjson = new JSONObject(formResultObj.getString("answer"));
-            answer = answerjson.getString("duration");
-            answer = Double.toString(Integer.parseInt(answer) / 60f);
-          } else {
-            answer = formResultObj.getString("answer");
-          }
-          resultlist.add(Double.parseDouble(answer));
-        } catch (JSONException e) {
-          Logger.log(e);
-        }
-      }
-    }
     String result = "N/A";
-    if (resultlist.size() > 0) {
+    if (aggregates != null && !aggregates.isEmpty()) {
+      double sum = aggregates.sum("sum").doubleValue();
+      long count = aggregates.sum("count").longValue();
       if (statistics.getCalculation().equalsIgnoreCase("Minimum")) {
-        result = "" + Collections.min(resultlist);
+        result = "" + aggregates.min("min").doubleValue();
       } else if (statistics.getCalculation().equalsIgnoreCase("Maximum")) {
-        result = "" + Collections.max(resultlist);
+        result = "" + aggregates.max("max").doubleValue();
       } else if (statistics.getCalculation().equalsIgnoreCase("Average")) {
-        result = "" + calculateAverage(resultlist);
+        result = "" + sum / count;
       } else if (statistics.getCalculation().equalsIgnoreCase("Summation")) {
-        double val = 0.0;
-        for (int i = 0; i < resultlist.size(); i++) {
-          val += Double.parseDouble("" + resultlist.get(i));
-        }
-        result = "" + val;
+        result = "" + sum;
       }
       result = String.format("%.2f", Double.parseDouble(result));
     }
@@ -986,17 +962,6 @@ public class SurveyDashboardFragment extends Fragment implements ApiCall.OnAsync
     totalHoursSleepVal.setText(result);
   }
 
-  private double calculateAverage(ArrayList<Double> marks) {
-    Double sum = 0.0;
-    if (!marks.isEmpty()) {
-      for (Double mark : marks) {
-        sum += mark;
-      }
-      return sum / marks.size();
-    }
-    return sum;
-  }
-
   @Override
   public <T> void asyncResponse(T response, int responseCode) {
     AppController.getHelperProgressDialog().dismissDialog();
@@ -265,10 +265,8 @@ public class SurveyResourcesFragment<T> extends Fragment implements ApiCall.OnAs
           }
           addStaticVal();
 
-          // primary key studyId
+          // primary key studyId, replaces the stored resources
           studyResource.setStudyId(studyId);
-          // remove duplicate and
-          dbServiceSubscriber.deleteStudyResourceDuplicateRow(context, studyId);
           dbServiceSubscriber.saveResourceList(context, studyResource);
 
           calculatedResources(resourceArrayList);
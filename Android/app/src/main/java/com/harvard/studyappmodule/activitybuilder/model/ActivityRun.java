@@ -16,14 +16,15 @@
 package com.harvard.studyappmodule.activitybuilder.model;
 
 import io.realm.RealmObject;
+import io.realm.annotations.Index;
 import java.util.Date;
 
 public class ActivityRun extends RealmObject {
   private int runId;
   private Date startDate;
   private Date endDate;
-  private String activityId;
-  private String studyId;
+  @Index private String activityId;
+  @Index private String studyId;
   private boolean isCompleted;
 
   public int getRunId() {
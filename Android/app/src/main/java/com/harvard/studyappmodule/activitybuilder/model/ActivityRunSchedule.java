@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 Google LLC
+ *
+ * Use of this source code is governed by an MIT-style
+ * license that can be found in the LICENSE file or at
+ * https://opensource.org/licenses/MIT.
+ */
+
+package com.harvard.studyappmodule.activitybuilder.model;
+
+import io.realm.RealmObject;
+import io.realm.annotations.PrimaryKey;
+import java.util.Date;
+
+/** Remembers which schedule the stored {@link ActivityRun}s of an activity were generated for. */
+public class ActivityRunSchedule extends RealmObject {
+  @PrimaryKey private String scheduleId;
+  private String studyId;
+  private String activityId;
+  private String scheduleVersion;
+  private Date generatedUntil;
+  private int lastRunId;
+
+  public static String getScheduleId(String studyId, String activityId) {
+    return studyId + "_" + activityId;
+  }
+
+  public String getScheduleId() {
+    return scheduleId;
+  }
+
+  public void setScheduleId(String scheduleId) {
+    this.scheduleId = scheduleId;
+  }
+
+  public String getStudyId() {
+    return studyId;
+  }
+
+  public void setStudyId(String studyId) {
+    this.studyId = studyId;
+  }
+
+  public String getActivityId() {
+    return activityId;
+  }
+
+  public void setActivityId(String activityId) {
+    this.activityId = activityId;
+  }
+
+  public String getScheduleVersion() {
+    return scheduleVersion;
+  }
+
+  public void setScheduleVersion(String scheduleVersion) {
+    this.scheduleVersion = scheduleVersion;
+  }
+
+  public Date getGeneratedUntil() {
+    return generatedUntil;
+  }
+
+  public void setGeneratedUntil(Date generatedUntil) {
+    this.generatedUntil = generatedUntil;
+  }
+
+  public int getLastRunId() {
+    return lastRunId;
+  }
+
+  public void setLastRunId(int lastRunId) {
+    this.lastRunId = lastRunId;
+  }
+}
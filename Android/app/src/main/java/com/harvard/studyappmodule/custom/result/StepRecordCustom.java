@@ -26,6 +26,7 @@ import com.google.gson.internal.LinkedTreeMap;
 import com.harvard.studyappmodule.activitybuilder.model.Choices;
 import io.realm.RealmList;
 import io.realm.RealmObject;
+import io.realm.annotations.Index;
 import io.realm.annotations.PrimaryKey;
 import java.util.Date;
 import java.util.Map;
@@ -41,15 +42,15 @@ public class StepRecordCustom extends RealmObject {
       new GsonBuilder().setDateFormat(FormatHelper.DATE_FORMAT_ISO_8601).create();
   public int id;
   public int taskRecordId;
-  public String taskId;
-  public String stepId;
+  @Index public String taskId;
+  @Index public String stepId;
   public Date started;
   public Date completed;
   public Date runStartDate;
   public Date runEndDate;
   public String result;
-  public String activityID;
-  public String studyId;
+  @Index public String activityID;
+  @Index public String studyId;
   @PrimaryKey public String taskStepID;
   public String resultType;
   private RealmList<Choices> textChoices;
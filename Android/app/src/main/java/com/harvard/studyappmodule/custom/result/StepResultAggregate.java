@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 Google LLC
+ *
+ * Use of this source code is governed by an MIT-style
+ * license that can be found in the LICENSE file or at
+ * https://opensource.org/licenses/MIT.
+ */
+
+package com.harvard.studyappmodule.custom.result;
+
+import io.realm.RealmObject;
+import io.realm.annotations.Index;
+import io.realm.annotations.PrimaryKey;
+import java.util.Date;
+
+/**
+ * Numeric answers of one step of an activity completed on one day, summarised so charts and
+ * statistics don't have to read and parse every {@link StepRecordCustom}. Kept up to date by
+ * DbServiceSubscriber whenever a step result is saved or deleted.
+ */
+public class StepResultAggregate extends RealmObject {
+  @PrimaryKey private String aggregateId;
+  @Index private String activityID;
+  @Index private String stepId;
+  private Date day;
+  private int count;
+  private double sum;
+  private double min;
+  private double max;
+  // active task answers also record how many kicks were counted in the duration
+  private int taskCount;
+  private double taskValueSum;
+
+  public static String getAggregateId(String activityID, String stepId, Date day) {
+    return activityID + "|" + stepId + "|" + day.getTime();
+  }
+
+  public String getAggregateId() {
+    return aggregateId;
+  }
+
+  public void setAggregateId(String aggregateId) {
+    this.aggregateId = aggregateId;
+  }
+
+  public String getActivityID() {
+    return activityID;
+  }
+
+  public void setActivityID(String activityID) {
+    this.activityID = activityID;
+  }
+
+  public String getStepId() {
+    return stepId;
+  }
+
+  public void setStepId(String stepId) {
+    this.stepId = stepId;
+  }
+
+  public Date getDay() {
+    return day;
+  }
+
+  public void setDay(Date day) {
+    this.day = day;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public void setCount(int count) {
+    this.count = count;
+  }
+
+  public double getSum() {
+    return sum;
+  }
+
+  public void setSum(double sum) {
+    this.sum = sum;
+  }
+
+  public double getMin() {
+    return min;
+  }
+
+  public void setMin(double min) {
+    this.min = min;
+  }
+
+  public double getMax() {
+    return max;
+  }
+
+  public void setMax(double max) {
+    this.max = max;
+  }
+
+  public int getTaskCount() {
+    return taskCount;
+  }
+
+  public void setTaskCount(int taskCount) {
+    this.taskCount = taskCount;
+  }
+
+  public double getTaskValueSum() {
+    return taskValueSum;
+  }
+
+  public void setTaskValueSum(double taskValueSum) {
+    this.taskValueSum = taskValueSum;
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Google LLC
+ *
+ * Use of this source code is governed by an MIT-style
+ * license that can be found in the LICENSE file or at
+ * https://opensource.org/licenses/MIT.
+ */
+
+package com.harvard.studyappmodule.custom.result;
+
+import java.util.Calendar;
+import java.util.Date;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Running totals of the numeric answers of one day, stored as a {@link StepResultAggregate}. Used
+ * by DbServiceSubscriber when a step result changes and by the schema migration that builds the
+ * summaries of results saved before they existed.
+ */
+public class StepResultSummary {
+  private int count;
+  private double sum;
+  private double min;
+  private double max;
+  private int taskCount;
+  private double taskValueSum;
+
+  /** Returns the start of the local day a result was completed on. */
+  public static Date getDay(Date date) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(date != null ? date : new Date());
+    calendar.set(Calendar.HOUR_OF_DAY, 0);
+    calendar.set(Calendar.MINUTE, 0);
+    calendar.set(Calendar.SECOND, 0);
+    calendar.set(Calendar.MILLISECOND, 0);
+    return calendar.getTime();
+  }
+
+  public void add(String result) {
+    if (result == null) {
+      return;
+    }
+    double value;
+    try {
+      String answer = new JSONObject(result).optString("answer");
+      if (answer.startsWith("{")) {
+        // active task answers hold the duration in seconds and the number of kicks
+        JSONObject answerjson = new JSONObject(answer);
+        value = Integer.parseInt(answerjson.getString("duration")) / 60.0;
+        taskValueSum += Double.parseDouble(answerjson.getString("value"));
+        taskCount++;
+      } else if (answer.isEmpty()) {
+        value = 0;
+      } else {
+        value = Double.parseDouble(answer);
+      }
+    } catch (JSONException | NumberFormatException e) {
+      // text and choice answers can't be charted
+      return;
+    }
+    min = count == 0 ? value : Math.min(min, value);
+    max = count == 0 ? value : Math.max(max, value);
+    sum += value;
+    count++;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public double getSum() {
+    return sum;
+  }
+
+  public double getMin() {
+    return min;
+  }
+
+  public double getMax() {
+    return max;
+  }
+
+  public int getTaskCount() {
+    return taskCount;
+  }
+
+  public double getTaskValueSum() {
+    return taskValueSum;
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Google LLC
+ *
+ * Use of this source code is governed by an MIT-style
+ * license that can be found in the LICENSE file or at
+ * https://opensource.org/licenses/MIT.
+ */
+
+package com.harvard.studyappmodule.studymodel;
+
+import io.realm.RealmObject;
+import io.realm.annotations.Index;
+import io.realm.annotations.PrimaryKey;
+
+/**
+ * Study version one section of a study's content was last downloaded for. A section is only
+ * downloaded again once the study list reports a newer study version and the study updates
+ * flagged the section as changed since the stored one, see DbServiceSubscriber.
+ */
+public class StudySectionVersion extends RealmObject {
+  public static final String ACTIVITIES = "activities";
+  public static final String RESOURCES = "resources";
+  public static final String INFO = "info";
+
+  @PrimaryKey private String sectionId;
+  @Index private String studyId;
+  private String section;
+  private String version;
+
+  public static String getSectionId(String studyId, String section) {
+    return studyId + "|" + section;
+  }
+
+  public String getSectionId() {
+    return sectionId;
+  }
+
+  public void setSectionId(String sectionId) {
+    this.sectionId = sectionId;
+  }
+
+  public String getStudyId() {
+    return studyId;
+  }
+
+  public void setStudyId(String studyId) {
+    this.studyId = studyId;
+  }
+
+  public String getSection() {
+    return section;
+  }
+
+  public void setSection(String section) {
+    this.section = section;
+  }
+
+  public String getVersion() {
+    return version;
+  }
+
+  public void setVersion(String version) {
+    this.version = version;
+  }
+}
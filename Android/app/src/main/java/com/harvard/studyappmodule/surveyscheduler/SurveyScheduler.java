@@ -19,11 +19,12 @@ import android.content.Context;
 import com.harvard.R;
 import com.harvard.notificationmodule.NotificationModuleSubscriber;
 import com.harvard.storagemodule.DbServiceSubscriber;
-import com.harvard.storagemodule.events.DatabaseEvent;
 import com.harvard.studyappmodule.SurveyActivitiesFragment;
 import com.harvard.studyappmodule.activitybuilder.model.ActivityRun;
+import com.harvard.studyappmodule.activitybuilder.model.ActivityRunSchedule;
 import com.harvard.studyappmodule.activitylistmodel.ActivitiesWS;
 import com.harvard.studyappmodule.activitylistmodel.ActivityListData;
+import com.harvard.studyappmodule.activitylistmodel.FrequencyRuns;
 import com.harvard.studyappmodule.surveyscheduler.model.ActivityStatus;
 import com.harvard.studyappmodule.surveyscheduler.model.CompletionAdherence;
 import com.harvard.usermodule.webservicemodel.Activities;
@@ -33,11 +34,12 @@ import com.harvard.utils.AppController;
 import com.harvard.utils.Logger;
 import io.realm.Realm;
 import io.realm.RealmResults;
-import io.realm.Sort;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.TimeZone;
 
 public class SurveyScheduler {
@@ -55,6 +57,7 @@ public class SurveyScheduler {
   private Context context;
   private DbServiceSubscriber dbServiceSubscriber;
   private Realm realm;
+  private List<ActivityRun> generatedRuns = new ArrayList<>();
 
   public SurveyScheduler(DbServiceSubscriber dbServiceSubscriber, Realm realm) {
     this.dbServiceSubscriber = dbServiceSubscriber;
@@ -99,6 +102,10 @@ public class SurveyScheduler {
         - currentOffset;
   }
 
+  /**
+   * Generates the runs of an activity. Nothing is written when the stored runs already match the
+   * schedule, and only the missing runs are added when just the end time moved out.
+   */
   public void setRuns(
       ActivitiesWS activity,
       String studyId,
@@ -115,21 +122,142 @@ public class SurveyScheduler {
 
     if (endTime != null && joiningTime.after(endTime)) {
     } else {
-      if (activity.getFrequency().getType().equalsIgnoreCase(FREQUENCY_TYPE_DAILY)) {
+      String frequencyType = activity.getFrequency().getType();
+      String scheduleVersion = getScheduleVersion(activity, startTime, joiningTime);
+      ActivityRunSchedule activityRunSchedule =
+          dbServiceSubscriber.getActivityRunSchedule(studyId, activity.getActivityId(), realm);
+      RealmResults<ActivityRun> storedRuns =
+          dbServiceSubscriber.getAllActivityRunFromDB(studyId, activity.getActivityId(), realm);
+
+      // runs below this id are already stored and stay as they are
+      int firstRunId = 1;
+      boolean replaceAll = true;
+      if (!storedRuns.isEmpty()) {
+        if (activityRunSchedule == null) {
+          // runs generated before schedules were tracked, take them over as they are
+          saveActivityRuns(
+              activity, new ArrayList<ActivityRun>(), scheduleVersion, storedRuns.last(), false);
+          return;
+        }
+        boolean sameVersion = scheduleVersion.equals(activityRunSchedule.getScheduleVersion());
+        Date generatedUntil = activityRunSchedule.getGeneratedUntil();
+        if (sameVersion
+            && (endTime == null ? generatedUntil == null : endTime.equals(generatedUntil))) {
+          return;
+        }
+        if (sameVersion
+            && endTime != null
+            && generatedUntil != null
+            && endTime.after(generatedUntil)
+            && (frequencyType.equalsIgnoreCase(FREQUENCY_TYPE_DAILY)
+                || frequencyType.equalsIgnoreCase(FREQUENCY_TYPE_WEEKLY)
+                || frequencyType.equalsIgnoreCase(FREQUENCY_TYPE_MONTHLY))) {
+          // the end time moved out, the old end time may have cut the last run short
+          firstRunId = activityRunSchedule.getLastRunId();
+          replaceAll = false;
+        }
+      }
+
+      generatedRuns.clear();
+      if (frequencyType.equalsIgnoreCase(FREQUENCY_TYPE_DAILY)) {
         setDailyRun(activity, offset);
-      } else if (activity.getFrequency().getType().equalsIgnoreCase(FREQUENCY_TYPE_WEEKLY)) {
+      } else if (frequencyType.equalsIgnoreCase(FREQUENCY_TYPE_WEEKLY)) {
         setWeeklyRun(activity, offset);
-      } else if (activity.getFrequency().getType().equalsIgnoreCase(FREQUENCY_TYPE_MONTHLY)) {
+      } else if (frequencyType.equalsIgnoreCase(FREQUENCY_TYPE_MONTHLY)) {
         setMonthlyRun(activity, offset);
-      } else if (activity
-          .getFrequency()
-          .getType()
-          .equalsIgnoreCase(FREQUENCY_TYPE_MANUALLY_SCHEDULE)) {
+      } else if (frequencyType.equalsIgnoreCase(FREQUENCY_TYPE_MANUALLY_SCHEDULE)) {
         setScheduledRun(activity, offset);
-      } else if (activity.getFrequency().getType().equalsIgnoreCase(FREQUENCY_TYPE_ONE_TIME)) {
+      } else if (frequencyType.equalsIgnoreCase(FREQUENCY_TYPE_ONE_TIME)) {
         setOneTimeRun(activity, offset);
       }
+
+      List<ActivityRun> missingRuns = new ArrayList<>();
+      for (ActivityRun activityRun : generatedRuns) {
+        if (activityRun.getRunId() >= firstRunId) {
+          missingRuns.add(activityRun);
+        }
+      }
+      ActivityRun lastRun =
+          generatedRuns.isEmpty() ? null : generatedRuns.get(generatedRuns.size() - 1);
+      saveActivityRuns(activity, missingRuns, scheduleVersion, lastRun, replaceAll);
+      generatedRuns.clear();
+
+      if (replaceAll) {
+        // notifications of the replaced runs
+        dbServiceSubscriber.deleteUpcomingNotificationDb(
+            context, activity.getActivityId(), studyId);
+      }
+      String notificationType = getNotificationType(activity);
+      NotificationModuleSubscriber notificationModuleSubscriber =
+          new NotificationModuleSubscriber(dbServiceSubscriber, realm);
+      for (ActivityRun activityRun : missingRuns) {
+        // the rewritten last run already has its notification
+        if ((replaceAll || activityRun.getRunId() > firstRunId)
+            && !removeOffset(activityRun.getEndDate(), offset).before(new Date())) {
+          notificationModuleSubscriber.generateActivityLocalNotification(
+              activityRun, context, notificationType, offset);
+        }
+      }
+      notificationModuleSubscriber.setNextNotificationAlarm(context);
+    }
+  }
+
+  private static String getNotificationType(ActivitiesWS activity) {
+    String frequencyType = activity.getFrequency().getType();
+    if (frequencyType.equalsIgnoreCase(FREQUENCY_TYPE_DAILY)) {
+      if (activity.getFrequency().getRuns().size() > 1) {
+        return FREQUENCY_TYPE_WITHIN_A_DAY;
+      }
+      return FREQUENCY_TYPE_DAILY;
+    } else if (frequencyType.equalsIgnoreCase(FREQUENCY_TYPE_WEEKLY)) {
+      return FREQUENCY_TYPE_WEEKLY;
+    } else if (frequencyType.equalsIgnoreCase(FREQUENCY_TYPE_MONTHLY)) {
+      return FREQUENCY_TYPE_MONTHLY;
+    } else if (frequencyType.equalsIgnoreCase(FREQUENCY_TYPE_MANUALLY_SCHEDULE)) {
+      return FREQUENCY_TYPE_MANUALLY_SCHEDULE;
+    }
+    return FREQUENCY_TYPE_ONE_TIME;
+  }
+
+  private void saveActivityRuns(
+      ActivitiesWS activity,
+      List<ActivityRun> activityRuns,
+      String scheduleVersion,
+      ActivityRun lastRun,
+      boolean replaceAll) {
+    ActivityRunSchedule activityRunSchedule = new ActivityRunSchedule();
+    activityRunSchedule.setScheduleId(
+        ActivityRunSchedule.getScheduleId(studyId, activity.getActivityId()));
+    activityRunSchedule.setStudyId(studyId);
+    activityRunSchedule.setActivityId(activity.getActivityId());
+    activityRunSchedule.setScheduleVersion(scheduleVersion);
+    activityRunSchedule.setGeneratedUntil(endTime);
+    activityRunSchedule.setLastRunId(lastRun == null ? 0 : lastRun.getRunId());
+    dbServiceSubscriber.saveActivityRuns(context, activityRuns, activityRunSchedule, replaceAll);
+  }
+
+  /** Everything that decides the runs of an activity except its end time. */
+  private static String getScheduleVersion(
+      ActivitiesWS activity, Date startTime, Date joiningTime) {
+    StringBuilder scheduleVersion = new StringBuilder();
+    scheduleVersion
+        .append(activity.getActivityVersion())
+        .append('|')
+        .append(activity.getFrequency().getType())
+        .append('|')
+        .append(startTime == null ? "" : startTime.getTime())
+        .append('|')
+        .append(joiningTime == null ? "" : joiningTime.getTime());
+    if (activity.getFrequency().getRuns() != null) {
+      for (FrequencyRuns frequencyRuns : activity.getFrequency().getRuns()) {
+        scheduleVersion
+            .append('|')
+            .append(frequencyRuns.getStartTime())
+            .append('-')
+            .append(frequencyRuns.getEndTime());
+      }
     }
+    return scheduleVersion.toString();
   }
 
   private Date appleyOffset(Date date, int offset) {
@@ -233,20 +361,7 @@ public class SurveyScheduler {
               }
             }
             if (activityRun != null) {
-              insertAndUpdateToDB(context, activityRun);
-              NotificationModuleSubscriber notificationModuleSubscriber =
-                  new NotificationModuleSubscriber(dbServiceSubscriber, realm);
-              if (activity.getFrequency().getRuns().size() > 1) {
-                if (!removeOffset(activityRun.getEndDate(), offset).before(new Date())) {
-                  notificationModuleSubscriber.generateActivityLocalNotification(
-                      activityRun, context, FREQUENCY_TYPE_WITHIN_A_DAY, offset);
-                }
-              } else {
-                if (!removeOffset(activityRun.getEndDate(), offset).before(new Date())) {
-                  notificationModuleSubscriber.generateActivityLocalNotification(
-                      activityRun, context, FREQUENCY_TYPE_DAILY, offset);
-                }
-              }
+              generatedRuns.add(activityRun);
               run++;
             }
           } catch (ParseException e) {
@@ -308,13 +423,7 @@ public class SurveyScheduler {
         Logger.log(e);
       }
       if (activityRun != null) {
-        insertAndUpdateToDB(context, activityRun);
-        NotificationModuleSubscriber notificationModuleSubscriber =
-            new NotificationModuleSubscriber(dbServiceSubscriber, realm);
-        if (!removeOffset(activityRun.getEndDate(), offset).before(new Date())) {
-          notificationModuleSubscriber.generateActivityLocalNotification(
-              activityRun, context, FREQUENCY_TYPE_ONE_TIME, offset);
-        }
+        generatedRuns.add(activityRun);
       }
     }
   }
@@ -363,13 +472,7 @@ public class SurveyScheduler {
                 appleyOffset(endCalendarTime.getTime(), offset),
                 run);
         if (activityRun != null) {
-          insertAndUpdateToDB(context, activityRun);
-          NotificationModuleSubscriber notificationModuleSubscriber =
-              new NotificationModuleSubscriber(dbServiceSubscriber, realm);
-          if (!removeOffset(activityRun.getEndDate(), offset).before(new Date())) {
-            notificationModuleSubscriber.generateActivityLocalNotification(
-                activityRun, context, FREQUENCY_TYPE_MONTHLY, offset);
-          }
+          generatedRuns.add(activityRun);
           run++;
         }
       }
@@ -440,14 +543,7 @@ public class SurveyScheduler {
           Logger.log(e);
         }
         if (activityRun != null) {
-          insertAndUpdateToDB(context, activityRun);
-          NotificationModuleSubscriber notificationModuleSubscriber =
-              new NotificationModuleSubscriber(dbServiceSubscriber, realm);
-          if (!removeOffset(activityRun.getEndDate(), offset).before(new Date())) {
-            notificationModuleSubscriber.generateActivityLocalNotification(
-                activityRun, context, FREQUENCY_TYPE_MANUALLY_SCHEDULE, offset);
-          }
-
+          generatedRuns.add(activityRun);
           run++;
         }
       }
@@ -509,13 +605,7 @@ public class SurveyScheduler {
                 appleyOffset(endCalenderTime.getTime(), offset),
                 run);
         if (activityRun != null) {
-          insertAndUpdateToDB(context, activityRun);
-          NotificationModuleSubscriber notificationModuleSubscriber =
-              new NotificationModuleSubscriber(dbServiceSubscriber, realm);
-          if (!removeOffset(activityRun.getEndDate(), offset).before(new Date())) {
-            notificationModuleSubscriber.generateActivityLocalNotification(
-                activityRun, context, FREQUENCY_TYPE_WEEKLY, offset);
-          }
+          generatedRuns.add(activityRun);
           run++;
         }
       }
@@ -540,15 +630,6 @@ public class SurveyScheduler {
     return activityRun;
   }
 
-  private <E> void insertAndUpdateToDB(Context context, E e) {
-    DatabaseEvent databaseEvent = new DatabaseEvent();
-    databaseEvent.setE(e);
-    databaseEvent.setType(DbServiceSubscriber.TYPE_COPY);
-    databaseEvent.setaClass(ActivityRun.class);
-    databaseEvent.setOperation(DbServiceSubscriber.INSERT_AND_UPDATE_OPERATION);
-    dbServiceSubscriber.insert(context, databaseEvent);
-  }
-
   // if currentRunId = 0 then no need to show the current run in UI
   public ActivityStatus getActivityStatus(
       ActivityData activityData,
@@ -561,7 +642,6 @@ public class SurveyScheduler {
 
     RealmResults<ActivityRun> activityRuns =
         dbServiceSubscriber.getAllActivityRunFromDB(studyId, activityId, realm);
-    activityRuns = activityRuns.sort("runId", Sort.ASCENDING);
 
     int missedRun = 0;
     int completedRun = 0;
@@ -569,31 +649,12 @@ public class SurveyScheduler {
     Date currentRunEndDate = null;
     boolean runAvailable = false;
     Activities activitiesForStatus = null;
-    SimpleDateFormat simpleDateFormat = AppController.getDateFormatForApi();
-
-    ActivityRun activityRun = null;
-    ActivityRun activityPreviousRun = null;
-    boolean previousRun = true;
-    for (int i = 0; i < activityRuns.size(); i++) {
-      Date activityRunStDate = null;
-      Date activityRunEndDate = null;
-      try {
-        activityRunStDate =
-            simpleDateFormat.parse(simpleDateFormat.format(activityRuns.get(i).getStartDate()));
-        activityRunEndDate =
-            simpleDateFormat.parse(simpleDateFormat.format(activityRuns.get(i).getEndDate()));
-      } catch (ParseException e) {
-        Logger.log(e);
-      }
 
-      if ((currentDate.equals(activityRunStDate) || currentDate.after(activityRunStDate))
-          && (currentDate.equals(activityRunEndDate) || currentDate.before(activityRunEndDate))) {
-        activityRun = activityRuns.get(i);
-      } else if (currentDate.after(activityRunStDate)) {
-        activityPreviousRun = activityRuns.get(i);
-        previousRun = false;
-      }
-    }
+    // let the indexed queries find the runs instead of walking every run of the activity
+    ActivityRun activityRun =
+        dbServiceSubscriber.getActivityRunContaining(studyId, activityId, currentDate, realm);
+    ActivityRun activityPreviousRun =
+        dbServiceSubscriber.getActivityRunEndedBefore(studyId, activityId, currentDate, realm);
 
     if (activityRun != null) {
       runAvailable = true;
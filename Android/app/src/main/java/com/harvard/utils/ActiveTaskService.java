@@ -31,29 +31,12 @@ import android.support.annotation.Nullable;
 import android.support.v4.app.NotificationCompat;
 import com.harvard.FdaApplication;
 import com.harvard.R;
-import com.harvard.offlinemodule.model.OfflineData;
-import com.harvard.storagemodule.DbServiceSubscriber;
-import com.harvard.studyappmodule.StudyModulePresenter;
-import com.harvard.studyappmodule.events.ProcessResponseEvent;
-import com.harvard.usermodule.UserModulePresenter;
-import com.harvard.usermodule.event.UpdatePreferenceEvent;
-import com.harvard.usermodule.webservicemodel.LoginData;
-import com.harvard.webservicemodule.apihelper.ApiCall;
-import com.harvard.webservicemodule.events.ParticipantEnrollmentDatastoreConfigEvent;
-import com.harvard.webservicemodule.events.ResponseDatastoreConfigEvent;
-import io.realm.Realm;
-import io.realm.RealmResults;
+import com.harvard.offlinemodule.auth.OfflineDataUploader;
 import java.util.Calendar;
-import java.util.HashMap;
-import org.json.JSONException;
-import org.json.JSONObject;
 
-public class ActiveTaskService extends Service implements ApiCall.OnAsyncRequestComplete {
+public class ActiveTaskService extends Service {
   private int sec;
   private Thread thread;
-  private static final int UPDATE_USERPREFERENCE_RESPONSECODE = 102;
-  private DbServiceSubscriber dbServiceSubscriber;
-  private Realm realm;
 
   @Override
   public void onCreate() {
@@ -70,7 +53,6 @@ public class ActiveTaskService extends Service implements ApiCall.OnAsyncRequest
           && intent.getStringExtra("broadcast").equalsIgnoreCase("yes")) {
         startAlarm();
       } else if (intent.getStringExtra("SyncAdapter") != null) {
-        realm = AppController.getRealmobj(this);
         Bitmap icon = BitmapFactory.decodeResource(getResources(), R.mipmap.ic_launcher);
         Notification notification =
             new NotificationCompat.Builder(this)
@@ -186,113 +168,14 @@ public class ActiveTaskService extends Service implements ApiCall.OnAsyncRequest
   }
 
   private void getPendingData() {
-    try {
-      dbServiceSubscriber = new DbServiceSubscriber();
-
-      RealmResults<OfflineData> results = dbServiceSubscriber.getOfflineData(realm);
-      if (!results.isEmpty()) {
-        for (int i = 0; i < results.size(); i++) {
-          String httpMethod = results.get(i).getHttpMethod();
-          String url = results.get(i).getUrl();
-          String normalParam = results.get(i).getNormalParam();
-          String jsonObject = results.get(i).getJsonParam();
-          String serverType = results.get(i).getServerType();
-          updateServer(httpMethod, url, normalParam, jsonObject, serverType);
-          break;
-        }
-      } else {
-        dbServiceSubscriber.closeRealmObj(realm);
-        stopSelf();
-      }
-    } catch (Exception e) {
-      stopSelf();
-      Logger.log(e);
-    }
-  }
-
-  public void updateServer(
-      String httpMethod,
-      String url,
-      String normalParam,
-      String jsonObjectString,
-      String serverType) {
-
-    JSONObject jsonObject = null;
-    try {
-      jsonObject = new JSONObject(jsonObjectString);
-    } catch (JSONException e) {
-      Logger.log(e);
-    }
-
-    if (serverType.equalsIgnoreCase("ParticipantEnrollmentDatastore")) {
-      HashMap<String, String> header = new HashMap();
-      header.put(
-          "auth",
-          AppController.getHelperSharedPreference()
-              .readPreference(this, getResources().getString(R.string.auth), ""));
-      header.put(
-          "userId",
-          AppController.getHelperSharedPreference()
-              .readPreference(this, getResources().getString(R.string.userid), ""));
-
-      UpdatePreferenceEvent updatePreferenceEvent = new UpdatePreferenceEvent();
-      ParticipantEnrollmentDatastoreConfigEvent participantEnrollmentDatastoreConfigEvent =
-          new ParticipantEnrollmentDatastoreConfigEvent(
-              httpMethod,
-              url,
-              UPDATE_USERPREFERENCE_RESPONSECODE,
-              this,
-              LoginData.class,
-              null,
-              header,
-              jsonObject,
-              false,
-              this);
-      updatePreferenceEvent.setParticipantEnrollmentDatastoreConfigEvent(
-          participantEnrollmentDatastoreConfigEvent);
-      UserModulePresenter userModulePresenter = new UserModulePresenter();
-      userModulePresenter.performUpdateUserPreference(updatePreferenceEvent);
-    } else if (serverType.equalsIgnoreCase("ResponseDatastore")) {
-      HashMap<String, String> header = new HashMap();
-      header.put(
-          "auth",
-          AppController.getHelperSharedPreference()
-              .readPreference(this, getResources().getString(R.string.auth), ""));
-      header.put(
-          "userId",
-          AppController.getHelperSharedPreference()
-              .readPreference(this, getResources().getString(R.string.userid), ""));
-
-      ProcessResponseEvent processResponseEvent = new ProcessResponseEvent();
-      ResponseDatastoreConfigEvent responseDatastoreConfigEvent =
-          new ResponseDatastoreConfigEvent(
-              httpMethod,
-              url,
-              UPDATE_USERPREFERENCE_RESPONSECODE,
-              this,
-              LoginData.class,
-              null,
-              header,
-              jsonObject,
-              false,
-              this);
-
-      processResponseEvent.setResponseDatastoreConfigEvent(responseDatastoreConfigEvent);
-      StudyModulePresenter studyModulePresenter = new StudyModulePresenter();
-      studyModulePresenter.performProcessResponse(processResponseEvent);
-    }
-  }
-
-  @Override
-  public <T> void asyncResponse(T response, int responseCode) {
-    if (responseCode == UPDATE_USERPREFERENCE_RESPONSECODE) {
-      dbServiceSubscriber.removeOfflineData(this);
-      getPendingData();
-    }
-  }
-
-  @Override
-  public void asyncResponseFailure(int responseCode, String errormsg, String statusCode) {
-    stopSelf();
+    new OfflineDataUploader(
+            this,
+            new OfflineDataUploader.OnUploadComplete() {
+              @Override
+              public void onUploadComplete() {
+                stopSelf();
+              }
+            })
+        .start();
   }
 }
@@ -34,6 +34,7 @@ import android.view.View;
 import android.view.WindowManager;
 import android.view.inputmethod.InputMethodManager;
 import android.widget.TextView;
+import com.google.gson.Gson;
 import com.harvard.AppConfig;
 import com.harvard.R;
 import com.harvard.SplashActivity;
@@ -44,6 +45,7 @@ import com.harvard.storagemodule.DbServiceSubscriber;
 import com.harvard.studyappmodule.StandaloneActivity;
 import com.harvard.studyappmodule.StudyActivity;
 import com.harvard.studyappmodule.studymodel.Resource;
+import com.harvard.utils.realm.FdaRealmMigration;
 import com.harvard.utils.realm.RealmEncryptionHelper;
 import io.realm.Realm;
 import io.realm.RealmConfiguration;
@@ -88,6 +90,8 @@ public class AppController {
   private static JsonFormatHelper jsonFormatHelper;
   private static SetDialogHelper setDialogHelper;
   private static ProgressDialogHelper progressDialogHelper;
+  // Gson caches its type adapters and is thread safe, so one instance serves every request
+  private static final Gson gson = new Gson();
   private static RealmConfiguration config;
   private static KeyStore keyStore;
   private static final String TAG = "FDAKeystore";
@@ -108,6 +112,10 @@ public class AppController {
     return jsonFormatHelper;
   }
 
+  public static Gson getGson() {
+    return gson;
+  }
+
   public static ProgressDialogHelper getHelperProgressDialog() {
     if (progressDialogHelper == null) {
       progressDialogHelper = new ProgressDialogHelper();
@@ -234,7 +242,8 @@ public class AppController {
       config =
           new RealmConfiguration.Builder()
               .encryptionKey(key)
-              .deleteRealmIfMigrationNeeded()
+              .schemaVersion(FdaRealmMigration.SCHEMA_VERSION)
+              .migration(new FdaRealmMigration())
               .build();
     }
     return Realm.getInstance(config);
@@ -3,8 +3,26 @@ package com.harvard.utils;
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
+import com.harvard.notificationmodule.NotificationModuleSubscriber;
+import com.harvard.storagemodule.DbServiceSubscriber;
+import io.realm.Realm;
 
 public class BootCompleteListener extends BroadcastReceiver {
   @Override
-  public void onReceive(Context context, Intent intent) {}
+  public void onReceive(Context context, Intent intent) {
+    if (!Intent.ACTION_BOOT_COMPLETED.equals(intent.getAction())) {
+      return;
+    }
+    // alarms don't survive a reboot
+    try {
+      Realm realm = AppController.getRealmobj(context);
+      DbServiceSubscriber dbServiceSubscriber = new DbServiceSubscriber();
+      NotificationModuleSubscriber notificationModuleSubscriber =
+          new NotificationModuleSubscriber(dbServiceSubscriber, realm);
+      notificationModuleSubscriber.resetNextNotificationAlarm(context);
+      dbServiceSubscriber.closeRealmObj(realm);
+    } catch (Exception e) {
+      Logger.log(e);
+    }
+  }
 }
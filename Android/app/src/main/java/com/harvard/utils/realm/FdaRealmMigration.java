@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020 Google LLC
+ *
+ * Use of this source code is governed by an MIT-style
+ * license that can be found in the LICENSE file or at
+ * https://opensource.org/licenses/MIT.
+ */
+
+package com.harvard.utils.realm;
+
+import com.harvard.studyappmodule.custom.result.StepResultAggregate;
+import com.harvard.studyappmodule.custom.result.StepResultSummary;
+import io.realm.DynamicRealm;
+import io.realm.DynamicRealmObject;
+import io.realm.FieldAttribute;
+import io.realm.RealmMigration;
+import io.realm.RealmObjectSchema;
+import io.realm.RealmResults;
+import io.realm.RealmSchema;
+import io.realm.Sort;
+import java.util.Date;
+
+/**
+ * Upgrades the on-device schema in place. Every schema change bumps {@link #SCHEMA_VERSION} and
+ * adds a step here, so pending responses and offline data survive an app update.
+ */
+public class FdaRealmMigration implements RealmMigration {
+
+  public static final long SCHEMA_VERSION = 5;
+
+  @Override
+  public void migrate(DynamicRealm realm, long oldVersion, long newVersion) {
+    RealmSchema schema = realm.getSchema();
+
+    if (oldVersion == 0) {
+      // fields used to look up the runs, step results and notifications of an activity
+      addIndex(schema.get("ActivityRun"), "studyId", "activityId");
+      addIndex(schema.get("StepRecordCustom"), "studyId", "activityID", "taskId", "stepId");
+      addIndex(schema.get("NotificationDb"), "studyId", "activityId");
+      addIndex(schema.get("PendingIntents"), "studyId", "activityId");
+      oldVersion++;
+    }
+
+    if (oldVersion == 1) {
+      // schedule each activity's runs were generated for, see SurveyScheduler
+      if (schema.get("ActivityRunSchedule") == null) {
+        schema
+            .create("ActivityRunSchedule")
+            .addField("scheduleId", String.class, FieldAttribute.PRIMARY_KEY)
+            .addField("studyId", String.class)
+            .addField("activityId", String.class)
+            .addField("scheduleVersion", String.class)
+            .addField("generatedUntil", Date.class)
+            .addField("lastRunId", int.class);
+      }
+      oldVersion++;
+    }
+
+    if (oldVersion == 2) {
+      // per day summaries of numeric step results, built here from the results already saved
+      if (schema.get("StepResultAggregate") == null) {
+        schema
+            .create("StepResultAggregate")
+            .addField("aggregateId", String.class, FieldAttribute.PRIMARY_KEY)
+            .addField("activityID", String.class, FieldAttribute.INDEXED)
+            .addField("stepId", String.class, FieldAttribute.INDEXED)
+            .addField("day", Date.class)
+            .addField("count", int.class)
+            .addField("sum", double.class)
+            .addField("min", double.class)
+            .addField("max", double.class)
+            .addField("taskCount", int.class)
+            .addField("taskValueSum", double.class);
+        if (schema.get("StepRecordCustom") != null) {
+          buildStepResultAggregates(realm);
+        }
+      }
+      oldVersion++;
+    }
+
+    if (oldVersion == 3) {
+      // the notification alarm looks up the next notification by time
+      addIndex(schema.get("NotificationDb"), "dateTime");
+      oldVersion++;
+    }
+
+    if (oldVersion == 4) {
+      // study version each section of a study's content was downloaded for
+      if (schema.get("StudySectionVersion") == null) {
+        schema
+            .create("StudySectionVersion")
+            .addField("sectionId", String.class, FieldAttribute.PRIMARY_KEY)
+            .addField("studyId", String.class, FieldAttribute.INDEXED)
+            .addField("section", String.class)
+            .addField("version", String.class);
+      }
+      oldVersion++;
+    }
+  }
+
+  private static void buildStepResultAggregates(DynamicRealm realm) {
+    RealmResults<DynamicRealmObject> rows =
+        realm
+            .where("StepRecordCustom")
+            .isNotNull("activityID")
+            .isNotNull("stepId")
+            .isNotNull("completed")
+            .sort(
+                new String[] {"activityID", "stepId", "completed"},
+                new Sort[] {Sort.ASCENDING, Sort.ASCENDING, Sort.ASCENDING})
+            .findAll();
+    String activityId = null;
+    String stepId = null;
+    Date day = null;
+    StepResultSummary summary = new StepResultSummary();
+    for (DynamicRealmObject row : rows) {
+      String rowActivityId = row.getString("activityID");
+      String rowStepId = row.getString("stepId");
+      Date rowDay = StepResultSummary.getDay(row.getDate("completed"));
+      if (!rowActivityId.equals(activityId) || !rowStepId.equals(stepId) || !rowDay.equals(day)) {
+        saveStepResultAggregate(realm, activityId, stepId, day, summary);
+        activityId = rowActivityId;
+        stepId = rowStepId;
+        day = rowDay;
+        summary = new StepResultSummary();
+      }
+      summary.add(row.getString("result"));
+    }
+    saveStepResultAggregate(realm, activityId, stepId, day, summary);
+  }
+
+  private static void saveStepResultAggregate(
+      DynamicRealm realm, String activityId, String stepId, Date day, StepResultSummary summary) {
+    if (day == null || summary.getCount() == 0) {
+      return;
+    }
+    DynamicRealmObject aggregate =
+        realm.createObject(
+            "StepResultAggregate", StepResultAggregate.getAggregateId(activityId, stepId, day));
+    aggregate.setString("activityID", activityId);
+    aggregate.setString("stepId", stepId);
+    aggregate.setDate("day", day);
+    aggregate.setInt("count", summary.getCount());
+    aggregate.setDouble("sum", summary.getSum());
+    aggregate.setDouble("min", summary.getMin());
+    aggregate.setDouble("max", summary.getMax());
+    aggregate.setInt("taskCount", summary.getTaskCount());
+    aggregate.setDouble("taskValueSum", summary.getTaskValueSum());
+  }
+
+  private static void addIndex(RealmObjectSchema objectSchema, String... fieldNames) {
+    if (objectSchema == null) {
+      return;
+    }
+    for (String fieldName : fieldNames) {
+      if (objectSchema.hasField(fieldName) && !objectSchema.hasIndex(fieldName)) {
+        objectSchema.addIndex(fieldName);
+      }
+    }
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    // Realm compares the configurations of open instances, all migrations are interchangeable
+    return obj instanceof FdaRealmMigration;
+  }
+
+  @Override
+  public int hashCode() {
+    return FdaRealmMigration.class.hashCode();
+  }
+}
@@ -19,7 +19,6 @@ import android.content.Context;
 import android.content.DialogInterface;
 import android.os.AsyncTask;
 import android.support.v7.app.AlertDialog;
-import com.google.gson.Gson;
 import com.google.gson.stream.JsonReader;
 import com.harvard.BuildConfig;
 import com.harvard.FdaApplication;
@@ -52,6 +51,7 @@ public class ApiCall<T, V> extends AsyncTask<T, String, String> {
   private Responsemodel responseModel;
   private boolean showAlert;
   private String serverType;
+  private static final Object REFRESH_TOKEN_LOCK = new Object();
 
   public ApiCall(Context context) {
     this.context = context;
@@ -86,7 +86,7 @@ public class ApiCall<T, V> extends AsyncTask<T, String, String> {
     this.onAsyncRequestComplete = (OnAsyncRequestComplete) v;
     this.serverType = serverType;
     this.showAlert = showAlert;
-    execute();
+    executeOnExecutor(HttpRequest.getExecutor());
   }
 
   /**
@@ -118,7 +118,7 @@ public class ApiCall<T, V> extends AsyncTask<T, String, String> {
     this.onAsyncRequestComplete = (OnAsyncRequestComplete) v;
     this.showAlert = showAlert;
     this.serverType = serverType;
-    execute();
+    executeOnExecutor(HttpRequest.getExecutor());
   }
 
   /**
@@ -150,7 +150,7 @@ public class ApiCall<T, V> extends AsyncTask<T, String, String> {
     this.onAsyncRequestComplete = (OnAsyncRequestComplete) v;
     this.showAlert = showAlert;
     this.serverType = serverType;
-    execute();
+    executeOnExecutor(HttpRequest.getExecutor());
   }
 
   /**
@@ -182,7 +182,7 @@ public class ApiCall<T, V> extends AsyncTask<T, String, String> {
     this.onAsyncRequestComplete = (OnAsyncRequestComplete) v;
     this.showAlert = showAlert;
     this.serverType = serverType;
-    execute();
+    executeOnExecutor(HttpRequest.getExecutor());
   }
 
   /**
@@ -211,7 +211,7 @@ public class ApiCall<T, V> extends AsyncTask<T, String, String> {
     this.onAsyncRequestComplete = (OnAsyncRequestComplete) v;
     this.showAlert = showAlert;
     this.serverType = serverType;
-    execute();
+    executeOnExecutor(HttpRequest.getExecutor());
   }
 
   // Interface to be implemented by calling activity
@@ -238,6 +238,7 @@ public class ApiCall<T, V> extends AsyncTask<T, String, String> {
     ConnectionDetector connectionDetector = new ConnectionDetector(context);
     String response;
     if (connectionDetector.isConnectingToInternet()) {
+      String requestAuthToken = getRequestAuthToken();
       switch (webserviceType) {
         case "get":
           responseModel = HttpRequest.getRequest(urlPassed, headersData, serverType);
@@ -270,29 +271,37 @@ public class ApiCall<T, V> extends AsyncTask<T, String, String> {
 
         if (!this.serverType.equalsIgnoreCase("STUDY_DATASTORE")) {
 
-          HashMap<String, String> refreshTokenJsonData = new HashMap();
-          refreshTokenJsonData.put(
-              "refresh_token",
-              AppController.getHelperSharedPreference()
-                  .readPreference(context, context.getString(R.string.refreshToken), ""));
-          refreshTokenJsonData.put(
-              "userId",
-              SharedPreferenceHelper.readPreference(
-                  context, context.getString(R.string.userid), ""));
-          refreshTokenJsonData.put("redirect_uri", Urls.AUTH_SERVER_REDIRECT_URL);
-          refreshTokenJsonData.put("client_id", BuildConfig.HYDRA_CLIENT_ID);
-          refreshTokenJsonData.put("grant_type", "refresh_token");
-
           HashMap<String, String> refreshTokenHeader = new HashMap<>();
           refreshTokenHeader.put("Content-Type", "application/x-www-form-urlencoded");
           refreshTokenHeader.put("mobilePlatform", "ANDROID");
           refreshTokenHeader.put("correlationId", FdaApplication.getRandomString());
 
           String refreshTokenUrl = Urls.BASE_URL_AUTH_SERVER + Urls.TOKENS;
-          responseModel =
-              HttpRequest.postRequestsWithHashmap(
-                  refreshTokenUrl, refreshTokenJsonData, refreshTokenHeader, "");
-          String s = checkResponse(true, responseModel, HttpURLConnection.HTTP_FORBIDDEN);
+          String s;
+          // requests now run in parallel, a refresh token can only be redeemed once
+          synchronized (REFRESH_TOKEN_LOCK) {
+            if (isTokenRefreshedSince(requestAuthToken)) {
+              s = "success";
+            } else {
+              // read under the lock, a refresh that just finished has replaced the refresh token
+              HashMap<String, String> refreshTokenJsonData = new HashMap();
+              refreshTokenJsonData.put(
+                  "refresh_token",
+                  AppController.getHelperSharedPreference()
+                      .readPreference(context, context.getString(R.string.refreshToken), ""));
+              refreshTokenJsonData.put(
+                  "userId",
+                  SharedPreferenceHelper.readPreference(
+                      context, context.getString(R.string.userid), ""));
+              refreshTokenJsonData.put("redirect_uri", Urls.AUTH_SERVER_REDIRECT_URL);
+              refreshTokenJsonData.put("client_id", BuildConfig.HYDRA_CLIENT_ID);
+              refreshTokenJsonData.put("grant_type", "refresh_token");
+              responseModel =
+                  HttpRequest.postRequestsWithHashmap(
+                      refreshTokenUrl, refreshTokenJsonData, refreshTokenHeader, "");
+              s = checkResponse(true, responseModel, HttpURLConnection.HTTP_FORBIDDEN);
+            }
+          }
           if (s.equalsIgnoreCase("success")) {
             if (headersData != null
                 && (headersData.containsKey("Authorization") || headersData.containsKey("auth"))) {
@@ -300,6 +309,9 @@ public class ApiCall<T, V> extends AsyncTask<T, String, String> {
                   AppController.getHelperSharedPreference()
                       .readPreference(context, context.getString(R.string.auth), "");
               headersData.put("Authorization", "Bearer " + s1);
+              if (headersData.containsKey("auth")) {
+                headersData.put("auth", s1);
+              }
             }
             switch (webserviceType) {
               case "get":
@@ -562,12 +574,32 @@ public class ApiCall<T, V> extends AsyncTask<T, String, String> {
     }
   }
 
+  /** Returns the access token this request was sent with, under either header style. */
+  private String getRequestAuthToken() {
+    if (headersData == null) {
+      return null;
+    }
+    String authorization = headersData.get("Authorization");
+    if (authorization != null) {
+      return authorization.startsWith("Bearer ")
+          ? authorization.substring("Bearer ".length())
+          : authorization;
+    }
+    return headersData.get("auth");
+  }
+
+  private boolean isTokenRefreshedSince(String requestAuthToken) {
+    String auth =
+        AppController.getHelperSharedPreference()
+            .readPreference(context, context.getString(R.string.auth), "");
+    return requestAuthToken != null && !requestAuthToken.equals(auth);
+  }
+
   private T parseJson(Responsemodel responseModel, Class genericClass) {
-    Gson gson = new Gson();
     try {
       JsonReader reader = new JsonReader(new StringReader(responseModel.getResponseData()));
       reader.setLenient(true);
-      return gson.fromJson(reader, genericClass);
+      return AppController.getGson().fromJson(reader, genericClass);
     } catch (Exception e) {
       Logger.log(e);
       return null;
@@ -15,9 +15,10 @@
 
 package com.harvard.webservicemodule.apihelper;
 
+import android.content.Context;
+import android.net.http.HttpResponseCache;
 import android.os.Build;
 import android.util.Base64;
-import com.google.gson.Gson;
 import com.harvard.AppConfig;
 import com.harvard.FdaApplication;
 import com.harvard.R;
@@ -25,6 +26,7 @@ import com.harvard.utils.AppController;
 import com.harvard.utils.Logger;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -42,6 +44,11 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
@@ -65,6 +72,42 @@ public class HttpRequest {
   private static String APPLICATION_X_WWW_FORM_URLENCODED = "application/x-www-form-urlencoded";
   private static String APPLICATION_JSON = "application/json";
   private static String APP_NAME_KEY = "appName";
+  private static String ACCEPT_ENCODING_KEY = "Accept-Encoding";
+  private static String GZIP = "gzip";
+  private static final long HTTP_CACHE_SIZE = 10 * 1024 * 1024;
+  private static final int MAX_CONCURRENT_REQUESTS = 4;
+  private static final ThreadPoolExecutor executor =
+      new ThreadPoolExecutor(
+          MAX_CONCURRENT_REQUESTS,
+          MAX_CONCURRENT_REQUESTS,
+          30,
+          TimeUnit.SECONDS,
+          new LinkedBlockingQueue<Runnable>());
+
+  static {
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Installs the on-disk cache used for study datastore GET requests. Cached responses are
+   * revalidated with their ETag or Last-Modified value, an unchanged response costs a 304.
+   *
+   * @param context application context
+   */
+  public static void installCache(Context context) {
+    try {
+      if (HttpResponseCache.getInstalled() == null) {
+        HttpResponseCache.install(new File(context.getCacheDir(), "http"), HTTP_CACHE_SIZE);
+      }
+    } catch (IOException e) {
+      Logger.log(e);
+    }
+  }
+
+  /** Executor shared by all {@link ApiCall}s, bounds the number of requests on the wire. */
+  static Executor getExecutor() {
+    return executor;
+  }
 
   /**
    * To make a Get request.
@@ -136,7 +179,7 @@ public class HttpRequest {
    * @return String
    */
   private static String getPostDataString(HashMap<String, String> params) {
-    return new Gson().toJson(params);
+    return AppController.getGson().toJson(params);
   }
 
   private static String getDataString(HashMap<String, String> params) {
@@ -275,7 +318,6 @@ public class HttpRequest {
       HashMap<String, String> headersData,
       String bodyParams) {
     Responsemodel responseModel = new Responsemodel();
-    StringBuilder response = new StringBuilder();
     String responseData = "";
     int responseCode = 0;
     try {
@@ -287,6 +329,7 @@ public class HttpRequest {
       conn.setRequestProperty(CONTENT_TYPE_KEY, APPLICATION_JSON);
       conn.setRequestProperty(AppConfig.APP_ID_KEY, AppConfig.APP_ID_VALUE);
       conn.setRequestProperty(APP_NAME_KEY, FdaApplication.getInstance().getString(R.string.app_name));
+      conn.setRequestProperty(ACCEPT_ENCODING_KEY, GZIP);
 
       if (serverType.equalsIgnoreCase(SERVER_TYPE_STUDY_DATASTORE)) {
         String encoding = Base64.encodeToString(basicAuth.getBytes(), Base64.DEFAULT);
@@ -294,6 +337,16 @@ public class HttpRequest {
         conn.setRequestProperty(AppConfig.STUDY_DATASTORE_APP_ID_KEY, AppConfig.APP_ID_VALUE);
       }
 
+      // only study metadata is cached, participant data always comes from the server
+      if (methodType.equalsIgnoreCase("get")
+          && serverType.equalsIgnoreCase(SERVER_TYPE_STUDY_DATASTORE)) {
+        conn.setUseCaches(true);
+        // a stale entry makes the cache send a conditional request
+        conn.setRequestProperty("Cache-Control", "max-age=0");
+      } else {
+        conn.setUseCaches(false);
+      }
+
       if (headersData != null) {
         Set mapSet = (Set) headersData.entrySet();
         Iterator mapIterator = mapSet.iterator();
@@ -325,15 +378,7 @@ public class HttpRequest {
       }
 
       if (isSuccessfull(responseCode)) {
-        BufferedReader in = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-        String inputLine;
-
-        while ((inputLine = in.readLine()) != null) {
-          response.append(inputLine);
-        }
-        in.close();
-        conn.disconnect();
-        responseData = response.toString();
+        responseData = readBody(conn, conn.getInputStream());
         responseModel.setServermsg("success");
       } else if (isUnauthorized(responseCode)) {
         responseData = "session expired";
@@ -341,15 +386,7 @@ public class HttpRequest {
         if (conn.getHeaderField(headerErrorKey) != null) {
           responseModel.setServermsg(conn.getHeaderField(headerErrorKey));
         } else {
-          BufferedReader in = new BufferedReader(new InputStreamReader(conn.getErrorStream()));
-          String inputLine;
-
-          while ((inputLine = in.readLine()) != null) {
-            response.append(inputLine);
-          }
-          in.close();
-          conn.disconnect();
-          responseData = response.toString();
+          responseData = readBody(conn, conn.getErrorStream());
 
           JSONObject responseDataJson = new JSONObject(responseData);
           if (responseDataJson.has(errorDescKey)) {
@@ -374,6 +411,29 @@ public class HttpRequest {
     return responseModel;
   }
 
+  /**
+   * Reads the whole body and closes the stream without disconnecting, so the socket goes back to
+   * the keep-alive pool for the next request to the same host.
+   */
+  private static String readBody(HttpURLConnection conn, InputStream inputStream)
+      throws IOException {
+    if (GZIP.equalsIgnoreCase(conn.getContentEncoding())) {
+      inputStream = new GZIPInputStream(inputStream);
+    }
+    StringBuilder response = new StringBuilder();
+    BufferedReader in =
+        new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    try {
+      String inputLine;
+      while ((inputLine = in.readLine()) != null) {
+        response.append(inputLine);
+      }
+    } finally {
+      in.close();
+    }
+    return response.toString();
+  }
+
   private static boolean isUnauthorized(int responseCode) {
     return responseCode == HttpURLConnection.HTTP_UNAUTHORIZED;
   }
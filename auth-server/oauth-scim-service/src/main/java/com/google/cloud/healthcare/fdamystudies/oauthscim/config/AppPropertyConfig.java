@@ -71,4 +71,7 @@ public class AppPropertyConfig implements Serializable {
 
   @Value("${tempregid.expiry.minutes:30}")
   private int tempRegIdExpiryMinutes;
+
+  @Value("${tempregid.expiry.sweep.chunk.size:500}")
+  private int tempRegIdSweepChunkSize;
 }
@@ -21,7 +21,7 @@ import com.google.cloud.healthcare.fdamystudies.mapper.AuditEventMapper;
 import com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimAuditHelper;
 import com.google.cloud.healthcare.fdamystudies.oauthscim.common.CookieHelper;
 import com.google.cloud.healthcare.fdamystudies.oauthscim.config.RedirectConfig;
-import com.google.cloud.healthcare.fdamystudies.oauthscim.service.OAuthService;
+import com.google.cloud.healthcare.fdamystudies.oauthscim.service.LoginFlowService;
 import java.io.UnsupportedEncodingException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -32,8 +32,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -45,7 +43,7 @@ public class ConsentController {
 
   private XLogger logger = XLoggerFactory.getXLogger(UserController.class.getName());
 
-  @Autowired private OAuthService oauthService;
+  @Autowired private LoginFlowService loginFlowService;
 
   @Autowired private RedirectConfig redirectConfig;
 
@@ -63,11 +61,11 @@ public class ConsentController {
     logger.entry(String.format("%s request", request.getRequestURI()));
 
     cookieHelper.addCookie(response, CONSENT_CHALLENGE_COOKIE, consentChallenge);
-    MultiValueMap<String, String> paramMap = new LinkedMultiValueMap<>();
-    paramMap.add(CONSENT_CHALLENGE, consentChallenge);
-    ResponseEntity<JsonNode> consentResponse = oauthService.requestConsent(paramMap);
+    ResponseEntity<JsonNode> consentResponse = loginFlowService.requestConsent(consentChallenge);
     if (consentResponse.getStatusCode().is2xxSuccessful()) {
-      return "consent";
+      String redirectUrl =
+          loginFlowService.acceptConsentIfTrusted(consentResponse.getBody(), consentChallenge);
+      return redirectUrl == null ? "consent" : redirect(response, redirectUrl);
     }
 
     AuditLogEventRequest auditRequest = AuditEventMapper.fromHttpServletRequest(request);
@@ -88,10 +86,7 @@ public class ConsentController {
     logger.entry(String.format("%s request", request.getRequestURI()));
 
     String consentChallenge = cookieHelper.getCookieValue(request, CONSENT_CHALLENGE_COOKIE);
-
-    MultiValueMap<String, String> paramMap = new LinkedMultiValueMap<>();
-    paramMap.add(CONSENT_CHALLENGE, consentChallenge);
-    ResponseEntity<JsonNode> consentResponse = oauthService.consentAccept(paramMap);
+    ResponseEntity<JsonNode> consentResponse = loginFlowService.acceptConsent(consentChallenge);
 
     if (consentResponse.getStatusCode().is2xxSuccessful()) {
       String redirectUrl = getTextValue(consentResponse.getBody(), REDIRECT_TO);
@@ -24,7 +24,6 @@ import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScim
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.MOBILE_PLATFORM;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.MOBILE_PLATFORM_COOKIE;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.PRIVACY_POLICY_LINK;
-import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.REDIRECT_TO;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.SIGNUP_LINK;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.SOURCE;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.SOURCE_COOKIE;
@@ -41,7 +40,6 @@ import com.google.cloud.healthcare.fdamystudies.beans.AuthenticationResponse;
 import com.google.cloud.healthcare.fdamystudies.beans.UserRequest;
 import com.google.cloud.healthcare.fdamystudies.beans.ValidationErrorResponse;
 import com.google.cloud.healthcare.fdamystudies.common.ErrorCode;
-import com.google.cloud.healthcare.fdamystudies.common.JsonUtils;
 import com.google.cloud.healthcare.fdamystudies.common.MobilePlatform;
 import com.google.cloud.healthcare.fdamystudies.common.PlatformComponent;
 import com.google.cloud.healthcare.fdamystudies.common.UserAccountStatus;
@@ -52,7 +50,7 @@ import com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimAuditHe
 import com.google.cloud.healthcare.fdamystudies.oauthscim.common.CookieHelper;
 import com.google.cloud.healthcare.fdamystudies.oauthscim.config.RedirectConfig;
 import com.google.cloud.healthcare.fdamystudies.oauthscim.model.UserEntity;
-import com.google.cloud.healthcare.fdamystudies.oauthscim.service.OAuthService;
+import com.google.cloud.healthcare.fdamystudies.oauthscim.service.LoginFlowService;
 import com.google.cloud.healthcare.fdamystudies.oauthscim.service.UserService;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
@@ -68,7 +66,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
-import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -86,7 +83,7 @@ public class LoginController {
 
   private XLogger logger = XLoggerFactory.getXLogger(LoginController.class.getName());
 
-  @Autowired private OAuthService oauthService;
+  @Autowired private LoginFlowService loginFlowService;
 
   @Autowired private UserService userService;
 
@@ -114,9 +111,7 @@ public class LoginController {
     }
 
     // show or skip login page
-    MultiValueMap<String, String> paramMap = new LinkedMultiValueMap<>();
-    paramMap.add(LOGIN_CHALLENGE, loginChallenge);
-    ResponseEntity<JsonNode> loginResponse = oauthService.requestLogin(paramMap);
+    ResponseEntity<JsonNode> loginResponse = loginFlowService.requestLogin(loginChallenge);
     if (loginResponse.getStatusCode().is2xxSuccessful()) {
       JsonNode responseBody = loginResponse.getBody();
       return redirectToLoginOrAutoLoginPage(response, responseBody, model, loginChallenge);
@@ -182,7 +177,8 @@ public class LoginController {
     user.setPassword(loginRequest.getPassword());
     user.setAppId(appId);
 
-    AuthenticationResponse authenticationResponse = userService.authenticate(user, auditRequest);
+    AuthenticationResponse authenticationResponse =
+        loginFlowService.authenticate(user, auditRequest);
 
     if (UserAccountStatus.PENDING_CONFIRMATION.getStatus()
         == authenticationResponse.getAccountStatus()) {
@@ -201,7 +197,8 @@ public class LoginController {
     } else {
       return LOGIN_VIEW_NAME;
     }
-    return redirectToConsentPage(loginChallenge, authenticationResponse.getUserId(), response);
+    return redirectToConsentPage(
+        loginChallenge, authenticationResponse.getUserId(), response, null);
   }
 
   private String redirectToLoginOrConsentPage(
@@ -217,19 +214,22 @@ public class LoginController {
       logger.exit("tempRegId is valid, return to consent page");
       cookieHelper.addCookie(response, USER_ID_COOKIE, user.getUserId());
       cookieHelper.addCookie(response, ACCOUNT_STATUS_COOKIE, String.valueOf(user.getStatus()));
-      userService.resetTempRegId(user.getUserId());
-      return redirectToConsentPage(loginChallenge, user.getUserId(), response);
+      // the tempRegId is single use, clear it while Hydra accepts the login
+      return redirectToConsentPage(
+          loginChallenge,
+          user.getUserId(),
+          response,
+          () -> userService.resetTempRegId(user.getUserId()));
     }
   }
 
   private String redirectToConsentPage(
-      String loginChallenge, String userId, HttpServletResponse response) {
-    ResponseEntity<JsonNode> result = oauthService.loginAccept(userId, loginChallenge);
-    if (result.getStatusCode().is2xxSuccessful()) {
-      String redirectUrl = JsonUtils.getTextValue(result.getBody(), REDIRECT_TO);
-      return redirect(response, redirectUrl);
-    }
-    return ERROR_VIEW_NAME;
+      String loginChallenge,
+      String userId,
+      HttpServletResponse response,
+      Runnable concurrentTask) {
+    String redirectUrl = loginFlowService.acceptLogin(loginChallenge, userId, concurrentTask);
+    return redirectUrl == null ? ERROR_VIEW_NAME : redirect(response, redirectUrl);
   }
 
   private String redirectToLoginOrAutoLoginPage(
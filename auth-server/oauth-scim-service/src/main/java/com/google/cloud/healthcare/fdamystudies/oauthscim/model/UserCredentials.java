@@ -0,0 +1,37 @@
+/*
+ * Copyright 2020 Google LLC
+ *
+ * Use of this source code is governed by an MIT-style
+ * license that can be found in the LICENSE file or at
+ * https://opensource.org/licenses/MIT.
+ */
+
+package com.google.cloud.healthcare.fdamystudies.oauthscim.model;
+
+import java.sql.Timestamp;
+
+/** Typed credential columns of {@link UserEntity}, read without loading the user_info JSON. */
+public interface UserCredentials {
+
+  String getUserId();
+
+  String getAppId();
+
+  String getEmail();
+
+  Integer getStatus();
+
+  String getPasswordHash();
+
+  String getPasswordSalt();
+
+  Timestamp getPasswordExpireTime();
+
+  boolean isPasswordOtpUsed();
+
+  int getLoginAttempts();
+
+  Timestamp getLockoutUntil();
+
+  String getRefreshToken();
+}
@@ -31,7 +31,10 @@ import org.hibernate.annotations.GenericGenerator;
 @Entity
 @Table(
     name = "users",
-    indexes = {@Index(name = "users_app_id_email_idx", columnList = "app_id,email")})
+    indexes = {
+      @Index(name = "users_app_id_email_idx", columnList = "app_id,email"),
+      @Index(name = "users_temp_reg_id_expire_time_idx", columnList = "temp_reg_id_expire_time")
+    })
 public class UserEntity {
 
   @ToString.Exclude
@@ -56,6 +59,10 @@ public class UserEntity {
   @Column(name = "temp_reg_id", nullable = true, length = ID_LENGTH, unique = true)
   private String tempRegId;
 
+  /** Time after which {@link #tempRegId} is cleared by the expiry sweep. */
+  @Column(name = "temp_reg_id_expire_time", nullable = true)
+  private Timestamp tempRegIdExpireTime;
+
   @ToString.Exclude
   @Column(name = "email", nullable = false, length = EMAIL_LENGTH)
   private String email;
@@ -63,6 +70,37 @@ public class UserEntity {
   @Column(name = "app_id", nullable = false, length = ID_LENGTH)
   private String appId;
 
+  @ToString.Exclude
+  @Column(name = "password_hash")
+  private String passwordHash;
+
+  @ToString.Exclude
+  @Column(name = "password_salt")
+  private String passwordSalt;
+
+  @Column(name = "password_expire_time")
+  private Timestamp passwordExpireTime;
+
+  /** true once a temporary (password reset) password has been used to sign in. */
+  @Column(name = "password_otp_used", nullable = false, columnDefinition = "TINYINT(1) DEFAULT 0")
+  private boolean passwordOtpUsed;
+
+  @Column(name = "login_attempts", nullable = false, columnDefinition = "INT DEFAULT 0")
+  private int loginAttempts;
+
+  /** End of the lock period while the account is locked after too many failed sign-ins. */
+  @Column(name = "lockout_until")
+  private Timestamp lockoutUntil;
+
+  @Column(name = "last_login_time")
+  private Timestamp lastLoginTime;
+
+  /** Encrypted Hydra refresh token of the current session. */
+  @ToString.Exclude
+  @Column(name = "refresh_token", columnDefinition = "TEXT")
+  private String refreshToken;
+
+  /** Password history and account lock details that are not read on every sign-in. */
   @ToString.Exclude
   @Column(name = "user_info", nullable = false, columnDefinition = "json")
   @Convert(converter = JsonNodeConverter.class)
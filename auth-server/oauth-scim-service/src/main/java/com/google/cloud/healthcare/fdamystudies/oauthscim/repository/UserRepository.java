@@ -8,9 +8,12 @@
 
 package com.google.cloud.healthcare.fdamystudies.oauthscim.repository;
 
+import com.google.cloud.healthcare.fdamystudies.oauthscim.model.UserCredentials;
 import com.google.cloud.healthcare.fdamystudies.oauthscim.model.UserEntity;
 import java.sql.Timestamp;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -28,24 +31,72 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
   public Optional<UserEntity> findByUserId(String userId);
 
+  public Optional<UserCredentials> findCredentialsByAppIdAndEmail(String appId, String email);
+
+  public Optional<UserCredentials> findCredentialsByUserId(String userId);
+
+  @Modifying
+  @Query(
+      "update UserEntity u set u.loginAttempts = u.loginAttempts + 1 where u.userId = :userId")
+  public int incrementLoginAttempts(@Param("userId") String userId);
+
+  @Query("select u.loginAttempts from UserEntity u where u.userId = :userId")
+  public int findLoginAttemptsByUserId(@Param("userId") String userId);
+
+  @Modifying
+  @Query(
+      "update UserEntity u set u.status = :status, u.lockoutUntil = null where u.userId = :userId and u.status = :lockedStatus")
+  public int unlockAccount(
+      @Param("userId") String userId,
+      @Param("status") int status,
+      @Param("lockedStatus") int lockedStatus);
+
+  @Modifying
+  @Query(
+      "update UserEntity u set u.status = :status, u.loginAttempts = 0, u.passwordOtpUsed = false, u.lockoutUntil = null, u.lastLoginTime = :loginTime where u.userId = :userId")
+  public int updateSuccessfulLogin(
+      @Param("userId") String userId,
+      @Param("status") int status,
+      @Param("loginTime") Timestamp loginTime);
+
+  @Modifying
+  @Query(
+      "update UserEntity u set u.passwordOtpUsed = true, u.lastLoginTime = :loginTime where u.userId = :userId")
+  public int updateTemporaryPasswordLogin(
+      @Param("userId") String userId, @Param("loginTime") Timestamp loginTime);
+
+  @Modifying
+  @Query("update UserEntity u set u.refreshToken = :refreshToken where u.userId = :userId")
+  public int updateRefreshToken(
+      @Param("userId") String userId, @Param("refreshToken") String refreshToken);
+
   public Optional<UserEntity> findByTempRegId(String tempRegId);
 
   @Transactional
   @Modifying
-  @Query("update UserEntity u set u.tempRegId=null where u.userId=:userId")
+  @Query(
+      "update UserEntity u set u.tempRegId=null, u.tempRegIdExpireTime=null where u.userId=:userId")
   public void removeTempRegIDForUser(@Param("userId") String userId);
 
+  @Query(
+      "select u.id from UserEntity u where u.tempRegIdExpireTime < :timestamp and u.tempRegId is not null")
+  public List<String> findIdsWithTempRegIdExpiredBefore(
+      @Param("timestamp") Timestamp timestamp, Pageable pageable);
+
   @Transactional
   @Modifying
-  @Query("update UserEntity u set u.tempRegId=null where u.created < :timestamp")
-  public void removeTempRegIdBeforeTime(@Param("timestamp") Timestamp timestamp);
+  @Query(
+      "update UserEntity u set u.tempRegId=null, u.tempRegIdExpireTime=null where u.id in (:ids) and u.tempRegIdExpireTime < :timestamp and u.tempRegId is not null")
+  public int removeTempRegIdsExpiredBefore(
+      @Param("ids") List<String> ids, @Param("timestamp") Timestamp timestamp);
 
   @Modifying
   @Query(
-      "update UserEntity u set u.email = :email, status= :status, tempRegId= :tempRegId  where u.userId = :userId")
+      "update UserEntity u set u.email = :email, status= :status, tempRegId= :tempRegId, tempRegIdExpireTime= :tempRegIdExpireTime  where u.userId = :userId")
   void updateEmailStatusAndTempRegId(
       @Param("email") String email,
       @Param("status") int status,
       @Param("tempRegId") String tempRegId,
+      @Param("tempRegIdExpireTime") Timestamp tempRegIdExpireTime,
       @Param("userId") String userId);
 }
@@ -26,10 +26,19 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.cloud.healthcare.fdamystudies.beans.AuditLogEventRequest;
 import com.google.cloud.healthcare.fdamystudies.beans.UserResponse;
+import com.google.cloud.healthcare.fdamystudies.exceptions.RestResponseErrorHandler;
 import com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimAuditHelper;
 import com.google.cloud.healthcare.fdamystudies.service.BaseServiceImpl;
+import java.io.IOException;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.slf4j.ext.XLogger;
 import org.slf4j.ext.XLoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,8 +49,10 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
 
 @Service
 class HydraOAuthServiceImpl extends BaseServiceImpl implements OAuthService {
@@ -80,15 +91,78 @@ class HydraOAuthServiceImpl extends BaseServiceImpl implements OAuthService {
   @Value("${security.oauth2.hydra.consent_accept_endpoint}")
   private String consentAcceptEndpoint;
 
+  @Value("${security.oauth2.hydra.admin.max_connections:50}")
+  private int adminMaxConnections;
+
+  @Value("${security.oauth2.hydra.admin.timeout_millis:10000}")
+  private int adminTimeoutMillis;
+
   private String encodedAuthorization;
 
   @Autowired private UserService userService;
 
   @Autowired private AuthScimAuditHelper auditHelper;
 
+  @Autowired private RestResponseErrorHandler restResponseErrorHandler;
+
+  private CloseableHttpClient adminHttpClient;
+
+  /** Keep-alive client for the login and consent calls to Hydra's admin API. */
+  private RestTemplate adminRestTemplate;
+
+  private HttpHeaders acceptJsonHeaders;
+
+  private HttpHeaders jsonRequestHeaders;
+
+  private ObjectNode consentAcceptRequest;
+
   @PostConstruct
   public void init() {
     encodedAuthorization = getEncodedAuthorization(clientId, clientSecret);
+
+    PoolingHttpClientConnectionManager connectionManager =
+        new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(adminMaxConnections);
+    connectionManager.setDefaultMaxPerRoute(adminMaxConnections);
+    RequestConfig requestConfig =
+        RequestConfig.custom()
+            .setConnectTimeout(adminTimeoutMillis)
+            .setConnectionRequestTimeout(adminTimeoutMillis)
+            .setSocketTimeout(adminTimeoutMillis)
+            .build();
+    adminHttpClient =
+        HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+            .setDefaultRequestConfig(requestConfig)
+            .evictIdleConnections(30, TimeUnit.SECONDS)
+            .build();
+    adminRestTemplate =
+        new RestTemplate(new HttpComponentsClientHttpRequestFactory(adminHttpClient));
+    adminRestTemplate.setErrorHandler(restResponseErrorHandler);
+
+    // request headers and bodies that are identical for every sign-in are built once
+    HttpHeaders headers = new HttpHeaders();
+    headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+    acceptJsonHeaders = HttpHeaders.readOnlyHttpHeaders(headers);
+
+    headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+    jsonRequestHeaders = HttpHeaders.readOnlyHttpHeaders(headers);
+
+    // When accepting the consent request, offline_access and openid must be in the list of
+    // grant_scope to get the refresh_token and id_token from /oauth2/token
+    ArrayNode grantScopes = getObjectMapper().createArrayNode();
+    grantScopes.add("offline_access");
+    grantScopes.add("openid");
+    consentAcceptRequest = getObjectNode();
+    consentAcceptRequest.set(GRANT_SCOPE, grantScopes);
+  }
+
+  @PreDestroy
+  public void destroy() throws IOException {
+    adminHttpClient.close();
   }
 
   public ResponseEntity<?> getToken(
@@ -143,33 +217,25 @@ class HydraOAuthServiceImpl extends BaseServiceImpl implements OAuthService {
 
   @Override
   public ResponseEntity<JsonNode> requestLogin(MultiValueMap<String, String> paramMap) {
-    HttpHeaders headers = new HttpHeaders();
-    headers.add(CONTENT_TYPE, APPLICATION_X_WWW_FORM_URLENCODED_CHARSET_UTF_8);
-    headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-
     StringBuilder url = new StringBuilder(loginEndpoint);
     url.append("?login_challenge").append("=").append(paramMap.getFirst(LOGIN_CHALLENGE));
 
-    return getRestTemplate().getForEntity(url.toString(), JsonNode.class);
+    return adminRestTemplate.exchange(
+        url.toString(), HttpMethod.GET, new HttpEntity<>(acceptJsonHeaders), JsonNode.class);
   }
 
   @Override
   public ResponseEntity<JsonNode> loginAccept(String userId, String loginChallenge) {
-
-    HttpHeaders headers = new HttpHeaders();
-    headers.setContentType(MediaType.APPLICATION_JSON);
-    headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-
     StringBuilder url = new StringBuilder(loginAcceptEndpoint);
     url.append("?").append(LOGIN_CHALLENGE).append("=").append(loginChallenge);
 
     ObjectNode requestParams = getObjectNode();
     requestParams.put("subject", userId);
 
-    HttpEntity<Object> requestEntity = new HttpEntity<>(requestParams, headers);
+    HttpEntity<Object> requestEntity = new HttpEntity<>(requestParams, jsonRequestHeaders);
 
     ResponseEntity<JsonNode> response =
-        getRestTemplate().exchange(url.toString(), HttpMethod.PUT, requestEntity, JsonNode.class);
+        adminRestTemplate.exchange(url.toString(), HttpMethod.PUT, requestEntity, JsonNode.class);
 
     if (!response.getStatusCode().is2xxSuccessful()) {
       logger.error(
@@ -183,40 +249,24 @@ class HydraOAuthServiceImpl extends BaseServiceImpl implements OAuthService {
 
   @Override
   public ResponseEntity<JsonNode> requestConsent(MultiValueMap<String, String> paramMap) {
-    HttpHeaders headers = new HttpHeaders();
-    headers.add(CONTENT_TYPE, APPLICATION_X_WWW_FORM_URLENCODED_CHARSET_UTF_8);
-    headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-
     StringBuilder url = new StringBuilder(consentEndpoint);
     url.append("?consent_challenge=").append(paramMap.getFirst(CONSENT_CHALLENGE));
 
-    return getRestTemplate().getForEntity(url.toString(), JsonNode.class);
+    return adminRestTemplate.exchange(
+        url.toString(), HttpMethod.GET, new HttpEntity<>(acceptJsonHeaders), JsonNode.class);
   }
 
   @Override
   public ResponseEntity<JsonNode> consentAccept(MultiValueMap<String, String> paramMap) {
-    HttpHeaders headers = new HttpHeaders();
-    headers.setContentType(MediaType.APPLICATION_JSON);
-    headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-
-    // When accepting the consent request, offline_access and openid must be in the list of
-    // grant_scope to get the refresh_token and id_token from /oauth2/token
-    ArrayNode grantScopes = getObjectMapper().createArrayNode();
-    grantScopes.add("offline_access");
-    grantScopes.add("openid");
-
-    ObjectNode request = getObjectNode();
-    request.set(GRANT_SCOPE, grantScopes);
-
     StringBuilder url = new StringBuilder(consentAcceptEndpoint);
     url.append("?")
         .append(CONSENT_CHALLENGE)
         .append("=")
         .append(paramMap.getFirst(CONSENT_CHALLENGE));
 
-    HttpEntity<Object> requestEntity = new HttpEntity<>(request, headers);
+    HttpEntity<Object> requestEntity = new HttpEntity<>(consentAcceptRequest, jsonRequestHeaders);
     ResponseEntity<JsonNode> response =
-        getRestTemplate().exchange(url.toString(), HttpMethod.PUT, requestEntity, JsonNode.class);
+        adminRestTemplate.exchange(url.toString(), HttpMethod.PUT, requestEntity, JsonNode.class);
 
     if (!response.getStatusCode().is2xxSuccessful()) {
       logger.error(
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 Google LLC
+ *
+ * Use of this source code is governed by an MIT-style
+ * license that can be found in the LICENSE file or at
+ * https://opensource.org/licenses/MIT.
+ */
+
+package com.google.cloud.healthcare.fdamystudies.oauthscim.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.cloud.healthcare.fdamystudies.beans.AuditLogEventRequest;
+import com.google.cloud.healthcare.fdamystudies.beans.AuthenticationResponse;
+import com.google.cloud.healthcare.fdamystudies.beans.UserRequest;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Drives the Hydra login and consent handshake of a sign-in, timing every step and skipping the
+ * consent page for trusted first-party clients.
+ */
+public interface LoginFlowService {
+
+  public ResponseEntity<JsonNode> requestLogin(String loginChallenge);
+
+  public AuthenticationResponse authenticate(UserRequest user, AuditLogEventRequest auditRequest)
+      throws JsonProcessingException;
+
+  /**
+   * Accepts the login request for the given user. {@code concurrentTask} runs alongside the Hydra
+   * call and is complete when this method returns.
+   *
+   * @return redirect url, or null if Hydra did not accept the login
+   */
+  public String acceptLogin(String loginChallenge, String userId, Runnable concurrentTask);
+
+  public ResponseEntity<JsonNode> requestConsent(String consentChallenge);
+
+  /**
+   * @return redirect url when the consent of a trusted first-party client was accepted, otherwise
+   *     null and the consent page must be shown
+   */
+  public String acceptConsentIfTrusted(JsonNode consentRequest, String consentChallenge);
+
+  public ResponseEntity<JsonNode> acceptConsent(String consentChallenge);
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 Google LLC
+ *
+ * Use of this source code is governed by an MIT-style
+ * license that can be found in the LICENSE file or at
+ * https://opensource.org/licenses/MIT.
+ */
+
+package com.google.cloud.healthcare.fdamystudies.oauthscim.service;
+
+import static com.google.cloud.healthcare.fdamystudies.common.JsonUtils.getTextValue;
+import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.CLIENT_ID;
+import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.CONSENT_CHALLENGE;
+import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.LOGIN_CHALLENGE;
+import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.REDIRECT_TO;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.cloud.healthcare.fdamystudies.beans.AuditLogEventRequest;
+import com.google.cloud.healthcare.fdamystudies.beans.AuthenticationResponse;
+import com.google.cloud.healthcare.fdamystudies.beans.UserRequest;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.ext.XLogger;
+import org.slf4j.ext.XLoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+@Service
+public class LoginFlowServiceImpl implements LoginFlowService {
+
+  private static final String CLIENT = "client";
+
+  private XLogger logger = XLoggerFactory.getXLogger(LoginFlowServiceImpl.class.getName());
+
+  @Value("${security.oauth2.hydra.consent.trusted_client_ids:}")
+  private String trustedClientIds;
+
+  @Value("${security.oauth2.hydra.login_flow.threads:10}")
+  private int threads;
+
+  @Autowired private OAuthService oauthService;
+
+  @Autowired private UserService userService;
+
+  private Set<String> trustedClients;
+
+  private ExecutorService executor;
+
+  @PostConstruct
+  public void init() {
+    trustedClients = new HashSet<>(Arrays.asList(StringUtils.split(trustedClientIds, ", ")));
+    executor = Executors.newFixedThreadPool(threads);
+  }
+
+  @PreDestroy
+  public void destroy() {
+    executor.shutdown();
+  }
+
+  @Override
+  public ResponseEntity<JsonNode> requestLogin(String loginChallenge) {
+    MultiValueMap<String, String> paramMap = new LinkedMultiValueMap<>();
+    paramMap.add(LOGIN_CHALLENGE, loginChallenge);
+    return timed("requestLogin", () -> oauthService.requestLogin(paramMap));
+  }
+
+  @Override
+  public AuthenticationResponse authenticate(UserRequest user, AuditLogEventRequest auditRequest)
+      throws JsonProcessingException {
+    long startTime = System.currentTimeMillis();
+    try {
+      return userService.authenticate(user, auditRequest);
+    } finally {
+      logTime("authenticate", startTime);
+    }
+  }
+
+  @Override
+  public String acceptLogin(String loginChallenge, String userId, Runnable concurrentTask) {
+    CompletableFuture<Void> task =
+        concurrentTask == null
+            ? CompletableFuture.completedFuture(null)
+            : CompletableFuture.runAsync(concurrentTask, executor);
+
+    ResponseEntity<JsonNode> response =
+        timed("loginAccept", () -> oauthService.loginAccept(userId, loginChallenge));
+    try {
+      task.join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+    }
+
+    return response.getStatusCode().is2xxSuccessful()
+        ? getTextValue(response.getBody(), REDIRECT_TO)
+        : null;
+  }
+
+  @Override
+  public ResponseEntity<JsonNode> requestConsent(String consentChallenge) {
+    return timed(
+        "requestConsent", () -> oauthService.requestConsent(consentParams(consentChallenge)));
+  }
+
+  @Override
+  public String acceptConsentIfTrusted(JsonNode consentRequest, String consentChallenge) {
+    String clientId = getTextValue(consentRequest.path(CLIENT), CLIENT_ID);
+    if (!trustedClients.contains(clientId)) {
+      logger.debug(String.format("consent requested by untrusted client=%s", clientId));
+      return null;
+    }
+
+    // first-party clients are granted consent right away instead of posting the consent page
+    ResponseEntity<JsonNode> response = acceptConsent(consentChallenge);
+    return response.getStatusCode().is2xxSuccessful()
+        ? getTextValue(response.getBody(), REDIRECT_TO)
+        : null;
+  }
+
+  @Override
+  public ResponseEntity<JsonNode> acceptConsent(String consentChallenge) {
+    return timed(
+        "consentAccept", () -> oauthService.consentAccept(consentParams(consentChallenge)));
+  }
+
+  private MultiValueMap<String, String> consentParams(String consentChallenge) {
+    MultiValueMap<String, String> paramMap = new LinkedMultiValueMap<>();
+    paramMap.add(CONSENT_CHALLENGE, consentChallenge);
+    return paramMap;
+  }
+
+  private <T> T timed(String step, Supplier<T> call) {
+    long startTime = System.currentTimeMillis();
+    try {
+      return call.get();
+    } finally {
+      logTime(step, startTime);
+    }
+  }
+
+  private void logTime(String step, long startTime) {
+    logger.info(
+        String.format(
+            "sign-in step=%s took %d ms", step, System.currentTimeMillis() - startTime));
+  }
+}
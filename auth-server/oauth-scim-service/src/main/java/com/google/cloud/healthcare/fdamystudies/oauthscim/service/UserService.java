@@ -44,7 +44,7 @@ public interface UserService {
 
   public void resetTempRegId(String userId);
 
-  public void removeExpiredTempRegIds();
+  public int removeExpiredTempRegIds();
 
   public UserResponse logout(String userId, AuditLogEventRequest auditRequest)
       throws JsonProcessingException;
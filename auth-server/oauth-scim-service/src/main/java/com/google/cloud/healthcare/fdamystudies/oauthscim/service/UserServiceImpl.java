@@ -18,11 +18,9 @@ import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScim
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.EXPIRE_TIMESTAMP;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.HASH;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.LOGIN_ATTEMPTS;
-import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.LOGIN_TIMESTAMP;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.OTP_USED;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.PASSWORD;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.PASSWORD_HISTORY;
-import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.REFRESH_TOKEN;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.SALT;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.TEMP_PASSWORD_LENGTH;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.TOKEN;
@@ -69,6 +67,7 @@ import com.google.cloud.healthcare.fdamystudies.exceptions.ErrorCodeException;
 import com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimAuditHelper;
 import com.google.cloud.healthcare.fdamystudies.oauthscim.config.AppPropertyConfig;
 import com.google.cloud.healthcare.fdamystudies.oauthscim.mapper.UserMapper;
+import com.google.cloud.healthcare.fdamystudies.oauthscim.model.UserCredentials;
 import com.google.cloud.healthcare.fdamystudies.oauthscim.model.UserEntity;
 import com.google.cloud.healthcare.fdamystudies.oauthscim.repository.UserRepository;
 import com.google.cloud.healthcare.fdamystudies.service.EmailService;
@@ -77,12 +76,15 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.ext.XLogger;
 import org.slf4j.ext.XLoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -124,11 +126,11 @@ public class UserServiceImpl implements UserService {
 
     // save user account details
     UserEntity userEntity = UserMapper.fromUserRequest(userRequest);
-    ObjectNode userInfo = getObjectNode();
+    if (userEntity.getTempRegId() != null) {
+      userEntity.setTempRegIdExpireTime(getTempRegIdExpireTime());
+    }
     setPasswordAndPasswordHistoryFields(
-        userRequest.getPassword(), userInfo, UserAccountStatus.PENDING_CONFIRMATION.getStatus());
-
-    userEntity.setUserInfo(userInfo);
+        userRequest.getPassword(), userEntity, UserAccountStatus.PENDING_CONFIRMATION.getStatus());
     userEntity = repository.saveAndFlush(userEntity);
 
     logger.exit(String.format("id=%s", userEntity.getId()));
@@ -136,52 +138,74 @@ public class UserServiceImpl implements UserService {
   }
 
   private void setPasswordAndPasswordHistoryFields(
-      String password, JsonNode userInfoJsonNode, int accountStatus) {
+      String password, UserEntity userEntity, int accountStatus) {
     // encrypt the password using random salt
     String rawSalt = salt();
     String hashValue = hash(password, rawSalt);
 
-    ObjectNode passwordNode = getObjectNode();
-    passwordNode.put(HASH, hashValue);
-    passwordNode.put(SALT, rawSalt);
-
+    long expireTimestamp;
     UserAccountStatus userAccountStatus = UserAccountStatus.valueOf(accountStatus);
     switch (userAccountStatus) {
       case ACCOUNT_LOCKED:
-        passwordNode.put(
-            EXPIRE_TIMESTAMP,
-            DateTimeUtils.getSystemDateTimestamp(0, 0, appConfig.getAccountLockPeriodInMinutes()));
+        expireTimestamp =
+            DateTimeUtils.getSystemDateTimestamp(0, 0, appConfig.getAccountLockPeriodInMinutes());
         break;
       case PASSWORD_RESET:
-        passwordNode.put(
-            EXPIRE_TIMESTAMP,
-            DateTimeUtils.getSystemDateTimestamp(0, appConfig.getResetPasswordExpiryInHours(), 0));
+        expireTimestamp =
+            DateTimeUtils.getSystemDateTimestamp(0, appConfig.getResetPasswordExpiryInHours(), 0);
         break;
       default:
-        passwordNode.put(
-            EXPIRE_TIMESTAMP,
-            DateTimeUtils.getSystemDateTimestamp(appConfig.getPasswordExpiryDays(), 0, 0));
+        expireTimestamp =
+            DateTimeUtils.getSystemDateTimestamp(appConfig.getPasswordExpiryDays(), 0, 0);
     }
 
-    ObjectNode userInfo = (ObjectNode) userInfoJsonNode;
-    ArrayNode passwordHistory =
-        userInfo.hasNonNull(PASSWORD_HISTORY)
-            ? (ArrayNode) userInfo.get(PASSWORD_HISTORY)
-            : createArrayNode();
-    passwordHistory.add(passwordNode);
-
-    // keep only 'X' previous passwords
-    logger.trace(String.format("password history has %d elements", passwordHistory.size()));
-    while (passwordHistory.size() > appConfig.getPasswordHistoryMaxSize()) {
-      passwordHistory.remove(0);
-    }
+    ObjectNode passwordNode = getObjectNode();
+    passwordNode.put(HASH, hashValue);
+    passwordNode.put(SALT, rawSalt);
+    passwordNode.put(EXPIRE_TIMESTAMP, expireTimestamp);
 
+    ObjectNode userInfo =
+        userEntity.getUserInfo() == null ? getObjectNode() : (ObjectNode) userEntity.getUserInfo();
     if (userAccountStatus == UserAccountStatus.ACCOUNT_LOCKED) {
+      // the temporary password of a locked account is only read while the account is locked
       userInfo.set(ACCOUNT_LOCKED_PASSWORD, passwordNode);
+      userEntity.setLockoutUntil(new Timestamp(expireTimestamp));
     } else {
-      userInfo.set(PASSWORD, passwordNode);
+      ArrayNode passwordHistory =
+          userInfo.hasNonNull(PASSWORD_HISTORY)
+              ? (ArrayNode) userInfo.get(PASSWORD_HISTORY)
+              : createArrayNode();
+      passwordHistory.add(passwordNode);
+
+      // keep only 'X' previous passwords
+      logger.trace(String.format("password history has %d elements", passwordHistory.size()));
+      while (passwordHistory.size() > appConfig.getPasswordHistoryMaxSize()) {
+        passwordHistory.remove(0);
+      }
       userInfo.set(PASSWORD_HISTORY, passwordHistory);
+      userInfo.remove(PASSWORD);
+
+      userEntity.setPasswordHash(hashValue);
+      userEntity.setPasswordSalt(rawSalt);
+      userEntity.setPasswordExpireTime(new Timestamp(expireTimestamp));
+      userEntity.setPasswordOtpUsed(false);
     }
+    userEntity.setUserInfo(userInfo);
+  }
+
+  /** Clears the failed sign-in counter and any lock details once a new password is set. */
+  private void clearAccountLock(UserEntity userEntity) {
+    ObjectNode userInfo = (ObjectNode) userEntity.getUserInfo();
+    userInfo.remove(ACCOUNT_LOCK_EMAIL_TIMESTAMP);
+    userInfo.remove(ACCOUNT_LOCKED_PASSWORD);
+    userInfo.remove(LOGIN_ATTEMPTS);
+    userEntity.setUserInfo(userInfo);
+    userEntity.setLoginAttempts(0);
+    userEntity.setLockoutUntil(null);
+  }
+
+  private boolean isLockedOut(Timestamp lockoutUntil) {
+    return lockoutUntil != null && Instant.now().toEpochMilli() < lockoutUntil.getTime();
   }
 
   @Override
@@ -202,7 +226,6 @@ public class UserServiceImpl implements UserService {
     }
 
     UserEntity userEntity = optUserEntity.get();
-    ObjectNode userInfo = (ObjectNode) userEntity.getUserInfo();
     if (userEntity.getStatus() == UserAccountStatus.PENDING_CONFIRMATION.getStatus()) {
       throw new ErrorCodeException(ErrorCode.ACCOUNT_NOT_VERIFIED);
     }
@@ -211,13 +234,9 @@ public class UserServiceImpl implements UserService {
       throw new ErrorCodeException(ErrorCode.ACCOUNT_DEACTIVATED);
     }
 
-    if (userEntity.getStatus() == UserAccountStatus.ACCOUNT_LOCKED.getStatus()) {
-      JsonNode accountLockedPwdNode = userInfo.get(ACCOUNT_LOCKED_PASSWORD);
-      if (null != accountLockedPwdNode
-          && Instant.now().toEpochMilli()
-              < accountLockedPwdNode.get(EXPIRE_TIMESTAMP).longValue()) {
-        throw new ErrorCodeException(ErrorCode.ACCOUNT_LOCKED);
-      }
+    if (userEntity.getStatus() == UserAccountStatus.ACCOUNT_LOCKED.getStatus()
+        && isLockedOut(userEntity.getLockoutUntil())) {
+      throw new ErrorCodeException(ErrorCode.ACCOUNT_LOCKED);
     }
 
     Integer accountStatusBeforePasswordReset = userEntity.getStatus();
@@ -227,12 +246,9 @@ public class UserServiceImpl implements UserService {
 
     if (HttpStatus.ACCEPTED.value() == emailResponse.getHttpStatusCode()) {
       setPasswordAndPasswordHistoryFields(
-          tempPassword, userInfo, UserAccountStatus.PASSWORD_RESET.getStatus());
+          tempPassword, userEntity, UserAccountStatus.PASSWORD_RESET.getStatus());
+      clearAccountLock(userEntity);
       userEntity.setStatus(UserAccountStatus.PASSWORD_RESET.getStatus());
-      userInfo.remove(ACCOUNT_LOCK_EMAIL_TIMESTAMP);
-      userInfo.remove(ACCOUNT_LOCKED_PASSWORD);
-      userInfo.put(LOGIN_ATTEMPTS, 0);
-      userEntity.setUserInfo(userInfo);
       repository.saveAndFlush(userEntity);
       if (accountStatusBeforePasswordReset == UserAccountStatus.ACCOUNT_LOCKED.getStatus()) {
         auditHelper.logEvent(PASSWORD_RESET_EMAIL_SENT_FOR_LOCKED_ACCOUNT, auditRequest);
@@ -313,26 +329,26 @@ public class UserServiceImpl implements UserService {
             ? (ArrayNode) userInfo.get(PASSWORD_HISTORY)
             : createArrayNode();
 
-    JsonNode currentPwdNode = userInfo.get(PASSWORD);
-
+    String currentHash = userEntity.getPasswordHash();
+    String currentSalt = userEntity.getPasswordSalt();
     if (userEntity.getStatus() == UserAccountStatus.ACCOUNT_LOCKED.getStatus()) {
-      currentPwdNode = userInfo.get(ACCOUNT_LOCKED_PASSWORD);
+      JsonNode accountLockedPwdNode = userInfo.get(ACCOUNT_LOCKED_PASSWORD);
+      currentHash = getTextValue(accountLockedPwdNode, HASH);
+      currentSalt = getTextValue(accountLockedPwdNode, SALT);
     }
 
     ErrorCode errorCode =
-        validateChangePasswordRequest(userRequest, currentPwdNode, passwordHistory, userEntity);
+        validateChangePasswordRequest(
+            userRequest, currentHash, currentSalt, passwordHistory, userEntity);
     if (errorCode != null) {
       auditHelper.logEvent(PASSWORD_CHANGE_FAILED, auditRequest);
       throw new ErrorCodeException(errorCode);
     }
 
     setPasswordAndPasswordHistoryFields(
-        userRequest.getNewPassword(), userInfo, UserAccountStatus.ACTIVE.getStatus());
-    userInfo.remove(ACCOUNT_LOCK_EMAIL_TIMESTAMP);
-    userInfo.remove(ACCOUNT_LOCKED_PASSWORD);
-    userInfo.put(LOGIN_ATTEMPTS, 0);
+        userRequest.getNewPassword(), userEntity, UserAccountStatus.ACTIVE.getStatus());
+    clearAccountLock(userEntity);
     userEntity.setStatus(UserAccountStatus.ACTIVE.getStatus());
-    userEntity.setUserInfo(userInfo);
     repository.saveAndFlush(userEntity);
     auditHelper.logEvent(PASSWORD_CHANGE_SUCCEEDED, auditRequest);
     logger.exit("Your password has been changed successfully!");
@@ -341,12 +357,11 @@ public class UserServiceImpl implements UserService {
 
   private ErrorCode validateChangePasswordRequest(
       ChangePasswordRequest userRequest,
-      JsonNode passwordNode,
+      String hash,
+      String rawSalt,
       ArrayNode passwordHistory,
       UserEntity userEntity) {
     // determine whether the current password matches the password stored in database
-    String hash = getTextValue(passwordNode, HASH);
-    String rawSalt = getTextValue(passwordNode, SALT);
     String currentPasswordHash = hash(userRequest.getCurrentPassword(), rawSalt);
 
     if (!StringUtils.equals(currentPasswordHash, hash)) {
@@ -380,50 +395,59 @@ public class UserServiceImpl implements UserService {
   public AuthenticationResponse authenticate(UserRequest user, AuditLogEventRequest auditRequest)
       throws JsonProcessingException {
     logger.entry("begin authenticate(user)");
-    Optional<UserEntity> optUserEntity =
-        repository.findByAppIdAndEmail(user.getAppId(), user.getEmail());
+    // only the typed credential columns are read, the user_info JSON stays untouched
+    Optional<UserCredentials> optCredentials =
+        repository.findCredentialsByAppIdAndEmail(user.getAppId(), user.getEmail());
 
-    if (!optUserEntity.isPresent()) {
+    if (!optCredentials.isPresent()) {
       auditHelper.logEvent(SIGNIN_FAILED_UNREGISTERED_USER, auditRequest);
       throw new ErrorCodeException(ErrorCode.USER_NOT_FOUND);
     }
 
-    UserEntity userEntity = optUserEntity.get();
-    JsonNode userInfo = userEntity.getUserInfo();
-
-    JsonNode passwordNode = userInfo.get(PASSWORD);
-    if (userEntity.getStatus() == UserAccountStatus.ACCOUNT_LOCKED.getStatus()) {
-      JsonNode accountLockedPasswordNode = userInfo.get(ACCOUNT_LOCKED_PASSWORD);
-      if (Instant.now().toEpochMilli()
-          < accountLockedPasswordNode.get(EXPIRE_TIMESTAMP).longValue()) {
-        passwordNode = userInfo.get(ACCOUNT_LOCKED_PASSWORD);
+    UserCredentials credentials = optCredentials.get();
+    int status = credentials.getStatus();
+    String hash = credentials.getPasswordHash();
+    String salt = credentials.getPasswordSalt();
+    boolean passwordExpired =
+        isPasswordExpired(credentials.getPasswordExpireTime(), credentials.isPasswordOtpUsed());
+
+    UserEntity lockedUserEntity = null;
+    if (status == UserAccountStatus.ACCOUNT_LOCKED.getStatus()) {
+      if (isLockedOut(credentials.getLockoutUntil())) {
+        lockedUserEntity = repository.findByUserId(credentials.getUserId()).get();
+        JsonNode accountLockedPasswordNode =
+            lockedUserEntity.getUserInfo().get(ACCOUNT_LOCKED_PASSWORD);
+        hash = getTextValue(accountLockedPasswordNode, HASH);
+        salt = getTextValue(accountLockedPasswordNode, SALT);
+        passwordExpired =
+            accountLockedPasswordNode.hasNonNull(OTP_USED)
+                && accountLockedPasswordNode.get(OTP_USED).booleanValue();
       } else {
         // unlock the user account
-        userEntity.setStatus(UserAccountStatus.ACTIVE.getStatus());
+        status = UserAccountStatus.ACTIVE.getStatus();
       }
     }
-    String hash = getTextValue(passwordNode, HASH);
-    String salt = getTextValue(passwordNode, SALT);
 
     // check the account status and password expiry condition
-    validatePasswordExpiryAndAccountStatus(userEntity, userInfo, auditRequest);
+    validatePasswordExpiryAndAccountStatus(status, passwordExpired, auditRequest);
 
     // compare passwords
     String passwordHash = hash(user.getPassword(), salt);
     if (StringUtils.equals(passwordHash, hash)) {
       // reset login attempts
-      return updateLoginAttemptsAndAuthenticationTime(userEntity, userInfo, auditRequest);
+      return updateLoginAttemptsAndAuthenticationTime(
+          credentials.getUserId(), status, lockedUserEntity);
     }
 
     // authentication unsuccessful
-    if (UserAccountStatus.ACTIVE.getStatus() == userEntity.getStatus()) {
+    if (UserAccountStatus.ACTIVE.getStatus() == status) {
       auditHelper.logEvent(SIGNIN_FAILED_INVALID_PASSWORD, auditRequest);
     } else {
       auditHelper.logEvent(SIGNIN_WITH_TEMPORARY_PASSWORD_FAILED, auditRequest);
     }
 
     // increment login attempts
-    return updateInvalidLoginAttempts(userEntity, userInfo, auditRequest);
+    return updateInvalidLoginAttempts(credentials, status, auditRequest);
   }
 
   private EmailResponse sendAccountLockedEmail(
@@ -466,25 +490,33 @@ public class UserServiceImpl implements UserService {
   }
 
   private AuthenticationResponse updateInvalidLoginAttempts(
-      UserEntity userEntity, JsonNode userInfoJsonNode, AuditLogEventRequest auditRequest) {
-    if (userEntity.getStatus() == UserAccountStatus.ACCOUNT_LOCKED.getStatus()) {
+      UserCredentials credentials, int status, AuditLogEventRequest auditRequest) {
+    if (status == UserAccountStatus.ACCOUNT_LOCKED.getStatus()) {
       throw new ErrorCodeException(ErrorCode.ACCOUNT_LOCKED);
     }
 
-    ObjectNode userInfo = (ObjectNode) userInfoJsonNode;
-    int loginAttempts =
-        userInfo.hasNonNull(LOGIN_ATTEMPTS) ? userInfo.get(LOGIN_ATTEMPTS).intValue() : 0;
-    loginAttempts += 1;
-    userInfo.put(LOGIN_ATTEMPTS, loginAttempts);
+    String userId = credentials.getUserId();
+    if (credentials.getStatus() != status) {
+      repository.unlockAccount(userId, status, UserAccountStatus.ACCOUNT_LOCKED.getStatus());
+    }
+
+    // counted in the database so concurrent failed sign-ins are never lost
+    repository.incrementLoginAttempts(userId);
+    int loginAttempts = repository.findLoginAttemptsByUserId(userId);
+    if (loginAttempts < appConfig.getMaxInvalidLoginAttempts()) {
+      throw new ErrorCodeException(ErrorCode.INVALID_LOGIN_CREDENTIALS);
+    }
 
-    long systemTime = Instant.now().toEpochMilli();
-    if (userInfo.get(LOGIN_ATTEMPTS).intValue() >= appConfig.getMaxInvalidLoginAttempts()) {
+    UserEntity userEntity = repository.findByUserId(userId).get();
+    if (userEntity.getStatus() != UserAccountStatus.ACCOUNT_LOCKED.getStatus()) {
+      long systemTime = Instant.now().toEpochMilli();
       String tempPassword = PasswordGenerator.generate(12);
       setPasswordAndPasswordHistoryFields(
-          tempPassword, userInfo, UserAccountStatus.ACCOUNT_LOCKED.getStatus());
+          tempPassword, userEntity, UserAccountStatus.ACCOUNT_LOCKED.getStatus());
       sendAccountLockedEmail(userEntity, tempPassword, auditRequest);
       userEntity.setStatus(UserAccountStatus.ACCOUNT_LOCKED.getStatus());
-      userInfo.put(ACCOUNT_LOCK_EMAIL_TIMESTAMP, systemTime);
+      ((ObjectNode) userEntity.getUserInfo()).put(ACCOUNT_LOCK_EMAIL_TIMESTAMP, systemTime);
+      repository.saveAndFlush(userEntity);
 
       Map<String, String> placeHolders = new HashMap<>();
       placeHolders.put("lock_time", String.valueOf(systemTime));
@@ -492,59 +524,38 @@ public class UserServiceImpl implements UserService {
       auditHelper.logEvent(ACCOUNT_LOCKED, auditRequest, placeHolders);
     }
 
-    userEntity.setUserInfo(userInfo);
-    userEntity = repository.saveAndFlush(userEntity);
-
-    ErrorCode errorCode =
-        userEntity.getStatus() == UserAccountStatus.ACCOUNT_LOCKED.getStatus()
-            ? ErrorCode.ACCOUNT_LOCKED
-            : ErrorCode.INVALID_LOGIN_CREDENTIALS;
-
-    throw new ErrorCodeException(errorCode);
+    throw new ErrorCodeException(ErrorCode.ACCOUNT_LOCKED);
   }
 
   private AuthenticationResponse updateLoginAttemptsAndAuthenticationTime(
-      UserEntity userEntity, JsonNode userInfoJsonNode, AuditLogEventRequest auditRequest) {
-    ObjectNode userInfo = (ObjectNode) userInfoJsonNode;
-    userInfo.put(LOGIN_TIMESTAMP, Instant.now().toEpochMilli());
-
-    UserAccountStatus status = UserAccountStatus.valueOf(userEntity.getStatus());
+      String userId, int status, UserEntity lockedUserEntity) {
+    Timestamp loginTime = new Timestamp(Instant.now().toEpochMilli());
+    UserAccountStatus accountStatus = UserAccountStatus.valueOf(status);
 
-    if (UserAccountStatus.ACCOUNT_LOCKED.equals(status)) {
+    if (UserAccountStatus.ACCOUNT_LOCKED.equals(accountStatus)) {
+      ObjectNode userInfo = (ObjectNode) lockedUserEntity.getUserInfo();
       ObjectNode passwordNode = (ObjectNode) userInfo.get(ACCOUNT_LOCKED_PASSWORD);
       passwordNode.put(OTP_USED, true);
       userInfo.set(ACCOUNT_LOCKED_PASSWORD, passwordNode);
-    } else if (UserAccountStatus.PASSWORD_RESET.equals(status)) {
-      ObjectNode passwordNode = (ObjectNode) userInfo.get(PASSWORD);
-      passwordNode.put(OTP_USED, true);
-      userInfo.set(PASSWORD, passwordNode);
+      lockedUserEntity.setUserInfo(userInfo);
+      lockedUserEntity.setLastLoginTime(loginTime);
+      repository.saveAndFlush(lockedUserEntity);
+    } else if (UserAccountStatus.PASSWORD_RESET.equals(accountStatus)) {
+      repository.updateTemporaryPasswordLogin(userId, loginTime);
     } else {
-      ObjectNode passwordNode = (ObjectNode) userInfo.get(PASSWORD);
-      passwordNode.remove(OTP_USED);
-      userInfo.remove(ACCOUNT_LOCK_EMAIL_TIMESTAMP);
-      userInfo.remove(ACCOUNT_LOCKED_PASSWORD);
-      userInfo.put(LOGIN_ATTEMPTS, 0);
-      userInfo.set(PASSWORD, passwordNode);
+      repository.updateSuccessfulLogin(userId, status, loginTime);
     }
 
-    userEntity.setUserInfo(userInfo);
-    userEntity = repository.saveAndFlush(userEntity);
-
     AuthenticationResponse authenticationResponse = new AuthenticationResponse();
-    authenticationResponse.setUserId(userEntity.getUserId());
-    authenticationResponse.setAccountStatus(userEntity.getStatus());
+    authenticationResponse.setUserId(userId);
+    authenticationResponse.setAccountStatus(status);
     authenticationResponse.setHttpStatusCode(HttpStatus.OK.value());
     return authenticationResponse;
   }
 
   private void validatePasswordExpiryAndAccountStatus(
-      UserEntity userEntity, JsonNode userInfo, AuditLogEventRequest auditRequest) {
-    JsonNode passwordNode =
-        userEntity.getStatus() == UserAccountStatus.ACCOUNT_LOCKED.getStatus()
-            ? userInfo.get(ACCOUNT_LOCKED_PASSWORD)
-            : userInfo.get(PASSWORD);
-    boolean passwordExpired = isPasswordExpired(passwordNode);
-    UserAccountStatus accountStatus = UserAccountStatus.valueOf(userEntity.getStatus());
+      int status, boolean passwordExpired, AuditLogEventRequest auditRequest) {
+    UserAccountStatus accountStatus = UserAccountStatus.valueOf(status);
     switch (accountStatus) {
       case DEACTIVATED:
         throw new ErrorCodeException(ErrorCode.ACCOUNT_DEACTIVATED);
@@ -566,10 +577,10 @@ public class UserServiceImpl implements UserService {
     }
   }
 
-  private boolean isPasswordExpired(JsonNode passwordNode) {
-    return (passwordNode.hasNonNull(EXPIRE_TIMESTAMP)
-            && Instant.now().toEpochMilli() > passwordNode.get(EXPIRE_TIMESTAMP).longValue()
-        || passwordNode.hasNonNull(OTP_USED) && passwordNode.get(OTP_USED).booleanValue());
+  private boolean isPasswordExpired(Timestamp passwordExpireTime, boolean otpUsed) {
+    return passwordExpireTime != null
+            && Instant.now().toEpochMilli() > passwordExpireTime.getTime()
+        || otpUsed;
   }
 
   @Override
@@ -577,14 +588,47 @@ public class UserServiceImpl implements UserService {
     repository.removeTempRegIDForUser(userId);
   }
 
-  @Override
-  @Transactional
-  public void removeExpiredTempRegIds() {
-    long timeInMillis =
+  private Timestamp getTempRegIdExpireTime() {
+    return new Timestamp(
         Instant.now()
-            .minus(appConfig.getTempRegIdExpiryMinutes(), ChronoUnit.MINUTES)
-            .toEpochMilli();
-    repository.removeTempRegIdBeforeTime(new Timestamp(timeInMillis));
+            .plus(appConfig.getTempRegIdExpiryMinutes(), ChronoUnit.MINUTES)
+            .toEpochMilli());
+  }
+
+  /**
+   * Clears expired tempRegIds in chunks of {@code tempregid.expiry.sweep.chunk.size} rows. Each
+   * chunk is located through the expiry time index and cleared in its own short transaction, so a
+   * large backlog never holds locks on the whole users table.
+   */
+  @Override
+  public int removeExpiredTempRegIds() {
+    logger.entry("begin removeExpiredTempRegIds()");
+    long startTime = System.currentTimeMillis();
+    Timestamp now = new Timestamp(startTime);
+    Pageable chunk = PageRequest.of(0, Math.max(1, appConfig.getTempRegIdSweepChunkSize()));
+
+    int removed = 0;
+    int chunks = 0;
+    List<String> ids;
+    do {
+      // cleared rows drop out of the result, so the first page is always the next chunk
+      ids = repository.findIdsWithTempRegIdExpiredBefore(now, chunk);
+      if (ids.isEmpty()) {
+        break;
+      }
+      int updated = repository.removeTempRegIdsExpiredBefore(ids, now);
+      removed += updated;
+      chunks++;
+      if (updated == 0) {
+        break;
+      }
+    } while (ids.size() == chunk.getPageSize());
+
+    logger.exit(
+        String.format(
+            "removed %d expired tempRegIds in %d chunk(s), took %d ms",
+            removed, chunks, System.currentTimeMillis() - startTime));
+    return removed;
   }
 
   @Transactional
@@ -602,11 +646,14 @@ public class UserServiceImpl implements UserService {
     String email = StringUtils.defaultIfEmpty(userRequest.getEmail(), userEntity.getEmail());
 
     String tempRegId = null;
+    Timestamp tempRegIdExpireTime = null;
     if (userRequest.getStatus() != null
         && UserAccountStatus.ACTIVE.getStatus() == userRequest.getStatus()) {
       tempRegId = IdGenerator.id();
+      tempRegIdExpireTime = getTempRegIdExpireTime();
     }
-    repository.updateEmailStatusAndTempRegId(email, status, tempRegId, userEntity.getUserId());
+    repository.updateEmailStatusAndTempRegId(
+        email, status, tempRegId, tempRegIdExpireTime, userEntity.getUserId());
     logger.exit(MessageCode.UPDATE_USER_DETAILS_SUCCESS);
     return new UpdateEmailStatusResponse(MessageCode.UPDATE_USER_DETAILS_SUCCESS, tempRegId);
   }
@@ -630,16 +677,13 @@ public class UserServiceImpl implements UserService {
       String userId, String refreshToken, AuditLogEventRequest auditRequest)
       throws JsonProcessingException {
     logger.entry("revokeAndReplaceRefreshToken(userId, refreshToken)");
-    Optional<UserEntity> optUserEntity = repository.findByUserId(userId);
-    if (!optUserEntity.isPresent()) {
+    Optional<UserCredentials> optCredentials = repository.findCredentialsByUserId(userId);
+    if (!optCredentials.isPresent()) {
       throw new ErrorCodeException(ErrorCode.USER_NOT_FOUND);
     }
 
-    UserEntity userEntity = optUserEntity.get();
-    ObjectNode userInfo = (ObjectNode) userEntity.getUserInfo();
-
-    if (userInfo.hasNonNull(REFRESH_TOKEN)) {
-      String prevRefreshToken = getTextValue(userInfo, REFRESH_TOKEN);
+    String prevRefreshToken = optCredentials.get().getRefreshToken();
+    if (StringUtils.isNotEmpty(prevRefreshToken)) {
       prevRefreshToken = encryptor.decrypt(prevRefreshToken);
       HttpHeaders headers = new HttpHeaders();
       headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
@@ -651,14 +695,8 @@ public class UserServiceImpl implements UserService {
       }
     }
 
-    if (StringUtils.isEmpty(refreshToken)) {
-      userInfo.remove(REFRESH_TOKEN);
-    } else {
-      userInfo.put(REFRESH_TOKEN, encryptor.encrypt(refreshToken));
-    }
-
-    userEntity.setUserInfo(userInfo);
-    repository.saveAndFlush(userEntity);
+    repository.updateRefreshToken(
+        userId, StringUtils.isEmpty(refreshToken) ? null : encryptor.encrypt(refreshToken));
 
     UserResponse userResponse = new UserResponse();
     userResponse.setHttpStatusCode(HttpStatus.OK.value());
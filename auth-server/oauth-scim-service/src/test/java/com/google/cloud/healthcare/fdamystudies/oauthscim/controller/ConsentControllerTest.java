@@ -41,6 +41,9 @@ public class ConsentControllerTest extends BaseMockIT {
 
   protected static final String CONSENT_CHALLENGE_VALUE = "c11e62a0-5555-4b0e-b498-c878f5e4bd85";
 
+  private static final String TRUSTED_CLIENT_CONSENT_CHALLENGE_VALUE =
+      "d22f73b1-6666-4c1f-a5a9-d989a6f5ce96";
+
   private static final String USER_ID_VALUE = "4e626d41-7f42-43a6-b749-ee4b6635ac66";
 
   @Test
@@ -56,6 +59,21 @@ public class ConsentControllerTest extends BaseMockIT {
         .andReturn();
   }
 
+  @Test
+  public void shouldAcceptConsentForTrustedClient() throws Exception {
+    MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+    queryParams.add(CONSENT_CHALLENGE, TRUSTED_CLIENT_CONSENT_CHALLENGE_VALUE);
+    mockMvc
+        .perform(
+            get(ApiEndpoint.CONSENT_PAGE.getPath())
+                .contextPath(getContextPath())
+                .queryParams(queryParams))
+        .andDo(print())
+        .andExpect(status().is3xxRedirection())
+        .andExpect(redirectedUrl(ApiEndpoint.LOGIN_PAGE.getUrl()))
+        .andReturn();
+  }
+
   @Test
   public void shouldReturnLoginPage() throws Exception {
     Cookie mobilePlatformCookie =
@@ -79,6 +79,7 @@ import com.google.cloud.healthcare.fdamystudies.oauthscim.model.UserEntity;
 import com.google.cloud.healthcare.fdamystudies.oauthscim.repository.UserRepository;
 import com.google.cloud.healthcare.fdamystudies.oauthscim.service.UserService;
 import java.net.MalformedURLException;
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
@@ -493,6 +494,7 @@ public class LoginControllerTest extends BaseMockIT {
     passwordNode.put(EXPIRE_TIMESTAMP, Instant.now().plus(Duration.ofMinutes(15)).toEpochMilli());
     ((ObjectNode) userInfo).set(ACCOUNT_LOCKED_PASSWORD, passwordNode);
     userEntity.setUserInfo(userInfo);
+    userEntity.setLockoutUntil(new Timestamp(passwordNode.get(EXPIRE_TIMESTAMP).longValue()));
 
     userEntity = userRepository.saveAndFlush(userEntity);
 
@@ -723,6 +725,7 @@ public class LoginControllerTest extends BaseMockIT {
     passwordNode.put(OTP_USED, true);
     ((ObjectNode) userInfo).set(ACCOUNT_LOCKED_PASSWORD, passwordNode);
     userEntity.setUserInfo(userInfo);
+    userEntity.setLockoutUntil(new Timestamp(passwordNode.get(EXPIRE_TIMESTAMP).longValue()));
     userEntity = userRepository.saveAndFlush(userEntity);
 
     MultiValueMap<String, String> requestParams = getLoginRequestParamsMap();
@@ -799,11 +802,9 @@ public class LoginControllerTest extends BaseMockIT {
     UserEntity userEntity = userRepository.findByUserId(userResponse.getUserId()).get();
     userEntity.setStatus(UserAccountStatus.ACTIVE.getStatus());
 
-    JsonNode userInfo = userEntity.getUserInfo();
-    ObjectNode passwordNode = (ObjectNode) userInfo.get(PASSWORD);
-    passwordNode.put("expire_timestamp", Instant.now().minus(Duration.ofDays(1)).toEpochMilli());
-    passwordNode.put("otp_used", false);
-    userEntity.setUserInfo(userInfo);
+    userEntity.setPasswordExpireTime(
+        new Timestamp(Instant.now().minus(Duration.ofDays(1)).toEpochMilli()));
+    userEntity.setPasswordOtpUsed(false);
     userEntity = userRepository.saveAndFlush(userEntity);
 
     MultiValueMap<String, String> requestParams = getLoginRequestParamsMap();
@@ -842,11 +843,9 @@ public class LoginControllerTest extends BaseMockIT {
     UserEntity userEntity = userRepository.findByUserId(userResponse.getUserId()).get();
     userEntity.setStatus(UserAccountStatus.PASSWORD_RESET.getStatus());
 
-    JsonNode userInfo = userEntity.getUserInfo();
-    ObjectNode nameNode = (ObjectNode) userInfo.get(PASSWORD);
-    nameNode.put("expire_timestamp", Instant.now().minus(Duration.ofDays(1)).toEpochMilli());
-    nameNode.put("otp_used", false);
-    userEntity.setUserInfo(userInfo);
+    userEntity.setPasswordExpireTime(
+        new Timestamp(Instant.now().minus(Duration.ofDays(1)).toEpochMilli()));
+    userEntity.setPasswordOtpUsed(false);
     userEntity = userRepository.saveAndFlush(userEntity);
 
     MultiValueMap<String, String> requestParams = getLoginRequestParamsMap();
@@ -11,7 +11,6 @@ package com.google.cloud.healthcare.fdamystudies.oauthscim.controller;
 import static com.google.cloud.healthcare.fdamystudies.common.CommonAuditEvent.INVALID_CLIENT_ID_OR_SECRET;
 import static com.google.cloud.healthcare.fdamystudies.common.CommonAuditEvent.RESOURCE_ACCESS_FAILED;
 import static com.google.cloud.healthcare.fdamystudies.common.JsonUtils.getObjectNode;
-import static com.google.cloud.healthcare.fdamystudies.common.JsonUtils.getTextValue;
 import static com.google.cloud.healthcare.fdamystudies.common.JsonUtils.readJsonFile;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.AUTHORIZATION;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.AUTHORIZATION_CODE;
@@ -298,8 +297,7 @@ public class OAuthControllerTest extends BaseMockIT {
 
     // Step-2 check refresh token saved in database
     userEntity = userRepository.findByUserId(userEntity.getUserId()).get();
-    ObjectNode userInfo = (ObjectNode) userEntity.getUserInfo();
-    assertEquals(refreshToken, encryptor.decrypt(getTextValue(userInfo, REFRESH_TOKEN)));
+    assertEquals(refreshToken, encryptor.decrypt(userEntity.getRefreshToken()));
 
     AuditLogEventRequest auditRequest = new AuditLogEventRequest();
     auditRequest.setUserId(userEntity.getUserId());
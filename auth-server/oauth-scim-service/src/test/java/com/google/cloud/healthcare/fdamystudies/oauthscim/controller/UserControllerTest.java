@@ -17,7 +17,6 @@ import static com.google.cloud.healthcare.fdamystudies.common.HashUtils.hash;
 import static com.google.cloud.healthcare.fdamystudies.common.HashUtils.salt;
 import static com.google.cloud.healthcare.fdamystudies.common.JsonUtils.asJsonString;
 import static com.google.cloud.healthcare.fdamystudies.common.JsonUtils.getObjectNode;
-import static com.google.cloud.healthcare.fdamystudies.common.JsonUtils.getTextValue;
 import static com.google.cloud.healthcare.fdamystudies.common.JsonUtils.readJsonFile;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.ACCOUNT_LOCKED_PASSWORD;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.CORRELATION_ID;
@@ -25,7 +24,6 @@ import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScim
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.HASH;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.PASSWORD;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.PASSWORD_HISTORY;
-import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.REFRESH_TOKEN;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimConstants.SALT;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimEvent.PASSWORD_CHANGE_FAILED;
 import static com.google.cloud.healthcare.fdamystudies.oauthscim.common.AuthScimEvent.PASSWORD_CHANGE_SUCCEEDED;
@@ -41,6 +39,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -77,6 +76,7 @@ import com.google.cloud.healthcare.fdamystudies.oauthscim.repository.UserReposit
 import com.google.cloud.healthcare.fdamystudies.oauthscim.service.UserService;
 import com.jayway.jsonpath.JsonPath;
 import java.net.MalformedURLException;
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
@@ -256,7 +256,9 @@ public class UserControllerTest extends BaseMockIT {
 
     // Step 2A- assert password and password_history fields
     JsonNode userInfo = userEntity.getUserInfo();
-    assertTrue(userInfo.get(PASSWORD).get(EXPIRE_TIMESTAMP).isLong());
+    assertNotNull(userEntity.getPasswordHash());
+    assertNotNull(userEntity.getPasswordExpireTime());
+    assertFalse(userInfo.has(PASSWORD));
     assertTrue(userInfo.get(PASSWORD_HISTORY).isArray());
 
     verify(
@@ -503,9 +505,8 @@ public class UserControllerTest extends BaseMockIT {
 
     // Step 2A- assert password hash value and password_history size
     JsonNode userInfoNode = userEntity.getUserInfo();
-    JsonNode passwordNode = userInfoNode.get(PASSWORD);
-    String salt = getTextValue(passwordNode, SALT);
-    String actualPasswordHash = getTextValue(passwordNode, HASH);
+    String salt = userEntity.getPasswordSalt();
+    String actualPasswordHash = userEntity.getPasswordHash();
     String expectedPasswordHash = hash(NEW_PASSWORD_VALUE, salt);
 
     assertEquals(expectedPasswordHash, actualPasswordHash);
@@ -606,6 +607,7 @@ public class UserControllerTest extends BaseMockIT {
     passwordNode.put(EXPIRE_TIMESTAMP, Instant.now().plus(Duration.ofMinutes(15)).toEpochMilli());
     ((ObjectNode) userInfo).set(ACCOUNT_LOCKED_PASSWORD, passwordNode);
     userEntity.setUserInfo(userInfo);
+    userEntity.setLockoutUntil(new Timestamp(passwordNode.get(EXPIRE_TIMESTAMP).longValue()));
     userEntity = userRepository.saveAndFlush(userEntity);
 
     HttpHeaders headers = getCommonHeaders();
@@ -721,9 +723,8 @@ public class UserControllerTest extends BaseMockIT {
 
     // Step 2A- assert password hash value and password_history size
     JsonNode userInfoNode = userEntity.getUserInfo();
-    JsonNode passwordNode = userInfoNode.get(PASSWORD);
-    String salt = getTextValue(passwordNode, SALT);
-    String actualPasswordHash = getTextValue(passwordNode, HASH);
+    String salt = userEntity.getPasswordSalt();
+    String actualPasswordHash = userEntity.getPasswordHash();
     String expectedPasswordHash = hash(NEW_PASSWORD_VALUE, salt);
 
     assertNotEquals(expectedPasswordHash, actualPasswordHash);
@@ -905,9 +906,7 @@ public class UserControllerTest extends BaseMockIT {
   @Test
   public void shouldLogout() throws MalformedURLException, JsonProcessingException, Exception {
     // Step-1 set the refresh token for the user
-    ObjectNode userInfo = (ObjectNode) userEntity.getUserInfo();
-    userInfo.put(REFRESH_TOKEN, encryptor.encrypt(VALID_TOKEN));
-    userEntity.setUserInfo(userInfo);
+    userEntity.setRefreshToken(encryptor.encrypt(VALID_TOKEN));
     userEntity = repository.saveAndFlush(userEntity);
 
     // Step-2 call logout api
@@ -925,8 +924,7 @@ public class UserControllerTest extends BaseMockIT {
 
     // Step-3 check the refresh token removed from database
     userEntity = repository.findByUserId(userEntity.getUserId()).get();
-    userInfo = (ObjectNode) userEntity.getUserInfo();
-    assertFalse(userInfo.hasNonNull(REFRESH_TOKEN));
+    assertNull(userEntity.getRefreshToken());
     AuditLogEventRequest auditRequest = new AuditLogEventRequest();
     auditRequest.setUserId(userEntity.getUserId());
     Map<String, AuditLogEventRequest> auditEventMap = new HashedMap<>();
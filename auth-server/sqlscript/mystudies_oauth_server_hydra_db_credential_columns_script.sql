@@ -0,0 +1,31 @@
+-- Moves the credential fields read on every sign-in out of users.user_info into typed columns
+-- of an existing oauth_server_hydra database. Password history and the temporary password of a
+-- locked account stay in user_info.
+
+USE `oauth_server_hydra`;
+
+ALTER TABLE `users`
+  ADD COLUMN `password_hash` varchar(255) DEFAULT NULL AFTER `user_id`,
+  ADD COLUMN `password_salt` varchar(255) DEFAULT NULL AFTER `password_hash`,
+  ADD COLUMN `password_expire_time` timestamp NULL DEFAULT NULL AFTER `password_salt`,
+  ADD COLUMN `password_otp_used` tinyint(1) NOT NULL DEFAULT 0 AFTER `password_expire_time`,
+  ADD COLUMN `login_attempts` int(11) NOT NULL DEFAULT 0 AFTER `password_otp_used`,
+  ADD COLUMN `lockout_until` timestamp NULL DEFAULT NULL AFTER `login_attempts`,
+  ADD COLUMN `last_login_time` timestamp NULL DEFAULT NULL AFTER `lockout_until`,
+  ADD COLUMN `refresh_token` text DEFAULT NULL AFTER `last_login_time`;
+
+UPDATE `users` SET
+  `password_hash` = JSON_UNQUOTE(JSON_EXTRACT(`user_info`, '$.password.hash')),
+  `password_salt` = JSON_UNQUOTE(JSON_EXTRACT(`user_info`, '$.password.salt')),
+  `password_expire_time` =
+    FROM_UNIXTIME(JSON_EXTRACT(`user_info`, '$.password.expire_timestamp') / 1000),
+  `password_otp_used` =
+    IFNULL(JSON_UNQUOTE(JSON_EXTRACT(`user_info`, '$.password.otp_used')) = 'true', 0),
+  `login_attempts` = IFNULL(JSON_EXTRACT(`user_info`, '$.login_attempts'), 0),
+  `lockout_until` =
+    FROM_UNIXTIME(JSON_EXTRACT(`user_info`, '$.account_locked_password.expire_timestamp') / 1000),
+  `last_login_time` = FROM_UNIXTIME(JSON_EXTRACT(`user_info`, '$.login_timestamp') / 1000),
+  `refresh_token` = JSON_UNQUOTE(JSON_EXTRACT(`user_info`, '$.refresh_token'));
+
+UPDATE `users` SET `user_info` =
+  JSON_REMOVE(`user_info`, '$.password', '$.login_attempts', '$.login_timestamp', '$.refresh_token');
@@ -26,12 +26,22 @@ CREATE TABLE IF NOT EXISTS `users` (
   `email` varchar(320) NOT NULL,
   `status` int(11) NOT NULL,
   `temp_reg_id` varchar(64) DEFAULT NULL,
+  `temp_reg_id_expire_time` timestamp NULL DEFAULT NULL,
   `user_id` varchar(64) DEFAULT NULL,
+  `password_hash` varchar(255) DEFAULT NULL,
+  `password_salt` varchar(255) DEFAULT NULL,
+  `password_expire_time` timestamp NULL DEFAULT NULL,
+  `password_otp_used` tinyint(1) NOT NULL DEFAULT 0,
+  `login_attempts` int(11) NOT NULL DEFAULT 0,
+  `lockout_until` timestamp NULL DEFAULT NULL,
+  `last_login_time` timestamp NULL DEFAULT NULL,
+  `refresh_token` text DEFAULT NULL,
   `user_info` json NOT NULL,
   PRIMARY KEY (`id`),
   UNIQUE KEY `user_id_index` (`user_id`),
   UNIQUE KEY `temp_reg_id_index` (`temp_reg_id`),
-  KEY `users_app_id_email_idx` (`app_id`,`email`)
+  KEY `users_app_id_email_idx` (`app_id`,`email`),
+  KEY `users_temp_reg_id_expire_time_idx` (`temp_reg_id_expire_time`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 /*!40101 SET SQL_MODE=IFNULL(@OLD_SQL_MODE, '') */;
@@ -0,0 +1,13 @@
+-- Adds the indexed tempRegId expiry time to an existing oauth_server_hydra database.
+-- Rows that still hold a tempRegId get an expiry based on their creation time, using the
+-- default tempregid.expiry.minutes (30); adjust the interval if the deployment overrides it.
+
+USE `oauth_server_hydra`;
+
+ALTER TABLE `users`
+  ADD COLUMN `temp_reg_id_expire_time` timestamp NULL DEFAULT NULL AFTER `temp_reg_id`,
+  ADD KEY `users_temp_reg_id_expire_time_idx` (`temp_reg_id_expire_time`);
+
+UPDATE `users`
+  SET `temp_reg_id_expire_time` = TIMESTAMPADD(MINUTE, 30, `created`)
+  WHERE `temp_reg_id` IS NOT NULL;
@@ -52,7 +52,10 @@ import org.hibernate.annotations.GenericGenerator;
           columnNames = {"user_id", "app_info_id"},
           name = "user_details_user_id_app_info_id_uidx")
     },
-    indexes = {@Index(name = "user_details_email_idx", columnList = "email")})
+    indexes = {
+      @Index(name = "user_details_email_idx", columnList = "email"),
+      @Index(name = "user_details_status_idx", columnList = "status")
+    })
 public class UserDetailsEntity implements Serializable {
 
   private static final long serialVersionUID = -6971868842609206885L;
@@ -122,6 +125,16 @@ public class UserDetailsEntity implements Serializable {
   @Column(name = "user_id", length = SMALL_LENGTH)
   private String userId;
 
+  // last completed step of a pending deactivation, so a retried job resumes after it
+  @Column(name = "deactivation_step", length = SMALL_LENGTH)
+  private String deactivationStep;
+
+  @Column(name = "deactivation_claim_id", length = SMALL_LENGTH)
+  private String deactivationClaimId;
+
+  @Column(name = "deactivation_claim_time")
+  private Timestamp deactivationClaimTime;
+
   @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "userDetails")
   private List<ParticipantStudyEntity> participantStudies = new ArrayList<>();
 
@@ -9,13 +9,17 @@ package com.google.cloud.healthcare.fdamystudies.repository;
 
 import com.google.cloud.healthcare.fdamystudies.model.AppCount;
 import com.google.cloud.healthcare.fdamystudies.model.UserDetailsEntity;
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @ConditionalOnProperty(
     value = "participant.manager.repository.enabled",
@@ -46,6 +50,45 @@ public interface UserDetailsRepository extends JpaRepository<UserDetailsEntity,
 
   List<UserDetailsEntity> findByStatus(Integer status);
 
+  long countByStatus(Integer status);
+
+  @Query(
+      "SELECT ud.id FROM UserDetailsEntity ud WHERE ud.status = :status "
+          + "AND (ud.deactivationClaimTime IS NULL "
+          + "OR ud.deactivationClaimTime < :claimExpiredBefore) ORDER BY ud.id")
+  List<String> findUnclaimedIdsByStatus(
+      @Param("status") Integer status,
+      @Param("claimExpiredBefore") Timestamp claimExpiredBefore,
+      Pageable pageable);
+
+  @Transactional
+  @Modifying
+  @Query(
+      "UPDATE UserDetailsEntity ud SET ud.deactivationClaimId = :claimId, "
+          + "ud.deactivationClaimTime = :claimTime WHERE ud.id IN (:ids) AND ud.status = :status "
+          + "AND (ud.deactivationClaimTime IS NULL "
+          + "OR ud.deactivationClaimTime < :claimExpiredBefore)")
+  int claimForDeactivation(
+      @Param("ids") List<String> ids,
+      @Param("status") Integer status,
+      @Param("claimId") String claimId,
+      @Param("claimTime") Timestamp claimTime,
+      @Param("claimExpiredBefore") Timestamp claimExpiredBefore);
+
+  List<UserDetailsEntity> findByDeactivationClaimId(String claimId);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE UserDetailsEntity ud SET ud.deactivationStep = :step WHERE ud.id = :id")
+  int updateDeactivationStep(@Param("id") String id, @Param("step") String step);
+
+  @Transactional
+  @Modifying
+  @Query(
+      "UPDATE UserDetailsEntity ud SET ud.deactivationClaimId = NULL, "
+          + "ud.deactivationClaimTime = NULL WHERE ud.deactivationClaimId IN (:claimIds)")
+  int releaseDeactivationClaims(@Param("claimIds") List<String> claimIds);
+
   @Query(
       value =
           "SELECT app.id AS appId, IFNULL(COUNT(ud.id),0) AS count "
@@ -10,6 +10,7 @@ package com.google.cloud.healthcare.fdamystudies.dao;
 
 import com.google.cloud.healthcare.fdamystudies.model.StudyEntity;
 import com.google.cloud.healthcare.fdamystudies.model.UserDetailsEntity;
+import java.util.List;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -19,5 +20,5 @@ public interface CommonDao {
 
   public String getStudyId(String customStudyId);
 
-  public StudyEntity getStudyDetails(String customStudyId);
+  public List<StudyEntity> getStudiesDetails(List<String> customStudyIds);
 }
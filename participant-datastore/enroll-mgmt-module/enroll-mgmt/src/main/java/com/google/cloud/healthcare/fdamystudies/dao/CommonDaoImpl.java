@@ -12,6 +12,7 @@ import com.google.cloud.healthcare.fdamystudies.config.ApplicationPropertyConfig
 import com.google.cloud.healthcare.fdamystudies.model.StudyEntity;
 import com.google.cloud.healthcare.fdamystudies.model.UserDetailsEntity;
 import com.google.cloud.healthcare.fdamystudies.util.AppConstants;
+import java.util.ArrayList;
 import java.util.List;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -85,25 +86,24 @@ public class CommonDaoImpl implements CommonDao {
   }
 
   @Override
-  public StudyEntity getStudyDetails(String customStudyId) {
-    logger.info("CommonDaoImpl getStudyDetails() - Starts ");
+  public List<StudyEntity> getStudiesDetails(List<String> customStudyIds) {
+    logger.info("CommonDaoImpl getStudiesDetails() - Starts ");
     CriteriaBuilder criteriaBuilder = null;
     CriteriaQuery<StudyEntity> criteriaQuery = null;
     Root<StudyEntity> root = null;
-    Predicate[] predicates = new Predicate[1];
-    List<StudyEntity> studyList = null;
-    StudyEntity studyInfo = null;
+    List<StudyEntity> studyList = new ArrayList<>();
+    if (customStudyIds.isEmpty()) {
+      return studyList;
+    }
+
     Session session = this.sessionFactory.getCurrentSession();
     criteriaBuilder = session.getCriteriaBuilder();
     criteriaQuery = criteriaBuilder.createQuery(StudyEntity.class);
     root = criteriaQuery.from(StudyEntity.class);
-    predicates[0] = criteriaBuilder.equal(root.get("customId"), customStudyId);
-    criteriaQuery.select(root).where(predicates);
+    criteriaQuery.select(root).where(root.get("customId").in(customStudyIds));
     studyList = session.createQuery(criteriaQuery).getResultList();
-    if (!studyList.isEmpty()) {
-      studyInfo = studyList.get(0);
-    }
 
-    return studyInfo;
+    logger.info("CommonDaoImpl getStudiesDetails() - Ends ");
+    return studyList;
   }
 }
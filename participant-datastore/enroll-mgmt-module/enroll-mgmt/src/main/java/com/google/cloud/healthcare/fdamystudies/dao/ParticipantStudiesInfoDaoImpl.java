@@ -9,10 +9,7 @@
 package com.google.cloud.healthcare.fdamystudies.dao;
 
 import com.google.cloud.healthcare.fdamystudies.model.ParticipantStudyEntity;
-import com.google.cloud.healthcare.fdamystudies.model.UserDetailsEntity;
-import com.google.cloud.healthcare.fdamystudies.repository.UserDetailsRepository;
 import java.util.List;
-import java.util.Optional;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.query.Query;
@@ -28,8 +25,6 @@ public class ParticipantStudiesInfoDaoImpl implements ParticipantStudiesInfoDao
 
   @Autowired private SessionFactory sessionFactory;
 
-  @Autowired private UserDetailsRepository userDetailsRepository;
-
   @Override
   @SuppressWarnings("unchecked")
   public List<ParticipantStudyEntity> getParticipantStudiesInfo(String userDetailsId) {
@@ -39,14 +34,14 @@ public class ParticipantStudiesInfoDaoImpl implements ParticipantStudiesInfoDao
     if (userDetailsId != null) {
       Session session = this.sessionFactory.getCurrentSession();
 
-      Optional<UserDetailsEntity> optUserDetails =
-          userDetailsRepository.findByUserId(userDetailsId);
-      UserDetailsEntity userDetails = optUserDetails.get();
-
+      // fetch the study, site and enrollment registry of every row in the same select
       Query<ParticipantStudyEntity> query =
-          session.createQuery("from ParticipantStudyEntity where userDetails = :userDetails");
+          session.createQuery(
+              "from ParticipantStudyEntity ps left join fetch ps.study left join fetch ps.site "
+                  + "left join fetch ps.participantRegistrySite "
+                  + "where ps.userDetails.userId = :userId");
 
-      query.setParameter("userDetails", userDetails);
+      query.setParameter("userId", userDetailsId);
       participantStudiesList = query.getResultList();
       return participantStudiesList;
 
@@ -18,7 +18,5 @@ public interface StudyStateDao {
 
   public String saveParticipantStudies(List<ParticipantStudyEntity> participantStudiesList);
 
-  public String getEnrollTokenForParticipant(String participantRegistryId);
-
   public String withdrawFromStudy(String participantId, String studyId, boolean delete);
 }
@@ -9,7 +9,6 @@
 package com.google.cloud.healthcare.fdamystudies.dao;
 
 import com.google.cloud.healthcare.fdamystudies.common.EnrollmentStatus;
-import com.google.cloud.healthcare.fdamystudies.model.ParticipantRegistrySiteEntity;
 import com.google.cloud.healthcare.fdamystudies.model.ParticipantStudyEntity;
 import com.google.cloud.healthcare.fdamystudies.model.StudyEntity;
 import com.google.cloud.healthcare.fdamystudies.model.UserDetailsEntity;
@@ -21,6 +20,7 @@ import java.util.List;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import org.hibernate.Session;
@@ -35,6 +35,8 @@ public class StudyStateDaoImpl implements StudyStateDao {
 
   private static final Logger logger = LoggerFactory.getLogger(StudyStateDaoImpl.class);
 
+  private static final int JDBC_BATCH_SIZE = 50;
+
   @Autowired private SessionFactory sessionFactory;
 
   @Override
@@ -49,6 +51,9 @@ public class StudyStateDaoImpl implements StudyStateDao {
     criteriaBuilder = session.getCriteriaBuilder();
     criteriaQuery = criteriaBuilder.createQuery(ParticipantStudyEntity.class);
     root = criteriaQuery.from(ParticipantStudyEntity.class);
+    root.fetch("study", JoinType.LEFT);
+    root.fetch("site", JoinType.LEFT);
+    root.fetch("participantRegistrySite", JoinType.LEFT);
     predicates[0] = criteriaBuilder.equal(root.get("userDetails"), user);
     criteriaQuery.select(root).where(predicates);
     participantStudiesList = session.createQuery(criteriaQuery).getResultList();
@@ -63,6 +68,8 @@ public class StudyStateDaoImpl implements StudyStateDao {
     String message = MyStudiesUserRegUtil.ErrorCodes.FAILURE.getValue();
     boolean isUpdated = false;
     Session session = this.sessionFactory.getCurrentSession();
+    // inserts and updates are sent as JDBC batches when the transaction flushes
+    session.setJdbcBatchSize(JDBC_BATCH_SIZE);
     for (ParticipantStudyEntity participantStudies : participantStudiesList) {
       session.saveOrUpdate(participantStudies);
       isUpdated = true;
@@ -76,33 +83,6 @@ public class StudyStateDaoImpl implements StudyStateDao {
     return message;
   }
 
-  @Override
-  public String getEnrollTokenForParticipant(String participantRegistryId) {
-    logger.info("StudyStateDaoImpl getEnrollTokenForParticipant() - Starts ");
-    String enrolledToken = "";
-    CriteriaBuilder criteriaBuilder = null;
-    CriteriaQuery<ParticipantRegistrySiteEntity> criteriaQuery = null;
-    Root<ParticipantRegistrySiteEntity> root = null;
-    Predicate[] predicates = new Predicate[1];
-    List<ParticipantRegistrySiteEntity> participantRegistryList = null;
-    ParticipantRegistrySiteEntity participantRegistrySite = null;
-
-    Session session = this.sessionFactory.getCurrentSession();
-    criteriaBuilder = session.getCriteriaBuilder();
-    criteriaQuery = criteriaBuilder.createQuery(ParticipantRegistrySiteEntity.class);
-    root = criteriaQuery.from(ParticipantRegistrySiteEntity.class);
-    predicates[0] = criteriaBuilder.equal(root.get("id"), participantRegistryId);
-    criteriaQuery.select(root).where(predicates);
-    participantRegistryList = session.createQuery(criteriaQuery).getResultList();
-    if (!participantRegistryList.isEmpty()) {
-      participantRegistrySite = participantRegistryList.get(0);
-      enrolledToken = participantRegistrySite.getEnrollmentToken();
-    }
-
-    logger.info("StudyStateDaoImpl getEnrollTokenForParticipant() - Ends ");
-    return enrolledToken;
-  }
-
   @Override
   public String withdrawFromStudy(String participantId, String studyId, boolean delete) {
     logger.info("StudyStateDaoImpl withdrawFromStudy() - Ends ");
@@ -39,7 +39,7 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -96,92 +96,59 @@ public class StudyStateServiceImpl implements StudyStateService {
     logger.info("StudyStateServiceImpl saveParticipantStudies() - Starts ");
     StudyStateRespBean studyStateRespBean = null;
     String message = MyStudiesUserRegUtil.ErrorCodes.FAILURE.getValue();
-    boolean isExists = false;
-    StudyEntity studyEntity = null;
-    List<ParticipantStudyEntity> addParticipantStudiesList =
-        new ArrayList<ParticipantStudyEntity>();
-    List<String> customStudyIdList = new LinkedList<>();
-    ParticipantStudyEntity participantStudyEntity = new ParticipantStudyEntity();
+    Map<String, ParticipantStudyEntity> addParticipantStudies = new LinkedHashMap<>();
 
     Map<String, String> placeHolder = new HashMap<>();
     auditRequest.setUserId(userId);
     try {
-      for (int i = 0; i < studiesBeenList.size(); i++) {
-        StudiesBean studiesBean = studiesBeenList.get(i);
+      List<String> customStudyIds = new ArrayList<>();
+      for (StudiesBean studiesBean : studiesBeenList) {
+        customStudyIds.add(studiesBean.getStudyId().trim());
+      }
+      Map<String, StudyEntity> studiesByCustomId = new HashMap<>();
+      for (StudyEntity study : commonDao.getStudiesDetails(customStudyIds)) {
+        studiesByCustomId.put(study.getCustomId(), study);
+      }
 
-        auditRequest.setStudyId(studiesBean.getStudyId());
-        auditRequest.setParticipantId(studiesBean.getParticipantId());
-        studyEntity = commonDao.getStudyDetails(studiesBean.getStudyId().trim());
-        if (existParticipantStudies != null && !existParticipantStudies.isEmpty()) {
-          for (ParticipantStudyEntity participantStudies : existParticipantStudies) {
-            if (studyEntity != null) {
-              if (studyEntity.getId().equals(participantStudies.getStudy().getId())) {
-                isExists = true;
-                if (studiesBean.getStatus() != null
-                    && !StringUtils.isEmpty(studiesBean.getStatus())) {
-                  participantStudies.setStatus(studiesBean.getStatus());
-
-                  if (studiesBean
-                      .getStatus()
-                      .equalsIgnoreCase(EnrollmentStatus.ENROLLED.getStatus())) {
-                    participantStudies.setEnrolledDate(Timestamp.from(Instant.now()));
-                  }
-                }
-                if (studiesBean.getBookmarked() != null) {
-                  participantStudies.setBookmark(studiesBean.getBookmarked());
-                }
-                if (studiesBean.getCompletion() != null) {
-                  participantStudies.setCompletion(studiesBean.getCompletion());
-                }
-                if (studiesBean.getAdherence() != null) {
-                  participantStudies.setAdherence(studiesBean.getAdherence());
-                }
-                if (studiesBean.getParticipantId() != null
-                    && StringUtils.isNotEmpty(studiesBean.getParticipantId())) {
-                  participantStudies.setParticipantId(studiesBean.getParticipantId());
-                }
-                placeHolder.put("study_state_value", participantStudies.getStatus());
-                addParticipantStudiesList.add(participantStudies);
-              }
-            }
+      Map<String, ParticipantStudyEntity> participantStudiesByStudyId = new HashMap<>();
+      if (existParticipantStudies != null) {
+        for (ParticipantStudyEntity participantStudies : existParticipantStudies) {
+          if (participantStudies.getStudy() != null) {
+            participantStudiesByStudyId.put(
+                participantStudies.getStudy().getId(), participantStudies);
           }
         }
-        if (!isExists) {
-          if (studiesBean.getStudyId() != null
-              && StringUtils.isNotEmpty(studiesBean.getStudyId())
-              && studyEntity != null) {
-            participantStudyEntity.setStudy(studyEntity);
-          }
-          if (studiesBean.getStatus() != null && StringUtils.isNotEmpty(studiesBean.getStatus())) {
-            participantStudyEntity.setStatus(studiesBean.getStatus());
-            if (studiesBean.getStatus().equalsIgnoreCase(EnrollmentStatus.ENROLLED.getStatus())) {
-              participantStudyEntity.setEnrolledDate(Timestamp.from(Instant.now()));
-            }
-          } else {
-            participantStudyEntity.setStatus(EnrollmentStatus.YET_TO_ENROLL.getStatus());
-          }
-          if (studiesBean.getBookmarked() != null) {
-            participantStudyEntity.setBookmark(studiesBean.getBookmarked());
-          }
-          if (userId != null && StringUtils.isNotEmpty(userId)) {
-            participantStudyEntity.setUserDetails(commonDao.getUserInfoDetails(userId));
-          }
-          if (studiesBean.getCompletion() != null) {
-            participantStudyEntity.setCompletion(studiesBean.getCompletion());
-          }
-          if (studiesBean.getAdherence() != null) {
-            participantStudyEntity.setAdherence(studiesBean.getAdherence());
+      }
+
+      UserDetailsEntity userDetails = null;
+      for (StudiesBean studiesBean : studiesBeenList) {
+        auditRequest.setStudyId(studiesBean.getStudyId());
+        auditRequest.setParticipantId(studiesBean.getParticipantId());
+        String customStudyId = studiesBean.getStudyId().trim();
+        StudyEntity studyEntity = studiesByCustomId.get(customStudyId);
+
+        ParticipantStudyEntity participantStudies =
+            studyEntity != null ? participantStudiesByStudyId.get(studyEntity.getId()) : null;
+        if (participantStudies == null) {
+          participantStudies = new ParticipantStudyEntity();
+          participantStudies.setStudy(studyEntity);
+          participantStudies.setStatus(EnrollmentStatus.YET_TO_ENROLL.getStatus());
+          if (userDetails == null && StringUtils.isNotEmpty(userId)) {
+            userDetails = commonDao.getUserInfoDetails(userId);
           }
-          if (studiesBean.getParticipantId() != null
-              && StringUtils.isNotEmpty(studiesBean.getParticipantId())) {
-            participantStudyEntity.setParticipantId(studiesBean.getParticipantId());
+          participantStudies.setUserDetails(userDetails);
+          if (studyEntity != null) {
+            participantStudiesByStudyId.put(studyEntity.getId(), participantStudies);
           }
-          placeHolder.put("study_state_value", participantStudyEntity.getStatus());
-          addParticipantStudiesList.add(participantStudyEntity);
-          customStudyIdList.add(studiesBean.getStudyId());
         }
+        addParticipantStudies.put(customStudyId, participantStudies);
+
+        setStudyState(participantStudies, studiesBean);
+        placeHolder.put("study_state_value", participantStudies.getStatus());
       }
-      message = studyStateDao.saveParticipantStudies(addParticipantStudiesList);
+
+      message =
+          studyStateDao.saveParticipantStudies(new ArrayList<>(addParticipantStudies.values()));
       if (message.equalsIgnoreCase(MyStudiesUserRegUtil.ErrorCodes.SUCCESS.getValue())) {
         studyStateRespBean = new StudyStateRespBean();
         studyStateRespBean.setMessage(
@@ -201,6 +168,27 @@ public class StudyStateServiceImpl implements StudyStateService {
     return studyStateRespBean;
   }
 
+  private void setStudyState(ParticipantStudyEntity participantStudies, StudiesBean studiesBean) {
+    if (StringUtils.isNotEmpty(studiesBean.getStatus())) {
+      participantStudies.setStatus(studiesBean.getStatus());
+      if (studiesBean.getStatus().equalsIgnoreCase(EnrollmentStatus.ENROLLED.getStatus())) {
+        participantStudies.setEnrolledDate(Timestamp.from(Instant.now()));
+      }
+    }
+    if (studiesBean.getBookmarked() != null) {
+      participantStudies.setBookmark(studiesBean.getBookmarked());
+    }
+    if (studiesBean.getCompletion() != null) {
+      participantStudies.setCompletion(studiesBean.getCompletion());
+    }
+    if (studiesBean.getAdherence() != null) {
+      participantStudies.setAdherence(studiesBean.getAdherence());
+    }
+    if (StringUtils.isNotEmpty(studiesBean.getParticipantId())) {
+      participantStudies.setParticipantId(studiesBean.getParticipantId());
+    }
+  }
+
   @Override
   @Transactional(readOnly = true)
   public List<StudyStateBean> getStudiesState(String userId) throws SystemException {
@@ -221,8 +209,7 @@ public class StudyStateServiceImpl implements StudyStateService {
           StudyStateBean studyStateBean = BeanUtil.getBean(StudyStateBean.class);
           if (participantStudiesBO.getParticipantRegistrySite() != null) {
             String enrolledTokenVal =
-                studyStateDao.getEnrollTokenForParticipant(
-                    participantStudiesBO.getParticipantRegistrySite().getId());
+                participantStudiesBO.getParticipantRegistrySite().getEnrollmentToken();
             studyStateBean.setHashedToken(
                 EnrollmentManagementUtil.getHashedValue(enrolledTokenVal.toUpperCase()));
           }
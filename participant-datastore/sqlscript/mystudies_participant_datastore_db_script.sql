@@ -385,9 +385,13 @@ CREATE TABLE IF NOT EXISTS `user_details` (
   `user_id` varchar(64) DEFAULT NULL,
   `verification_time` datetime DEFAULT NULL,
   `app_info_id` varchar(255) DEFAULT NULL,
+  `deactivation_step` varchar(64) DEFAULT NULL,
+  `deactivation_claim_id` varchar(64) DEFAULT NULL,
+  `deactivation_claim_time` datetime DEFAULT NULL,
   PRIMARY KEY (`id`),
   UNIQUE KEY `user_details_user_id_app_info_id_uidx` (`user_id`,`app_info_id`),
   KEY `user_details_email_idx` (`email`),
+  KEY `user_details_status_idx` (`status`),
   KEY `user_details_last_name_idx` (`last_name`),
   KEY `FKo905twpc0drywmf4x5e0io0cn` (`app_info_id`),
   CONSTRAINT `FKo905twpc0drywmf4x5e0io0cn` FOREIGN KEY (`app_info_id`) REFERENCES `app_info` (`id`)
@@ -0,0 +1,10 @@
+-- Adds the claim and checkpoint columns used by the batched account deactivation job to an
+-- existing mystudies_participant_datastore database.
+
+USE `mystudies_participant_datastore`;
+
+ALTER TABLE `user_details`
+  ADD COLUMN `deactivation_step` varchar(64) DEFAULT NULL,
+  ADD COLUMN `deactivation_claim_id` varchar(64) DEFAULT NULL,
+  ADD COLUMN `deactivation_claim_time` datetime DEFAULT NULL,
+  ADD KEY `user_details_status_idx` (`status`);
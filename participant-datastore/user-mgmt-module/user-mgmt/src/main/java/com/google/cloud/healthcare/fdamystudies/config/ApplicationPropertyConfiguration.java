@@ -83,4 +83,21 @@ public class ApplicationPropertyConfiguration {
 
   @Value("${auth.server.deleteStatusUrl}")
   private String authServerDeleteStatusUrl;
+
+  // DeactivateAccountScheduledTask batching and concurrency starts
+  @Value("${deactivate.account.batch_size:100}")
+  private int deactivateAccountBatchSize;
+
+  @Value("${deactivate.account.threads:10}")
+  private int deactivateAccountThreads;
+
+  @Value("${deactivate.account.auth_server.max_concurrency:5}")
+  private int deactivateAccountAuthServerConcurrency;
+
+  @Value("${deactivate.account.database.max_concurrency:5}")
+  private int deactivateAccountDatabaseConcurrency;
+
+  @Value("${deactivate.account.claim_timeout.minutes:60}")
+  private int deactivateAccountClaimTimeoutMinutes;
+  // DeactivateAccountScheduledTask batching and concurrency ends
 }
@@ -0,0 +1,18 @@
+/*
+ * Copyright 2020 Google LLC
+ *
+ * Use of this source code is governed by an MIT-style
+ * license that can be found in the LICENSE file or at
+ * https://opensource.org/licenses/MIT.
+ */
+
+package com.google.cloud.healthcare.fdamystudies.service;
+
+public interface DeactivateAccountJobService {
+
+  /**
+   * Claims users with status DEACTIVATE_PENDING in batches and deactivates them concurrently.
+   * Users that fail stay pending and are picked up again by the next run.
+   */
+  public void processDeactivatePendingRequests();
+}
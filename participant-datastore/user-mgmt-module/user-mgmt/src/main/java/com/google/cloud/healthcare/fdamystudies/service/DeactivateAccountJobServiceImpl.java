@@ -0,0 +1,180 @@
+/*
+ * Copyright 2020 Google LLC
+ *
+ * Use of this source code is governed by an MIT-style
+ * license that can be found in the LICENSE file or at
+ * https://opensource.org/licenses/MIT.
+ */
+
+package com.google.cloud.healthcare.fdamystudies.service;
+
+import com.google.cloud.healthcare.fdamystudies.common.ErrorCode;
+import com.google.cloud.healthcare.fdamystudies.common.IdGenerator;
+import com.google.cloud.healthcare.fdamystudies.common.PlatformComponent;
+import com.google.cloud.healthcare.fdamystudies.common.UserStatus;
+import com.google.cloud.healthcare.fdamystudies.config.ApplicationPropertyConfiguration;
+import com.google.cloud.healthcare.fdamystudies.dao.UserProfileManagementDao;
+import com.google.cloud.healthcare.fdamystudies.exceptions.ErrorCodeException;
+import com.google.cloud.healthcare.fdamystudies.model.UserDetailsEntity;
+import com.google.cloud.healthcare.fdamystudies.repository.UserDetailsRepository;
+import com.google.cloud.healthcare.fdamystudies.util.UserManagementUtil;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.ext.XLogger;
+import org.slf4j.ext.XLoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+@Service
+public class DeactivateAccountJobServiceImpl implements DeactivateAccountJobService {
+
+  private static final String AUTH_SERVER_USER_DELETED = "AUTH_SERVER_USER_DELETED";
+
+  private XLogger logger =
+      XLoggerFactory.getXLogger(DeactivateAccountJobServiceImpl.class.getName());
+
+  @Autowired private UserDetailsRepository userDetailsRepository;
+
+  @Autowired private UserProfileManagementDao userProfileManagementDao;
+
+  @Autowired private UserManagementUtil userManagementUtil;
+
+  @Autowired private ApplicationPropertyConfiguration appConfig;
+
+  private ExecutorService executor;
+
+  private Semaphore authServerPermits;
+
+  private Semaphore databasePermits;
+
+  @PostConstruct
+  public void init() {
+    executor = Executors.newFixedThreadPool(appConfig.getDeactivateAccountThreads());
+    authServerPermits = new Semaphore(appConfig.getDeactivateAccountAuthServerConcurrency());
+    databasePermits = new Semaphore(appConfig.getDeactivateAccountDatabaseConcurrency());
+  }
+
+  @PreDestroy
+  public void destroy() {
+    executor.shutdown();
+  }
+
+  @Override
+  public void processDeactivatePendingRequests() {
+    long startTime = System.currentTimeMillis();
+    int deactivated = 0;
+    int failed = 0;
+    // failed users keep their claim until the run ends so a batch never picks them up twice
+    List<String> claimIds = new ArrayList<>();
+    try {
+      List<UserDetailsEntity> batch;
+      while (!(batch = claimBatch(claimIds)).isEmpty()) {
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (UserDetailsEntity userDetails : batch) {
+          results.add(CompletableFuture.supplyAsync(() -> deactivate(userDetails), executor));
+        }
+        for (CompletableFuture<Boolean> result : results) {
+          if (result.join()) {
+            deactivated++;
+          } else {
+            failed++;
+          }
+        }
+      }
+    } finally {
+      if (!claimIds.isEmpty()) {
+        userDetailsRepository.releaseDeactivationClaims(claimIds);
+      }
+    }
+
+    long duration = Math.max(System.currentTimeMillis() - startTime, 1);
+    long backlog = userDetailsRepository.countByStatus(UserStatus.DEACTIVATE_PENDING.getValue());
+    logger.info(
+        String.format(
+            "deactivation run deactivated=%d failed=%d duration=%d ms throughput=%.2f users/s "
+                + "backlog=%d",
+            deactivated, failed, duration, deactivated * 1000.0 / duration, backlog));
+  }
+
+  private List<UserDetailsEntity> claimBatch(List<String> claimIds) {
+    Instant now = Instant.now();
+    Timestamp claimExpiredBefore =
+        Timestamp.from(
+            now.minus(appConfig.getDeactivateAccountClaimTimeoutMinutes(), ChronoUnit.MINUTES));
+    // a page claimed entirely by another instance doesn't end the run, the next page is tried
+    for (int page = 0; ; page++) {
+      List<String> ids =
+          userDetailsRepository.findUnclaimedIdsByStatus(
+              UserStatus.DEACTIVATE_PENDING.getValue(),
+              claimExpiredBefore,
+              PageRequest.of(page, appConfig.getDeactivateAccountBatchSize()));
+      if (ids.isEmpty()) {
+        return new ArrayList<>();
+      }
+
+      // another instance may claim some of these ids first, only the rows updated here are ours
+      String claimId = IdGenerator.id();
+      int claimed =
+          userDetailsRepository.claimForDeactivation(
+              ids,
+              UserStatus.DEACTIVATE_PENDING.getValue(),
+              claimId,
+              Timestamp.from(now),
+              claimExpiredBefore);
+      if (claimed > 0) {
+        claimIds.add(claimId);
+        return userDetailsRepository.findByDeactivationClaimId(claimId);
+      }
+    }
+  }
+
+  private boolean deactivate(UserDetailsEntity userDetails) {
+    String userId = userDetails.getUserId();
+    try {
+      if (!AUTH_SERVER_USER_DELETED.equals(userDetails.getDeactivationStep())) {
+        deleteUserInfoInAuthServer(userId);
+        userDetailsRepository.updateDeactivationStep(userDetails.getId(), AUTH_SERVER_USER_DELETED);
+      }
+
+      databasePermits.acquireUninterruptibly();
+      try {
+        userProfileManagementDao.deactivateUserAccount(userId);
+      } finally {
+        databasePermits.release();
+      }
+      return true;
+    } catch (ErrorCodeException e) {
+      logger.warn(
+          String.format(
+              "Delete user from %s failed with ErrorCode=%s",
+              PlatformComponent.SCIM_AUTH_SERVER.getValue(), e.getErrorCode()));
+    } catch (Exception e) {
+      logger.error("processDeactivatePendingRequests() failed with an exception", e);
+    }
+    return false;
+  }
+
+  private void deleteUserInfoInAuthServer(String userId) {
+    authServerPermits.acquireUninterruptibly();
+    try {
+      userManagementUtil.deleteUserInfoInAuthServer(userId);
+    } catch (ErrorCodeException e) {
+      // the user was already removed from the auth server
+      if (e.getErrorCode() != ErrorCode.USER_NOT_FOUND) {
+        throw e;
+      }
+    } finally {
+      authServerPermits.release();
+    }
+  }
+}
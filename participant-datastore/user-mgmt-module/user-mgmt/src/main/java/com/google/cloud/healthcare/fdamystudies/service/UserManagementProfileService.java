@@ -38,6 +38,4 @@ public interface UserManagementProfileService {
 
   public EmailResponse resendConfirmationthroughEmail(
       String applicationId, String securityToken, String emailId);
-
-  public void processDeactivatePendingRequests();
 }
@@ -25,7 +25,6 @@ import com.google.cloud.healthcare.fdamystudies.beans.UserRequestBean;
 import com.google.cloud.healthcare.fdamystudies.beans.WithdrawFromStudyBean;
 import com.google.cloud.healthcare.fdamystudies.common.CommonConstants;
 import com.google.cloud.healthcare.fdamystudies.common.ErrorCode;
-import com.google.cloud.healthcare.fdamystudies.common.PlatformComponent;
 import com.google.cloud.healthcare.fdamystudies.common.UserMgmntAuditHelper;
 import com.google.cloud.healthcare.fdamystudies.common.UserStatus;
 import com.google.cloud.healthcare.fdamystudies.config.ApplicationPropertyConfiguration;
@@ -48,7 +47,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -207,35 +205,6 @@ public class UserManagementProfileServiceImpl implements UserManagementProfileSe
     return userDetails;
   }
 
-  @Override
-  public void processDeactivatePendingRequests() {
-    // findUsers With Status DEACTIVATE_PENDING
-    List<UserDetailsEntity> listOfUserDetails =
-        (List<UserDetailsEntity>)
-            CollectionUtils.emptyIfNull(
-                userDetailsRepository.findByStatus(UserStatus.DEACTIVATE_PENDING.getValue()));
-
-    // call deactivateUserAccount() for each userID's
-    listOfUserDetails.forEach(
-        userDetails -> {
-          try {
-            userManagementUtil.deleteUserInfoInAuthServer(userDetails.getUserId());
-            userProfileManagementDao.deactivateUserAccount(userDetails.getUserId());
-          } catch (ErrorCodeException e) {
-            if (e.getErrorCode() == ErrorCode.USER_NOT_FOUND) {
-              userProfileManagementDao.deactivateUserAccount(userDetails.getUserId());
-            } else {
-              logger.warn(
-                  String.format(
-                      "Delete user from %s failed with ErrorCode=%s",
-                      PlatformComponent.SCIM_AUTH_SERVER.getValue(), e.getErrorCode()));
-            }
-          } catch (Exception e) {
-            logger.error("processDeactivatePendingRequests() failed with an exception", e);
-          }
-        });
-  }
-
   @Override
   @Transactional()
   public String deactivateAccount(
@@ -1,6 +1,6 @@
 package com.google.cloud.healthcare.fdamystudies.task;
 
-import com.google.cloud.healthcare.fdamystudies.service.UserManagementProfileService;
+import com.google.cloud.healthcare.fdamystudies.service.DeactivateAccountJobService;
 import org.slf4j.ext.XLogger;
 import org.slf4j.ext.XLoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,7 +12,7 @@ public class DeactivateAccountScheduledTask {
   private XLogger logger =
       XLoggerFactory.getXLogger(DeactivateAccountScheduledTask.class.getName());
 
-  @Autowired UserManagementProfileService userManagementProfService;
+  @Autowired DeactivateAccountJobService deactivateAccountJobService;
 
   @Scheduled(
       fixedDelayString = "${fixed.delay.milliseconds}",
@@ -20,7 +20,7 @@ public class DeactivateAccountScheduledTask {
   public void processDeactivatePendingRequests() {
     logger.entry("begin processDeactivatePendingRequests()");
 
-    userManagementProfService.processDeactivatePendingRequests();
+    deactivateAccountJobService.processDeactivatePendingRequests();
 
     logger.exit("processDeactivatePendingRequests() completed");
   }
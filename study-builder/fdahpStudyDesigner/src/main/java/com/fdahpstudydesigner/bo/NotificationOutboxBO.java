@@ -0,0 +1,231 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.fdahpstudydesigner.bo;
+
+import java.io.Serializable;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import org.hibernate.annotations.Index;
+
+@Entity
+@Table(
+    name = "notification_outbox",
+    uniqueConstraints = {
+      @UniqueConstraint(columnNames = {"notification_id", "app_id", "scheduled_at"})
+    })
+@org.hibernate.annotations.Table(
+    appliesTo = "notification_outbox",
+    indexes = {
+      @Index(
+          name = "notification_outbox_due_idx",
+          columnNames = {"status", "due_at", "outbox_id"}),
+      @Index(name = "notification_outbox_claim_idx", columnNames = {"claim_token"})
+    })
+public class NotificationOutboxBO implements Serializable {
+
+  private static final long serialVersionUID = -6283094717421548173L;
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "outbox_id")
+  private Integer outboxId;
+
+  @Column(name = "notification_id", nullable = false)
+  private Integer notificationId;
+
+  @Column(name = "app_id", nullable = false)
+  private String appId;
+
+  @Column(name = "custom_study_id")
+  private String customStudyId;
+
+  @Column(name = "notification_text", length = 1024)
+  private String notificationText;
+
+  @Column(name = "notification_type")
+  private String notificationType;
+
+  @Column(name = "notification_subType")
+  private String notificationSubType;
+
+  @Column(name = "scheduled_at", columnDefinition = "datetime")
+  private String scheduledAt;
+
+  @Column(name = "due_at", nullable = false, columnDefinition = "datetime")
+  private String dueAt;
+
+  @Column(name = "status", nullable = false, length = 20)
+  private String status;
+
+  @Column(name = "attempts", nullable = false)
+  private Integer attempts = 0;
+
+  @Column(name = "claim_token", length = 36)
+  private String claimToken;
+
+  @Column(name = "claimed_at", columnDefinition = "datetime")
+  private String claimedAt;
+
+  @Column(name = "sent_on", columnDefinition = "datetime")
+  private String sentOn;
+
+  @Column(name = "last_error", length = 1024)
+  private String lastError;
+
+  @Column(name = "created_on", columnDefinition = "datetime")
+  private String createdOn;
+
+  public Integer getOutboxId() {
+    return outboxId;
+  }
+
+  public void setOutboxId(Integer outboxId) {
+    this.outboxId = outboxId;
+  }
+
+  public Integer getNotificationId() {
+    return notificationId;
+  }
+
+  public void setNotificationId(Integer notificationId) {
+    this.notificationId = notificationId;
+  }
+
+  public String getAppId() {
+    return appId;
+  }
+
+  public void setAppId(String appId) {
+    this.appId = appId;
+  }
+
+  public String getCustomStudyId() {
+    return customStudyId;
+  }
+
+  public void setCustomStudyId(String customStudyId) {
+    this.customStudyId = customStudyId;
+  }
+
+  public String getNotificationText() {
+    return notificationText;
+  }
+
+  public void setNotificationText(String notificationText) {
+    this.notificationText = notificationText;
+  }
+
+  public String getNotificationType() {
+    return notificationType;
+  }
+
+  public void setNotificationType(String notificationType) {
+    this.notificationType = notificationType;
+  }
+
+  public String getNotificationSubType() {
+    return notificationSubType;
+  }
+
+  public void setNotificationSubType(String notificationSubType) {
+    this.notificationSubType = notificationSubType;
+  }
+
+  public String getScheduledAt() {
+    return scheduledAt;
+  }
+
+  public void setScheduledAt(String scheduledAt) {
+    this.scheduledAt = scheduledAt;
+  }
+
+  public String getDueAt() {
+    return dueAt;
+  }
+
+  public void setDueAt(String dueAt) {
+    this.dueAt = dueAt;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public Integer getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(Integer attempts) {
+    this.attempts = attempts;
+  }
+
+  public String getClaimToken() {
+    return claimToken;
+  }
+
+  public void setClaimToken(String claimToken) {
+    this.claimToken = claimToken;
+  }
+
+  public String getClaimedAt() {
+    return claimedAt;
+  }
+
+  public void setClaimedAt(String claimedAt) {
+    this.claimedAt = claimedAt;
+  }
+
+  public String getSentOn() {
+    return sentOn;
+  }
+
+  public void setSentOn(String sentOn) {
+    this.sentOn = sentOn;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public void setLastError(String lastError) {
+    this.lastError = lastError;
+  }
+
+  public String getCreatedOn() {
+    return createdOn;
+  }
+
+  public void setCreatedOn(String createdOn) {
+    this.createdOn = createdOn;
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.fdahpstudydesigner.bo;
+
+import java.io.Serializable;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import org.hibernate.annotations.Index;
+
+@Entity
+@Table(name = "study_clone_id_map")
+@org.hibernate.annotations.Table(
+    appliesTo = "study_clone_id_map",
+    indexes = {
+      @Index(
+          name = "study_clone_id_map_lookup_idx",
+          columnNames = {"clone_token", "map_name", "old_id"})
+    })
+public class StudyCloneIdMapBo implements Serializable {
+
+  private static final long serialVersionUID = 3528164023175920551L;
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "id")
+  private Integer id;
+
+  @Column(name = "clone_token", nullable = false, length = 36)
+  private String cloneToken;
+
+  @Column(name = "map_name", nullable = false, length = 32)
+  private String mapName;
+
+  @Column(name = "old_id", nullable = false)
+  private Integer oldId;
+
+  @Column(name = "new_id")
+  private Integer newId;
+
+  public Integer getId() {
+    return id;
+  }
+
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  public String getCloneToken() {
+    return cloneToken;
+  }
+
+  public void setCloneToken(String cloneToken) {
+    this.cloneToken = cloneToken;
+  }
+
+  public String getMapName() {
+    return mapName;
+  }
+
+  public void setMapName(String mapName) {
+    this.mapName = mapName;
+  }
+
+  public Integer getOldId() {
+    return oldId;
+  }
+
+  public void setOldId(Integer oldId) {
+    this.oldId = oldId;
+  }
+
+  public Integer getNewId() {
+    return newId;
+  }
+
+  public void setNewId(Integer newId) {
+    this.newId = newId;
+  }
+}
@@ -2418,14 +2418,22 @@ public class StudyController {
                     request.getParameter(FdahpStudyDesignerConstants.NEW_ORDER_NUMBER))
                 ? ""
                 : request.getParameter(FdahpStudyDesignerConstants.NEW_ORDER_NUMBER);
+        List<Integer> orderedSequenceNos =
+            FdahpStudyDesignerUtil.getIntegerList(
+                request.getParameter(FdahpStudyDesignerConstants.ORDERED_SEQUENCE_NUMBERS));
         if (((studyId != null) && !studyId.isEmpty())
-            && !oldOrderNo.isEmpty()
-            && !newOrderNo.isEmpty()) {
-          oldOrderNumber = Integer.valueOf(oldOrderNo);
-          newOrderNumber = Integer.valueOf(newOrderNo);
-          message =
-              studyService.reOrderComprehensionTestQuestion(
-                  Integer.valueOf(studyId), oldOrderNumber, newOrderNumber);
+            && ((orderedSequenceNos != null) || (!oldOrderNo.isEmpty() && !newOrderNo.isEmpty()))) {
+          if (orderedSequenceNos != null) {
+            message =
+                studyService.reOrderComprehensionTestQuestion(
+                    Integer.valueOf(studyId), orderedSequenceNos);
+          } else {
+            oldOrderNumber = Integer.valueOf(oldOrderNo);
+            newOrderNumber = Integer.valueOf(newOrderNo);
+            message =
+                studyService.reOrderComprehensionTestQuestion(
+                    Integer.valueOf(studyId), oldOrderNumber, newOrderNumber);
+          }
         }
       }
       jsonobject.put(FdahpStudyDesignerConstants.MESSAGE, message);
@@ -2482,14 +2490,21 @@ public class StudyController {
                     request.getParameter(FdahpStudyDesignerConstants.NEW_ORDER_NUMBER))
                 ? "0"
                 : request.getParameter(FdahpStudyDesignerConstants.NEW_ORDER_NUMBER);
+        List<Integer> orderedSequenceNos =
+            FdahpStudyDesignerUtil.getIntegerList(
+                request.getParameter(FdahpStudyDesignerConstants.ORDERED_SEQUENCE_NUMBERS));
         if (((studyId != null) && !studyId.isEmpty())
-            && !oldOrderNo.isEmpty()
-            && !newOrderNo.isEmpty()) {
-          oldOrderNumber = Integer.valueOf(oldOrderNo);
-          newOrderNumber = Integer.valueOf(newOrderNo);
-          message =
-              studyService.reOrderConsentInfoList(
-                  Integer.valueOf(studyId), oldOrderNumber, newOrderNumber);
+            && ((orderedSequenceNos != null) || (!oldOrderNo.isEmpty() && !newOrderNo.isEmpty()))) {
+          if (orderedSequenceNos != null) {
+            message =
+                studyService.reOrderConsentInfoList(Integer.valueOf(studyId), orderedSequenceNos);
+          } else {
+            oldOrderNumber = Integer.valueOf(oldOrderNo);
+            newOrderNumber = Integer.valueOf(newOrderNo);
+            message =
+                studyService.reOrderConsentInfoList(
+                    Integer.valueOf(studyId), oldOrderNumber, newOrderNumber);
+          }
           if (message.equalsIgnoreCase(FdahpStudyDesignerConstants.SUCCESS)) {
             consentInfoList = studyService.getConsentInfoList(Integer.valueOf(studyId));
             if ((consentInfoList != null) && !consentInfoList.isEmpty()) {
@@ -2553,14 +2568,21 @@ public class StudyController {
                     request.getParameter(FdahpStudyDesignerConstants.NEW_ORDER_NUMBER))
                 ? "0"
                 : request.getParameter(FdahpStudyDesignerConstants.NEW_ORDER_NUMBER);
+        List<Integer> orderedSequenceNos =
+            FdahpStudyDesignerUtil.getIntegerList(
+                request.getParameter(FdahpStudyDesignerConstants.ORDERED_SEQUENCE_NUMBERS));
         if (((studyId != null) && !studyId.isEmpty())
-            && !oldOrderNo.isEmpty()
-            && !newOrderNo.isEmpty()) {
-          oldOrderNumber = Integer.valueOf(oldOrderNo);
-          newOrderNumber = Integer.valueOf(newOrderNo);
-          message =
-              studyService.reOrderResourceList(
-                  Integer.valueOf(studyId), oldOrderNumber, newOrderNumber);
+            && ((orderedSequenceNos != null) || (!oldOrderNo.isEmpty() && !newOrderNo.isEmpty()))) {
+          if (orderedSequenceNos != null) {
+            message =
+                studyService.reOrderResourceList(Integer.valueOf(studyId), orderedSequenceNos);
+          } else {
+            oldOrderNumber = Integer.valueOf(oldOrderNo);
+            newOrderNumber = Integer.valueOf(newOrderNo);
+            message =
+                studyService.reOrderResourceList(
+                    Integer.valueOf(studyId), oldOrderNumber, newOrderNumber);
+          }
           if (message.equalsIgnoreCase(FdahpStudyDesignerConstants.SUCCESS)) {
             resourceList = studyService.getResourceList(Integer.valueOf(studyId));
             if ((resourceList != null) && !resourceList.isEmpty()) {
@@ -2629,14 +2651,22 @@ public class StudyController {
                     request.getParameter(FdahpStudyDesignerConstants.NEW_ORDER_NUMBER))
                 ? "0"
                 : request.getParameter(FdahpStudyDesignerConstants.NEW_ORDER_NUMBER);
+        List<Integer> orderedSequenceNos =
+            FdahpStudyDesignerUtil.getIntegerList(
+                request.getParameter(FdahpStudyDesignerConstants.ORDERED_SEQUENCE_NUMBERS));
         if (((studyId != null) && !studyId.isEmpty())
-            && !oldOrderNo.isEmpty()
-            && !newOrderNo.isEmpty()) {
-          oldOrderNumber = Integer.valueOf(oldOrderNo);
-          newOrderNumber = Integer.valueOf(newOrderNo);
-          message =
-              studyService.reorderEligibilityTestQusAns(
-                  eligibilityId, oldOrderNumber, newOrderNumber, Integer.valueOf(studyId));
+            && ((orderedSequenceNos != null) || (!oldOrderNo.isEmpty() && !newOrderNo.isEmpty()))) {
+          if (orderedSequenceNos != null) {
+            message =
+                studyService.reorderEligibilityTestQusAns(
+                    eligibilityId, orderedSequenceNos, Integer.valueOf(studyId));
+          } else {
+            oldOrderNumber = Integer.valueOf(oldOrderNo);
+            newOrderNumber = Integer.valueOf(newOrderNo);
+            message =
+                studyService.reorderEligibilityTestQusAns(
+                    eligibilityId, oldOrderNumber, newOrderNumber, Integer.valueOf(studyId));
+          }
         }
       }
       jsonobject.put(FdahpStudyDesignerConstants.MESSAGE, message);
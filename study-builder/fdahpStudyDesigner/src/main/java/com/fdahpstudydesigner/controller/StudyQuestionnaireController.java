@@ -1495,12 +1495,22 @@ public class StudyQuestionnaireController {
             FdahpStudyDesignerUtil.isEmpty(request.getParameter("newOrderNumber"))
                 ? ""
                 : request.getParameter("newOrderNumber");
-        if (!formId.isEmpty() && !oldOrderNo.isEmpty() && !newOrderNo.isEmpty()) {
-          oldOrderNumber = Integer.valueOf(oldOrderNo);
-          newOrderNumber = Integer.valueOf(newOrderNo);
-          message =
-              studyQuestionnaireService.reOrderFormStepQuestions(
-                  Integer.valueOf(formId), oldOrderNumber, newOrderNumber);
+        List<Integer> orderedSequenceNos =
+            FdahpStudyDesignerUtil.getIntegerList(
+                request.getParameter(FdahpStudyDesignerConstants.ORDERED_SEQUENCE_NUMBERS));
+        if (!formId.isEmpty()
+            && ((orderedSequenceNos != null) || (!oldOrderNo.isEmpty() && !newOrderNo.isEmpty()))) {
+          if (orderedSequenceNos != null) {
+            message =
+                studyQuestionnaireService.reOrderFormStepQuestions(
+                    Integer.valueOf(formId), orderedSequenceNos);
+          } else {
+            oldOrderNumber = Integer.valueOf(oldOrderNo);
+            newOrderNumber = Integer.valueOf(newOrderNo);
+            message =
+                studyQuestionnaireService.reOrderFormStepQuestions(
+                    Integer.valueOf(formId), oldOrderNumber, newOrderNumber);
+          }
           if (message.equalsIgnoreCase(FdahpStudyDesignerConstants.SUCCESS)) {
             String studyId =
                 (String)
@@ -1571,14 +1581,22 @@ public class StudyQuestionnaireController {
             FdahpStudyDesignerUtil.isEmpty(request.getParameter("newOrderNumber"))
                 ? ""
                 : request.getParameter("newOrderNumber");
+        List<Integer> orderedSequenceNos =
+            FdahpStudyDesignerUtil.getIntegerList(
+                request.getParameter(FdahpStudyDesignerConstants.ORDERED_SEQUENCE_NUMBERS));
         if (((questionnaireId != null) && !questionnaireId.isEmpty())
-            && !oldOrderNo.isEmpty()
-            && !newOrderNo.isEmpty()) {
-          oldOrderNumber = Integer.valueOf(oldOrderNo);
-          newOrderNumber = Integer.valueOf(newOrderNo);
-          message =
-              studyQuestionnaireService.reOrderQuestionnaireSteps(
-                  Integer.valueOf(questionnaireId), oldOrderNumber, newOrderNumber);
+            && ((orderedSequenceNos != null) || (!oldOrderNo.isEmpty() && !newOrderNo.isEmpty()))) {
+          if (orderedSequenceNos != null) {
+            message =
+                studyQuestionnaireService.reOrderQuestionnaireSteps(
+                    Integer.valueOf(questionnaireId), orderedSequenceNos);
+          } else {
+            oldOrderNumber = Integer.valueOf(oldOrderNo);
+            newOrderNumber = Integer.valueOf(newOrderNo);
+            message =
+                studyQuestionnaireService.reOrderQuestionnaireSteps(
+                    Integer.valueOf(questionnaireId), oldOrderNumber, newOrderNumber);
+          }
           if (message.equalsIgnoreCase(FdahpStudyDesignerConstants.SUCCESS)) {
             qTreeMap =
                 studyQuestionnaireService.getQuestionnaireStepList(
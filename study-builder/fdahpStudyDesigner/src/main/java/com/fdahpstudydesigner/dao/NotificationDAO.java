@@ -42,7 +42,21 @@ public interface NotificationDAO {
 
   public List<NotificationBO> getNotificationList(Integer studyId);
 
-  public List<PushNotificationBean> getPushNotificationList(String date, String time);
+  public int enqueueDuePushNotifications(
+      String dueFrom, String dueTo, List<String> gatewayAppIds, int limit);
+
+  public List<PushNotificationBean> claimDuePushNotifications(
+      String claimToken, String now, String staleClaimBefore, int limit);
+
+  public void markPushNotificationsSent(String claimToken, String sentOn);
+
+  public void reschedulePushNotifications(
+      String claimToken,
+      String now,
+      String error,
+      int maxAttempts,
+      int retryBackoffSeconds,
+      int maxRetryBackoffSeconds);
 
   public Integer saveOrUpdateOrResendNotification(
       NotificationBO notificationBO,
@@ -43,6 +43,8 @@ import com.fdahpstudydesigner.util.FdahpStudyDesignerConstants;
 import com.fdahpstudydesigner.util.FdahpStudyDesignerUtil;
 import com.fdahpstudydesigner.util.SessionObject;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -217,75 +219,285 @@ public class NotificationDAOImpl implements NotificationDAO {
 
   @SuppressWarnings("unchecked")
   @Override
-  public List<PushNotificationBean> getPushNotificationList(String date, String time) {
-    logger.info("NotificationDAOImpl - getPushNotificationList - Starts");
+  public int enqueueDuePushNotifications(
+      String dueFrom, String dueTo, List<String> gatewayAppIds, int limit) {
+    logger.info("NotificationDAOImpl - enqueueDuePushNotifications - Starts");
     Session session = null;
-    String sb = "";
-    List<PushNotificationBean> pushNotificationBeans = null;
-    List<Integer> notificationIds;
     Transaction trans = null;
+    List<Object[]> dueNotifications = null;
+    int enqueued = 0;
     try {
       session = hibernateTemplate.getSessionFactory().openSession();
       trans = session.beginTransaction();
-      sb =
-          "select n.notification_id as notificationId, n.notification_text as notificationText, s.custom_study_id as customStudyId, n.notification_type as notificationType, n.notification_subType as notificationSubType,n.app_id as appId"
-              + " from (notification as n) LEFT OUTER JOIN studies as s ON s.id = n.study_id where n.schedule_date =:date"
-              + " AND n.is_anchor_date = false AND n.notification_done = true AND n.schedule_time like concat('%', :time, '%')"
-              + " AND (n.notification_subType=:subType OR n.notification_type =:type OR s.status =:status)";
-
-      query =
+      dueNotifications =
           session
-              .createSQLQuery(sb.toString())
-              .addScalar("notificationId")
-              .addScalar("notificationText")
-              .addScalar("customStudyId")
-              .addScalar("notificationType")
-              .addScalar("notificationSubType")
-              .addScalar("appId")
-              .setParameter("time", time)
-              .setParameter("date", date)
+              .createSQLQuery(
+                  "select n.notification_id, n.notification_text, s.custom_study_id, n.notification_type,"
+                      + " n.notification_subType, n.app_id, n.schedule_timestamp"
+                      + " from notification as n LEFT OUTER JOIN studies as s ON s.id = n.study_id"
+                      + " where n.schedule_timestamp > :dueFrom AND n.schedule_timestamp <= :dueTo"
+                      + " AND n.schedule_date is not null AND n.is_anchor_date = false"
+                      + " AND n.notification_done = true"
+                      + " AND (n.notification_sent = false OR n.notification_sent is null)"
+                      + " AND NOT EXISTS (select 1 from notification_outbox o"
+                      + " where o.notification_id = n.notification_id"
+                      + " AND o.scheduled_at = n.schedule_timestamp)"
+                      // without gateway apps an app-less notification has no outbox row to wait on
+                      + (gatewayAppIds.isEmpty() ? " AND n.app_id is not null" : "")
+                      + " AND (n.notification_subType=:subType OR n.notification_type =:type OR s.status =:status)"
+                      + " order by n.schedule_timestamp, n.notification_id")
+              .setParameter("dueFrom", dueFrom)
+              .setParameter("dueTo", dueTo)
               .setParameter("subType", FdahpStudyDesignerConstants.STUDY_EVENT)
               .setParameter("type", FdahpStudyDesignerConstants.NOTIFICATION_GT)
-              .setParameter("status", FdahpStudyDesignerConstants.STUDY_ACTIVE);
-      pushNotificationBeans =
-          query.setResultTransformer(Transformers.aliasToBean(PushNotificationBean.class)).list();
-      if ((null != pushNotificationBeans) && !pushNotificationBeans.isEmpty()) {
-        notificationIds = new ArrayList<>();
-        for (PushNotificationBean pushNotificationBean : pushNotificationBeans) {
-          notificationIds.add(pushNotificationBean.getNotificationId());
-          if ((pushNotificationBean.getNotificationSubType() == null)
-              || ((pushNotificationBean.getNotificationSubType() != null)
-                  && !FdahpStudyDesignerConstants.RESOURCE.equals(
-                      pushNotificationBean.getNotificationSubType())
-                  && !FdahpStudyDesignerConstants.STUDY_EVENT.equals(
-                      pushNotificationBean.getNotificationSubType()))) {
+              .setParameter("status", FdahpStudyDesignerConstants.STUDY_ACTIVE)
+              .setMaxResults(limit)
+              .list();
+      if ((null != dueNotifications) && !dueNotifications.isEmpty()) {
+        String now = FdahpStudyDesignerUtil.getCurrentDateTime();
+        // One row per notification, app and schedule. A resend with a new schedule gets its own
+        // row; a send already in the outbox is skipped above until its delivery marks it sent, and
+        // a concurrent run re-arms a finished row but leaves an in-flight claim alone
+        Query outboxInsert =
+            session
+                .createSQLQuery(
+                    "insert into notification_outbox (notification_id, app_id, custom_study_id,"
+                        + " notification_text, notification_type, notification_subType,"
+                        + " scheduled_at, due_at, status, attempts, created_on)"
+                        + " values (:notificationId, :appId, :customStudyId, :notificationText,"
+                        + " :notificationType, :notificationSubType, :scheduledAt, :dueAt,"
+                        + " :pending, 0, :createdOn)"
+                        + " on duplicate key update"
+                        + " notification_text = if(status = :claimed, notification_text,"
+                        + " values(notification_text)),"
+                        + " due_at = if(status = :claimed, due_at, values(due_at)),"
+                        + " attempts = if(status = :claimed, attempts, 0),"
+                        + " sent_on = if(status = :claimed, sent_on, null),"
+                        + " last_error = if(status = :claimed, last_error, null),"
+                        + " status = if(status = :claimed, status, values(status))")
+                .setParameter("dueAt", now)
+                .setParameter("createdOn", now)
+                .setParameter("pending", FdahpStudyDesignerConstants.OUTBOX_STATUS_PENDING)
+                .setParameter("claimed", FdahpStudyDesignerConstants.OUTBOX_STATUS_CLAIMED);
+        for (Object[] row : dueNotifications) {
+          Integer notificationId = ((Number) row[0]).intValue();
+          String notificationSubType = (String) row[4];
+          String appId = (String) row[5];
+          List<String> appIds = appId == null ? gatewayAppIds : Collections.singletonList(appId);
+          for (String targetAppId : appIds) {
+            outboxInsert
+                .setInteger("notificationId", notificationId)
+                .setString("appId", targetAppId)
+                .setString("customStudyId", (String) row[2])
+                .setString("notificationText", (String) row[1])
+                .setString("notificationType", (String) row[3])
+                .setString("notificationSubType", notificationSubType)
+                .setTimestamp("scheduledAt", (Date) row[6])
+                .executeUpdate();
+          }
+        }
+        enqueued = dueNotifications.size();
+      }
+      trans.commit();
+    } catch (Exception e) {
+      if (null != trans) {
+        trans.rollback();
+      }
+      logger.error("NotificationDAOImpl - enqueueDuePushNotifications - ERROR", e);
+    } finally {
+      if (null != session) {
+        session.close();
+      }
+    }
+    logger.info("NotificationDAOImpl - enqueueDuePushNotifications - Ends");
+    return enqueued;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public List<PushNotificationBean> claimDuePushNotifications(
+      String claimToken, String now, String staleClaimBefore, int limit) {
+    logger.info("NotificationDAOImpl - claimDuePushNotifications - Starts");
+    Session session = null;
+    Transaction trans = null;
+    List<PushNotificationBean> pushNotificationBeans = new ArrayList<>();
+    try {
+      session = hibernateTemplate.getSessionFactory().openSession();
+      trans = session.beginTransaction();
+      // Release rows claimed by a run that never reported back, e.g. after a restart
+      session
+          .createQuery(
+              "update NotificationOutboxBO NOBO set NOBO.status = :pending, NOBO.claimToken = null"
+                  + " where NOBO.status = :claimed and NOBO.claimedAt < :staleClaimBefore")
+          .setParameter("pending", FdahpStudyDesignerConstants.OUTBOX_STATUS_PENDING)
+          .setParameter("claimed", FdahpStudyDesignerConstants.OUTBOX_STATUS_CLAIMED)
+          .setParameter("staleClaimBefore", staleClaimBefore)
+          .executeUpdate();
+      int claimed =
+          session
+              .createSQLQuery(
+                  "update notification_outbox set status = :claimed, claim_token = :claimToken,"
+                      + " claimed_at = :now where status = :pending and due_at <= :now"
+                      + " order by due_at, outbox_id limit "
+                      + limit)
+              .setParameter("claimed", FdahpStudyDesignerConstants.OUTBOX_STATUS_CLAIMED)
+              .setParameter("claimToken", claimToken)
+              .setParameter("now", now)
+              .setParameter("pending", FdahpStudyDesignerConstants.OUTBOX_STATUS_PENDING)
+              .executeUpdate();
+      if (claimed > 0) {
+        pushNotificationBeans =
+            session
+                .createSQLQuery(
+                    "select notification_id as notificationId, notification_text as notificationText,"
+                        + " custom_study_id as customStudyId, notification_type as notificationType,"
+                        + " notification_subType as notificationSubType, app_id as appId"
+                        + " from notification_outbox where claim_token = :claimToken"
+                        + " order by due_at, outbox_id")
+                .addScalar("notificationId")
+                .addScalar("notificationText")
+                .addScalar("customStudyId")
+                .addScalar("notificationType")
+                .addScalar("notificationSubType")
+                .addScalar("appId")
+                .setParameter("claimToken", claimToken)
+                .setResultTransformer(Transformers.aliasToBean(PushNotificationBean.class))
+                .list();
+      }
+      trans.commit();
+    } catch (Exception e) {
+      if (null != trans) {
+        trans.rollback();
+      }
+      pushNotificationBeans = new ArrayList<>();
+      logger.error("NotificationDAOImpl - claimDuePushNotifications - ERROR", e);
+    } finally {
+      if (null != session) {
+        session.close();
+      }
+    }
+    logger.info("NotificationDAOImpl - claimDuePushNotifications - Ends");
+    return pushNotificationBeans;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void markPushNotificationsSent(String claimToken, String sentOn) {
+    logger.info("NotificationDAOImpl - markPushNotificationsSent - Starts");
+    Session session = null;
+    Transaction trans = null;
+    try {
+      session = hibernateTemplate.getSessionFactory().openSession();
+      trans = session.beginTransaction();
+      List<Integer> claimedNotificationIds =
+          session
+              .createQuery(
+                  "select distinct NOBO.notificationId from NotificationOutboxBO NOBO"
+                      + " where NOBO.claimToken = :claimToken")
+              .setParameter("claimToken", claimToken)
+              .list();
+      session
+          .createQuery(
+              "update NotificationOutboxBO NOBO set NOBO.status = :sent, NOBO.sentOn = :sentOn,"
+                  + " NOBO.claimToken = null where NOBO.claimToken = :claimToken")
+          .setParameter("sent", FdahpStudyDesignerConstants.OUTBOX_STATUS_SENT)
+          .setParameter("sentOn", sentOn)
+          .setParameter("claimToken", claimToken)
+          .executeUpdate();
+      if (!claimedNotificationIds.isEmpty()) {
+        // A notification counts as sent once every app row of its current schedule is delivered
+        List<Object[]> deliveredNotifications =
+            session
+                .createSQLQuery(
+                    "select n.notification_id, n.notification_subType from notification n"
+                        + " where n.notification_id in (:notificationIds)"
+                        + " AND (n.notification_sent = false OR n.notification_sent is null)"
+                        + " AND NOT EXISTS (select 1 from notification_outbox o"
+                        + " where o.notification_id = n.notification_id"
+                        + " AND o.scheduled_at = n.schedule_timestamp AND o.status <> :sent)")
+                .setParameterList("notificationIds", claimedNotificationIds)
+                .setParameter("sent", FdahpStudyDesignerConstants.OUTBOX_STATUS_SENT)
+                .list();
+        List<Integer> notificationIds = new ArrayList<>();
+        for (Object[] row : deliveredNotifications) {
+          Integer notificationId = ((Number) row[0]).intValue();
+          String notificationSubType = (String) row[1];
+          notificationIds.add(notificationId);
+          if ((notificationSubType == null)
+              || (!FdahpStudyDesignerConstants.RESOURCE.equals(notificationSubType)
+                  && !FdahpStudyDesignerConstants.STUDY_EVENT.equals(notificationSubType))) {
             NotificationHistoryBO historyBO = new NotificationHistoryBO();
-            historyBO.setNotificationId(pushNotificationBean.getNotificationId());
-            historyBO.setNotificationSentDateTime(FdahpStudyDesignerUtil.getCurrentDateTime());
+            historyBO.setNotificationId(notificationId);
+            historyBO.setNotificationSentDateTime(sentOn);
             session.save(historyBO);
           }
         }
-        sb =
-            "update NotificationBO NBO set NBO.notificationSent = true  where NBO.notificationId in (:notificationIds )";
-        ;
-        session
-            .createQuery(sb)
-            .setParameterList("notificationIds", notificationIds)
-            .executeUpdate();
+        if (!notificationIds.isEmpty()) {
+          session
+              .createQuery(
+                  "update NotificationBO NBO set NBO.notificationSent = true"
+                      + " where NBO.notificationId in (:notificationIds)")
+              .setParameterList("notificationIds", notificationIds)
+              .executeUpdate();
+        }
       }
       trans.commit();
     } catch (Exception e) {
       if (null != trans) {
         trans.rollback();
       }
-      logger.error("NotificationDAOImpl - getPushNotificationList - ERROR", e);
+      logger.error("NotificationDAOImpl - markPushNotificationsSent - ERROR", e);
     } finally {
       if (null != session) {
         session.close();
       }
     }
-    logger.info("NotificationDAOImpl - getPushNotificationList - Ends");
-    return pushNotificationBeans;
+    logger.info("NotificationDAOImpl - markPushNotificationsSent - Ends");
+  }
+
+  @Override
+  public void reschedulePushNotifications(
+      String claimToken,
+      String now,
+      String error,
+      int maxAttempts,
+      int retryBackoffSeconds,
+      int maxRetryBackoffSeconds) {
+    logger.info("NotificationDAOImpl - reschedulePushNotifications - Starts");
+    Session session = null;
+    Transaction trans = null;
+    try {
+      session = hibernateTemplate.getSessionFactory().openSession();
+      trans = session.beginTransaction();
+      // MySQL applies SET assignments left to right, so attempts is incremented last
+      session
+          .createSQLQuery(
+              "update notification_outbox set"
+                  + " status = IF(attempts + 1 >= :maxAttempts, :failed, :pending),"
+                  + " due_at = DATE_ADD(:now, INTERVAL LEAST(:maxBackoff, :backoff * POW(2, attempts)) SECOND),"
+                  + " last_error = :error, claim_token = null, attempts = attempts + 1"
+                  + " where claim_token = :claimToken")
+          .setParameter("maxAttempts", maxAttempts)
+          .setParameter("failed", FdahpStudyDesignerConstants.OUTBOX_STATUS_FAILED)
+          .setParameter("pending", FdahpStudyDesignerConstants.OUTBOX_STATUS_PENDING)
+          .setParameter("now", now)
+          .setParameter("maxBackoff", maxRetryBackoffSeconds)
+          .setParameter("backoff", retryBackoffSeconds)
+          .setParameter("error", StringUtils.abbreviate(error, 1024))
+          .setParameter("claimToken", claimToken)
+          .executeUpdate();
+      trans.commit();
+    } catch (Exception e) {
+      if (null != trans) {
+        trans.rollback();
+      }
+      logger.error("NotificationDAOImpl - reschedulePushNotifications - ERROR", e);
+    } finally {
+      if (null != session) {
+        session.close();
+      }
+    }
+    logger.info("NotificationDAOImpl - reschedulePushNotifications - Ends");
   }
 
   @Override
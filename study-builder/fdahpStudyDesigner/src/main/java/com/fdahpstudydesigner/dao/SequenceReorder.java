@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.fdahpstudydesigner.dao;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hibernate.Query;
+import org.hibernate.Session;
+
+/**
+ * Applies a complete new ordering of the rows of one container (the steps of a questionnaire, the
+ * consent sections of a study, ...) with a single {@code UPDATE ... SET column = CASE id ... END}
+ * statement per table, instead of one lookup and two range shifts per moved row.
+ */
+final class SequenceReorder {
+
+  private final String table;
+
+  private final String idColumn;
+
+  private final Map<String, Map<Integer, Integer>> valuesByColumn = new LinkedHashMap<>();
+
+  SequenceReorder(String table, String idColumn) {
+    this.table = table;
+    this.idColumn = idColumn;
+  }
+
+  /**
+   * Translates a requested order into row ids. Rows are identified by their current sequence
+   * number, as the single move reorder requests do.
+   *
+   * @param currentRows the id and sequence number of every active row of the container
+   * @param orderedSequenceNos the current sequence numbers of all rows, in their new order
+   * @return the ids of all rows in their new order, or {@code null} when {@code orderedSequenceNos}
+   *     does not name every current row exactly once
+   */
+  static List<Integer> orderedIds(List<Object[]> currentRows, List<Integer> orderedSequenceNos) {
+    if ((orderedSequenceNos == null) || (orderedSequenceNos.size() != currentRows.size())) {
+      return null;
+    }
+    Map<Integer, Integer> idBySequenceNo = new HashMap<>();
+    for (Object[] row : currentRows) {
+      if (idBySequenceNo.put((Integer) row[1], (Integer) row[0]) != null) {
+        return null;
+      }
+    }
+    List<Integer> orderedIds = new ArrayList<>();
+    for (Integer sequenceNo : orderedSequenceNos) {
+      Integer id = idBySequenceNo.remove(sequenceNo);
+      if (id == null) {
+        return null;
+      }
+      orderedIds.add(id);
+    }
+    return orderedIds;
+  }
+
+  /**
+   * @param currentRows the id and sequence number of every active row of the container
+   * @param orderedIds the ids of all rows in their new order
+   * @return the new sequence number by id of every row whose sequence number changes
+   */
+  static Map<Integer, Integer> moves(List<Object[]> currentRows, List<Integer> orderedIds) {
+    Map<Integer, Integer> currentSequenceNos = new HashMap<>();
+    for (Object[] row : currentRows) {
+      currentSequenceNos.put((Integer) row[0], (Integer) row[1]);
+    }
+    Map<Integer, Integer> moves = new LinkedHashMap<>();
+    for (int i = 0; i < orderedIds.size(); i++) {
+      Integer sequenceNo = i + 1;
+      if (!sequenceNo.equals(currentSequenceNos.get(orderedIds.get(i)))) {
+        moves.put(orderedIds.get(i), sequenceNo);
+      }
+    }
+    return moves;
+  }
+
+  /** Sets {@code column} to the given value for each id; other rows keep their value. */
+  SequenceReorder set(String column, Map<Integer, Integer> valuesById) {
+    if (!valuesById.isEmpty()) {
+      valuesByColumn.put(column, valuesById);
+    }
+    return this;
+  }
+
+  /** Runs the update in the caller's session and transaction, if any value was set. */
+  int execute(Session session) {
+    if (valuesByColumn.isEmpty()) {
+      return 0;
+    }
+    Set<Integer> ids = new HashSet<>();
+    StringBuilder sql = new StringBuilder("UPDATE ").append(table).append(" SET ");
+    Map<String, Integer> parameters = new HashMap<>();
+    int columnIndex = 0;
+    for (Map.Entry<String, Map<Integer, Integer>> column : valuesByColumn.entrySet()) {
+      if (columnIndex > 0) {
+        sql.append(", ");
+      }
+      sql.append(column.getKey()).append(" = CASE ").append(idColumn);
+      int rowIndex = 0;
+      for (Map.Entry<Integer, Integer> value : column.getValue().entrySet()) {
+        String suffix = columnIndex + "_" + rowIndex++;
+        sql.append(" WHEN :id").append(suffix).append(" THEN :value").append(suffix);
+        parameters.put("id" + suffix, value.getKey());
+        parameters.put("value" + suffix, value.getValue());
+        ids.add(value.getKey());
+      }
+      sql.append(" ELSE ").append(column.getKey()).append(" END");
+      columnIndex++;
+    }
+    sql.append(" WHERE ").append(idColumn).append(" IN (:ids)");
+    Query query = session.createSQLQuery(sql.toString());
+    for (Map.Entry<String, Integer> parameter : parameters.entrySet()) {
+      query.setInteger(parameter.getKey(), parameter.getValue());
+    }
+    query.setParameterList("ids", new ArrayList<>(ids));
+    return query.executeUpdate();
+  }
+}
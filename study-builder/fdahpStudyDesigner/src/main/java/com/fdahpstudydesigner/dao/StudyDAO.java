@@ -44,7 +44,6 @@ import com.fdahpstudydesigner.util.SessionObject;
 import java.util.HashMap;
 import java.util.List;
 import org.hibernate.Session;
-import org.hibernate.Transaction;
 
 public interface StudyDAO {
 
@@ -75,7 +74,7 @@ public interface StudyDAO {
   public boolean deleteStudyByCustomStudyId(String customStudyId);
 
   public String deleteStudyByIdOrCustomstudyId(
-      Session session, Transaction transaction, String studyId, String customStudyId);
+      Session session, String studyId, String customStudyId);
 
   public int eligibilityTestOrderCount(Integer eligibilityId);
 
@@ -138,13 +137,22 @@ public interface StudyDAO {
   public String reOrderComprehensionTestQuestion(
       Integer studyId, int oldOrderNumber, int newOrderNumber);
 
+  public String reOrderComprehensionTestQuestion(Integer studyId, List<Integer> orderedSequenceNos);
+
   public String reOrderConsentInfoList(Integer studyId, int oldOrderNumber, int newOrderNumber);
 
+  public String reOrderConsentInfoList(Integer studyId, List<Integer> orderedSequenceNos);
+
   public String reorderEligibilityTestQusAns(
       Integer eligibilityId, int oldOrderNumber, int newOrderNumber, Integer studyId);
 
+  public String reorderEligibilityTestQusAns(
+      Integer eligibilityId, List<Integer> orderedSequenceNos, Integer studyId);
+
   public String reOrderResourceList(Integer studyId, int oldOrderNumber, int newOrderNumber);
 
+  public String reOrderResourceList(Integer studyId, List<Integer> orderedSequenceNos);
+
   public boolean resetDraftStudyByCustomStudyId(
       String customStudyId, String action, SessionObject sesObj);
 
@@ -209,7 +217,7 @@ public interface StudyDAO {
   public Boolean isAnchorDateExistForEnrollmentDraftStudy(Integer studyId, String customStudyId);
 
   public String updateAnchordateForEnrollmentDate(
-      StudyBo oldStudyBo, StudyBo updatedStudyBo, Session session, Transaction transaction);
+      StudyBo oldStudyBo, StudyBo updatedStudyBo, Session session);
 
   public boolean validateAppId(String customStudyId, String appId, String studyType);
 
@@ -72,7 +72,6 @@ import com.fdahpstudydesigner.bo.QuestionnairesStepsBo;
 import com.fdahpstudydesigner.bo.QuestionsBo;
 import com.fdahpstudydesigner.bo.ReferenceTablesBo;
 import com.fdahpstudydesigner.bo.ResourceBO;
-import com.fdahpstudydesigner.bo.StudyActivityVersionBo;
 import com.fdahpstudydesigner.bo.StudyBo;
 import com.fdahpstudydesigner.bo.StudyPageBo;
 import com.fdahpstudydesigner.bo.StudyPermissionBO;
@@ -98,14 +97,18 @@ import java.util.Set;
 import javax.servlet.http.HttpServletRequest;
 import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.log4j.Logger;
+import org.hibernate.Hibernate;
 import org.hibernate.Query;
+import org.hibernate.SQLQuery;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
-import org.hibernate.Transaction;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.orm.hibernate3.HibernateTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 @Repository
 public class StudyDAOImpl implements StudyDAO {
@@ -118,15 +121,15 @@ public class StudyDAOImpl implements StudyDAO {
   @Autowired private AuditLogDAO auditLogDAO;
 
   HibernateTemplate hibernateTemplate;
-  private Query query = null;
-  String queryString = "";
-  private Transaction transaction = null;
+
+  private volatile Map<Integer, String> referenceTableValues;
 
   public StudyDAOImpl() {
     // Unused
   }
 
   @Override
+  @Transactional(readOnly = true)
   public String checkActiveTaskTypeValidation(Integer studyId) {
     logger.info("StudyDAOImpl - checkActiveTaskTypeValidation() - starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
@@ -137,7 +140,7 @@ public class StudyDAOImpl implements StudyDAO {
           Arrays.asList(
               FdahpStudyDesignerConstants.TOWER_OF_HANOI,
               FdahpStudyDesignerConstants.SPATIAL_SPAN_MEMORY);
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       String searchQuery =
           "select count(*) from active_task a"
               + " where a.study_id=:studyId"
@@ -156,23 +159,21 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - checkActiveTaskTypeValidation() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - checkActiveTaskTypeValidation() - Ends");
     return message;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public int comprehensionTestQuestionOrder(Integer studyId) {
     logger.info("StudyDAOImpl - comprehensionTestQuestionOrder() - Starts");
     Session session = null;
+    Query query = null;
     int count = 0;
     ComprehensionTestQuestionBo comprehensionTestQuestionBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query =
           session.createQuery(
               "From ComprehensionTestQuestionBo CTQBO where CTQBO.studyId=:studyId"
@@ -187,23 +188,21 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - comprehensionTestQuestionOrder() - Error", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - comprehensionTestQuestionOrder() - Ends");
     return count;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public int consentInfoOrder(Integer studyId) {
     logger.info("StudyDAOImpl - consentInfoOrder() - Starts");
     Session session = null;
+    Query query = null;
     int count = 1;
     ConsentInfoBo consentInfoBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query =
           session.createQuery(
               "From ConsentInfoBo CIB where CIB.studyId=:studyId"
@@ -216,10 +215,6 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - consentInfoOrder() - Error", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - consentInfoOrder() - Ends");
     return count;
@@ -227,6 +222,7 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional
   public String deleteComprehensionTestQuestion(
       Integer questionId, Integer studyId, SessionObject sessionObject) {
     logger.info("StudyDAOImpl - deleteComprehensionTestQuestion() - Starts");
@@ -236,8 +232,7 @@ public class StudyDAOImpl implements StudyDAO {
     ComprehensionTestQuestionBo comprehensionTestQuestionBo = null;
     StudySequenceBo studySequence = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       List<ComprehensionTestQuestionBo> comprehensionTestQuestionList = null;
       searchQuery =
           "From ComprehensionTestQuestionBo CTQBO where CTQBO.studyId=:studyId"
@@ -282,14 +277,10 @@ public class StudyDAOImpl implements StudyDAO {
           }
         }
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - deleteComprehensionTestQuestion() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - deleteComprehensionTestQuestion() - Ends");
     return message;
@@ -297,16 +288,16 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional
   public String deleteConsentInfo(
       Integer consentInfoId, Integer studyId, SessionObject sessionObject, String customStudyId) {
     logger.info("StudyDAOImpl - deleteConsentInfo() - Starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
     Session session = null;
+    Query query = null;
     int count = 0;
-    ConsentInfoBo consentInfo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       List<ConsentInfoBo> consentInfoList = null;
       String searchQuery =
           "From ConsentInfoBo CIB where CIB.studyId=:studyId"
@@ -352,18 +343,11 @@ public class StudyDAOImpl implements StudyDAO {
       if (count > 0) {
         message = FdahpStudyDesignerConstants.SUCCESS;
       }
-      if (consentInfoId != null) {
-        consentInfo = getConsentInfoById(consentInfoId);
-      }
 
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - deleteConsentInfo() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - deleteConsentInfo() - Ends");
     return message;
@@ -371,6 +355,7 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional
   public String deleteEligibilityTestQusAnsById(
       Integer eligibilityTestId,
       Integer studyId,
@@ -379,7 +364,6 @@ public class StudyDAOImpl implements StudyDAO {
     logger.info("StudyDAOImpl - deleteEligibilityTestQusAnsById - Starts");
     Session session = null;
     Integer eligibilityDeleteResult = 0;
-    Transaction trans = null;
     String result = FdahpStudyDesignerConstants.FAILURE;
     String reorderQuery;
     EligibilityTestBo eligibilityTestBo;
@@ -387,8 +371,7 @@ public class StudyDAOImpl implements StudyDAO {
     StringBuilder sb = null;
     StudyBo studyBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      trans = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       eligibilityTestBo =
           (EligibilityTestBo)
               session
@@ -442,22 +425,17 @@ public class StudyDAOImpl implements StudyDAO {
         }
       }
 
-      trans.commit();
+      session.flush();
     } catch (Exception e) {
-      if (null != trans) {
-        trans.rollback();
-      }
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - deleteEligibilityTestQusAnsById - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - deleteEligibilityTestQusAnsById - Ends");
     return result;
   }
 
   @Override
+  @Transactional
   public boolean deleteLiveStudy(String customStudyId) {
     logger.info("StudyDAOImpl - deleteLiveStudy() - Starts");
     boolean flag = false;
@@ -466,8 +444,7 @@ public class StudyDAOImpl implements StudyDAO {
     String message = FdahpStudyDesignerConstants.FAILURE;
     // String subQuery = "";
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
 
       liveStudyBo =
           (StudyBo)
@@ -477,9 +454,7 @@ public class StudyDAOImpl implements StudyDAO {
                   .uniqueResult();
       if (liveStudyBo != null) {
         // deleting the live study
-        message =
-            deleteStudyByIdOrCustomstudyId(
-                session, transaction, liveStudyBo.getId().toString(), "");
+        message = deleteStudyByIdOrCustomstudyId(session, liveStudyBo.getId().toString(), "");
 
         // once live study deleted successfully, reseting the new study
         if (message.equalsIgnoreCase(FdahpStudyDesignerConstants.SUCCESS)) {
@@ -519,28 +494,25 @@ public class StudyDAOImpl implements StudyDAO {
           flag = true;
         }
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - deleteLiveStudy() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - deleteLiveStudy() - Ends");
     return flag;
   }
 
   @Override
+  @Transactional
   public String deleteOverviewStudyPageById(String studyId, String pageId) {
     logger.info("StudyDAOImpl - deleteOverviewStudyPageById() - Starts");
     Session session = null;
+    Query query = null;
     String message = FdahpStudyDesignerConstants.FAILURE;
     int count = 0;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (StringUtils.isNotEmpty(studyId) && StringUtils.isNotEmpty(pageId)) {
         query =
             session.createQuery(
@@ -552,14 +524,10 @@ public class StudyDAOImpl implements StudyDAO {
           message = FdahpStudyDesignerConstants.SUCCESS;
         }
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - deleteOverviewStudyPageById() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - deleteOverviewStudyPageById() - Ends");
     return message;
@@ -567,6 +535,7 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional
   public String deleteResourceInfo(
       Integer resourceInfoId, boolean resourceVisibility, int studyId) {
     logger.info("StudyDAOImpl - deleteResourceInfo() - Starts");
@@ -577,8 +546,7 @@ public class StudyDAOImpl implements StudyDAO {
     Query notificationQuery = null;
     List<ResourceBO> resourceBOList = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       String searchQuery =
           "From ResourceBO RBO where RBO.studyId=:studyId"
               + " and RBO.status=1 order by RBO.sequenceNo asc";
@@ -609,41 +577,33 @@ public class StudyDAOImpl implements StudyDAO {
                 .setInteger("resourceInfoId", resourceInfoId);
         notificationQuery.executeUpdate();
       }
-      transaction.commit();
+      session.flush();
       message = FdahpStudyDesignerConstants.SUCCESS;
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - deleteResourceInfo() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - deleteResourceInfo() - Ends");
     return message;
   }
 
   @Override
+  @Transactional
   public boolean deleteStudyByCustomStudyId(String customStudyId) {
     logger.info("StudyDAOImpl - deleteStudyByCustomStudyId() - Starts");
     Session session = null;
     boolean falg = false;
     String message = FdahpStudyDesignerConstants.FAILURE;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
-      message = deleteStudyByIdOrCustomstudyId(session, transaction, "", customStudyId);
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
+      message = deleteStudyByIdOrCustomstudyId(session, "", customStudyId);
       if (message.equalsIgnoreCase(FdahpStudyDesignerConstants.SUCCESS)) {
         falg = true;
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - deleteStudyByCustomStudyId() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - deleteStudyByCustomStudyId() - Ends");
     return falg;
@@ -652,7 +612,9 @@ public class StudyDAOImpl implements StudyDAO {
   @SuppressWarnings("unchecked")
   @Override
   public String deleteStudyByIdOrCustomstudyId(
-      Session session, Transaction transaction, String studyId, String customStudyId) {
+      Session session, String studyId, String customStudyId) {
+    Query query = null;
+    String queryString = "";
     logger.info("StudyDAOImpl - deleteStudyByIdOrCustomstudyId() - Starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
     List<StudyBo> studyBOList = null;
@@ -1358,7 +1320,7 @@ public class StudyDAOImpl implements StudyDAO {
         message = FdahpStudyDesignerConstants.SUCCESS;
       }
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - deleteStudyByIdOrCustomstudyId() - ERROR ", e);
     }
     logger.info("StudyDAOImpl - deleteStudyByIdOrCustomstudyId() - Ends");
@@ -1366,14 +1328,16 @@ public class StudyDAOImpl implements StudyDAO {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public int eligibilityTestOrderCount(Integer eligibilityId) {
     logger.info("StudyDAOImpl - eligibilityTestOrderCount - Starts");
     Session session = null;
+    Query query = null;
     int count = 1;
     EligibilityTestBo eligibilityTestBo = null;
     StringBuilder sb = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       sb = new StringBuilder();
       sb.append(
           "From EligibilityTestBo ETB where ETB.eligibilityId=:eligibilityId and ETB.active=1 order by ETB.sequenceNo DESC");
@@ -1395,6 +1359,7 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<UserBO> getActiveNonAddedUserList(Integer studyId, Integer userId) {
     logger.info("StudyDAOImpl - getActiveNonAddedUserList() - Starts");
     Session session = null;
@@ -1402,7 +1367,7 @@ public class StudyDAOImpl implements StudyDAO {
     List<Object[]> objList = null;
     Query query = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query =
           session.createSQLQuery(
               " SELECT u.user_id,u.first_name,u.last_name,u.email,r.role_name "
@@ -1425,10 +1390,6 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getActiveNonAddedUserList() - ERROR", e);
-    } finally {
-      if (null != session) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getActiveNonAddedUserList() - Ends");
     return userList;
@@ -1436,6 +1397,7 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<StudyPermissionBO> getAddedUserListToStudy(Integer studyId, Integer userId) {
     logger.info("StudyDAOImpl - getAddedUserListToStudy() - Starts");
     Session session = null;
@@ -1443,7 +1405,7 @@ public class StudyDAOImpl implements StudyDAO {
     Query query = null;
     List<StudyPermissionBO> studyPermissionList = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query =
           session.createSQLQuery(
               " SELECT sp.user_id,u.first_name,u.last_name,sp.view_permission,sp.project_lead "
@@ -1472,10 +1434,6 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getAddedUserListToStudy() - ERROR", e);
-    } finally {
-      if (null != session) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getAddedUserListToStudy() - Ends");
     return studyPermissionList;
@@ -1483,12 +1441,14 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<StudyBo> getAllStudyList() {
     logger.info("StudyDAOImpl - getAllStudyList() - Starts");
     Session session = null;
+    Query query = null;
     List<StudyBo> studyBOList = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query =
           session.createQuery(
               " FROM StudyBo SBO WHERE SBO.version = 0 AND SBO.status <> :deActivateStatus");
@@ -1496,22 +1456,20 @@ public class StudyDAOImpl implements StudyDAO {
       studyBOList = query.list();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getAllStudyList() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getAllStudyList() - Ends");
     return studyBOList;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Checklist getchecklistInfo(Integer studyId) {
     logger.info("StudyDAOImpl - getchecklistInfo() - Starts");
     Checklist checklist = null;
     Session session = null;
+    Query query = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query =
           session
               .getNamedQuery("getchecklistInfo")
@@ -1519,10 +1477,6 @@ public class StudyDAOImpl implements StudyDAO {
       checklist = (Checklist) query.uniqueResult();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getchecklistInfo() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getchecklistInfo() - Ends");
     return checklist;
@@ -1530,13 +1484,15 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public ComprehensionTestQuestionBo getComprehensionTestQuestionById(Integer questionId) {
     logger.info("StudyDAOImpl - getComprehensionTestQuestionById() - Starts");
     ComprehensionTestQuestionBo comprehensionTestQuestionBo = null;
     Session session = null;
+    Query query = null;
     List<ComprehensionTestResponseBo> comprehensionTestResponsList = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       comprehensionTestQuestionBo =
           (ComprehensionTestQuestionBo) session.get(ComprehensionTestQuestionBo.class, questionId);
       if (null != comprehensionTestQuestionBo) {
@@ -1549,10 +1505,6 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getComprehensionTestQuestionById() - Error", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getComprehensionTestQuestionById() - Ends");
     return comprehensionTestQuestionBo;
@@ -1560,12 +1512,14 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<ComprehensionTestQuestionBo> getComprehensionTestQuestionList(Integer studyId) {
     logger.info("StudyDAOImpl - getComprehensionTestQuestionList() - Starts");
     Session session = null;
+    Query query = null;
     List<ComprehensionTestQuestionBo> comprehensionTestQuestionList = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query =
           session.createQuery(
               "From ComprehensionTestQuestionBo CTQBO where CTQBO.studyId=:studyId"
@@ -1574,10 +1528,6 @@ public class StudyDAOImpl implements StudyDAO {
       comprehensionTestQuestionList = query.list();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getComprehensionTestQuestionList() - Error", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getComprehensionTestQuestionList() - Ends");
     return comprehensionTestQuestionList;
@@ -1585,13 +1535,15 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<ComprehensionTestResponseBo> getComprehensionTestResponseList(
       Integer comprehensionQuestionId) {
     logger.info("StudyDAOImpl - deleteComprehensionTestQuestion() - Starts");
     Session session = null;
+    Query query = null;
     List<ComprehensionTestResponseBo> comprehensionTestResponseList = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query =
           session.createQuery(
               "From ComprehensionTestResponseBo CTRBO where CTRBO.comprehensionTestQuestionId=:questionId");
@@ -1599,44 +1551,38 @@ public class StudyDAOImpl implements StudyDAO {
       comprehensionTestResponseList = query.list();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - deleteComprehensionTestQuestion() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - deleteComprehensionTestQuestion() - Ends");
     return comprehensionTestResponseList;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public ConsentBo getConsentDetailsByStudyId(String studyId) {
     logger.info("INFO: StudyDAOImpl - getConsentDetailsByStudyId() :: Starts");
     ConsentBo consentBo = null;
     Session session = null;
     Query query = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query = session.createQuery("from ConsentBo CBO where CBO.studyId=:studyId");
       query.setInteger("studyId", Integer.valueOf(studyId));
       consentBo = (ConsentBo) query.uniqueResult();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - saveOrCompleteConsentReviewDetails() :: ERROR", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("INFO: StudyDAOImpl - getConsentDetailsByStudyId() :: Ends");
     return consentBo;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public ConsentInfoBo getConsentInfoById(Integer consentInfoId) {
     logger.info("StudyDAOImpl - getConsentInfoById() - Starts");
     ConsentInfoBo consentInfoBo = null;
     Session session = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       consentInfoBo = (ConsentInfoBo) session.get(ConsentInfoBo.class, consentInfoId);
       if (consentInfoBo != null) {
         consentInfoBo.setDisplayTitle(
@@ -1663,10 +1609,6 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getConsentInfoById() - Error", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getConsentInfoById() - Ends");
     return consentInfoBo;
@@ -1674,13 +1616,14 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<ConsentInfoBo> getConsentInfoDetailsListByStudyId(String studyId) {
     logger.info("INFO: StudyDAOImpl - getConsentInfoDetailsListByStudyId() :: Starts");
     Session session = null;
     Query query = null;
     List<ConsentInfoBo> consentInfoBoList = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query =
           session.createQuery(
               " from ConsentInfoBo CIBO where CIBO.studyId=:studyId and CIBO.active=1 ORDER BY CIBO.sequenceNo ");
@@ -1708,10 +1651,6 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getConsentInfoDetailsListByStudyId() - ERROR", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("INFO: StudyDAOImpl - getConsentInfoDetailsListByStudyId() :: Ends");
     return consentInfoBoList;
@@ -1719,12 +1658,14 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<ConsentInfoBo> getConsentInfoList(Integer studyId) {
     logger.info("StudyDAOImpl - getConsentInfoList() - Starts");
     List<ConsentInfoBo> consentInfoList = null;
     Session session = null;
+    Query query = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       String searchQuery =
           "From ConsentInfoBo CIB where CIB.studyId=:studyId and CIB.active=1 order by CIB.sequenceNo asc";
       query = session.createQuery(searchQuery);
@@ -1732,10 +1673,6 @@ public class StudyDAOImpl implements StudyDAO {
       consentInfoList = query.list();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getConsentInfoList() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getConsentInfoList() - Ends");
     return consentInfoList;
@@ -1743,20 +1680,18 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<ConsentMasterInfoBo> getConsentMasterInfoList() {
     logger.info("StudyDAOImpl - getConsentMasterInfoList() - Starts");
     Session session = null;
+    Query query = null;
     List<ConsentMasterInfoBo> consentMasterInfoList = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query = session.createQuery("From ConsentMasterInfoBo CMIB");
       consentMasterInfoList = query.list();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getConsentMasterInfoList() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getConsentMasterInfoList() - Ends");
     return consentMasterInfoList;
@@ -1801,16 +1736,19 @@ public class StudyDAOImpl implements StudyDAO {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public StudyIdBean getLiveVersion(String customStudyId) {
     logger.info("StudyDAOImpl - getLiveVersion() - Starts");
     Session session = null;
+    Query query = null;
+    String queryString = "";
     StudyVersionBo studyVersionBo = null;
     Integer consentStudyId = null;
     StudyIdBean studyIdBean = new StudyIdBean();
     Integer activetaskStudyId = null;
     Integer questionnarieStudyId = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (StringUtils.isNotEmpty(customStudyId)) {
         query =
             session
@@ -1870,33 +1808,27 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getLiveVersion() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getLiveVersion() - Ends");
     return studyIdBean;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public NotificationBO getNotificationByResourceId(Integer resourseId) {
     logger.info("StudyDAOImpl - getNotificationByResourceId() - Starts");
     Session session = null;
+    Query query = null;
     String queryString = null;
     NotificationBO notificationBO = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       queryString = " FROM NotificationBO NBO WHERE NBO.resourceId =:resourseId ";
       query = session.createQuery(queryString);
       query.setInteger("resourseId", resourseId);
       notificationBO = (NotificationBO) query.uniqueResult();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getNotificationByResourceId - ERROR", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getNotificationByResourceId - Ends");
     return notificationBO;
@@ -1904,12 +1836,14 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<StudyPageBo> getOverviewStudyPagesById(String studyId, Integer userId) {
     logger.info("StudyDAOImpl - getOverviewStudyPagesById() - Starts");
     Session session = null;
+    Query query = null;
     List<StudyPageBo> studyPageBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (StringUtils.isNotEmpty(studyId)) {
         query = session.createQuery("from StudyPageBo where studyId=:studyId");
         query.setInteger("studyId", Integer.valueOf(studyId));
@@ -1917,10 +1851,6 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getOverviewStudyPagesById() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getOverviewStudyPagesById() - Ends");
     return studyPageBo;
@@ -1928,15 +1858,17 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings({"unchecked"})
   @Override
+  @Transactional(readOnly = true)
   public HashMap<String, List<ReferenceTablesBo>> getreferenceListByCategory() {
     logger.info("StudyDAOImpl - getreferenceListByCategory() - Starts");
     Session session = null;
+    Query query = null;
     List<ReferenceTablesBo> allReferenceList = null;
     List<ReferenceTablesBo> categoryList = new ArrayList<>();
     List<ReferenceTablesBo> researchSponserList = new ArrayList<>();
     HashMap<String, List<ReferenceTablesBo>> referenceMap = new HashMap<>();
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query = session.createQuery("from ReferenceTablesBo order by category asc,id asc");
       allReferenceList = query.list();
       if ((allReferenceList != null) && !allReferenceList.isEmpty()) {
@@ -1966,30 +1898,24 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getreferenceListByCategory() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getreferenceListByCategory() - Ends");
     return referenceMap;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public ResourceBO getResourceInfo(Integer resourceInfoId) {
     logger.info("StudyDAOImpl - getResourceInfo() - Starts");
     ResourceBO resourceBO = null;
     Session session = null;
+    Query query = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query = session.getNamedQuery("getResourceInfo").setInteger("resourceInfoId", resourceInfoId);
       resourceBO = (ResourceBO) query.uniqueResult();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getResourceInfo() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getResourceInfo() - Ends");
     return resourceBO;
@@ -1997,13 +1923,14 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional
   public List<ResourceBO> getResourceList(Integer studyId) {
     logger.info("StudyDAOImpl - getResourceList() - Starts");
     List<ResourceBO> resourceBOList = null;
     Session session = null;
+    Query query = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       String searchQuery =
           " FROM ResourceBO RBO WHERE RBO.studyId=:studyId"
               + " AND RBO.status = 1 AND RBO.studyProtocol = false ORDER BY RBO.createdOn ASC ";
@@ -2021,14 +1948,10 @@ public class StudyDAOImpl implements StudyDAO {
           }
         }
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - getResourceList() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getResourceList() - Ends");
     return resourceBOList;
@@ -2036,13 +1959,15 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<NotificationBO> getSavedNotification(Integer studyId) {
     logger.info("StudyDAOImpl - getSavedNotification() - Starts");
     List<NotificationBO> notificationSavedList = null;
     Session session = null;
+    Query query = null;
     String searchQuery = "";
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       searchQuery =
           " FROM NotificationBO NBO WHERE NBO.studyId=:studyId"
               + " AND NBO.notificationAction = 0 AND NBO.notificationType='ST' AND NBO.notificationSubType='Announcement' ";
@@ -2051,26 +1976,24 @@ public class StudyDAOImpl implements StudyDAO {
       notificationSavedList = query.list();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getSavedNotification() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getSavedNotification() - Ends");
     return notificationSavedList;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public StudyBo getStudyById(String studyId, Integer userId) {
     logger.info("StudyDAOImpl - getStudyById() - Starts");
     Session session = null;
+    Query query = null;
     StudyBo studyBo = null;
     StudySequenceBo studySequenceBo = null;
     StudyPermissionBO permissionBO = null;
     StudyVersionBo studyVersionBo = null;
     StudyBo liveStudyBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (StringUtils.isNotEmpty(studyId)) {
         studyBo =
             (StudyBo)
@@ -2126,22 +2049,20 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getStudyList() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getStudyById() - Ends");
     return studyBo;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public EligibilityBo getStudyEligibiltyByStudyId(String studyId) {
     logger.info("StudyDAOImpl - getStudyEligibiltyByStudyId() - Starts");
     Session session = null;
+    Query query = null;
     EligibilityBo eligibilityBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (StringUtils.isNotEmpty(studyId)) {
         query =
             session
@@ -2151,10 +2072,6 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getStudyEligibiltyByStudyId() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getStudyEligibiltyByStudyId() - Ends");
     return eligibilityBo;
@@ -2162,114 +2079,132 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<StudyListBean> getStudyList(Integer userId) {
     logger.info("StudyDAOImpl - getStudyList() - Starts");
     Session session = null;
     List<StudyListBean> studyListBeans = null;
-    String name = "";
-    List<ReferenceTablesBo> referenceTablesBos = null;
-    StudyBo liveStudy = null;
-    StudyBo studyBo = null;
     try {
 
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if ((userId != null) && (userId != 0)) {
-        query =
-            session.createQuery(
-                "select new com.fdahpstudydesigner.bean.StudyListBean(s.id,s.customStudyId,s.name,s.category,s.researchSponsor,user.firstName, user.lastName,p.viewPermission,s.status,s.createdOn)"
-                    + " from StudyBo s,StudyPermissionBO p, UserBO user"
-                    + " where s.id=p.studyId"
-                    + " and user.userId = s.createdBy"
-                    + " and s.version=0"
-                    + " and p.userId=:impValue"
-                    + " order by s.createdOn desc");
-        query.setInteger(FdahpStudyDesignerConstants.IMP_VALUE, userId);
-        studyListBeans = query.list();
-
-        if ((studyListBeans != null) && !studyListBeans.isEmpty()) {
-          for (StudyListBean bean : studyListBeans) {
-            if (StringUtils.isNotEmpty(name)) {
-              bean.setProjectLeadName(name);
-            }
-            if (StringUtils.isNotEmpty(bean.getCategory())
-                && StringUtils.isNotEmpty(bean.getResearchSponsor())) {
-              // get the Category, Research Sponsor name of the
-              // study from categoryIds
-              query =
-                  session
-                      .createQuery("from ReferenceTablesBo where id in(:category)")
-                      .setParameter("category", Integer.parseInt(bean.getCategory()));
-              referenceTablesBos = query.list();
-              if ((referenceTablesBos != null) && !referenceTablesBos.isEmpty()) {
-                bean.setCategory(referenceTablesBos.get(0).getValue());
-              }
-            }
-            if (StringUtils.isNotEmpty(bean.getCustomStudyId())) {
-              liveStudy =
-                  (StudyBo)
-                      session
-                          .createQuery("from StudyBo where customStudyId=:studyId and live=1")
-                          .setParameter("studyId", bean.getCustomStudyId())
-                          .uniqueResult();
-              if (liveStudy != null) {
-                bean.setLiveStudyId(liveStudy.getId());
-              } else {
-                bean.setLiveStudyId(null);
-              }
-            }
-            // if is there any change in study then edit with dot
-            // will come
-            if ((bean.getId() != null) && (bean.getLiveStudyId() != null)) {
-              studyBo =
-                  (StudyBo)
-                      session
-                          .createQuery("from StudyBo where id=:id")
-                          .setParameter("id", bean.getId())
-                          .uniqueResult();
-              if (studyBo.getHasStudyDraft() == 1) {
-                bean.setFlag(true);
-              }
-            }
-            // if is there any team lead in that study
-            if (bean.getId() != null) {
-              String userInfo =
-                  (String)
-                      session
-                          .createQuery(
-                              "SELECT  u.firstName from StudyPermissionBO s , UserBO u where s.studyId=:id"
-                                  + " and s.userId=u.userId and s.projectLead=1")
-                          .setParameter("id", bean.getId())
-                          .setMaxResults(1)
-                          .uniqueResult();
-              if (StringUtils.isNotEmpty(userInfo)) {
-                bean.setProjectLeadName(userInfo);
-              } else {
-                bean.setProjectLeadName("None");
-              }
+        // live version, draft flag and project lead are resolved in the same statement instead
+        // of three look ups per study
+        SQLQuery studyListQuery =
+            session.createSQLQuery(
+                "SELECT s.id AS id, s.custom_study_id AS customStudyId, s.name AS name,"
+                    + " s.category AS category, s.research_sponsor AS researchSponsor,"
+                    + " u.first_name AS firstName, u.last_name AS lastName,"
+                    + " p.view_permission AS viewPermission, s.status AS status,"
+                    + " s.created_on AS createdOn,"
+                    + " (SELECT MAX(ls.id) FROM studies ls WHERE s.custom_study_id <> ''"
+                    + " AND ls.custom_study_id = s.custom_study_id AND ls.is_live = 1)"
+                    + " AS liveStudyId,"
+                    + " s.has_study_draft AS hasStudyDraft,"
+                    + " (SELECT lu.first_name FROM study_permission lp, users lu"
+                    + " WHERE lp.study_id = s.id AND lp.user_id = lu.user_id"
+                    + " AND lp.project_lead = 1 LIMIT 1) AS projectLeadName"
+                    + " FROM studies s, study_permission p, users u"
+                    + " WHERE s.id = p.study_id"
+                    + " AND u.user_id = s.created_by"
+                    + " AND s.version = 0"
+                    + " AND p.user_id = :impValue"
+                    + " ORDER BY s.created_on DESC, s.id DESC");
+        studyListQuery
+            .addScalar("id", Hibernate.INTEGER)
+            .addScalar("customStudyId", Hibernate.STRING)
+            .addScalar("name", Hibernate.STRING)
+            .addScalar("category", Hibernate.STRING)
+            .addScalar("researchSponsor", Hibernate.STRING)
+            .addScalar("firstName", Hibernate.STRING)
+            .addScalar("lastName", Hibernate.STRING)
+            .addScalar("viewPermission", Hibernate.BOOLEAN)
+            .addScalar("status", Hibernate.STRING)
+            .addScalar("createdOn", Hibernate.STRING)
+            .addScalar("liveStudyId", Hibernate.INTEGER)
+            .addScalar("hasStudyDraft", Hibernate.INTEGER)
+            .addScalar("projectLeadName", Hibernate.STRING);
+        studyListQuery.setInteger(FdahpStudyDesignerConstants.IMP_VALUE, userId);
+        List<Object[]> rows = studyListQuery.list();
+
+        studyListBeans = new ArrayList<>();
+        for (Object[] row : rows) {
+          StudyListBean bean =
+              new StudyListBean(
+                  (Integer) row[0],
+                  (String) row[1],
+                  (String) row[2],
+                  (String) row[3],
+                  (String) row[4],
+                  (String) row[5],
+                  (String) row[6],
+                  Boolean.TRUE.equals(row[7]),
+                  (String) row[8],
+                  (String) row[9]);
+          if (StringUtils.isNotEmpty(bean.getCategory())
+              && StringUtils.isNotEmpty(bean.getResearchSponsor())) {
+            // get the Category name of the study from categoryIds
+            String category = this.getReferenceTableValue(session, bean.getCategory());
+            if (category != null) {
+              bean.setCategory(category);
             }
           }
+          bean.setLiveStudyId((Integer) row[10]);
+          // if is there any change in study then edit with dot
+          // will come
+          if ((bean.getLiveStudyId() != null) && Integer.valueOf(1).equals(row[11])) {
+            bean.setFlag(true);
+          }
+          // if is there any team lead in that study
+          if (StringUtils.isNotEmpty((String) row[12])) {
+            bean.setProjectLeadName((String) row[12]);
+          } else {
+            bean.setProjectLeadName("None");
+          }
+          studyListBeans.add(bean);
         }
       }
 
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getStudyList() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getStudyList() - Ends");
     return studyListBeans;
   }
 
+  /**
+   * Returns the value of a reference table row from the in memory dictionary, loading the
+   * dictionary on first use and again when an id is not found in it.
+   */
+  @SuppressWarnings("unchecked")
+  private String getReferenceTableValue(Session session, String referenceTableId) {
+    if (!NumberUtils.isDigits(referenceTableId)) {
+      return null;
+    }
+    Integer id = Integer.valueOf(referenceTableId);
+    Map<Integer, String> values = referenceTableValues;
+    if ((values == null) || !values.containsKey(id)) {
+      values = new HashMap<>();
+      List<Object[]> rows =
+          session.createQuery("select r.id, r.value from ReferenceTablesBo r").list();
+      for (Object[] row : rows) {
+        values.put((Integer) row[0], (String) row[1]);
+      }
+      referenceTableValues = values;
+    }
+    return values.get(id);
+  }
+
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<StudyListBean> getStudyListByUserId(Integer userId) {
     logger.info("StudyDAOImpl - getStudyListByUserId() - Starts");
     Session session = null;
+    Query query = null;
     List<StudyListBean> studyListBeans = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if ((userId != null) && (userId != 0)) {
         query =
             session.createQuery(
@@ -2283,45 +2218,41 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getStudyListByUserId() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getStudyListByUserId() - Ends");
     return studyListBeans;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public StudyBo getStudyLiveStatusByCustomId(String customStudyId) {
     logger.info("StudyDAOImpl - getStudyLiveStatusByCustomId() - Starts");
     StudyBo studyLive = null;
     Session session = null;
+    Query query = null;
     String searchQuery = "";
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       searchQuery = "FROM StudyBo SBO WHERE SBO.customStudyId = :customStudyId AND SBO.live = 1";
       query = session.createQuery(searchQuery);
       query.setParameter("customStudyId", customStudyId);
       studyLive = (StudyBo) query.uniqueResult();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getStudyLiveStatusByCustomId() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getStudyLiveStatusByCustomId() - Ends");
     return studyLive;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public ResourceBO getStudyProtocol(Integer studyId) {
     logger.info("StudyDAOImpl - getStudyProtocol() - Starts");
     ResourceBO studyprotocol = null;
     Session session = null;
+    Query query = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query =
           session.createQuery(
               " FROM ResourceBO RBO WHERE RBO.studyId=:studyId AND RBO.studyProtocol = true ");
@@ -2329,48 +2260,42 @@ public class StudyDAOImpl implements StudyDAO {
       studyprotocol = (ResourceBO) query.uniqueResult();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getStudyProtocol() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getStudyProtocol() - Ends");
     return studyprotocol;
   }
 
   @SuppressWarnings("unchecked")
+  @Transactional(readOnly = true)
   public List<Integer> getSuperAdminUserIds() {
     logger.info("StudyDAOImpl - getSuperAdminUserIds() - Starts");
     Session session = null;
     List<Integer> superAdminUserIds = null;
     Query query = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query =
           session.createSQLQuery(
               "SELECT u.user_id FROM users u WHERE u.user_id in (SELECT upm.user_id FROM user_permission_mapping upm WHERE upm.permission_id = (SELECT up.permission_id FROM user_permissions up WHERE up.permissions = 'ROLE_SUPERADMIN'))");
       superAdminUserIds = query.list();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getSuperAdminUserIds() - ERROR", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getSuperAdminUserIds() - Ends");
     return superAdminUserIds;
   }
 
   @Override
+  @Transactional
   public String markAsCompleted(
       int studyId, String markCompleted, boolean flag, SessionObject sesObj, String customStudyId) {
     logger.info("StudyDAOImpl - markAsCompleted() - Starts");
     String msg = FdahpStudyDesignerConstants.FAILURE;
     Session session = null;
+    Query query = null;
     int count = 0;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       /**
        * match the markCompleted flag and complete the resource/notification/consent/consent review
        * /checkList/activeTaskList/questionnaire/comprehenstionTest section of study before launch
@@ -2386,11 +2311,7 @@ public class StudyDAOImpl implements StudyDAO {
       } else if (markCompleted.equals(FdahpStudyDesignerConstants.RESOURCE)) {
         if (flag) {
           auditLogDAO.updateDraftToEditedStatus(
-              session,
-              transaction,
-              sesObj.getUserId(),
-              FdahpStudyDesignerConstants.DRAFT_STUDY,
-              studyId);
+              session, null, sesObj.getUserId(), FdahpStudyDesignerConstants.DRAFT_STUDY, studyId);
         }
 
         query =
@@ -2408,11 +2329,7 @@ public class StudyDAOImpl implements StudyDAO {
         count = query.executeUpdate();
 
         auditLogDAO.updateDraftToEditedStatus(
-            session,
-            transaction,
-            sesObj.getUserId(),
-            FdahpStudyDesignerConstants.DRAFT_CONSCENT,
-            studyId);
+            session, null, sesObj.getUserId(), FdahpStudyDesignerConstants.DRAFT_CONSCENT, studyId);
 
       } else if (markCompleted.equalsIgnoreCase(FdahpStudyDesignerConstants.CONESENT_REVIEW)) {
         query =
@@ -2423,11 +2340,7 @@ public class StudyDAOImpl implements StudyDAO {
         count = query.executeUpdate();
 
         auditLogDAO.updateDraftToEditedStatus(
-            session,
-            transaction,
-            sesObj.getUserId(),
-            FdahpStudyDesignerConstants.DRAFT_CONSCENT,
-            studyId);
+            session, null, sesObj.getUserId(), FdahpStudyDesignerConstants.DRAFT_CONSCENT, studyId);
 
       } else if (markCompleted.equalsIgnoreCase(FdahpStudyDesignerConstants.CHECK_LIST)) {
         query =
@@ -2446,7 +2359,7 @@ public class StudyDAOImpl implements StudyDAO {
 
         auditLogDAO.updateDraftToEditedStatus(
             session,
-            transaction,
+            null,
             sesObj.getUserId(),
             FdahpStudyDesignerConstants.DRAFT_ACTIVETASK,
             studyId);
@@ -2461,7 +2374,7 @@ public class StudyDAOImpl implements StudyDAO {
 
         auditLogDAO.updateDraftToEditedStatus(
             session,
-            transaction,
+            null,
             sesObj.getUserId(),
             FdahpStudyDesignerConstants.DRAFT_QUESTIONNAIRE,
             studyId);
@@ -2475,30 +2388,23 @@ public class StudyDAOImpl implements StudyDAO {
         count = query.executeUpdate();
 
         auditLogDAO.updateDraftToEditedStatus(
-            session,
-            transaction,
-            sesObj.getUserId(),
-            FdahpStudyDesignerConstants.DRAFT_CONSCENT,
-            studyId);
+            session, null, sesObj.getUserId(), FdahpStudyDesignerConstants.DRAFT_CONSCENT, studyId);
       }
       if (count > 0) {
         msg = FdahpStudyDesignerConstants.SUCCESS;
       }
 
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - markAsCompleted() - ERROR", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - markAsCompleted() - Ends");
     return msg;
   }
 
   @Override
+  @Transactional
   public String reOrderComprehensionTestQuestion(
       Integer studyId, int oldOrderNumber, int newOrderNumber) {
     logger.info("StudyDAOImpl - reOrderComprehensionTestQuestion() - Starts");
@@ -2509,8 +2415,7 @@ public class StudyDAOImpl implements StudyDAO {
     ComprehensionTestQuestionBo comprehensionTestQuestionBo = null;
     StudySequenceBo studySequence = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       String updateQuery = "";
       query =
           session.createQuery(
@@ -2571,20 +2476,63 @@ public class StudyDAOImpl implements StudyDAO {
           }
         }
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - reOrderComprehensionTestQuestion() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - reOrderComprehensionTestQuestion() - Ends");
     return message;
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  @Transactional
+  public String reOrderComprehensionTestQuestion(
+      Integer studyId, List<Integer> orderedSequenceNos) {
+    logger.info("StudyDAOImpl - reOrderComprehensionTestQuestion(orderedSequenceNos) - Starts");
+    String message = FdahpStudyDesignerConstants.FAILURE;
+    Session session = null;
+    try {
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
+      List<Object[]> currentRows =
+          session
+              .createQuery(
+                  "select CTB.id, CTB.sequenceNo From ComprehensionTestQuestionBo CTB where CTB.studyId=:studyId and CTB.active=1")
+              .setInteger("studyId", studyId)
+              .list();
+      List<Integer> orderedIds = SequenceReorder.orderedIds(currentRows, orderedSequenceNos);
+      if (orderedIds != null) {
+        int count =
+            new SequenceReorder("comprehension_test_question", "id")
+                .set("sequence_no", SequenceReorder.moves(currentRows, orderedIds))
+                .execute(session);
+        if (count > 0) {
+          StudySequenceBo studySequence =
+              (StudySequenceBo)
+                  session
+                      .getNamedQuery(FdahpStudyDesignerConstants.STUDY_SEQUENCE_BY_ID)
+                      .setInteger(FdahpStudyDesignerConstants.STUDY_ID, studyId)
+                      .uniqueResult();
+          if (studySequence != null) {
+            studySequence.setComprehensionTest(false);
+            session.saveOrUpdate(studySequence);
+          }
+        }
+        message = FdahpStudyDesignerConstants.SUCCESS;
+      }
+      session.flush();
+    } catch (Exception e) {
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+      logger.error(
+          "StudyDAOImpl - reOrderComprehensionTestQuestion(orderedSequenceNos) - ERROR ", e);
+    }
+    logger.info("StudyDAOImpl - reOrderComprehensionTestQuestion(orderedSequenceNos) - Ends");
+    return message;
+  }
+
   @Override
+  @Transactional
   public String reOrderConsentInfoList(Integer studyId, int oldOrderNumber, int newOrderNumber) {
     logger.info("StudyDAOImpl - reOrderConsentInfoList() - Starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
@@ -2593,8 +2541,7 @@ public class StudyDAOImpl implements StudyDAO {
     int count = 0;
     ConsentInfoBo consentInfoBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       String updateQuery = "";
       query =
           session.createQuery(
@@ -2654,20 +2601,62 @@ public class StudyDAOImpl implements StudyDAO {
           }
         }
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - reOrderConsentInfoList() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - reOrderConsentInfoList() - Ends");
     return message;
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  @Transactional
+  public String reOrderConsentInfoList(Integer studyId, List<Integer> orderedSequenceNos) {
+    logger.info("StudyDAOImpl - reOrderConsentInfoList(orderedSequenceNos) - Starts");
+    String message = FdahpStudyDesignerConstants.FAILURE;
+    Session session = null;
+    try {
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
+      List<Object[]> currentRows =
+          session
+              .createQuery(
+                  "select CIB.id, CIB.sequenceNo From ConsentInfoBo CIB where CIB.studyId=:studyId and CIB.active=1")
+              .setInteger("studyId", studyId)
+              .list();
+      List<Integer> orderedIds = SequenceReorder.orderedIds(currentRows, orderedSequenceNos);
+      if (orderedIds != null) {
+        int count =
+            new SequenceReorder("consent_info", "id")
+                .set("sequence_no", SequenceReorder.moves(currentRows, orderedIds))
+                .execute(session);
+        if (count > 0) {
+          StudySequenceBo studySequence =
+              (StudySequenceBo)
+                  session
+                      .getNamedQuery(FdahpStudyDesignerConstants.STUDY_SEQUENCE_BY_ID)
+                      .setInteger(FdahpStudyDesignerConstants.STUDY_ID, studyId)
+                      .uniqueResult();
+          if (studySequence != null) {
+            studySequence.setConsentEduInfo(false);
+            studySequence.seteConsent(false);
+            session.saveOrUpdate(studySequence);
+          }
+        }
+        message = FdahpStudyDesignerConstants.SUCCESS;
+      }
+      session.flush();
+    } catch (Exception e) {
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+      logger.error("StudyDAOImpl - reOrderConsentInfoList(orderedSequenceNos) - ERROR ", e);
+    }
+    logger.info("StudyDAOImpl - reOrderConsentInfoList(orderedSequenceNos) - Ends");
+    return message;
+  }
+
   @Override
+  @Transactional
   public String reorderEligibilityTestQusAns(
       Integer eligibilityId, int oldOrderNumber, int newOrderNumber, Integer studyId) {
     logger.info("StudyDAOImpl - reorderEligibilityTestQusAns - Starts");
@@ -2677,11 +2666,9 @@ public class StudyDAOImpl implements StudyDAO {
     int count = 0;
     EligibilityTestBo eligibilityTest = null;
     StringBuilder updatenewOrderQuery;
-    Transaction trans = null;
     StringBuilder updateQuery = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      trans = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       hibQuery =
           session
               .getNamedQuery("EligibilityTestBo.findByEligibilityIdAndSequenceNo")
@@ -2740,22 +2727,62 @@ public class StudyDAOImpl implements StudyDAO {
           }
         }
       }
-      trans.commit();
+      session.flush();
     } catch (Exception e) {
-      if (null != trans) {
-        trans.rollback();
-      }
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - reorderEligibilityTestQusAns - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - reorderEligibilityTestQusAns - Ends");
     return message;
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  @Transactional
+  public String reorderEligibilityTestQusAns(
+      Integer eligibilityId, List<Integer> orderedSequenceNos, Integer studyId) {
+    logger.info("StudyDAOImpl - reorderEligibilityTestQusAns(orderedSequenceNos) - Starts");
+    String message = FdahpStudyDesignerConstants.FAILURE;
+    Session session = null;
+    try {
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
+      List<Object[]> currentRows =
+          session
+              .createQuery(
+                  "select ETB.id, ETB.sequenceNo From EligibilityTestBo ETB where ETB.eligibilityId=:eligibilityId and ETB.active = true")
+              .setInteger("eligibilityId", eligibilityId)
+              .list();
+      List<Integer> orderedIds = SequenceReorder.orderedIds(currentRows, orderedSequenceNos);
+      if (orderedIds != null) {
+        int count =
+            new SequenceReorder("eligibility_test", "id")
+                .set("sequence_no", SequenceReorder.moves(currentRows, orderedIds))
+                .execute(session);
+        if (count > 0) {
+          StudySequenceBo studySequence =
+              (StudySequenceBo)
+                  session
+                      .getNamedQuery(FdahpStudyDesignerConstants.STUDY_SEQUENCE_BY_ID)
+                      .setInteger(FdahpStudyDesignerConstants.STUDY_ID, studyId)
+                      .uniqueResult();
+          if ((studySequence != null) && studySequence.isEligibility()) {
+            studySequence.setEligibility(false);
+            session.update(studySequence);
+          }
+        }
+        message = FdahpStudyDesignerConstants.SUCCESS;
+      }
+      session.flush();
+    } catch (Exception e) {
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+      logger.error("StudyDAOImpl - reorderEligibilityTestQusAns(orderedSequenceNos) - ERROR ", e);
+    }
+    logger.info("StudyDAOImpl - reorderEligibilityTestQusAns(orderedSequenceNos) - Ends");
+    return message;
+  }
+
   @Override
+  @Transactional
   public String reOrderResourceList(Integer studyId, int oldOrderNumber, int newOrderNumber) {
     logger.info("StudyDAOImpl - reOrderResourceList() - Starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
@@ -2764,8 +2791,7 @@ public class StudyDAOImpl implements StudyDAO {
     int count = 0;
     ResourceBO resourceBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       String updateQuery = "";
       query =
           session.createQuery(
@@ -2822,25 +2848,67 @@ public class StudyDAOImpl implements StudyDAO {
           }
         }
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - reOrderResourceList() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - reOrderResourceList() - Ends");
     return message;
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  @Transactional
+  public String reOrderResourceList(Integer studyId, List<Integer> orderedSequenceNos) {
+    logger.info("StudyDAOImpl - reOrderResourceList(orderedSequenceNos) - Starts");
+    String message = FdahpStudyDesignerConstants.FAILURE;
+    Session session = null;
+    try {
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
+      List<Object[]> currentRows =
+          session
+              .createQuery(
+                  "select RBO.id, RBO.sequenceNo From ResourceBO RBO where RBO.studyId=:studyId and RBO.status=1")
+              .setInteger("studyId", studyId)
+              .list();
+      List<Integer> orderedIds = SequenceReorder.orderedIds(currentRows, orderedSequenceNos);
+      if (orderedIds != null) {
+        int count =
+            new SequenceReorder("resources", "id")
+                .set("sequence_no", SequenceReorder.moves(currentRows, orderedIds))
+                .execute(session);
+        if (count > 0) {
+          StudySequenceBo studySequence =
+              (StudySequenceBo)
+                  session
+                      .getNamedQuery(FdahpStudyDesignerConstants.STUDY_SEQUENCE_BY_ID)
+                      .setInteger(FdahpStudyDesignerConstants.STUDY_ID, studyId)
+                      .uniqueResult();
+          if (studySequence != null) {
+            studySequence.setMiscellaneousResources(false);
+            session.saveOrUpdate(studySequence);
+          }
+        }
+        message = FdahpStudyDesignerConstants.SUCCESS;
+      }
+      session.flush();
+    } catch (Exception e) {
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+      logger.error("StudyDAOImpl - reOrderResourceList(orderedSequenceNos) - ERROR ", e);
+    }
+    logger.info("StudyDAOImpl - reOrderResourceList(orderedSequenceNos) - Ends");
+    return message;
+  }
+
   @SuppressWarnings({"rawtypes", "unchecked"})
   @Override
+  @Transactional
   public boolean resetDraftStudyByCustomStudyId(
       String customStudyId, String action, SessionObject sesObj) {
     logger.info("StudyDAOImpl - resetDraftStudyByCustomStudyId() - Starts");
     Session session = null;
+    Query query = null;
     boolean flag = false;
     StudyBo liveStudyBo = null;
     List<StudyBo> draftDatas = null;
@@ -2851,8 +2919,7 @@ public class StudyDAOImpl implements StudyDAO {
     QuestionReponseTypeBo questionReponseTypeBo = null;
     List<Integer> studyIdList = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
 
       liveStudyBo =
           (StudyBo)
@@ -3648,32 +3715,29 @@ public class StudyDAOImpl implements StudyDAO {
             for (StudyBo study : draftDatas) {
               studyIdList.add(study.getId());
             }
-            deleteStudyByIdOrCustomstudyId(
-                session, transaction, StringUtils.join(studyIdList, ","), "");
+            deleteStudyByIdOrCustomstudyId(session, StringUtils.join(studyIdList, ","), "");
           }
         }
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - resetDraftStudyByCustomStudyId() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - resetDraftStudyByCustomStudyId() - Ends");
     return flag;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public int resourceOrder(Integer studyId) {
     logger.info("StudyDAOImpl - resourceOrder() - Starts");
     Session session = null;
+    Query query = null;
     int count = 1;
     ResourceBO resourceBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query =
           session.createQuery(
               "From ResourceBO RBO where RBO.studyId=:studyId and RBO.studyProtocol = false and RBO.status=1 order by RBO.sequenceNo DESC");
@@ -3685,10 +3749,6 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - resourceOrder() - Error", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - resourceOrder() - Ends");
     return count;
@@ -3696,12 +3756,14 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<ResourceBO> resourcesSaved(Integer studyId) {
     logger.info("StudyDAOImpl - resourcesSaved() - Starts");
     List<ResourceBO> resourceBOList = null;
     Session session = null;
+    Query query = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       String searchQuery =
           "FROM ResourceBO RBO WHERE RBO.studyId=:studyId AND RBO.action=0 AND RBO.status=1 AND RBO.studyProtocol=0";
       query = session.createQuery(searchQuery);
@@ -3709,10 +3771,6 @@ public class StudyDAOImpl implements StudyDAO {
       resourceBOList = query.list();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - resourcesSaved() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - resourcesSaved() - Ends");
     return resourceBOList;
@@ -3720,12 +3778,14 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<ResourceBO> resourcesWithAnchorDate(Integer studyId) {
     logger.info("StudyDAOImpl - resourcesWithAnchorDate() - Starts");
     List<ResourceBO> resourceList = null;
     Session session = null;
+    Query query = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       String searchQuery =
           " FROM ResourceBO RBO WHERE RBO.studyId= :studyId AND RBO.resourceType = 1 AND RBO.status = 1 ";
       query = session.createQuery(searchQuery);
@@ -3733,10 +3793,6 @@ public class StudyDAOImpl implements StudyDAO {
       resourceList = query.list();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - resourcesWithAnchorDate() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - resourcesWithAnchorDate() - Ends");
     return resourceList;
@@ -3744,10 +3800,12 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional
   public ConsentBo saveOrCompleteConsentReviewDetails(
       ConsentBo consentBo, SessionObject sesObj, String customStudyId) {
     logger.info("INFO: StudyDAOImpl - saveOrCompleteConsentReviewDetails() :: Starts");
     Session session = null;
+    Query query = null;
     StudySequenceBo studySequence = null;
     List<ConsentInfoBo> consentInfoList = null;
     String content = "";
@@ -3757,8 +3815,7 @@ public class StudyDAOImpl implements StudyDAO {
     Map<String, String> values = new HashMap<>();
     try {
       AuditLogEventRequest auditRequest = AuditEventMapper.fromHttpServletRequest(request);
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       // check whether the consentinfo is saved for this study or not, if
       // not update
       if (consentBo.getId() != null) {
@@ -3876,54 +3933,46 @@ public class StudyDAOImpl implements StudyDAO {
           }
         }
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - saveOrCompleteConsentReviewDetails() :: ERROR", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("INFO: StudyDAOImpl - saveOrCompleteConsentReviewDetails() :: Ends");
     return consentBo;
   }
 
   @Override
+  @Transactional
   public Integer saveOrDoneChecklist(Checklist checklist) {
     logger.info("StudyDAOImpl - saveOrDoneChecklist() - Starts");
     Session session = null;
     Integer checklistId = 0;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (checklist.getChecklistId() == null) {
         checklistId = (Integer) session.save(checklist);
       } else {
         session.update(checklist);
         checklistId = checklist.getChecklistId();
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - saveOrDoneChecklist() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - saveOrDoneChecklist() - Ends");
     return checklistId;
   }
 
   @Override
+  @Transactional
   public ComprehensionTestQuestionBo saveOrUpdateComprehensionTestQuestion(
       ComprehensionTestQuestionBo comprehensionTestQuestionBo) {
     logger.info("StudyDAOImpl - saveOrUpdateComprehensionTestQuestion() - Starts");
     Session session = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       session.saveOrUpdate(comprehensionTestQuestionBo);
       if ((comprehensionTestQuestionBo.getId() != null)
           && (comprehensionTestQuestionBo.getResponseList() != null)
@@ -3946,28 +3995,24 @@ public class StudyDAOImpl implements StudyDAO {
           }
         }
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - saveOrUpdateComprehensionTestQuestion() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - saveOrUpdateComprehensionTestQuestion() - Ends");
     return comprehensionTestQuestionBo;
   }
 
   @Override
+  @Transactional
   public ConsentInfoBo saveOrUpdateConsentInfo(
       ConsentInfoBo consentInfoBo, SessionObject sesObj, String customStudyId) {
     logger.info("StudyDAOImpl - saveOrUpdateConsentInfo() - Starts");
     Session session = null;
     StudySequenceBo studySequence = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (consentInfoBo.getType() != null) {
         studySequence =
             (StudySequenceBo)
@@ -4007,20 +4052,17 @@ public class StudyDAOImpl implements StudyDAO {
       }
       session.saveOrUpdate(consentInfoBo);
 
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - saveOrUpdateConsentInfo() - Error", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - saveOrUpdateConsentInfo() - Ends");
     return consentInfoBo;
   }
 
   @Override
+  @Transactional
   public Integer saveOrUpdateEligibilityTestQusAns(
       EligibilityTestBo eligibilityTestBo,
       Integer studyId,
@@ -4029,11 +4071,9 @@ public class StudyDAOImpl implements StudyDAO {
     logger.info("StudyDAOImpl - saveOrUpdateEligibilityTestQusAns - Starts");
     Session session = null;
     Integer eligibilityTestId = 0;
-    Transaction trans = null;
     EligibilityTestBo saveEligibilityTestBo;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      trans = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       StudySequenceBo studySequence =
           (StudySequenceBo)
               session
@@ -4059,22 +4099,17 @@ public class StudyDAOImpl implements StudyDAO {
       session.saveOrUpdate(eligibilityTestBo);
 
       eligibilityTestId = eligibilityTestBo.getId();
-      trans.commit();
+      session.flush();
     } catch (Exception e) {
-      if (null != trans) {
-        trans.rollback();
-      }
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - saveOrUpdateEligibilityTestQusAns - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - saveOrUpdateEligibilityTestQusAns - Ends");
     return eligibilityTestId;
   }
 
   @Override
+  @Transactional
   public String saveOrUpdateOverviewStudyPages(StudyPageBean studyPageBean, SessionObject sesObj) {
     logger.info("StudyDAOImpl - saveOrUpdateOverviewStudyPages() - Starts");
     Session session = null;
@@ -4084,8 +4119,7 @@ public class StudyDAOImpl implements StudyDAO {
     StudyBo studyBo = null;
     List<Integer> pageIdList = new ArrayList<>();
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (StringUtils.isNotEmpty(studyPageBean.getStudyId())) {
         studyBo =
             (StudyBo)
@@ -4187,47 +4221,39 @@ public class StudyDAOImpl implements StudyDAO {
           message =
               auditLogDAO.updateDraftToEditedStatus(
                   session,
-                  transaction,
+                  null,
                   studyPageBean.getUserId(),
                   FdahpStudyDesignerConstants.DRAFT_STUDY,
                   Integer.parseInt(studyPageBean.getStudyId()));
         }
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - saveOrUpdateOverviewStudyPages() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - saveOrUpdateOverviewStudyPages() - Ends");
     return message;
   }
 
   @Override
+  @Transactional
   public Integer saveOrUpdateResource(ResourceBO resourceBO) {
     logger.info("StudyDAOImpl - saveOrUpdateResource() - Starts");
     Session session = null;
     Integer resourceId = 0;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (null == resourceBO.getId()) {
         resourceId = (Integer) session.save(resourceBO);
       } else {
         session.update(resourceBO);
         resourceId = resourceBO.getId();
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - saveOrUpdateResource() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - saveOrUpdateResource() - Ends");
     return resourceId;
@@ -4235,9 +4261,11 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional
   public String saveOrUpdateStudy(StudyBo studyBo, SessionObject sessionObject) {
     logger.info("StudyDAOImpl - saveOrUpdateStudy() - Starts");
     Session session = null;
+    Query query = null;
     String message = FdahpStudyDesignerConstants.SUCCESS;
     StudyPermissionBO studyPermissionBO = null;
     Integer studyId = null;
@@ -4250,8 +4278,7 @@ public class StudyDAOImpl implements StudyDAO {
       AuditLogEventRequest auditRequest = AuditEventMapper.fromHttpServletRequest(request);
       userId = studyBo.getUserId();
       String appId = "";
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
 
       if (studyBo.getId() == null) {
         studyBo.setCreatedBy(studyBo.getUserId());
@@ -4351,27 +4378,24 @@ public class StudyDAOImpl implements StudyDAO {
       message =
           auditLogDAO.updateDraftToEditedStatus(
               session,
-              transaction,
+              null,
               studyBo.getUserId(),
               FdahpStudyDesignerConstants.DRAFT_STUDY,
               studyBo.getId());
 
       auditLogEventHelper.logEvent(auditLogEvent, auditRequest);
 
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - saveOrUpdateSubAdmin() - ERROR", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - saveOrUpdateSubAdmin() - Ends");
     return message;
   }
 
   @Override
+  @Transactional
   public String saveOrUpdateStudyEligibilty(
       EligibilityBo eligibilityBo, SessionObject sesObj, String customStudyId) {
     logger.info("StudyDAOImpl - saveOrUpdateStudyEligibilty() - Starts");
@@ -4381,8 +4405,7 @@ public class StudyDAOImpl implements StudyDAO {
     EligibilityBo eligibilityBoUpdate = null;
     Boolean updateFlag = false;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (null != eligibilityBo) {
         if (eligibilityBo.getId() != null) {
           eligibilityBoUpdate =
@@ -4421,19 +4444,15 @@ public class StudyDAOImpl implements StudyDAO {
         result =
             auditLogDAO.updateDraftToEditedStatus(
                 session,
-                transaction,
+                null,
                 (updateFlag ? eligibilityBo.getModifiedBy() : eligibilityBo.getCreatedBy()),
                 FdahpStudyDesignerConstants.DRAFT_STUDY,
                 eligibilityBo.getStudyId());
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - saveOrUpdateStudyEligibilty() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - saveOrUpdateStudyEligibilty() - Ends");
     return result;
@@ -4441,6 +4460,7 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings({"unchecked"})
   @Override
+  @Transactional
   public String saveOrUpdateStudySettings(
       StudyBo studyBo,
       SessionObject sesObj,
@@ -4450,6 +4470,7 @@ public class StudyDAOImpl implements StudyDAO {
     logger.info("StudyDAOImpl - saveOrUpdateStudySettings() - Starts");
     String result = FdahpStudyDesignerConstants.FAILURE;
     Session session = null;
+    Query query = null;
     StudySequenceBo studySequence = null;
     StudyBo study = null;
     String[] userId = null;
@@ -4465,8 +4486,7 @@ public class StudyDAOImpl implements StudyDAO {
     Map<String, String> values = new HashMap<>();
     try {
       AuditLogEventRequest auditRequest = AuditEventMapper.fromHttpServletRequest(request);
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (null != studyBo) {
         if (studyBo.getId() != null) {
           study =
@@ -4483,7 +4503,7 @@ public class StudyDAOImpl implements StudyDAO {
                       .uniqueResult();
           if ((study != null) && (studySequence != null)) {
             // validation of anchor date
-            updateAnchordateForEnrollmentDate(study, studyBo, session, transaction);
+            updateAnchordateForEnrollmentDate(study, studyBo, session);
             // validation of anchor date
             study.setPlatform(studyBo.getPlatform());
             study.setAllowRejoin(studyBo.getAllowRejoin());
@@ -4695,7 +4715,7 @@ public class StudyDAOImpl implements StudyDAO {
         result =
             auditLogDAO.updateDraftToEditedStatus(
                 session,
-                transaction,
+                null,
                 studyBo.getUserId(),
                 FdahpStudyDesignerConstants.DRAFT_STUDY,
                 studyBo.getId());
@@ -4715,38 +4735,30 @@ public class StudyDAOImpl implements StudyDAO {
           }
         }
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - saveOrUpdateStudySettings() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - saveOrUpdateStudySettings() - Ends");
     return result;
   }
 
+  @Transactional
   public Integer saveOverviewStudyPageById(String studyId) {
     Integer pageId = 0;
     Session session = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (StringUtils.isNotEmpty(studyId)) {
         StudyPageBo studyPageBo = new StudyPageBo();
         studyPageBo.setStudyId(Integer.parseInt(studyId));
         pageId = (Integer) session.save(studyPageBo);
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - deleteOverviewStudyPageById() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - deleteOverviewStudyPageById() - Ends");
 
@@ -4754,27 +4766,23 @@ public class StudyDAOImpl implements StudyDAO {
   }
 
   @Override
+  @Transactional
   public String saveResourceNotification(NotificationBO notificationBO, boolean notiFlag) {
     logger.info("StudyDAOImpl - saveResourceNotification() - Starts");
     Session session = null;
     String message = FdahpStudyDesignerConstants.FAILURE;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (!notiFlag) {
         session.save(notificationBO);
       } else {
         session.update(notificationBO);
       }
-      transaction.commit();
+      session.flush();
       message = FdahpStudyDesignerConstants.SUCCESS;
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - saveResourceNotification() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - saveResourceNotification() - Ends");
     return message;
@@ -4788,23 +4796,17 @@ public class StudyDAOImpl implements StudyDAO {
   @SuppressWarnings("unchecked")
   public String studyDraftCreation(
       StudyBo studyBo, Session session, AuditLogEventRequest auditRequest) {
+    Query query = null;
+    String queryString = "";
     logger.info("StudyDAOImpl - studyDraftCreation() - Starts");
-    List<StudyPageBo> studyPageBo = null;
-    List<StudyPermissionBO> studyPermissionList = null;
-    EligibilityBo eligibilityBo = null;
-    List<ResourceBO> resourceBOList = null;
     StudyVersionBo studyVersionBo = null;
     StudyVersionBo newstudyVersionBo = null;
     boolean flag = true;
     String message = FdahpStudyDesignerConstants.FAILURE;
     List<QuestionnaireBo> questionnaires = null;
     List<ActiveTaskBo> activeTasks = null;
-    String searchQuery = "";
-    QuestionReponseTypeBo questionReponseTypeBo = null;
     List<String> objectList = null;
     List<String> questionnarieShorttitleList = null;
-    List<AnchorDateTypeBo> anchorDateTypeList = null;
-    Map<Integer, Integer> anchordateoldnewMapList = new HashMap<>();
     try {
       if (studyBo != null) {
         logger.info("StudyDAOImpl - studyDraftCreation() getStudyByCustomStudyId- Starts");
@@ -4860,922 +4862,402 @@ public class StudyDAOImpl implements StudyDAO {
           studyDreaftBo.setId(null);
           session.save(studyDreaftBo);
 
-          // clone of Study Permission
-
-          studyPermissionList =
-              session
-                  .createQuery("from StudyPermissionBO where studyId=:id")
-                  .setInteger("id", studyBo.getId())
-                  .list();
-          if (studyPermissionList != null) {
+          StudyVersionCloner cloner =
+              new StudyVersionCloner(session)
+                  .bind("oldStudyId", studyBo.getId())
+                  .bind("newStudyId", studyDreaftBo.getId())
+                  .bind("customStudyId", studyBo.getCustomStudyId())
+                  .bind(
+                      "manualSchedule", FdahpStudyDesignerConstants.FREQUENCY_TYPE_MANUALLY_SCHEDULE)
+                  .bind("instructionStep", FdahpStudyDesignerConstants.INSTRUCTION_STEP)
+                  .bind("questionStep", FdahpStudyDesignerConstants.QUESTION_STEP)
+                  .bind("formStep", FdahpStudyDesignerConstants.FORM_STEP);
+          try {
+            // clone of Study Permission
             logger.info("StudyDAOImpl - studyDraftCreation() StudyPermissionBO- Starts");
-            for (StudyPermissionBO permissionBO : studyPermissionList) {
-              StudyPermissionBO studyPermissionBO = SerializationUtils.clone(permissionBO);
-              studyPermissionBO.setStudyId(studyDreaftBo.getId());
-              studyPermissionBO.setStudyPermissionId(null);
-              session.save(studyPermissionBO);
-            }
+            cloner.copy(
+                StudyPermissionBO.class,
+                StudyVersionCloner.overrides("studyId", ":newStudyId"),
+                "src.study_id = :oldStudyId");
             logger.info("StudyDAOImpl - studyDraftCreation() StudyPermissionBO- Ends");
-          }
-
-          // clone of Study Sequence
-          StudySequenceBo studySequence =
-              (StudySequenceBo)
-                  session
-                      .getNamedQuery(FdahpStudyDesignerConstants.STUDY_SEQUENCE_BY_ID)
-                      .setInteger(FdahpStudyDesignerConstants.STUDY_ID, studyBo.getId())
-                      .uniqueResult();
-          StudySequenceBo newStudySequenceBo = SerializationUtils.clone(studySequence);
-          newStudySequenceBo.setStudyId(studyDreaftBo.getId());
-          newStudySequenceBo.setStudySequenceId(null);
-          session.save(newStudySequenceBo);
-
-          // clone of Over View section
-          query = session.createQuery("from StudyPageBo where studyId=:id");
-          query.setInteger("id", studyBo.getId());
-          studyPageBo = query.list();
-          if ((studyPageBo != null) && !studyPageBo.isEmpty()) {
-            for (StudyPageBo pageBo : studyPageBo) {
-              StudyPageBo subPageBo = SerializationUtils.clone(pageBo);
-              subPageBo.setStudyId(studyDreaftBo.getId());
-              subPageBo.setPageId(null);
-              session.save(subPageBo);
-            }
-          }
 
-          // clone of Eligibility
-          query =
+            // clone of Study Sequence
+            cloner.copy(
+                StudySequenceBo.class,
+                StudyVersionCloner.overrides("studyId", ":newStudyId"),
+                "src.study_id = :oldStudyId");
+
+            // clone of Over View section
+            cloner.copy(
+                StudyPageBo.class,
+                StudyVersionCloner.overrides("studyId", ":newStudyId"),
+                "src.study_id = :oldStudyId");
+
+            // clone of Eligibility
+            if (cloner.map("eligibility", EligibilityBo.class, "src.study_id = :oldStudyId") > 0) {
+              Map<Integer, Integer> eligibilityIds =
+                  cloner.copyMapped(
+                      "eligibility",
+                      EligibilityBo.class,
+                      StudyVersionCloner.overrides("studyId", ":newStudyId"));
+              cloner.copy(
+                  EligibilityTestBo.class,
+                  StudyVersionCloner.overrides(
+                      "eligibilityId",
+                      cloner.mapped("eligibility", "src.eligibility_id"),
+                      "used",
+                      "'Y'"),
+                  "src.active = 1 AND src.eligibility_id IN " + cloner.oldIds("eligibility"));
               session
-                  .getNamedQuery("getEligibiltyByStudyId")
-                  .setInteger(FdahpStudyDesignerConstants.STUDY_ID, studyBo.getId());
-          eligibilityBo = (EligibilityBo) query.uniqueResult();
-          if (eligibilityBo != null) {
-            EligibilityBo bo = SerializationUtils.clone(eligibilityBo);
-            bo.setStudyId(studyDreaftBo.getId());
-            bo.setId(null);
-            session.save(bo);
-            List<EligibilityTestBo> eligibilityTestList = null;
-            eligibilityTestList =
-                session
-                    .getNamedQuery("EligibilityTestBo.findByEligibilityId")
-                    .setInteger(FdahpStudyDesignerConstants.ELIGIBILITY_ID, eligibilityBo.getId())
-                    .list();
-            if ((eligibilityTestList != null) && !eligibilityTestList.isEmpty()) {
-              List<Integer> eligibilityTestIds = new ArrayList<>();
-              for (EligibilityTestBo eligibilityTestBo : eligibilityTestList) {
-                eligibilityTestIds.add(eligibilityTestBo.getId());
-                EligibilityTestBo newEligibilityTestBo =
-                    SerializationUtils.clone(eligibilityTestBo);
-                newEligibilityTestBo.setId(null);
-                newEligibilityTestBo.setEligibilityId(bo.getId());
-                newEligibilityTestBo.setUsed(true);
-                session.save(newEligibilityTestBo);
-              }
-              if (!eligibilityTestIds.isEmpty()) {
-                session
-                    .createSQLQuery(
-                        "UPDATE eligibility_test set is_used='Y' where id in(:eligibilityTestIds)")
-                    .setParameterList("eligibilityTestIds", eligibilityTestIds)
-                    .executeUpdate();
-              }
+                  .createSQLQuery(
+                      "UPDATE eligibility_test set is_used='Y' where active = 1 and eligibility_id in(:eligibilityIds)")
+                  .setParameterList("eligibilityIds", eligibilityIds.keySet())
+                  .executeUpdate();
             }
-          }
 
-          // clone of resources
-          searchQuery =
-              " FROM ResourceBO RBO WHERE RBO.studyId=:id AND RBO.status = 1 ORDER BY RBO.createdOn DESC ";
-          query = session.createQuery(searchQuery);
-          query.setInteger("id", studyBo.getId());
-          resourceBOList = query.list();
-          if ((resourceBOList != null) && !resourceBOList.isEmpty()) {
+            // clone of resources
             logger.info("StudyDAOImpl - studyDraftCreation() ResourceBO- Starts");
-            for (ResourceBO bo : resourceBOList) {
-              ResourceBO resourceBO = SerializationUtils.clone(bo);
-              resourceBO.setStudyId(studyDreaftBo.getId());
-              resourceBO.setId(null);
-              session.save(resourceBO);
-            }
+            cloner.copy(
+                ResourceBO.class,
+                StudyVersionCloner.overrides("studyId", ":newStudyId"),
+                "src.study_id = :oldStudyId AND src.status = 1");
             logger.info("StudyDAOImpl - studyDraftCreation() ResourceBO- Ends");
-          }
 
-          // If Questionnaire updated flag -1 then update(clone)
-          if ((studyVersionBo == null)
-              || ((studyBo.getHasQuestionnaireDraft() != null)
-                  && studyBo.getHasQuestionnaireDraft().equals(1))) {
-            // Questionarries
-            query =
-                session
-                    .getNamedQuery("getQuestionariesByStudyId")
-                    .setInteger(FdahpStudyDesignerConstants.STUDY_ID, studyBo.getId());
-            questionnaires = query.list();
-            if ((questionnaires != null) && !questionnaires.isEmpty()) {
-              // short title taking updating to archived which
-              // have change start
-              questionnarieShorttitleList = new ArrayList<>();
-              for (QuestionnaireBo questionnaireBo : questionnaires) {
-                if ((questionnaireBo.getIsChange() != null)
-                    && questionnaireBo.getIsChange().equals(1)) {
-                  questionnarieShorttitleList.add("'" + questionnaireBo.getShortTitle() + "'");
+            // If Questionnaire updated flag -1 then update(clone)
+            if ((studyVersionBo == null)
+                || ((studyBo.getHasQuestionnaireDraft() != null)
+                    && studyBo.getHasQuestionnaireDraft().equals(1))) {
+              // Questionarries
+              query =
+                  session
+                      .getNamedQuery("getQuestionariesByStudyId")
+                      .setInteger(FdahpStudyDesignerConstants.STUDY_ID, studyBo.getId());
+              questionnaires = query.list();
+              if ((questionnaires != null) && !questionnaires.isEmpty()) {
+                // short title taking updating to archived which
+                // have change start
+                questionnarieShorttitleList = new ArrayList<>();
+                List<Integer> questionnaireIds = new ArrayList<>();
+                List<Integer> changedQuestionnaireIds = new ArrayList<>();
+                Map<Integer, Float> questionnaireVersions = new HashMap<>();
+                for (QuestionnaireBo questionnaireBo : questionnaires) {
+                  questionnaireIds.add(questionnaireBo.getId());
+                  if ((questionnaireBo.getIsChange() != null)
+                      && questionnaireBo.getIsChange().equals(1)) {
+                    questionnarieShorttitleList.add("'" + questionnaireBo.getShortTitle() + "'");
+                    changedQuestionnaireIds.add(questionnaireBo.getId());
+                    questionnaireVersions.put(
+                        questionnaireBo.getId(),
+                        this.getNextActivityVersion(
+                            studyVersionBo == null, questionnaireBo.getVersion()));
+                  }
                 }
-              }
-              if ((questionnarieShorttitleList != null) && !questionnarieShorttitleList.isEmpty()) {
-                logger.info(
-                    "StudyDAOImpl - studyDraftCreation() Questionnarie update is_live=2- Starts");
-                queryString =
-                    "update questionnaires SET is_live=2 where short_title IN (:questionnarieShorttitleList) and is_live=1 and custom_study_id= :customStudyId";
-                query = session.createSQLQuery(queryString);
-                query.setParameterList("questionnarieShorttitleList", questionnarieShorttitleList);
-                query.setString("customStudyId", studyBo.getCustomStudyId());
-                query.executeUpdate();
-                logger.info(
-                    "StudyDAOImpl - studyDraftCreation() Questionnarie update is_live=2- Ends");
-              }
-              // short title taking updating to archived which
-              // have change end
-              for (QuestionnaireBo questionnaireBo : questionnaires) {
-                logger.info("StudyDAOImpl - studyDraftCreation() Questionnarie creation- Starts");
-                // creating in study Activity version
-                StudyActivityVersionBo studyActivityVersionBo = new StudyActivityVersionBo();
-                studyActivityVersionBo.setCustomStudyId(studyBo.getCustomStudyId());
-                studyActivityVersionBo.setStudyVersion(newstudyVersionBo.getStudyVersion());
-                studyActivityVersionBo.setActivityType("Q");
-                studyActivityVersionBo.setShortTitle(questionnaireBo.getShortTitle());
+                if ((questionnarieShorttitleList != null)
+                    && !questionnarieShorttitleList.isEmpty()) {
+                  logger.info(
+                      "StudyDAOImpl - studyDraftCreation() Questionnarie update is_live=2- Starts");
+                  queryString =
+                      "update questionnaires SET is_live=2 where short_title IN (:questionnarieShorttitleList) and is_live=1 and custom_study_id= :customStudyId";
+                  query = session.createSQLQuery(queryString);
+                  query.setParameterList(
+                      "questionnarieShorttitleList", questionnarieShorttitleList);
+                  query.setString("customStudyId", studyBo.getCustomStudyId());
+                  query.executeUpdate();
+                  logger.info(
+                      "StudyDAOImpl - studyDraftCreation() Questionnarie update is_live=2- Ends");
+                }
+                // short title taking updating to archived which
+                // have change end
+
                 // is there any change in questionnarie
-                if ((questionnaireBo.getIsChange() != null)
-                    && questionnaireBo.getIsChange().equals(1)) {
-                  Float questionnarieversion = questionnaireBo.getVersion();
-                  QuestionnaireBo newQuestionnaireBo = SerializationUtils.clone(questionnaireBo);
-                  newQuestionnaireBo.setId(null);
-                  newQuestionnaireBo.setStudyId(studyDreaftBo.getId());
-                  newQuestionnaireBo.setCreatedBy(0);
-                  newQuestionnaireBo.setModifiedBy(0);
-                  newQuestionnaireBo.setModifiedDate(FdahpStudyDesignerUtil.getCurrentDateTime());
-                  if (studyVersionBo == null) {
-                    newQuestionnaireBo.setVersion(1.0f);
-                    questionnaireBo.setVersion(1.0f);
-                  } else {
-                    if (questionnarieversion.equals(0f)) {
-                      questionnaireBo.setVersion(1.0f);
-                      newQuestionnaireBo.setVersion(1.0f);
-                    } else {
-                      newQuestionnaireBo.setVersion(questionnaireBo.getVersion() + 0.1f);
-                      questionnaireBo.setVersion(questionnaireBo.getVersion() + 0.1f);
-                    }
-                  }
-                  newQuestionnaireBo.setLive(1);
-                  newQuestionnaireBo.setCustomStudyId(studyBo.getCustomStudyId());
-                  session.save(newQuestionnaireBo);
-                  questionnaireBo.setIsChange(0);
-                  questionnaireBo.setLive(0);
-                  session.update(questionnaireBo);
+                if (!changedQuestionnaireIds.isEmpty()) {
+                  logger.info("StudyDAOImpl - studyDraftCreation() Questionnarie creation- Starts");
+                  cloner
+                      .bind("changedQuestionnaireIds", changedQuestionnaireIds)
+                      .bind("modifiedDate", FdahpStudyDesignerUtil.getCurrentDateTime());
+                  cloner.map(
+                      "questionnaire",
+                      QuestionnaireBo.class,
+                      "src.id IN (:changedQuestionnaireIds)");
+                  Map<Integer, Integer> newQuestionnaireIds =
+                      cloner.copyMapped(
+                          "questionnaire",
+                          QuestionnaireBo.class,
+                          StudyVersionCloner.overrides(
+                              "studyId", ":newStudyId",
+                              "createdBy", "0",
+                              "modifiedBy", "0",
+                              "modifiedDate", ":modifiedDate",
+                              "live", "1",
+                              "customStudyId", ":customStudyId"));
+                  this.updateActivityVersions(
+                      session, "questionnaires", questionnaireVersions, newQuestionnaireIds);
+                  session
+                      .createSQLQuery(
+                          "update questionnaires SET is_Change=0, is_live=0 where id IN (:changedQuestionnaireIds)")
+                      .setParameterList("changedQuestionnaireIds", changedQuestionnaireIds)
+                      .executeUpdate();
+
                   /** Schedule Purpose creating draft Start * */
-                  if (StringUtils.isNotEmpty(questionnaireBo.getFrequency())) {
-                    if (questionnaireBo
-                        .getFrequency()
-                        .equalsIgnoreCase(
-                            FdahpStudyDesignerConstants.FREQUENCY_TYPE_MANUALLY_SCHEDULE)) {
-                      searchQuery =
-                          "From QuestionnaireCustomScheduleBo QCSBO where QCSBO.questionnairesId=:id";
-                      List<QuestionnaireCustomScheduleBo> questionnaireCustomScheduleList =
-                          session
-                              .createQuery(searchQuery)
-                              .setInteger("id", questionnaireBo.getId())
-                              .list();
-                      if ((questionnaireCustomScheduleList != null)
-                          && !questionnaireCustomScheduleList.isEmpty()) {
-                        logger.info(
-                            "StudyDAOImpl - studyDraftCreation() Questionnarie manual schedule update - Starts");
-                        for (QuestionnaireCustomScheduleBo customScheduleBo :
-                            questionnaireCustomScheduleList) {
-                          QuestionnaireCustomScheduleBo newCustomScheduleBo =
-                              SerializationUtils.clone(customScheduleBo);
-                          newCustomScheduleBo.setQuestionnairesId(newQuestionnaireBo.getId());
-                          newCustomScheduleBo.setId(null);
-                          session.save(newCustomScheduleBo);
-                        }
-                        // updating draft version of
-                        // schecule to Yes
-                        session
-                            .createQuery(
-                                "UPDATE QuestionnaireCustomScheduleBo set used=true where questionnairesId=:id")
-                            .setInteger("id", questionnaireBo.getId())
-                            .executeUpdate();
-                        logger.info(
-                            "StudyDAOImpl - studyDraftCreation() Questionnarie manual schedule update - Ends");
-                      }
-                    } else {
-                      searchQuery =
-                          "From QuestionnairesFrequenciesBo QFBO where QFBO.questionnairesId=:id";
-                      List<QuestionnairesFrequenciesBo> questionnairesFrequenciesList =
-                          session
-                              .createQuery(searchQuery)
-                              .setInteger("id", questionnaireBo.getId())
-                              .list();
-                      if ((questionnairesFrequenciesList != null)
-                          && !questionnairesFrequenciesList.isEmpty()) {
-                        logger.info(
-                            "StudyDAOImpl - studyDraftCreation() Questionnarie except manual schedule other update - Starts");
-                        for (QuestionnairesFrequenciesBo questionnairesFrequenciesBo :
-                            questionnairesFrequenciesList) {
-                          QuestionnairesFrequenciesBo newQuestionnairesFrequenciesBo =
-                              SerializationUtils.clone(questionnairesFrequenciesBo);
-                          newQuestionnairesFrequenciesBo.setQuestionnairesId(
-                              newQuestionnaireBo.getId());
-                          newQuestionnairesFrequenciesBo.setId(null);
-                          session.save(newQuestionnairesFrequenciesBo);
-                        }
-                        logger.info(
-                            "StudyDAOImpl - studyDraftCreation() Questionnarie except manual schedule other update - Ends");
-                      }
-                    }
-                  }
+                  cloner.copy(
+                      QuestionnaireCustomScheduleBo.class,
+                      StudyVersionCloner.overrides(
+                          "questionnairesId",
+                          cloner.mapped("questionnaire", "src.questionnaires_id")),
+                      "src.questionnaires_id IN (SELECT q.id FROM questionnaires q"
+                          + " WHERE q.id IN (:changedQuestionnaireIds)"
+                          + " AND q.frequency = :manualSchedule)");
+                  // updating draft version of
+                  // schecule to Yes
+                  session
+                      .createSQLQuery(
+                          "update questionnaires_custom_frequencies qcf, questionnaires q"
+                              + " SET qcf.is_used='Y' where qcf.questionnaires_id=q.id"
+                              + " and q.id IN (:changedQuestionnaireIds) and q.frequency=:manualSchedule")
+                      .setParameterList("changedQuestionnaireIds", changedQuestionnaireIds)
+                      .setString(
+                          "manualSchedule",
+                          FdahpStudyDesignerConstants.FREQUENCY_TYPE_MANUALLY_SCHEDULE)
+                      .executeUpdate();
+                  cloner.copy(
+                      QuestionnairesFrequenciesBo.class,
+                      StudyVersionCloner.overrides(
+                          "questionnairesId",
+                          cloner.mapped("questionnaire", "src.questionnaires_id")),
+                      "src.questionnaires_id IN (SELECT q.id FROM questionnaires q"
+                          + " WHERE q.id IN (:changedQuestionnaireIds) AND q.frequency <> ''"
+                          + " AND q.frequency <> :manualSchedule)");
                   /** Schedule Purpose creating draft End * */
-                  /** Content purpose creating draft Start * */
-                  List<Integer> destinationList = new ArrayList<>();
-                  Map<Integer, Integer> destionationMapList = new HashMap<>();
-
-                  List<QuestionnairesStepsBo> existedQuestionnairesStepsBoList = null;
-                  List<QuestionnairesStepsBo> newQuestionnairesStepsBoList = new ArrayList<>();
-                  List<QuestionResponseSubTypeBo> existingQuestionResponseSubTypeList =
-                      new ArrayList<>();
-                  List<QuestionResponseSubTypeBo> newQuestionResponseSubTypeList =
-                      new ArrayList<>();
-
-                  List<QuestionReponseTypeBo> existingQuestionResponseTypeList = new ArrayList<>();
-                  List<QuestionReponseTypeBo> newQuestionResponseTypeList = new ArrayList<>();
-
-                  query =
-                      session
-                          .getNamedQuery("getQuestionnaireStepSequenceNo")
-                          .setInteger("questionnairesId", questionnaireBo.getId());
-                  existedQuestionnairesStepsBoList = query.list();
-                  if ((existedQuestionnairesStepsBoList != null)
-                      && !existedQuestionnairesStepsBoList.isEmpty()) {
-                    for (QuestionnairesStepsBo questionnairesStepsBo :
-                        existedQuestionnairesStepsBoList) {
-                      Integer destionStep = questionnairesStepsBo.getDestinationStep();
-                      if (destionStep.equals(0)) {
-                        destinationList.add(-1);
-                      } else {
-                        for (int i = 0; i < existedQuestionnairesStepsBoList.size(); i++) {
-                          if ((existedQuestionnairesStepsBoList.get(i).getStepId() != null)
-                              && destionStep.equals(
-                                  existedQuestionnairesStepsBoList.get(i).getStepId())) {
-                            destinationList.add(i);
-                            break;
-                          }
-                        }
-                      }
-                      destionationMapList.put(
-                          questionnairesStepsBo.getSequenceNo(), questionnairesStepsBo.getStepId());
-                    }
-                    for (QuestionnairesStepsBo questionnairesStepsBo :
-                        existedQuestionnairesStepsBoList) {
-                      if (StringUtils.isNotEmpty(questionnairesStepsBo.getStepType())) {
-                        QuestionnairesStepsBo newQuestionnairesStepsBo =
-                            SerializationUtils.clone(questionnairesStepsBo);
-                        newQuestionnairesStepsBo.setQuestionnairesId(newQuestionnaireBo.getId());
-                        newQuestionnairesStepsBo.setStepId(null);
-                        session.save(newQuestionnairesStepsBo);
-                        if (questionnairesStepsBo
-                            .getStepType()
-                            .equalsIgnoreCase(FdahpStudyDesignerConstants.INSTRUCTION_STEP)) {
-                          logger.info(
-                              "StudyDAOImpl - studyDraftCreation() Questionnarie instruction step - Starts");
-                          InstructionsBo instructionsBo =
-                              (InstructionsBo)
-                                  session
-                                      .getNamedQuery("getInstructionStep")
-                                      .setInteger(
-                                          "id", questionnairesStepsBo.getInstructionFormId())
-                                      .uniqueResult();
-                          if (instructionsBo != null) {
-                            InstructionsBo newInstructionsBo =
-                                SerializationUtils.clone(instructionsBo);
-                            newInstructionsBo.setId(null);
-                            session.save(newInstructionsBo);
-
-                            // updating new
-                            // InstructionId
-                            newQuestionnairesStepsBo.setInstructionFormId(
-                                newInstructionsBo.getId());
-                          }
-                          logger.info(
-                              "StudyDAOImpl - studyDraftCreation() Questionnarie instruction step - Ends");
-                        } else if (questionnairesStepsBo
-                            .getStepType()
-                            .equalsIgnoreCase(FdahpStudyDesignerConstants.QUESTION_STEP)) {
-                          logger.info(
-                              "StudyDAOImpl - studyDraftCreation() Questionnarie Qustion step - Starts");
-                          QuestionsBo questionsBo =
-                              (QuestionsBo)
-                                  session
-                                      .getNamedQuery("getQuestionStep")
-                                      .setInteger(
-                                          "stepId", questionnairesStepsBo.getInstructionFormId())
-                                      .uniqueResult();
-                          if (questionsBo != null) {
-                            // Question response
-                            // subType
-                            List<QuestionResponseSubTypeBo> questionResponseSubTypeList =
-                                session
-                                    .getNamedQuery("getQuestionSubResponse")
-                                    .setInteger("responseTypeId", questionsBo.getId())
-                                    .list();
-                            List<QuestionConditionBranchBo> questionConditionBranchList =
-                                session
-                                    .getNamedQuery("getQuestionConditionBranchList")
-                                    .setInteger("questionId", questionsBo.getId())
-                                    .list();
-
-                            // Question response
-                            // Type
-                            questionReponseTypeBo =
-                                (QuestionReponseTypeBo)
-                                    session
-                                        .getNamedQuery("getQuestionResponse")
-                                        .setInteger("questionsResponseTypeId", questionsBo.getId())
-                                        .setMaxResults(1)
-                                        .uniqueResult();
-
-                            QuestionsBo newQuestionsBo = SerializationUtils.clone(questionsBo);
-                            newQuestionsBo.setId(null);
-                            session.save(newQuestionsBo);
-
-                            // Question response
-                            // Type
-                            if (questionReponseTypeBo != null) {
-
-                              QuestionReponseTypeBo newQuestionReponseTypeBo =
-                                  SerializationUtils.clone(questionReponseTypeBo);
-                              newQuestionReponseTypeBo.setResponseTypeId(null);
-                              newQuestionReponseTypeBo.setQuestionsResponseTypeId(
-                                  newQuestionsBo.getId());
-                              newQuestionReponseTypeBo.setOtherDestinationStepId(null);
-                              session.save(newQuestionReponseTypeBo);
-
-                              if ((questionReponseTypeBo.getOtherType() != null)
-                                  && StringUtils.isNotEmpty(questionReponseTypeBo.getOtherType())
-                                  && questionReponseTypeBo.getOtherType().equals("on")) {
-                                existingQuestionResponseTypeList.add(questionReponseTypeBo);
-                                newQuestionResponseTypeList.add(newQuestionReponseTypeBo);
-                              }
-                            }
-
-                            // Question Condition
-                            // branching logic
-                            if ((questionConditionBranchList != null)
-                                && !questionConditionBranchList.isEmpty()) {
-                              for (QuestionConditionBranchBo questionConditionBranchBo :
-                                  questionConditionBranchList) {
-                                QuestionConditionBranchBo newQuestionConditionBranchBo =
-                                    SerializationUtils.clone(questionConditionBranchBo);
-                                newQuestionConditionBranchBo.setConditionId(null);
-                                newQuestionConditionBranchBo.setQuestionId(newQuestionsBo.getId());
-                                session.save(newQuestionConditionBranchBo);
-                              }
-                            }
-
-                            // Question response
-                            // subType
-                            if ((questionResponseSubTypeList != null)
-                                && !questionResponseSubTypeList.isEmpty()) {
-                              existingQuestionResponseSubTypeList.addAll(
-                                  questionResponseSubTypeList);
-
-                              for (QuestionResponseSubTypeBo questionResponseSubTypeBo :
-                                  questionResponseSubTypeList) {
-                                QuestionResponseSubTypeBo newQuestionResponseSubTypeBo =
-                                    SerializationUtils.clone(questionResponseSubTypeBo);
-                                newQuestionResponseSubTypeBo.setResponseSubTypeValueId(null);
-                                newQuestionResponseSubTypeBo.setResponseTypeId(
-                                    newQuestionsBo.getId());
-                                newQuestionResponseSubTypeBo.setDestinationStepId(null);
-                                session.save(newQuestionResponseSubTypeBo);
-                                newQuestionResponseSubTypeList.add(newQuestionResponseSubTypeBo);
-                              }
-                            }
-
-                            // updating new
-                            // InstructionId
-                            newQuestionnairesStepsBo.setInstructionFormId(newQuestionsBo.getId());
-                          }
-                          logger.info(
-                              "StudyDAOImpl - studyDraftCreation() Questionnarie Qustion step - Ends");
-                        } else if (questionnairesStepsBo
-                            .getStepType()
-                            .equalsIgnoreCase(FdahpStudyDesignerConstants.FORM_STEP)) {
-                          logger.info(
-                              "StudyDAOImpl - studyDraftCreation() Questionnarie Form step - Starts");
-                          FormBo formBo =
-                              (FormBo)
-                                  session
-                                      .getNamedQuery("getFormBoStep")
-                                      .setInteger(
-                                          "stepId", questionnairesStepsBo.getInstructionFormId())
-                                      .uniqueResult();
-                          if (formBo != null) {
-                            FormBo newFormBo = SerializationUtils.clone(formBo);
-                            newFormBo.setFormId(null);
-                            session.save(newFormBo);
-
-                            List<FormMappingBo> formMappingBoList =
-                                session
-                                    .getNamedQuery("getFormByFormId")
-                                    .setInteger("formId", formBo.getFormId())
-                                    .list();
-                            if ((formMappingBoList != null) && !formMappingBoList.isEmpty()) {
-                              for (FormMappingBo formMappingBo : formMappingBoList) {
-                                FormMappingBo newMappingBo =
-                                    SerializationUtils.clone(formMappingBo);
-                                newMappingBo.setFormId(newFormBo.getFormId());
-                                newMappingBo.setId(null);
-
-                                QuestionsBo questionsBo =
-                                    (QuestionsBo)
-                                        session
-                                            .getNamedQuery("getQuestionByFormId")
-                                            .setInteger("formId", formMappingBo.getQuestionId())
-                                            .uniqueResult();
-                                if (questionsBo != null) {
-                                  // Question
-                                  // response
-                                  // subType
-                                  List<QuestionResponseSubTypeBo> questionResponseSubTypeList =
-                                      session
-                                          .getNamedQuery("getQuestionSubResponse")
-                                          .setInteger("responseTypeId", questionsBo.getId())
-                                          .list();
-
-                                  // Question
-                                  // response
-                                  // Type
-                                  questionReponseTypeBo =
-                                      (QuestionReponseTypeBo)
-                                          session
-                                              .getNamedQuery("getQuestionResponse")
-                                              .setInteger(
-                                                  "questionsResponseTypeId", questionsBo.getId())
-                                              .setMaxResults(1)
-                                              .uniqueResult();
-
-                                  QuestionsBo newQuestionsBo =
-                                      SerializationUtils.clone(questionsBo);
-                                  newQuestionsBo.setId(null);
-                                  session.save(newQuestionsBo);
-
-                                  // Question
-                                  // response
-                                  // Type
-                                  if (questionReponseTypeBo != null) {
-                                    QuestionReponseTypeBo newQuestionReponseTypeBo =
-                                        SerializationUtils.clone(questionReponseTypeBo);
-                                    newQuestionReponseTypeBo.setResponseTypeId(null);
-                                    newQuestionReponseTypeBo.setQuestionsResponseTypeId(
-                                        newQuestionsBo.getId());
-                                    session.save(newQuestionReponseTypeBo);
-                                  }
-
-                                  // Question
-                                  // response
-                                  // subType
-                                  if ((questionResponseSubTypeList != null)
-                                      && !questionResponseSubTypeList.isEmpty()) {
-                                    for (QuestionResponseSubTypeBo questionResponseSubTypeBo :
-                                        questionResponseSubTypeList) {
-                                      QuestionResponseSubTypeBo newQuestionResponseSubTypeBo =
-                                          SerializationUtils.clone(questionResponseSubTypeBo);
-                                      newQuestionResponseSubTypeBo.setResponseSubTypeValueId(null);
-                                      newQuestionResponseSubTypeBo.setResponseTypeId(
-                                          newQuestionsBo.getId());
-                                      session.save(newQuestionResponseSubTypeBo);
-                                    }
-                                  }
-
-                                  // adding
-                                  // questionId
-                                  newMappingBo.setQuestionId(newQuestionsBo.getId());
-                                  session.save(newMappingBo);
-                                }
-                              }
-                            }
-                            // updating new formId
-                            newQuestionnairesStepsBo.setInstructionFormId(newFormBo.getFormId());
-                          }
-                          logger.info(
-                              "StudyDAOImpl - studyDraftCreation() Questionnarie Form step - Ends");
-                        }
-                        session.update(newQuestionnairesStepsBo);
-                        newQuestionnairesStepsBoList.add(newQuestionnairesStepsBo);
-                      }
-                    }
-                  }
-                  if ((destinationList != null) && !destinationList.isEmpty()) {
-                    for (int i = 0; i < destinationList.size(); i++) {
-                      int desId = 0;
-                      if (destinationList.get(i) != -1) {
-                        desId =
-                            newQuestionnairesStepsBoList.get(destinationList.get(i)).getStepId();
-                      }
-                      newQuestionnairesStepsBoList.get(i).setDestinationStep(desId);
-                      session.update(newQuestionnairesStepsBoList.get(i));
-                    }
-                  }
-                  List<Integer> sequenceSubTypeList = new ArrayList<>();
-                  List<Integer> destinationResList = new ArrayList<>();
-                  if ((existingQuestionResponseSubTypeList != null)
-                      && !existingQuestionResponseSubTypeList.isEmpty()) {
-                    for (QuestionResponseSubTypeBo questionResponseSubTypeBo :
-                        existingQuestionResponseSubTypeList) {
-                      if (questionResponseSubTypeBo.getDestinationStepId() == null) {
-                        sequenceSubTypeList.add(null);
-                      } else if ((questionResponseSubTypeBo.getDestinationStepId() != null)
-                          && questionResponseSubTypeBo.getDestinationStepId().equals(0)) {
-                        sequenceSubTypeList.add(-1);
-                      } else {
-                        if ((existedQuestionnairesStepsBoList != null)
-                            && !existedQuestionnairesStepsBoList.isEmpty()) {
-                          for (QuestionnairesStepsBo questionnairesStepsBo :
-                              existedQuestionnairesStepsBoList) {
-                            if ((questionResponseSubTypeBo.getDestinationStepId() != null)
-                                && questionResponseSubTypeBo
-                                    .getDestinationStepId()
-                                    .equals(questionnairesStepsBo.getStepId())) {
-                              sequenceSubTypeList.add(questionnairesStepsBo.getSequenceNo());
-                              break;
-                            }
-                          }
-                        }
-                      }
-                    }
-                  }
-                  if ((sequenceSubTypeList != null) && !sequenceSubTypeList.isEmpty()) {
-                    for (int i = 0; i < sequenceSubTypeList.size(); i++) {
-                      Integer desId = null;
-                      if (sequenceSubTypeList.get(i) == null) {
-                        desId = null;
-                      } else if (sequenceSubTypeList.get(i).equals(-1)) {
-                        desId = 0;
-                      } else {
-                        for (QuestionnairesStepsBo questionnairesStepsBo :
-                            newQuestionnairesStepsBoList) {
-                          if (sequenceSubTypeList
-                              .get(i)
-                              .equals(questionnairesStepsBo.getSequenceNo())) {
-                            desId = questionnairesStepsBo.getStepId();
-                            break;
-                          }
-                        }
-                      }
-                      destinationResList.add(desId);
-                    }
-                    for (int i = 0; i < destinationResList.size(); i++) {
-                      newQuestionResponseSubTypeList
-                          .get(i)
-                          .setDestinationStepId(destinationResList.get(i));
-                      session.update(newQuestionResponseSubTypeList.get(i));
-                    }
-                  }
 
-                  // for other type , update the destination in questionresponsetype table
-                  /** start * */
-                  List<Integer> sequenceTypeList = new ArrayList<>();
-                  List<Integer> destinationResTypeList = new ArrayList<>();
-                  if ((existingQuestionResponseTypeList != null)
-                      && !existingQuestionResponseTypeList.isEmpty()) {
-                    for (QuestionReponseTypeBo questionResponseTypeBo :
-                        existingQuestionResponseTypeList) {
-                      if (questionResponseTypeBo.getOtherDestinationStepId() == null) {
-                        sequenceTypeList.add(null);
-                      } else if ((questionResponseTypeBo.getOtherDestinationStepId() != null)
-                          && questionResponseTypeBo.getOtherDestinationStepId().equals(0)) {
-                        sequenceTypeList.add(-1);
-                      } else {
-                        if ((existedQuestionnairesStepsBoList != null)
-                            && !existedQuestionnairesStepsBoList.isEmpty()) {
-                          for (QuestionnairesStepsBo questionnairesStepsBo :
-                              existedQuestionnairesStepsBoList) {
-                            if ((questionResponseTypeBo.getOtherDestinationStepId() != null)
-                                && questionResponseTypeBo
-                                    .getOtherDestinationStepId()
-                                    .equals(questionnairesStepsBo.getStepId())) {
-                              sequenceTypeList.add(questionnairesStepsBo.getSequenceNo());
-                              break;
-                            }
-                          }
-                        }
-                      }
-                    }
-                  }
-                  if ((sequenceTypeList != null) && !sequenceTypeList.isEmpty()) {
-                    for (int i = 0; i < sequenceTypeList.size(); i++) {
-                      Integer desId = null;
-                      if (sequenceTypeList.get(i) == null) {
-                        desId = null;
-                      } else if (sequenceTypeList.get(i).equals(-1)) {
-                        desId = 0;
-                      } else {
-                        for (QuestionnairesStepsBo questionnairesStepsBo :
-                            newQuestionnairesStepsBoList) {
-                          if (sequenceTypeList
-                              .get(i)
-                              .equals(questionnairesStepsBo.getSequenceNo())) {
-                            desId = questionnairesStepsBo.getStepId();
-                            break;
-                          }
-                        }
-                      }
-                      destinationResTypeList.add(desId);
-                    }
-                    for (int i = 0; i < destinationResTypeList.size(); i++) {
-                      newQuestionResponseTypeList
-                          .get(i)
-                          .setOtherDestinationStepId(destinationResTypeList.get(i));
-                      session.update(newQuestionResponseTypeList.get(i));
-                    }
-                  }
-                  /** * end ** */
-                  studyActivityVersionBo.setActivityVersion(newQuestionnaireBo.getVersion());
+                  /** Content purpose creating draft Start * */
+                  this.cloneQuestionnaireSteps(session, cloner);
                   /** Content purpose creating draft End * */
-                } else {
-                  studyActivityVersionBo.setActivityVersion(questionnaireBo.getVersion());
+                  logger.info("StudyDAOImpl - studyDraftCreation() Questionnarie creation- Ends");
                 }
-                session.save(studyActivityVersionBo);
-                logger.info("StudyDAOImpl - studyDraftCreation() Questionnarie creation- Ends");
+
+                // creating in study Activity version
+                session
+                    .createSQLQuery(
+                        "INSERT INTO study_activity_version (custom_study_id, study_version,"
+                            + " activity_type, short_title, activity_version)"
+                            + " SELECT :customStudyId, :studyVersion, 'Q', q.short_title, q.version"
+                            + " FROM questionnaires q WHERE q.id IN (:questionnaireIds)"
+                            + " ORDER BY q.id")
+                    .setString("customStudyId", studyBo.getCustomStudyId())
+                    .setFloat("studyVersion", newstudyVersionBo.getStudyVersion())
+                    .setParameterList("questionnaireIds", questionnaireIds)
+                    .executeUpdate();
+              }
+            } // In Questionnarie change or not
+
+            // which are already in live those are deleted in draft to
+            // making update those questionnarie to archived and make it
+            // inactive(status=0)
+
+            StringBuilder subString = new StringBuilder();
+            subString.append("select CONCAT('");
+            subString.append("',shortTitle,'");
+            subString.append(
+                "') from QuestionnaireBo where active=0 and studyId=:id and shortTitle is NOT NULL");
+            query = session.createQuery(subString.toString());
+            query.setInteger("id", studyBo.getId());
+            objectList = query.list();
+
+            if (objectList != null && !objectList.isEmpty()) {
+              try {
+                String currentDateTime = FdahpStudyDesignerUtil.getCurrentDateTime();
+                String subQuery =
+                    "update questionnaires SET is_live=2,modified_date=:currentTime, "
+                        + " active=0 where short_title IN(:objectList) and is_live=1 and custom_study_id=:custStudyId";
+                query = session.createSQLQuery(subQuery);
+                query.setParameter("currentTime", currentDateTime);
+                query.setParameterList("objectList", objectList);
+                query.setParameter("custStudyId", studyBo.getCustomStudyId());
+                query.executeUpdate();
+              } catch (Exception e) {
+                logger.error("StudyDAOImpl - studyDraftCreation() - ERROR ", e);
               }
-              // Executing draft version to 0
-            } // If Questionarries updated flag -1 then update End
-          } // In Questionnarie change or not
-
-          // which are already in live those are deleted in draft to
-          // making update those questionnarie to archived and make it
-          // inactive(status=0)
-
-          StringBuilder subString = new StringBuilder();
-          subString.append("select CONCAT('");
-          subString.append("',shortTitle,'");
-          subString.append(
-              "') from QuestionnaireBo where active=0 and studyId=:id and shortTitle is NOT NULL");
-          query = session.createQuery(subString.toString());
-          query.setInteger("id", studyBo.getId());
-          objectList = query.list();
-
-          if (objectList != null && !objectList.isEmpty()) {
-            try {
-              String currentDateTime = FdahpStudyDesignerUtil.getCurrentDateTime();
-              String subQuery =
-                  "update questionnaires SET is_live=2,modified_date=:currentTime, "
-                      + " active=0 where short_title IN(:objectList) and is_live=1 and custom_study_id=:custStudyId";
-              query = session.createSQLQuery(subQuery);
-              query.setParameter("currentTime", currentDateTime);
-              query.setParameterList("objectList", objectList);
-              query.setParameter("custStudyId", studyBo.getCustomStudyId());
-              query.executeUpdate();
-            } catch (Exception e) {
-              e.printStackTrace();
             }
-          }
 
-          // In ActiveTask change or not Start
-          // is there any change doing clone of active task
-          if ((studyVersionBo == null)
-              || ((studyBo.getHasActivetaskDraft() != null)
-                  && studyBo.getHasActivetaskDraft().equals(1))) {
-            // update all ActiveTasks to archive (live as 2)
-            query =
-                session
-                    .getNamedQuery("updateStudyActiveTaskVersion")
-                    .setString(
-                        FdahpStudyDesignerConstants.CUSTOM_STUDY_ID, studyBo.getCustomStudyId());
-            query.executeUpdate();
+            // In ActiveTask change or not Start
+            // is there any change doing clone of active task
+            if ((studyVersionBo == null)
+                || ((studyBo.getHasActivetaskDraft() != null)
+                    && studyBo.getHasActivetaskDraft().equals(1))) {
+              // update all ActiveTasks to archive (live as 2)
+              query =
+                  session
+                      .getNamedQuery("updateStudyActiveTaskVersion")
+                      .setString(
+                          FdahpStudyDesignerConstants.CUSTOM_STUDY_ID, studyBo.getCustomStudyId());
+              query.executeUpdate();
 
-            // ActiveTasks
-            query =
-                session
-                    .getNamedQuery("ActiveTaskBo.getActiveTasksByByStudyId")
-                    .setInteger(FdahpStudyDesignerConstants.STUDY_ID, studyBo.getId());
-            activeTasks = query.list();
-            if ((activeTasks != null) && !activeTasks.isEmpty()) {
-              for (ActiveTaskBo activeTaskBo : activeTasks) {
-                Float activeTaskversion = activeTaskBo.getVersion();
-                ActiveTaskBo newActiveTaskBo = SerializationUtils.clone(activeTaskBo);
-                newActiveTaskBo.setId(null);
-                newActiveTaskBo.setStudyId(studyDreaftBo.getId());
-                if (studyVersionBo == null) {
-                  newActiveTaskBo.setVersion(1.0f);
-                  activeTaskBo.setVersion(1.0f);
-                } else if ((activeTaskBo.getIsChange() != null)
-                    && activeTaskBo.getIsChange().equals(1)) {
-                  if (activeTaskversion.equals(0f)) {
-                    activeTaskBo.setVersion(1.0f);
-                    newActiveTaskBo.setVersion(1.0f);
-                  } else {
-                    newActiveTaskBo.setVersion(activeTaskBo.getVersion() + 0.1f);
-                    activeTaskBo.setVersion(activeTaskBo.getVersion() + 0.1f);
+              // ActiveTasks
+              query =
+                  session
+                      .getNamedQuery("ActiveTaskBo.getActiveTasksByByStudyId")
+                      .setInteger(FdahpStudyDesignerConstants.STUDY_ID, studyBo.getId());
+              activeTasks = query.list();
+              if ((activeTasks != null) && !activeTasks.isEmpty()) {
+                List<Integer> activeTaskIds = new ArrayList<>();
+                Map<Integer, Float> activeTaskVersions = new HashMap<>();
+                for (ActiveTaskBo activeTaskBo : activeTasks) {
+                  activeTaskIds.add(activeTaskBo.getId());
+                  if ((studyVersionBo == null)
+                      || ((activeTaskBo.getIsChange() != null)
+                          && activeTaskBo.getIsChange().equals(1))) {
+                    activeTaskVersions.put(
+                        activeTaskBo.getId(),
+                        this.getNextActivityVersion(
+                            studyVersionBo == null, activeTaskBo.getVersion()));
                   }
-                } else {
-                  newActiveTaskBo.setVersion(activeTaskBo.getVersion());
-                  activeTaskBo.setVersion(activeTaskBo.getVersion());
                 }
-                newActiveTaskBo.setLive(1);
-                newActiveTaskBo.setCustomStudyId(studyBo.getCustomStudyId());
-                session.save(newActiveTaskBo);
+                cloner.bind("activeTaskIds", activeTaskIds);
+                cloner.map("activeTask", ActiveTaskBo.class, "src.id IN (:activeTaskIds)");
+                Map<Integer, Integer> newActiveTaskIds =
+                    cloner.copyMapped(
+                        "activeTask",
+                        ActiveTaskBo.class,
+                        StudyVersionCloner.overrides(
+                            "studyId", ":newStudyId",
+                            "live", "1",
+                            "customStudyId", ":customStudyId"));
+                this.updateActivityVersions(
+                    session, "active_task", activeTaskVersions, newActiveTaskIds);
 
                 /** Schedule Purpose creating draft Start * */
-                if (StringUtils.isNotEmpty(activeTaskBo.getFrequency())) {
-                  if (activeTaskBo
-                      .getFrequency()
-                      .equalsIgnoreCase(
-                          FdahpStudyDesignerConstants.FREQUENCY_TYPE_MANUALLY_SCHEDULE)) {
-                    searchQuery =
-                        "From ActiveTaskCustomScheduleBo QCSBO where QCSBO.activeTaskId=:id";
-                    List<ActiveTaskCustomScheduleBo> activeTaskCustomScheduleList =
-                        session
-                            .createQuery(searchQuery)
-                            .setInteger("id", activeTaskBo.getId())
-                            .list();
-                    if ((activeTaskCustomScheduleList != null)
-                        && !activeTaskCustomScheduleList.isEmpty()) {
-                      for (ActiveTaskCustomScheduleBo customScheduleBo :
-                          activeTaskCustomScheduleList) {
-                        ActiveTaskCustomScheduleBo newCustomScheduleBo =
-                            SerializationUtils.clone(customScheduleBo);
-                        newCustomScheduleBo.setActiveTaskId(newActiveTaskBo.getId());
-                        newCustomScheduleBo.setId(null);
-                        session.save(newCustomScheduleBo);
-                        session.update(customScheduleBo);
-                      }
-                      // updating draft version of
-                      // schedule to Yes
-                      session
-                          .createQuery(
-                              "UPDATE ActiveTaskCustomScheduleBo set used=true where activeTaskId=:id")
-                          .setInteger("id", activeTaskBo.getId())
-                          .executeUpdate();
-                    }
-                  } else {
-                    searchQuery = "From ActiveTaskFrequencyBo QFBO where QFBO.activeTaskId=:id";
-                    List<ActiveTaskFrequencyBo> activeTaskFrequenciesList =
-                        session
-                            .createQuery(searchQuery)
-                            .setInteger("id", activeTaskBo.getId())
-                            .list();
-                    if ((activeTaskFrequenciesList != null)
-                        && !activeTaskFrequenciesList.isEmpty()) {
-                      for (ActiveTaskFrequencyBo activeTaskFrequenciesBo :
-                          activeTaskFrequenciesList) {
-                        ActiveTaskFrequencyBo newFrequenciesBo =
-                            SerializationUtils.clone(activeTaskFrequenciesBo);
-                        newFrequenciesBo.setActiveTaskId(newActiveTaskBo.getId());
-                        newFrequenciesBo.setId(null);
-                        session.save(newFrequenciesBo);
-                      }
-                    }
-                  }
-                }
+                cloner.copy(
+                    ActiveTaskCustomScheduleBo.class,
+                    StudyVersionCloner.overrides(
+                        "activeTaskId", cloner.mapped("activeTask", "src.active_task_id")),
+                    "src.active_task_id IN (SELECT a.id FROM active_task a"
+                        + " WHERE a.id IN (:activeTaskIds) AND a.frequency = :manualSchedule)");
+                // updating draft version of
+                // schedule to Yes
+                session
+                    .createSQLQuery(
+                        "update active_task_custom_frequencies acf, active_task a"
+                            + " SET acf.is_used='Y' where acf.active_task_id=a.id"
+                            + " and a.id IN (:activeTaskIds) and a.frequency=:manualSchedule")
+                    .setParameterList("activeTaskIds", activeTaskIds)
+                    .setString(
+                        "manualSchedule",
+                        FdahpStudyDesignerConstants.FREQUENCY_TYPE_MANUALLY_SCHEDULE)
+                    .executeUpdate();
+                cloner.copy(
+                    ActiveTaskFrequencyBo.class,
+                    StudyVersionCloner.overrides(
+                        "activeTaskId", cloner.mapped("activeTask", "src.active_task_id")),
+                    "src.active_task_id IN (SELECT a.id FROM active_task a"
+                        + " WHERE a.id IN (:activeTaskIds) AND a.frequency <> ''"
+                        + " AND a.frequency <> :manualSchedule)");
                 /** Schedule Purpose creating draft End * */
 
                 /** Content Purpose creating draft Start * */
-                query =
-                    session
-                        .getNamedQuery("getAttributeListByActiveTAskId")
-                        .setInteger("activeTaskId", activeTaskBo.getId());
-                List<ActiveTaskAtrributeValuesBo> activeTaskAtrributeValuesBoList = query.list();
-                if ((activeTaskAtrributeValuesBoList != null)
-                    && !activeTaskAtrributeValuesBoList.isEmpty()) {
-                  for (ActiveTaskAtrributeValuesBo activeTaskAtrributeValuesBo :
-                      activeTaskAtrributeValuesBoList) {
-                    ActiveTaskAtrributeValuesBo newActiveTaskAtrributeValuesBo =
-                        SerializationUtils.clone(activeTaskAtrributeValuesBo);
-                    newActiveTaskAtrributeValuesBo.setActiveTaskId(newActiveTaskBo.getId());
-                    newActiveTaskAtrributeValuesBo.setAttributeValueId(null);
-                    session.save(newActiveTaskAtrributeValuesBo);
-                  }
-                }
+                cloner.copy(
+                    ActiveTaskAtrributeValuesBo.class,
+                    StudyVersionCloner.overrides(
+                        "activeTaskId", cloner.mapped("activeTask", "src.active_task_id")),
+                    "src.active_task_id IN (:activeTaskIds) AND src.active = 1");
                 /** Content Purpose creating draft End * */
-              }
-              // Executing draft version to 0
-              session
-                  .createQuery("UPDATE ActiveTaskBo set live=0, isChange = 0 where studyId=:id")
-                  .setInteger("id", studyBo.getId())
-                  .executeUpdate();
-            } // Active TAsk End
-          } // In ActiveTask change or not
-          // Activities End
 
-          // If Consent updated flag -1 then update
-          query = session.createQuery("from ConsentBo CBO where CBO.studyId=:id");
-          query.setInteger("id", studyBo.getId());
-          ConsentBo consentBo = (ConsentBo) query.uniqueResult();
-
-          if ((studyVersionBo == null) || studyBo.getHasConsentDraft().equals(1)) {
-            // update all consentBo to archive (live as 2)
-            query =
+                // Executing draft version to 0
                 session
-                    .getNamedQuery("updateStudyConsentVersion")
-                    .setString(
-                        FdahpStudyDesignerConstants.CUSTOM_STUDY_ID, studyBo.getCustomStudyId());
-            query.executeUpdate();
+                    .createQuery("UPDATE ActiveTaskBo set live=0, isChange = 0 where studyId=:id")
+                    .setInteger("id", studyBo.getId())
+                    .executeUpdate();
+              } // Active TAsk End
+            } // In ActiveTask change or not
+            // Activities End
 
-            // update all consentInfoBo to archive (live as 2)
-            query =
-                session
-                    .getNamedQuery("updateStudyConsentInfoVersion")
-                    .setString(
-                        FdahpStudyDesignerConstants.CUSTOM_STUDY_ID, studyBo.getCustomStudyId());
-            query.executeUpdate();
+            // If Consent updated flag -1 then update
+            query = session.createQuery("from ConsentBo CBO where CBO.studyId=:id");
+            query.setInteger("id", studyBo.getId());
+            ConsentBo consentBo = (ConsentBo) query.uniqueResult();
 
-            Map<String, String> values = new HashMap<>();
+            if ((studyVersionBo == null) || studyBo.getHasConsentDraft().equals(1)) {
+              // update all consentBo to archive (live as 2)
+              query =
+                  session
+                      .getNamedQuery("updateStudyConsentVersion")
+                      .setString(
+                          FdahpStudyDesignerConstants.CUSTOM_STUDY_ID, studyBo.getCustomStudyId());
+              query.executeUpdate();
 
-            // If Consent updated flag -1 then update
-            if (consentBo != null) {
-              ConsentBo newConsentBo = SerializationUtils.clone(consentBo);
-              newConsentBo.setId(null);
-              newConsentBo.setStudyId(studyDreaftBo.getId());
-              newConsentBo.setVersion(newstudyVersionBo.getConsentVersion());
-              newConsentBo.setLive(1);
-              newConsentBo.setCustomStudyId(studyBo.getCustomStudyId());
-              session.save(newConsentBo);
-              values.put("consent_document_version", String.valueOf(newConsentBo.getVersion()));
-              auditLogEventHelper.logEvent(
-                  STUDY_CONSENT_DOCUMENT_NEW_VERSION_PUBLISHED, auditRequest, values);
-            }
-            query =
-                session
-                    .getNamedQuery("getConsentInfoByStudyId")
-                    .setInteger(FdahpStudyDesignerConstants.STUDY_ID, studyBo.getId());
-            List<ConsentInfoBo> consentInfoBoList = query.list();
-            if ((consentInfoBoList != null) && !consentInfoBoList.isEmpty()) {
-              for (ConsentInfoBo consentInfoBo : consentInfoBoList) {
-                ConsentInfoBo newConsentInfoBo = SerializationUtils.clone(consentInfoBo);
-                newConsentInfoBo.setId(null);
-                newConsentInfoBo.setStudyId(studyDreaftBo.getId());
-                newConsentInfoBo.setVersion(newstudyVersionBo.getConsentVersion());
-                newConsentInfoBo.setCustomStudyId(studyBo.getCustomStudyId());
-                newConsentInfoBo.setLive(1);
-                session.save(newConsentInfoBo);
-                values.put("consent_version", String.valueOf(newConsentInfoBo.getVersion()));
+              // update all consentInfoBo to archive (live as 2)
+              query =
+                  session
+                      .getNamedQuery("updateStudyConsentInfoVersion")
+                      .setString(
+                          FdahpStudyDesignerConstants.CUSTOM_STUDY_ID, studyBo.getCustomStudyId());
+              query.executeUpdate();
+
+              Map<String, String> values = new HashMap<>();
+              cloner.bind("consentVersion", newstudyVersionBo.getConsentVersion());
+
+              // If Consent updated flag -1 then update
+              if (consentBo != null) {
+                cloner.bind("consentId", consentBo.getId());
+                cloner.copy(
+                    ConsentBo.class,
+                    StudyVersionCloner.overrides(
+                        "studyId", ":newStudyId",
+                        "version", ":consentVersion",
+                        "live", "1",
+                        "customStudyId", ":customStudyId"),
+                    "src.id = :consentId");
+                values.put(
+                    "consent_document_version",
+                    String.valueOf(newstudyVersionBo.getConsentVersion()));
+                auditLogEventHelper.logEvent(
+                    STUDY_CONSENT_DOCUMENT_NEW_VERSION_PUBLISHED, auditRequest, values);
+              }
+              int consentInfoCount =
+                  cloner.copy(
+                      ConsentInfoBo.class,
+                      StudyVersionCloner.overrides(
+                          "studyId", ":newStudyId",
+                          "version", ":consentVersion",
+                          "customStudyId", ":customStudyId",
+                          "live", "1"),
+                      "src.study_id = :oldStudyId AND src.active = 1");
+              for (int i = 0; i < consentInfoCount; i++) {
+                values.put(
+                    "consent_version", String.valueOf(newstudyVersionBo.getConsentVersion()));
                 auditLogEventHelper.logEvent(
                     STUDY_CONSENT_CONTENT_NEW_VERSION_PUBLISHED, auditRequest, values);
               }
             }
-          }
 
-          if (consentBo != null) {
-            // Comprehension test Start
-            if (StringUtils.isNotEmpty(consentBo.getNeedComprehensionTest())
-                && consentBo
-                    .getNeedComprehensionTest()
-                    .equalsIgnoreCase(FdahpStudyDesignerConstants.YES)) {
-              List<ComprehensionTestQuestionBo> comprehensionTestQuestionList = null;
-              List<Integer> comprehensionIds = new ArrayList<>();
-              List<ComprehensionTestResponseBo> comprehensionTestResponseList = null;
-              query =
-                  session.createQuery(
-                      "From ComprehensionTestQuestionBo CTQBO where CTQBO.studyId=:id and CTQBO.active=1 order by CTQBO.sequenceNo asc");
-              query.setInteger("id", studyBo.getId());
-              comprehensionTestQuestionList = query.list();
-              if ((comprehensionTestQuestionList != null)
-                  && !comprehensionTestQuestionList.isEmpty()) {
-                for (ComprehensionTestQuestionBo comprehensionTestQuestionBo :
-                    comprehensionTestQuestionList) {
-                  comprehensionIds.add(comprehensionTestQuestionBo.getId());
-                }
-                comprehensionTestResponseList =
-                    session
-                        .createQuery(
-                            "From ComprehensionTestResponseBo CTRBO "
-                                + "where CTRBO.comprehensionTestQuestionId IN (:comprehensionIds) order by comprehensionTestQuestionId")
-                        .setParameterList("comprehensionIds", comprehensionIds)
-                        .list();
-                for (ComprehensionTestQuestionBo comprehensionTestQuestionBo :
-                    comprehensionTestQuestionList) {
-                  ComprehensionTestQuestionBo newComprehensionTestQuestionBo =
-                      SerializationUtils.clone(comprehensionTestQuestionBo);
-                  newComprehensionTestQuestionBo.setStudyId(studyDreaftBo.getId());
-                  newComprehensionTestQuestionBo.setId(null);
-                  session.save(newComprehensionTestQuestionBo);
-                  if ((comprehensionTestResponseList != null)
-                      && !comprehensionTestResponseList.isEmpty()) {
-                    for (ComprehensionTestResponseBo comprehensionTestResponseBo :
-                        comprehensionTestResponseList) {
-                      if (comprehensionTestQuestionBo.getId().intValue()
-                          == comprehensionTestResponseBo
-                              .getComprehensionTestQuestionId()
-                              .intValue()) {
-                        ComprehensionTestResponseBo newComprehensionTestResponseBo =
-                            SerializationUtils.clone(comprehensionTestResponseBo);
-                        newComprehensionTestResponseBo.setId(null);
-                        newComprehensionTestResponseBo.setComprehensionTestQuestionId(
-                            newComprehensionTestQuestionBo.getId());
-                        session.save(newComprehensionTestResponseBo);
-                      }
-                    }
-                  }
+            if (consentBo != null) {
+              // Comprehension test Start
+              if (StringUtils.isNotEmpty(consentBo.getNeedComprehensionTest())
+                  && consentBo
+                      .getNeedComprehensionTest()
+                      .equalsIgnoreCase(FdahpStudyDesignerConstants.YES)) {
+                if (cloner.map(
+                        "comprehensionQuestion",
+                        ComprehensionTestQuestionBo.class,
+                        "src.study_id = :oldStudyId AND src.active = 1")
+                    > 0) {
+                  cloner.copyMapped(
+                      "comprehensionQuestion",
+                      ComprehensionTestQuestionBo.class,
+                      StudyVersionCloner.overrides("studyId", ":newStudyId"));
+                  cloner.copy(
+                      ComprehensionTestResponseBo.class,
+                      StudyVersionCloner.overrides(
+                          "comprehensionTestQuestionId",
+                          cloner.mapped(
+                              "comprehensionQuestion", "src.comprehension_test_question_id")),
+                      "src.comprehension_test_question_id IN "
+                          + cloner.oldIds("comprehensionQuestion"));
                 }
               }
+              // Comprehension test End
             }
-            // Comprehension test End
+          } finally {
+            cloner.release();
           }
 
           // updating the edited study to draft
@@ -5806,19 +5288,210 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - studyDraftCreation() - ERROR ", e);
-      e.printStackTrace();
     }
     logger.info("StudyDAOImpl - studyDraftCreation() - Ends");
 
     return message;
   }
 
+  /**
+   * Copies the steps of the changed questionnaires with their instructions, questions, forms,
+   * response types, sub types and branching conditions, pointing the destinations of the copied
+   * steps and responses at the copied steps.
+   */
+  @SuppressWarnings("unchecked")
+  void cloneQuestionnaireSteps(Session session, StudyVersionCloner cloner) {
+    if (cloner.map(
+            "step",
+            QuestionnairesStepsBo.class,
+            "src.questionnaires_id IN (:changedQuestionnaireIds) AND src.active = 1"
+                + " AND src.step_type <> ''")
+        == 0) {
+      return;
+    }
+    cloner.map(
+        "instruction",
+        InstructionsBo.class,
+        "src.active = 1 AND src.id IN (SELECT s.instruction_form_id FROM questionnaires_steps s"
+            + " WHERE s.step_type = :instructionStep AND s.step_id IN "
+            + cloner.oldIds("step")
+            + ")");
+    cloner.map(
+        "stepQuestion",
+        QuestionsBo.class,
+        "src.active = 1 AND src.id IN (SELECT s.instruction_form_id FROM questionnaires_steps s"
+            + " WHERE s.step_type = :questionStep AND s.step_id IN "
+            + cloner.oldIds("step")
+            + ")");
+    cloner.map(
+        "form",
+        FormBo.class,
+        "src.active = 1 AND src.form_id IN (SELECT s.instruction_form_id"
+            + " FROM questionnaires_steps s WHERE s.step_type = :formStep AND s.step_id IN "
+            + cloner.oldIds("step")
+            + ")");
+    cloner.map(
+        "formQuestion",
+        QuestionsBo.class,
+        "src.active = 1 AND src.id IN (SELECT fm.question_id FROM form_mapping fm"
+            + " WHERE fm.form_id IN "
+            + cloner.oldIds("form")
+            + ")");
+
+    cloner.copyMapped("instruction", InstructionsBo.class, StudyVersionCloner.overrides());
+    Map<Integer, Integer> stepQuestionIds =
+        cloner.copyMapped("stepQuestion", QuestionsBo.class, StudyVersionCloner.overrides());
+    Map<Integer, Integer> formQuestionIds =
+        cloner.copyMapped("formQuestion", QuestionsBo.class, StudyVersionCloner.overrides());
+    cloner.copyMapped("form", FormBo.class, StudyVersionCloner.overrides());
+    cloner.copyMapped(
+        "step",
+        QuestionnairesStepsBo.class,
+        StudyVersionCloner.overrides(
+            "questionnairesId",
+            cloner.mapped("questionnaire", "src.questionnaires_id"),
+            "instructionFormId",
+            "CASE src.step_type"
+                + " WHEN :instructionStep THEN COALESCE("
+                + cloner.mapped("instruction", "src.instruction_form_id")
+                + ", src.instruction_form_id)"
+                + " WHEN :questionStep THEN COALESCE("
+                + cloner.mapped("stepQuestion", "src.instruction_form_id")
+                + ", src.instruction_form_id)"
+                + " WHEN :formStep THEN COALESCE("
+                + cloner.mapped("form", "src.instruction_form_id")
+                + ", src.instruction_form_id)"
+                + " ELSE src.instruction_form_id END"));
+    // steps branch to later steps, which have no new id until all steps are copied
+    cloner.remap(
+        "step",
+        QuestionnairesStepsBo.class,
+        StudyVersionCloner.overrides(
+            "destinationStep",
+            "CASE WHEN dst.destination_step = 0 THEN 0 ELSE COALESCE("
+                + cloner.mapped("step", "dst.destination_step")
+                + ", 0) END"));
+
+    List<Integer> questionIds = new ArrayList<>(stepQuestionIds.keySet());
+    questionIds.addAll(formQuestionIds.keySet());
+    if (questionIds.isEmpty()) {
+      return;
+    }
+    // only the latest response type of a question is carried over
+    List<Integer> responseTypeIds = new ArrayList<>();
+    List<Number> latestResponseTypeIds =
+        session
+            .createSQLQuery(
+                "SELECT MAX(response_type_id) FROM response_type_value"
+                    + " WHERE questions_response_type_id IN (:questionIds)"
+                    + " GROUP BY questions_response_type_id")
+            .setParameterList("questionIds", questionIds)
+            .list();
+    for (Number responseTypeId : latestResponseTypeIds) {
+      responseTypeIds.add(responseTypeId.intValue());
+    }
+    cloner.bind("responseTypeIds", responseTypeIds);
+
+    if (!stepQuestionIds.isEmpty()) {
+      if (!responseTypeIds.isEmpty()) {
+        cloner.copy(
+            QuestionReponseTypeBo.class,
+            StudyVersionCloner.overrides(
+                "questionsResponseTypeId",
+                cloner.mapped("stepQuestion", "src.questions_response_type_id"),
+                "otherDestinationStepId",
+                "CASE WHEN src.other_type = 'on' THEN CASE WHEN src.other_destination_step_id = 0"
+                    + " THEN 0 ELSE "
+                    + cloner.mapped("step", "src.other_destination_step_id")
+                    + " END ELSE NULL END"),
+            "src.response_type_id IN (:responseTypeIds) AND src.questions_response_type_id IN "
+                + cloner.oldIds("stepQuestion"));
+      }
+      cloner.copy(
+          QuestionResponseSubTypeBo.class,
+          StudyVersionCloner.overrides(
+              "responseTypeId",
+              cloner.mapped("stepQuestion", "src.response_type_id"),
+              "destinationStepId",
+              "CASE WHEN src.destination_step_id = 0 THEN 0 ELSE "
+                  + cloner.mapped("step", "src.destination_step_id")
+                  + " END"),
+          "src.active = 1 AND src.response_type_id IN " + cloner.oldIds("stepQuestion"));
+      cloner.copy(
+          QuestionConditionBranchBo.class,
+          StudyVersionCloner.overrides(
+              "questionId", cloner.mapped("stepQuestion", "src.question_id")),
+          "src.question_id IN " + cloner.oldIds("stepQuestion"));
+    }
+
+    if (!formQuestionIds.isEmpty()) {
+      if (!responseTypeIds.isEmpty()) {
+        cloner.copy(
+            QuestionReponseTypeBo.class,
+            StudyVersionCloner.overrides(
+                "questionsResponseTypeId",
+                cloner.mapped("formQuestion", "src.questions_response_type_id")),
+            "src.response_type_id IN (:responseTypeIds) AND src.questions_response_type_id IN "
+                + cloner.oldIds("formQuestion"));
+      }
+      cloner.copy(
+          QuestionResponseSubTypeBo.class,
+          StudyVersionCloner.overrides(
+              "responseTypeId", cloner.mapped("formQuestion", "src.response_type_id")),
+          "src.active = 1 AND src.response_type_id IN " + cloner.oldIds("formQuestion"));
+      cloner.copy(
+          FormMappingBo.class,
+          StudyVersionCloner.overrides(
+              "formId",
+              cloner.mapped("form", "src.form_id"),
+              "questionId",
+              cloner.mapped("formQuestion", "src.question_id")),
+          "src.form_id IN "
+              + cloner.oldIds("form")
+              + " AND src.question_id IN "
+              + cloner.oldIds("formQuestion"));
+    }
+  }
+
+  private Float getNextActivityVersion(boolean firstVersion, Float version) {
+    if (firstVersion || (version == null) || version.equals(0f)) {
+      return 1.0f;
+    }
+    return version + 0.1f;
+  }
+
+  /** Sets the new version on each changed activity and on its copy. */
+  private void updateActivityVersions(
+      Session session, String table, Map<Integer, Float> versions, Map<Integer, Integer> newIds) {
+    Map<Float, List<Integer>> idsByVersion = new HashMap<>();
+    for (Map.Entry<Integer, Float> version : versions.entrySet()) {
+      List<Integer> ids = idsByVersion.get(version.getValue());
+      if (ids == null) {
+        ids = new ArrayList<>();
+        idsByVersion.put(version.getValue(), ids);
+      }
+      ids.add(version.getKey());
+      if (newIds.containsKey(version.getKey())) {
+        ids.add(newIds.get(version.getKey()));
+      }
+    }
+    for (Map.Entry<Float, List<Integer>> entry : idsByVersion.entrySet()) {
+      session
+          .createSQLQuery("UPDATE " + table + " SET version=:version WHERE id IN (:ids)")
+          .setFloat("version", entry.getKey())
+          .setParameterList("ids", entry.getValue())
+          .executeUpdate();
+    }
+  }
+
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional
   public String updateStudyActionOnAction(String studyId, String buttonText, SessionObject sesObj) {
     logger.info("StudyDAOImpl - updateStudyActionOnAction() - Starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
     Session session = null;
+    Query query = null;
     StudyBo studyBo = null;
     List<Integer> objectList = null;
     String activitydetails = "";
@@ -5829,8 +5502,7 @@ public class StudyDAOImpl implements StudyDAO {
     StudyBuilderAuditEvent auditLogEvent = null;
     try {
       AuditLogEventRequest auditRequest = AuditEventMapper.fromHttpServletRequest(request);
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (StringUtils.isNotEmpty(studyId) && StringUtils.isNotEmpty(buttonText)) {
         studyBo =
             (StudyBo)
@@ -6105,15 +5777,11 @@ public class StudyDAOImpl implements StudyDAO {
         }
         auditLogEventHelper.logEvent(auditLogEvent, auditRequest);
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
       message = FdahpStudyDesignerConstants.FAILURE;
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - updateStudyActionOnAction() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - updateStudyActionOnAction() - Ends");
     return message;
@@ -6121,9 +5789,11 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public String validateActivityComplete(String studyId, String action) {
     logger.info("StudyDAOImpl - validateActivityComplete() - Starts");
     Session session = null;
+    Query query = null;
     boolean questionnarieFlag = true;
     boolean activeTaskEmpty = false;
     boolean questionnarieEmpty = false;
@@ -6133,7 +5803,7 @@ public class StudyDAOImpl implements StudyDAO {
     StudySequenceBo studySequence = null;
     String message = FdahpStudyDesignerConstants.SUCCESS;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (StringUtils.isNotEmpty(action)) {
         // For checking active task or questionnaire done or not
         query =
@@ -6194,17 +5864,15 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - validateActivityComplete() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - validateActivityComplete() - Ends");
     return message;
   }
 
   @SuppressWarnings("unchecked")
+  @Transactional(readOnly = true)
   public String validateDateForStudyAction(StudyBo studyBo, String buttonText) {
+    Query query = null;
     boolean resourceFlag = true;
     boolean resourceAnchorFlag = true;
     boolean activitiesFalg = true;
@@ -6226,7 +5894,7 @@ public class StudyDAOImpl implements StudyDAO {
           Arrays.asList(
               FdahpStudyDesignerConstants.FREQUENCY_TYPE_ONE_TIME,
               FdahpStudyDesignerConstants.FREQUENCY_TYPE_MANUALLY_SCHEDULE);
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
 
       if (!buttonText.equalsIgnoreCase(FdahpStudyDesignerConstants.ACTION_UPDATES)) {
         // getting based on custom start date resource list
@@ -6468,10 +6136,6 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - updateStudyActionOnAction() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
 
     return message;
@@ -6479,14 +6143,16 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public String validateEligibilityTestKey(
       Integer eligibilityTestId, String shortTitle, Integer eligibilityId) {
     logger.info("StudyDAOImpl - getStudyVersionInfo() - Starts");
     Session session = null;
+    Query query = null;
     List<EligibilityTestBo> eligibilityTestBos;
     String result = FdahpStudyDesignerConstants.FAILURE;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query =
           session
               .getNamedQuery("EligibilityTestBo.validateShortTitle")
@@ -6505,6 +6171,7 @@ public class StudyDAOImpl implements StudyDAO {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public String validateStudyAction(String studyId, String buttonText) {
     logger.info("StudyDAOImpl - validateStudyAction() - Ends");
     String message = FdahpStudyDesignerConstants.SUCCESS;
@@ -6514,7 +6181,7 @@ public class StudyDAOImpl implements StudyDAO {
     StudySequenceBo studySequenceBo = null;
     StudyBo studyBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (StringUtils.isNotEmpty(buttonText) && StringUtils.isNotEmpty(studyId)) {
 
         studyBo =
@@ -6599,10 +6266,6 @@ public class StudyDAOImpl implements StudyDAO {
 
     } catch (Exception e) {
       logger.error("StudyDAOImpl - validateStudyAction() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - validateStudyAction() - Ends");
     return message;
@@ -6610,13 +6273,14 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public boolean validateStudyId(String customStudyId) {
     logger.info("StudyDAOImpl - validateStudyId() - Starts");
     boolean flag = false;
     Session session = null;
     List<StudyBo> studyBos = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       studyBos =
           session
               .getNamedQuery("StudyBo.getStudyBycustomStudyId")
@@ -6627,10 +6291,6 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - validateStudyId() - ERROR", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - validateStudyId() - Starts");
     return flag;
@@ -6638,12 +6298,13 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<EligibilityTestBo> viewEligibilityTestQusAnsByEligibilityId(Integer eligibilityId) {
     logger.info("StudyDAOImpl - viewEligibilityTestQusAnsByEligibilityId - Starts");
     Session session = null;
     List<EligibilityTestBo> eligibilityTestList = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       eligibilityTestList =
           session
               .getNamedQuery("EligibilityTestBo.findByEligibilityId")
@@ -6651,22 +6312,19 @@ public class StudyDAOImpl implements StudyDAO {
               .list();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - viewEligibilityTestQusAnsByEligibilityId - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - viewEligibilityTestQusAnsByEligibilityId - Ends");
     return eligibilityTestList;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public EligibilityTestBo viewEligibilityTestQusAnsById(Integer eligibilityTestId) {
     logger.info("StudyDAOImpl - viewEligibilityTestQusAnsById - Starts");
     Session session = null;
     EligibilityTestBo eligibilityTest = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       eligibilityTest =
           (EligibilityTestBo)
               session
@@ -6675,23 +6333,20 @@ public class StudyDAOImpl implements StudyDAO {
                   .uniqueResult();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - viewEligibilityTestQusAnsById - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - viewEligibilityTestQusAnsById - Ends");
     return eligibilityTest;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Boolean isAnchorDateExistForEnrollment(Integer studyId, String customStudyId) {
     logger.info("StudyDAOImpl - isAnchorDateExistForEnrollment - Starts");
     Session session = null;
     Boolean isExist = false;
     String searchQuery = "";
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       // checking in the questionnaire step anchor date is selected or not
       searchQuery =
           "select count(*) from questionnaires qr"
@@ -6752,13 +6407,14 @@ public class StudyDAOImpl implements StudyDAO {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Boolean isAnchorDateExistForEnrollmentDraftStudy(Integer studyId, String customStudyId) {
     logger.info("StudyDAOImpl - isAnchorDateExistForEnrollmentDraftStudy - Starts");
     Session session = null;
     Boolean isExist = false;
     String searchQuery = "";
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       // checking in the questionnaire step anchor date is selected or not
       searchQuery =
           "select count(*) from questionnaires qr"
@@ -6824,7 +6480,7 @@ public class StudyDAOImpl implements StudyDAO {
   @SuppressWarnings("unchecked")
   @Override
   public String updateAnchordateForEnrollmentDate(
-      StudyBo oldStudy, StudyBo updatedStudy, Session session, Transaction transaction) {
+      StudyBo oldStudy, StudyBo updatedStudy, Session session) {
     logger.info("StudyDAOImpl - isAnchorDateExistForEnrollmentDraftStudy - Starts");
     Boolean isAnchorUsed = false;
     String searchQuery = "";
@@ -6903,7 +6559,7 @@ public class StudyDAOImpl implements StudyDAO {
 
                 auditLogDAO.updateDraftToEditedStatus(
                     session,
-                    transaction,
+                    null,
                     updatedStudy.getModifiedBy(),
                     FdahpStudyDesignerConstants.DRAFT_QUESTIONNAIRE,
                     oldStudy.getId());
@@ -6921,7 +6577,7 @@ public class StudyDAOImpl implements StudyDAO {
 
                 auditLogDAO.updateDraftToEditedStatus(
                     session,
-                    transaction,
+                    null,
                     updatedStudy.getModifiedBy(),
                     FdahpStudyDesignerConstants.DRAFT_ACTIVETASK,
                     oldStudy.getId());
@@ -6939,7 +6595,7 @@ public class StudyDAOImpl implements StudyDAO {
 
                 auditLogDAO.updateDraftToEditedStatus(
                     session,
-                    transaction,
+                    null,
                     updatedStudy.getModifiedBy(),
                     FdahpStudyDesignerConstants.DRAFT_STUDY,
                     oldStudy.getId());
@@ -6951,7 +6607,7 @@ public class StudyDAOImpl implements StudyDAO {
         }
       }
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - isAnchorDateExistForEnrollmentDraftStudy - ERROR ", e);
     }
     logger.info("StudyDAOImpl - isAnchorDateExistForEnrollmentDraftStudy - Ends");
@@ -6960,6 +6616,7 @@ public class StudyDAOImpl implements StudyDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public boolean validateAppId(String customStudyId, String appId, String studyType) {
     logger.info("StudyDAOImpl - validateAppId() - Starts");
     boolean flag = false;
@@ -6967,7 +6624,7 @@ public class StudyDAOImpl implements StudyDAO {
     List<StudyBo> studyBos = null;
     String searchQuery = "";
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (!studyType.isEmpty() && !appId.isEmpty()) {
         if (studyType.equalsIgnoreCase(FdahpStudyDesignerConstants.STUDY_TYPE_GT)) {
           if (StringUtils.isNotEmpty(customStudyId)) {
@@ -7011,16 +6668,13 @@ public class StudyDAOImpl implements StudyDAO {
       }
     } catch (Exception e) {
       logger.error("StudyDAOImpl - validateAppId() - ERROR", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - validateAppId() - Ends");
     return flag;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public StudyPermissionBO getStudyPermissionBO(int studyId, int userId) {
     logger.info("StudyDAOImpl - getStudyPermissionBO() - Starts");
     Session session = null;
@@ -7028,7 +6682,7 @@ public class StudyDAOImpl implements StudyDAO {
     String searchQuery = "";
     Query query = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       searchQuery = "From StudyPermissionBO WHERE studyId=:studyId and userId=:userId ";
       query = session.createQuery(searchQuery);
       query.setInteger("studyId", studyId);
@@ -7036,16 +6690,13 @@ public class StudyDAOImpl implements StudyDAO {
       studyPermissionBO = (StudyPermissionBO) query.uniqueResult();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getStudyPermissionBO() - ERROR", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getStudyPermissionBO() - Ends");
     return studyPermissionBO;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public StudyBo getStudyByLatestVersion(String customStudyId) {
     logger.info("StudyDAOImpl - getStudyByLatestVersion() - Starts");
     Session session = null;
@@ -7053,7 +6704,7 @@ public class StudyDAOImpl implements StudyDAO {
     String searchQuery = "";
     Query query = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       searchQuery = "From StudyBo s WHERE s.customStudyId=:customStudyId ORDER BY s.version DESC";
       query =
           session
@@ -7063,16 +6714,13 @@ public class StudyDAOImpl implements StudyDAO {
       studyBo = (StudyBo) query.uniqueResult();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getStudyByLatestVersion() - ERROR", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getStudyByLatestVersion() - Ends");
     return studyBo;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public String getStudyCategory(Integer id) {
     logger.info("StudyDAOImpl - getStudyCategory() - Starts");
     Session session = null;
@@ -7080,23 +6728,20 @@ public class StudyDAOImpl implements StudyDAO {
     Query query = null;
     String studyCatagory = "";
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       searchQuery = " SELECT r.value From ReferenceTablesBo r WHERE r.id=:id ";
       query = session.createQuery(searchQuery);
       query.setInteger("id", id);
       studyCatagory = (String) query.uniqueResult();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getStudyCategory() - ERROR", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getStudyCategory() - Ends");
     return studyCatagory;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Integer getEligibilityType(Integer studyId) {
     logger.info("StudyDAOImpl - getEligibilityType() - Starts");
     Session session = null;
@@ -7104,37 +6749,30 @@ public class StudyDAOImpl implements StudyDAO {
     Query query = null;
     Integer eligibilityType = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       searchQuery = "SELECT e.eligibilityMechanism From EligibilityBo e WHERE e.studyId=:studyId";
       query = session.createQuery(searchQuery);
       query.setInteger("studyId", studyId);
       eligibilityType = (Integer) query.uniqueResult();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getEligibilityType() - ERROR", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getEligibilityType() - Ends");
     return eligibilityType;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public StudyBo getStudy(Integer id) {
     logger.info("StudyDAOImpl - getStudy() - Starts");
     Session session = null;
     StudyBo study = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       Query query = session.getNamedQuery("getStudy").setInteger("id", id);
       study = (StudyBo) query.uniqueResult();
     } catch (Exception e) {
       logger.error("StudyDAOImpl - getStudy() - ERROR", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyDAOImpl - getStudy() - Ends");
     return study;
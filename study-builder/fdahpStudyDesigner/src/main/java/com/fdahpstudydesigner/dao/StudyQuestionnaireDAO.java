@@ -37,7 +37,6 @@ import com.fdahpstudydesigner.util.SessionObject;
 import java.util.List;
 import java.util.SortedMap;
 import org.hibernate.Session;
-import org.hibernate.Transaction;
 
 public interface StudyQuestionnaireDAO {
 
@@ -116,9 +115,14 @@ public interface StudyQuestionnaireDAO {
 
   public String reOrderFormStepQuestions(Integer formId, int oldOrderNumber, int newOrderNumber);
 
+  public String reOrderFormStepQuestions(Integer formId, List<Integer> orderedSequenceNos);
+
   public String reOrderQuestionnaireSteps(
       Integer questionnaireId, int oldOrderNumber, int newOrderNumber);
 
+  public String reOrderQuestionnaireSteps(
+      Integer questionnaireId, List<Integer> orderedSequenceNos);
+
   public QuestionnairesStepsBo saveOrUpdateFromQuestionnaireStep(
       QuestionnairesStepsBo questionnairesStepsBo, SessionObject sesObj, String customStudyId);
 
@@ -150,7 +154,6 @@ public interface StudyQuestionnaireDAO {
 
   public String updateAnchordateInQuestionnaire(
       Session session,
-      Transaction transaction,
       StudyVersionBo studyVersionBo,
       Integer questionnaireId,
       SessionObject sessionObject,
@@ -64,6 +64,8 @@ import org.hibernate.Transaction;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.orm.hibernate3.HibernateTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 @Repository
 public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
@@ -78,14 +80,9 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
   HibernateTemplate hibernateTemplate;
 
-  private Query query = null;
-
-  String queryString = "";
-
-  private Transaction transaction = null;
-
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public String checkFromQuestionShortTitle(
       Integer questionnaireId,
       String shortTitle,
@@ -94,9 +91,10 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
     logger.info("StudyQuestionnaireDAOImpl - checkQuestionnaireStepShortTitle() - starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
     Session session = null;
+    Query query = null;
     List<QuestionnairesStepsBo> questionnairesStepsBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if ((questionnaireShortTitle != null) && !questionnaireShortTitle.isEmpty()) {
         query =
             session
@@ -158,23 +156,20 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - checkQuestionnaireStepShortTitle() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - checkQuestionnaireStepShortTitle() - Ends");
     return message;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public String checkQuestionnaireResponseTypeValidation(Integer studyId, String customStudyId) {
     logger.info("StudyQuestionnaireDAOImpl - checkQuestionnaireResponseTypeValidation() - starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
     Session session = null;
     BigInteger questionCount = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       // checking of all the question step of questionnaire
       String searchQuery =
           "select count(*) from questions QBO,questionnaires_steps QSBO,questionnaires Q where QBO.id=QSBO.instruction_form_id"
@@ -205,10 +200,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
     } catch (Exception e) {
       logger.error(
           "StudyQuestionnaireDAOImpl - checkQuestionnaireResponseTypeValidation() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - checkQuestionnaireResponseTypeValidation() - Ends");
     return message;
@@ -216,15 +207,18 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public String checkQuestionnaireShortTitle(
       Integer studyId, String shortTitle, String customStudyId) {
     logger.info("StudyQuestionnaireDAOImpl - checkQuestionnaireShortTitle() - Starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
     Session session = null;
+    Query query = null;
+    String queryString = "";
     List<QuestionnaireBo> questionnaireBo = null;
     List<ActiveTaskBo> taskBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if ((customStudyId != null) && !customStudyId.isEmpty()) {
         // checking in the live version questionnaire
         query =
@@ -278,10 +272,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       }
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - checkQuestionnaireShortTitle() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - checkQuestionnaireShortTitle() - Ends");
     return message;
@@ -289,6 +279,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public String checkQuestionnaireStepShortTitle(
       Integer questionnaireId,
       String stepType,
@@ -298,9 +289,10 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
     logger.info("StudyQuestionnaireDAOImpl - checkQuestionnaireStepShortTitle() - Starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
     Session session = null;
+    Query query = null;
     List<QuestionnairesStepsBo> questionnairesStepsBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if ((questionnaireShortTitle != null) && !questionnaireShortTitle.isEmpty()) {
         query =
             session.createQuery(
@@ -361,10 +353,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       }
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - checkQuestionnaireStepShortTitle() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - checkQuestionnaireStepShortTitle() - Ends");
     return message;
@@ -372,13 +360,15 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public String checkStatShortTitle(Integer studyId, String shortTitle, String customStudyId) {
     logger.info("StudyQuestionnaireDAOImpl - checkQuestionnaireStepShortTitle() - starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
     Session session = null;
+    Query query = null;
     List<QuestionsBo> questionsBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       // checking with custom study in live version and draft version
       if ((customStudyId != null) && !customStudyId.isEmpty()) {
         // checking in the question step stastic data
@@ -475,10 +465,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - checkStatShortTitle() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - checkStatShortTitle() - Ends");
     return message;
@@ -486,17 +472,18 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional
   public QuestionnaireBo copyStudyQuestionnaireBo(
       Integer questionnaireId, String customStudyId, SessionObject sessionObject) {
     logger.info("StudyQuestionnaireDAOImpl - copyStudyQuestionnaireBo() - Starts");
     QuestionnaireBo questionnaireBo = null;
     QuestionnaireBo newQuestionnaireBo = null;
     Session session = null;
+    Query query = null;
     QuestionReponseTypeBo questionReponseTypeBo = null;
     try {
       // Questionarries
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query = session.createQuery(" From QuestionnaireBo QBO WHERE QBO.id=:questionnaireId ");
       questionnaireBo =
           (QuestionnaireBo) query.setInteger("questionnaireId", questionnaireId).uniqueResult();
@@ -955,24 +942,22 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
         }
         /** * end ** */
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyDAOImpl - resetDraftStudyByCustomStudyId() - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - copyStudyQuestionnaireBo() - Ends");
     return newQuestionnaireBo;
   }
 
   @Override
+  @Transactional
   public String deleteFromStepQuestion(
       Integer formId, Integer questionId, SessionObject sessionObject, String customStudyId) {
     String message = FdahpStudyDesignerConstants.FAILURE;
     Session session = null;
+    Query query = null;
     logger.info("StudyQuestionnaireDAOImpl - deleteFromStepQuestion() - Starts");
     FormMappingBo formMappingBo = null;
     StudyVersionBo studyVersionBo = null;
@@ -981,8 +966,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       AuditLogEventRequest auditRequest = AuditEventMapper.fromHttpServletRequest(request);
       auditRequest.setStudyId(customStudyId);
 
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
 
       query =
           session
@@ -1018,7 +1002,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
           message =
               updateAnchordateInQuestionnaire(
                   session,
-                  transaction,
                   studyVersionBo,
                   null,
                   sessionObject,
@@ -1083,14 +1066,10 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       values.put(STEP_ID, formId.toString());
       auditLogEventHelper.logEvent(STUDY_QUESTION_STEP_DELETED, auditRequest, values);
 
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyQuestionnaireDAOImpl - deleteFromStepQuestion() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - deleteFromStepQuestion() - Ends");
     return message;
@@ -1098,6 +1077,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional
   public String deleteQuestionnaireStep(
       Integer stepId,
       Integer questionnaireId,
@@ -1107,6 +1087,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
     logger.info("StudyQuestionnaireDAOImpl - deleteQuestionnaireStep() - Starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
     Session session = null;
+    Query query = null;
     QuestionnairesStepsBo questionnairesStepsBo = null;
     List<QuestionnairesStepsBo> questionnaireStepList = null;
     StudyVersionBo studyVersionBo = null;
@@ -1116,8 +1097,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
     try {
       AuditLogEventRequest auditRequest = AuditEventMapper.fromHttpServletRequest(request);
       auditRequest.setStudyId(customStudyId);
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
 
       query =
           session
@@ -1139,7 +1119,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
           message =
               updateAnchordateInQuestionnaire(
                   session,
-                  transaction,
                   studyVersionBo,
                   questionnaireId,
                   sessionObject,
@@ -1208,13 +1187,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
         // doing the hard delete before study launch
         message =
             deleteQuestionnaireStep(
-                stepId,
-                questionnaireId,
-                stepType,
-                customStudyId,
-                sessionObject,
-                session,
-                transaction);
+                stepId, questionnaireId, stepType, customStudyId, sessionObject, session);
       }
       // Reset destination steps in Questionnaire Starts
       searchQuery =
@@ -1271,14 +1244,10 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       // Reset destination steps in Questionnaire Ends
 
       auditLogEventHelper.logEvent(eventEnum, auditRequest, values);
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyQuestionnaireDAOImpl - deleteQuestionnaireStep() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - deleteQuestionnaireStep() - Ends");
     return message;
@@ -1290,8 +1259,8 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       String stepType,
       String customStudyId,
       SessionObject sessionObject,
-      Session session,
-      Transaction transaction) {
+      Session session) {
+    Query query = null;
     String message = FdahpStudyDesignerConstants.FAILURE;
     logger.info("StudyQuestionnaireDAOImpl - deleteQuestionnaireStep(session,transction) - starts");
     String searchQuery = null;
@@ -1390,7 +1359,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
         message = FdahpStudyDesignerConstants.SUCCESS;
       }
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error(
           "StudyQuestionnaireDAOImpl - deleteQuestionnaireStep(session,transction) - ERROR ", e);
     }
@@ -1399,15 +1368,17 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
   }
 
   @Override
+  @Transactional
   public String deleteQuestuionnaireInfo(
       Integer studyId, Integer questionnaireId, SessionObject sessionObject, String customStudyId) {
     logger.info("StudyQuestionnaireDAOImpl - deleteQuestuionnaireInfo() - Starts");
     Session session = null;
+    Query query = null;
+    String queryString = "";
     String message = FdahpStudyDesignerConstants.FAILURE;
     StudyVersionBo studyVersionBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
 
       query =
           session
@@ -1421,7 +1392,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       message =
           updateAnchordateInQuestionnaire(
               session,
-              transaction,
               studyVersionBo,
               questionnaireId,
               sessionObject,
@@ -1449,8 +1419,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
         message = FdahpStudyDesignerConstants.SUCCESS;
       } else {
         // doing the hard delete before study launch
-        message =
-            deleteQuestuionnaireInfo(studyId, questionnaireId, customStudyId, session, transaction);
+        message = deleteQuestuionnaireInfo(studyId, questionnaireId, customStudyId, session);
       }
 
       queryString =
@@ -1460,25 +1429,18 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
           .createQuery(queryString)
           .setInteger("questionnaireId", questionnaireId)
           .executeUpdate();
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyQuestionnaireDAOImpl - deleteQuestuionnaireInfo() - Error", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - deleteQuestuionnaireInfo() - Ends");
     return message;
   }
 
   public String deleteQuestuionnaireInfo(
-      Integer studyId,
-      Integer questionnaireId,
-      String customStudyId,
-      Session session,
-      Transaction transaction) {
+      Integer studyId, Integer questionnaireId, String customStudyId, Session session) {
+    Query query = null;
     logger.info(
         "StudyQuestionnaireDAOImpl - deleteQuestuionnaireInfo(session,transction) - starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
@@ -1618,7 +1580,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       }
 
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error(
           "StudyQuestionnaireDAOImpl - deleteQuestuionnaireInfo(session,transction) - ERROR ", e);
     }
@@ -1628,26 +1590,25 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<HealthKitKeysInfo> getHeanlthKitKeyInfoList() {
     logger.info("StudyQuestionnaireDAOImpl - getQuestionReponseTypeList() - Starts");
     Session session = null;
+    Query query = null;
     List<HealthKitKeysInfo> healthKitKeysInfoList = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query = session.getNamedQuery("getHealthKitKeyInfo");
       healthKitKeysInfoList = query.list();
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - getQuestionReponseTypeList() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - getQuestionReponseTypeList() - Ends");
     return healthKitKeysInfoList;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public InstructionsBo getInstructionsBo(
       Integer instructionId,
       String questionnaireShortTitle,
@@ -1655,10 +1616,11 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       Integer questionnaireId) {
     logger.info("StudyQuestionnaireDAOImpl - getInstructionsBo - Starts");
     Session session = null;
+    Query query = null;
     InstructionsBo instructionsBo = null;
     QuestionnairesStepsBo questionnairesStepsBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       instructionsBo = (InstructionsBo) session.get(InstructionsBo.class, instructionId);
       if (instructionsBo != null) {
         if (questionnaireId != null) {
@@ -1708,10 +1670,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       }
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - getInstructionsBo() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - getInstructionsBo - Ends");
     return instructionsBo;
@@ -1721,6 +1679,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
   @SuppressWarnings({"unchecked"})
   public List<QuestionConditionBranchBo> getQuestionConditionalBranchingLogic(
       Session session, Integer questionId) {
+    Query query = null;
     logger.info("StudyQuestionnaireDAOImpl - getQuestionConditionalBranchingLogic() - Starts");
     List<QuestionConditionBranchBo> questionConditionBranchList = null;
     List<QuestionConditionBranchBo> newQuestionConditionBranchList = null;
@@ -1776,13 +1735,15 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public QuestionnaireBo getQuestionnaireById(Integer questionnaireId, String customStudyId) {
     logger.info("StudyQuestionnaireDAOImpl - getQuestionnaireById() - Starts");
     Session session = null;
+    Query query = null;
     QuestionnaireBo questionnaireBo = null;
 
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       questionnaireBo = (QuestionnaireBo) session.get(QuestionnaireBo.class, questionnaireId);
       if (null != questionnaireBo) {
         if (StringUtils.isNotEmpty(customStudyId)) {
@@ -1872,10 +1833,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - getQuestionnaireById() - Error", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - getQuestionnaireById() - Ends");
     return questionnaireBo;
@@ -1883,13 +1840,15 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<QuestionnairesStepsBo> getQuestionnairesStepsList(
       Integer questionnaireId, Integer sequenceNo) {
     logger.info("StudyQuestionnaireDAOImpl - getQuestionnaireStepList() - Starts");
     Session session = null;
+    Query query = null;
     List<QuestionnairesStepsBo> questionnairesStepsList = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query =
           session
               .getNamedQuery("getForwardQuestionnaireSteps")
@@ -1898,16 +1857,13 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       questionnairesStepsList = query.list();
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - deleteFromStepQuestion() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     return questionnairesStepsList;
   }
 
   @SuppressWarnings({"rawtypes", "unchecked"})
   @Override
+  @Transactional(readOnly = true)
   public QuestionnairesStepsBo getQuestionnaireStep(
       Integer stepId,
       String stepType,
@@ -1916,9 +1872,10 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       Integer questionnaireId) {
     logger.info("StudyQuestionnaireDAOImpl - getQuestionnaireStep() - Starts");
     Session session = null;
+    Query query = null;
     QuestionnairesStepsBo questionnairesStepsBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (questionnaireId != null) {
         query =
             session
@@ -2167,10 +2124,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       }
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - getQuestionnaireStep() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - getQuestionnaireStep() - Ends");
     return questionnairesStepsBo;
@@ -2178,16 +2131,18 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public SortedMap<Integer, QuestionnaireStepBean> getQuestionnaireStepList(
       Integer questionnaireId) {
     logger.info("StudyQuestionnaireDAOImpl - getQuestionnaireStepList() - Ends");
     Session session = null;
+    Query query = null;
     List<QuestionnairesStepsBo> questionnairesStepsList = null;
     Map<String, Integer> sequenceNoMap = new HashMap<>();
     SortedMap<Integer, QuestionnaireStepBean> qTreeMap = new TreeMap<>();
     Map<Integer, String> destinationText = new HashMap<>();
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query =
           session
               .getNamedQuery("getQuestionnaireStepList")
@@ -2366,10 +2321,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       }
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - getQuestionnaireStepList() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - getQuestionnaireStepList() - Ends");
     return qTreeMap;
@@ -2377,20 +2328,18 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<QuestionResponseTypeMasterInfoBo> getQuestionReponseTypeList() {
     logger.info("StudyQuestionnaireDAOImpl - getQuestionReponseTypeList() - Starts");
     Session session = null;
+    Query query = null;
     List<QuestionResponseTypeMasterInfoBo> questionResponseTypeMasterInfoBos = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       query = session.getNamedQuery("getResponseTypes");
       questionResponseTypeMasterInfoBos = query.list();
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - getQuestionReponseTypeList() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - getQuestionReponseTypeList() - Ends");
     return questionResponseTypeMasterInfoBos;
@@ -2398,13 +2347,15 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public QuestionsBo getQuestionsById(
       Integer questionId, String questionnaireShortTitle, String customStudyId) {
     logger.info("StudyQuestionnaireDAOImpl - getQuestionsById() - Starts");
     Session session = null;
+    Query query = null;
     QuestionsBo questionsBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       questionsBo = (QuestionsBo) session.get(QuestionsBo.class, questionId);
       if (questionsBo != null) {
         try {
@@ -2573,10 +2524,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       }
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - getQuestionsById() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - getQuestionsById() - Ends");
     return questionsBo;
@@ -2865,13 +2812,15 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<QuestionnaireBo> getStudyQuestionnairesByStudyId(String studyId, Boolean isLive) {
     logger.info("StudyQuestionnaireDAOImpl - getStudyQuestionnairesByStudyId() - Starts");
     Session session = null;
+    Query query = null;
     List<QuestionnaireBo> questionnaires = null;
     String searchQuery = "";
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (StringUtils.isNotEmpty(studyId)) {
         if (isLive) {
           searchQuery =
@@ -2888,22 +2837,19 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       }
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - getStudyQuestionnairesByStudyId() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - getStudyQuestionnairesByStudyId() - Ends");
     return questionnaires;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Boolean isAnchorDateExistsForStudy(Integer studyId, String customStudyId) {
     logger.info("StudyQuestionnaireDAOImpl - isAnchorDateExistsForStudy() - starts");
     boolean isExists = false;
     Session session = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if ((customStudyId != null) && StringUtils.isNotEmpty(customStudyId)) {
         // checking in the question step anchor date is selected or not
         String searchQuery =
@@ -2975,22 +2921,19 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       }
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - isAnchorDateExistsForStudy() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - isAnchorDateExistsForStudy() - Ends");
     return isExists;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Boolean isQuestionnairesCompleted(Integer studyId) {
     logger.info("StudyQuestionnaireDAOImpl - isAnchorDateExistsForStudy() - starts");
     boolean isExists = true;
     Session session = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       String searchQuery =
           "select sum(q.status = 0) as no from questionnaires_steps q where q.questionnaires_id in (select id from questionnaires where study_id=:studyId "
               + " and active=1) and q.active=1";
@@ -3002,25 +2945,22 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       }
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - isAnchorDateExistsForStudy() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - isAnchorDateExistsForStudy() - Ends");
     return isExists;
   }
 
   @Override
+  @Transactional
   public String reOrderFormStepQuestions(Integer formId, int oldOrderNumber, int newOrderNumber) {
     logger.info("StudyQuestionnaireDAOImpl - reOrderFormStepQuestions() - Starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
     Session session = null;
+    Query query = null;
     int count = 0;
     FormMappingBo formMappingBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       String updateQuery = "";
       query =
           session
@@ -3075,14 +3015,10 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
           }
         }
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyQuestionnaireDAOImpl - reOrderFormStepQuestions() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - reOrderFormStepQuestions() - Ends");
     return message;
@@ -3090,17 +3026,52 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional
+  public String reOrderFormStepQuestions(Integer formId, List<Integer> orderedSequenceNos) {
+    logger.info(
+        "StudyQuestionnaireDAOImpl - reOrderFormStepQuestions(orderedSequenceNos) - Starts");
+    String message = FdahpStudyDesignerConstants.FAILURE;
+    Session session = null;
+    try {
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
+      List<Object[]> currentRows =
+          session
+              .createQuery(
+                  "select FMBO.id, FMBO.sequenceNo From FormMappingBo FMBO where FMBO.formId=:formId "
+                      + " and FMBO.active=1")
+              .setInteger("formId", formId)
+              .list();
+      List<Integer> orderedIds = SequenceReorder.orderedIds(currentRows, orderedSequenceNos);
+      if (orderedIds != null) {
+        new SequenceReorder("form_mapping", "id")
+            .set("sequence_no", SequenceReorder.moves(currentRows, orderedIds))
+            .execute(session);
+        message = FdahpStudyDesignerConstants.SUCCESS;
+      }
+      session.flush();
+    } catch (Exception e) {
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+      logger.error(
+          "StudyQuestionnaireDAOImpl - reOrderFormStepQuestions(orderedSequenceNos) - ERROR ", e);
+    }
+    logger.info("StudyQuestionnaireDAOImpl - reOrderFormStepQuestions(orderedSequenceNos) - Ends");
+    return message;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  @Transactional
   public String reOrderQuestionnaireSteps(
       Integer questionnaireId, int oldOrderNumber, int newOrderNumber) {
     logger.info("StudyQuestionnaireDAOImpl - reOrderQuestionnaireSteps() - Starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
     Session session = null;
+    Query query = null;
     int count = 0;
     QuestionnairesStepsBo questionnairesStepsBo = null;
     List<QuestionnairesStepsBo> questionnaireStepList = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       String updateQuery = "";
       query =
           session
@@ -3190,55 +3161,108 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
               session.update(questionnaireStepList.get(i));
             }
           }
-          String questionResponseQuery =
-              "update response_sub_type_value rs,questionnaires_steps q set rs.destination_step_id = NULL "
-                  + "where rs.response_type_id=q.instruction_form_id and q.step_type=:type"
-                  + " and q.questionnaires_id=:questionnaireId "
-                  + " and rs.active=1 and q.active=1";
-          query =
-              session
-                  .createSQLQuery(questionResponseQuery)
-                  .setParameter("type", FdahpStudyDesignerConstants.QUESTION_STEP)
-                  .setInteger("questionnaireId", questionnaireId);
-          query.executeUpdate();
-
-          String questionConditionResponseQuery =
-              "update questions qs,questionnaires_steps q,response_type_value rs  set qs.status = 0 where"
-                  + " rs.questions_response_type_id=q.instruction_form_id and q.step_type=:type"
-                  + " and q.questionnaires_id=:questionnaireId "
-                  + " and qs.id=q.instruction_form_id and qs.active=1 and rs.active=1 and q.active=1 and rs.formula_based_logic='Yes'";
-
-          query =
-              session
-                  .createSQLQuery(questionConditionResponseQuery)
-                  .setParameter("type", FdahpStudyDesignerConstants.QUESTION_STEP)
-                  .setInteger("questionnaireId", questionnaireId);
-          query.executeUpdate();
+          this.resetQuestionBranching(session, questionnaireId);
         }
         // Reset destination steps in Questionnaire Ends
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyQuestionnaireDAOImpl - reOrderQuestionnaireSteps() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - reOrderQuestionnaireSteps() - Ends");
     return message;
   }
 
+  @SuppressWarnings("unchecked")
   @Override
+  @Transactional
+  public String reOrderQuestionnaireSteps(
+      Integer questionnaireId, List<Integer> orderedSequenceNos) {
+    logger.info(
+        "StudyQuestionnaireDAOImpl - reOrderQuestionnaireSteps(orderedSequenceNos) - Starts");
+    String message = FdahpStudyDesignerConstants.FAILURE;
+    Session session = null;
+    try {
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
+      List<Object[]> currentRows =
+          session
+              .createQuery(
+                  "select QSBO.stepId, QSBO.sequenceNo, QSBO.destinationStep From QuestionnairesStepsBo QSBO "
+                      + " where QSBO.questionnairesId=:questionnaireId "
+                      + " and QSBO.active=1")
+              .setInteger("questionnaireId", questionnaireId)
+              .list();
+      List<Integer> orderedIds = SequenceReorder.orderedIds(currentRows, orderedSequenceNos);
+      if (orderedIds != null) {
+        // every step leads to the step after it, the last one ends the questionnaire
+        Map<Integer, Integer> currentDestinations = new HashMap<>();
+        for (Object[] row : currentRows) {
+          currentDestinations.put((Integer) row[0], (Integer) row[2]);
+        }
+        Map<Integer, Integer> destinations = new HashMap<>();
+        for (int i = 0; i < orderedIds.size(); i++) {
+          Integer destinationStep = (i + 1) < orderedIds.size() ? orderedIds.get(i + 1) : 0;
+          if (!destinationStep.equals(currentDestinations.get(orderedIds.get(i)))) {
+            destinations.put(orderedIds.get(i), destinationStep);
+          }
+        }
+        int count =
+            new SequenceReorder("questionnaires_steps", "step_id")
+                .set("sequence_no", SequenceReorder.moves(currentRows, orderedIds))
+                .set("destination_step", destinations)
+                .execute(session);
+        if (count > 0) {
+          this.resetQuestionBranching(session, questionnaireId);
+        }
+        message = FdahpStudyDesignerConstants.SUCCESS;
+      }
+      session.flush();
+    } catch (Exception e) {
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+      logger.error(
+          "StudyQuestionnaireDAOImpl - reOrderQuestionnaireSteps(orderedSequenceNos) - ERROR ", e);
+    }
+    logger.info("StudyQuestionnaireDAOImpl - reOrderQuestionnaireSteps(orderedSequenceNos) - Ends");
+    return message;
+  }
+
+  // Branching of question responses and formula based conditions points at the
+  // old step order, it is cleared and has to be set up again after a reorder.
+  private void resetQuestionBranching(Session session, Integer questionnaireId) {
+    String questionResponseQuery =
+        "update response_sub_type_value rs,questionnaires_steps q set rs.destination_step_id = NULL "
+            + "where rs.response_type_id=q.instruction_form_id and q.step_type=:type"
+            + " and q.questionnaires_id=:questionnaireId "
+            + " and rs.active=1 and q.active=1";
+    session
+        .createSQLQuery(questionResponseQuery)
+        .setParameter("type", FdahpStudyDesignerConstants.QUESTION_STEP)
+        .setInteger("questionnaireId", questionnaireId)
+        .executeUpdate();
+
+    String questionConditionResponseQuery =
+        "update questions qs,questionnaires_steps q,response_type_value rs  set qs.status = 0 where"
+            + " rs.questions_response_type_id=q.instruction_form_id and q.step_type=:type"
+            + " and q.questionnaires_id=:questionnaireId "
+            + " and qs.id=q.instruction_form_id and qs.active=1 and rs.active=1 and q.active=1 and rs.formula_based_logic='Yes'";
+    session
+        .createSQLQuery(questionConditionResponseQuery)
+        .setParameter("type", FdahpStudyDesignerConstants.QUESTION_STEP)
+        .setInteger("questionnaireId", questionnaireId)
+        .executeUpdate();
+  }
+
+  @Override
+  @Transactional
   public QuestionnairesStepsBo saveOrUpdateFromQuestionnaireStep(
       QuestionnairesStepsBo questionnairesStepsBo, SessionObject sesObj, String customStudyId) {
     logger.info("StudyQuestionnaireDAOImpl - saveOrUpdateFromQuestionnaireStep() - Starts");
     Session session = null;
+    Query query = null;
     QuestionnairesStepsBo addOrUpdateQuestionnairesStepsBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (questionnairesStepsBo != null) {
         if (questionnairesStepsBo.getStepId() != null) {
           addOrUpdateQuestionnairesStepsBo =
@@ -3356,28 +3380,25 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
         }
       }
 
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyQuestionnaireDAOImpl - saveOrUpdateFromQuestionnaireStep() - Error", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - saveOrUpdateFromQuestionnaireStep() - Ends");
     return addOrUpdateQuestionnairesStepsBo;
   }
 
   @Override
+  @Transactional
   public InstructionsBo saveOrUpdateInstructionsBo(
       InstructionsBo instructionsBo, SessionObject sessionObject, String customStudyId) {
     logger.info("StudyQuestionnaireDAOImpl - saveOrUpdateInstructionsBo() - Starts");
     Session session = null;
+    Query query = null;
     QuestionnairesStepsBo existedQuestionnairesStepsBo = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       session.saveOrUpdate(instructionsBo);
       QuestionnairesStepsBo questionnairesStepsBo = null;
       if ((instructionsBo != null)
@@ -3488,26 +3509,23 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
         }
       }
 
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyQuestionnaireDAOImpl - saveOrUpdateInstructionsBo() - Error", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - saveOrUpdateInstructionsBo() - Ends");
     return instructionsBo;
   }
 
   @Override
+  @Transactional
   public QuestionsBo saveOrUpdateQuestion(QuestionsBo questionsBo) {
     logger.info("StudyQuestionnaireDAOImpl - saveOrUpdateQuestion() - Starts");
     Session session = null;
+    Query query = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       // Ancrodate text start
       if ((questionsBo.getUseAnchorDate() != null) && questionsBo.getUseAnchorDate()) {
         if (StringUtils.isNotEmpty(questionsBo.getAnchorDateName())) {
@@ -3541,7 +3559,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
           }
           updateAnchordateInQuestionnaire(
               session,
-              transaction,
               studyVersionBo,
               null,
               sessionObject,
@@ -3703,27 +3720,25 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
           session.save(formMappingBo);
         }
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyQuestionnaireDAOImpl - saveOrUpdateQuestion() - Error", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - saveOrUpdateQuestion() - Ends");
     return questionsBo;
   }
 
   @Override
+  @Transactional
   public QuestionnaireBo saveORUpdateQuestionnaire(
       QuestionnaireBo questionnaireBo, SessionObject sessionObject, String customStudyId) {
     logger.info("StudyQuestionnaireDAOImpl - saveORUpdateQuestionnaire() - Starts");
     Session session = null;
+    Query query = null;
+    String queryString = "";
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       session.saveOrUpdate(questionnaireBo);
       if (questionnaireBo.getType().equalsIgnoreCase(FdahpStudyDesignerConstants.SCHEDULE)) {
         if ((questionnaireBo != null) && (questionnaireBo.getId() != null)) {
@@ -3902,7 +3917,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
               questionnaireBo.getCurrentFrequency(),
               sessionObject,
               session,
-              transaction,
+              null,
               customStudyId);
         }
       } else if ((questionnaireBo.getPreviousFrequency() != null)
@@ -3914,14 +3929,14 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
             questionnaireBo.getFrequency(),
             sessionObject,
             session,
-            transaction,
+            null,
             customStudyId);
       }
 
       if ((questionnaireBo != null) && questionnaireBo.getStatus()) {
         auditLogDAO.updateDraftToEditedStatus(
             session,
-            transaction,
+            null,
             sessionObject.getUserId(),
             FdahpStudyDesignerConstants.DRAFT_QUESTIONNAIRE,
             questionnaireBo.getStudyId());
@@ -3982,31 +3997,28 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
         }
         // Notification Purpose needed End
       }
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyQuestionnaireDAOImpl - saveORUpdateQuestionnaire() - Error", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - saveORUpdateQuestionnaire() - Ends");
     return questionnaireBo;
   }
 
   @Override
+  @Transactional
   public QuestionnairesStepsBo saveOrUpdateQuestionStep(
       QuestionnairesStepsBo questionnairesStepsBo,
       SessionObject sessionObject,
       String customStudyId) {
     logger.info("StudyQuestionnaireDAOImpl - saveOrUpdateQuestionStep() - Starts");
     Session session = null;
+    Query query = null;
     QuestionnairesStepsBo addOrUpdateQuestionnairesStepsBo = null;
     boolean isChange = false;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
-      transaction = session.beginTransaction();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       if (questionnairesStepsBo != null) {
         if (questionnairesStepsBo.getStepId() != null) {
           addOrUpdateQuestionnairesStepsBo =
@@ -4111,7 +4123,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
               Integer studyId = this.getStudyIdByCustomStudy(session, customStudyId);
               updateAnchordateInQuestionnaire(
                   session,
-                  transaction,
                   studyVersionBo,
                   null,
                   sessionObject,
@@ -4312,14 +4323,10 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
         }
       }
 
-      transaction.commit();
+      session.flush();
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyQuestionnaireDAOImpl - saveOrUpdateQuestionStep() - Error", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - saveOrUpdateQuestionStep() - Ends");
     return addOrUpdateQuestionnairesStepsBo;
@@ -4418,13 +4425,14 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public String validateLineChartSchedule(Integer questionnaireId, String frequency) {
     logger.info("StudyQuestionnaireDAOImpl - validateLineChartSchedule() - starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
     Session session = null;
     String[] timeRange = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       timeRange = FdahpStudyDesignerUtil.getTimeRangeString(frequency);
       // checking in the question step
       String searchQuery =
@@ -4462,22 +4470,19 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       }
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - validateLineChartSchedule() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - validateLineChartSchedule() - Ends");
     return message;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public String validateRepetableFormQuestionStats(Integer formId) {
     logger.info("StudyQuestionnaireDAOImpl - validateRepetableFormQuestionStats() - starts");
     String message = FdahpStudyDesignerConstants.FAILURE;
     Session session = null;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       String searchQuery =
           "select count(*) from questions q,form_mapping f where q.id=f.question_id and q.active=1 and f.active=1 and f.form_id=:formId "
               + " and (q.add_line_chart = 'Yes' or q.use_stastic_data='Yes' or q.use_anchor_date=true)";
@@ -4489,16 +4494,13 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       }
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - validateRepetableFormQuestionStats() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - validateRepetableFormQuestionStats() - Ends");
     return message;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public String checkUniqueAnchorDateName(
       String anchordateText, String customStudyId, String anchorDateId) {
     logger.info("StudyQuestionnaireDAOImpl - checkUniqueAnchorDateName() - starts");
@@ -4506,7 +4508,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
     Session session = null;
     Integer dbAnchorId = 0;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
 
       if (StringUtils.isNotEmpty(anchorDateId)) {
         dbAnchorId =
@@ -4537,10 +4539,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       }
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - checkUniqueAnchorDateName() - ERROR ", e);
-    } finally {
-      if (session != null) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - checkUniqueAnchorDateName() - Ends");
     return message;
@@ -4569,6 +4567,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
   @SuppressWarnings("unchecked")
   @Override
+  @Transactional(readOnly = true)
   public List<AnchorDateTypeBo> getAnchorTypesByStudyId(String customStudyId) {
     logger.info("StudyQuestionnaireDAOImpl - getAnchorTypesByStudyId - Starts");
     Session session = null;
@@ -4576,7 +4575,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
     String queryString = "";
     String subQuery = "";
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       StudyBo studyBo =
           (StudyBo)
               session
@@ -4597,22 +4596,19 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
 
     } catch (Exception e) {
       logger.error("StudyQuestionnaireDAOImpl - getAnchorTypesByStudyId - ERROR ", e);
-    } finally {
-      if ((null != session) && session.isOpen()) {
-        session.close();
-      }
     }
     logger.info("StudyQuestionnaireDAOImpl - getAnchorTypesByStudyId - Ends");
     return anchorDateTypeBos;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public boolean isAnchorDateExistByQuestionnaire(Integer questionnaireId) {
     logger.info("StudyQuestionnaireDAOImpl - isAnchorDateExistByQuestionnaire - Starts");
     Session session = null;
     Boolean isExist = false;
     try {
-      session = hibernateTemplate.getSessionFactory().openSession();
+      session = hibernateTemplate.getSessionFactory().getCurrentSession();
       // checking in the question step anchor date is selected or not
       String searchQuery =
           "select count(q.anchor_date_id) from questions q,questionnaires_steps qsq,questionnaires qq  where q.id=qsq.instruction_form_id and qsq.step_type='Question' "
@@ -4655,7 +4651,6 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
   @Override
   public String updateAnchordateInQuestionnaire(
       Session session,
-      Transaction transaction,
       StudyVersionBo studyVersionBo,
       Integer questionnaireId,
       SessionObject sessionObject,
@@ -4664,6 +4659,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
       Integer questionId,
       String stepType,
       boolean isChange) {
+    Query query = null;
     logger.info("StudyQuestionnaireDAOImpl - updateAnchordateInQuestionnaire - Starts");
     List<Integer> anchorIds = new ArrayList<Integer>();
     List<Integer> anchorExistIds = new ArrayList<Integer>();
@@ -4814,7 +4810,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
                 studySequence.setStudyExcQuestionnaries(false);
                 auditLogDAO.updateDraftToEditedStatus(
                     session,
-                    transaction,
+                    null,
                     sessionObject.getUserId(),
                     FdahpStudyDesignerConstants.DRAFT_QUESTIONNAIRE,
                     studyId);
@@ -4833,7 +4829,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
                 studySequence.setStudyExcActiveTask(false);
                 auditLogDAO.updateDraftToEditedStatus(
                     session,
-                    transaction,
+                    null,
                     sessionObject.getUserId(),
                     FdahpStudyDesignerConstants.DRAFT_ACTIVETASK,
                     studyId);
@@ -4850,7 +4846,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
                 studySequence.setMiscellaneousResources(false);
                 auditLogDAO.updateDraftToEditedStatus(
                     session,
-                    transaction,
+                    null,
                     sessionObject.getUserId(),
                     FdahpStudyDesignerConstants.DRAFT_STUDY,
                     studyId);
@@ -4867,7 +4863,7 @@ public class StudyQuestionnaireDAOImpl implements StudyQuestionnaireDAO {
         message = FdahpStudyDesignerConstants.SUCCESS;
       }
     } catch (Exception e) {
-      transaction.rollback();
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
       logger.error("StudyQuestionnaireDAOImpl - updateAnchordateInQuestionnaire - ERROR ", e);
     }
     logger.info("StudyQuestionnaireDAOImpl - updateAnchordateInQuestionnaire - Ends");
@@ -0,0 +1,342 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.fdahpstudydesigner.dao;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.apache.log4j.Logger;
+import org.hibernate.Query;
+import org.hibernate.Session;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+
+/**
+ * Copies the rows of a study version into the next version with {@code INSERT ... SELECT}
+ * statements, instead of loading, cloning and saving every entity.
+ *
+ * <p>The column list of each copy is read from the Hibernate mapping of the entity, so a copy
+ * writes the same columns a {@code session.save} of a cloned entity would. Columns that change in
+ * the new version are given as SQL expressions over the source row, which is aliased {@code src}.
+ *
+ * <p>Rows whose ids are referenced by other copied rows are copied in two steps. {@link #map}
+ * registers their old ids in {@code study_clone_id_map}. {@link #copyMapped} then inserts all rows
+ * of a table with one statement, lets auto_increment assign their ids and records each new id next
+ * to its old one through the {@code clone_source_id} column of the copies, and child copies
+ * translate their foreign keys with {@link #mapped}. References between rows of the same copy are
+ * set afterwards with {@link #remap}. All statements run in the caller's session and transaction;
+ * {@link #release} removes the id pairs of this copy.
+ */
+final class StudyVersionCloner {
+
+  private static Logger logger = Logger.getLogger(StudyVersionCloner.class.getName());
+
+  private static final String MAP_TABLE = "study_clone_id_map";
+
+  private static final String CLONE_SOURCE_COLUMN = "clone_source_id";
+
+  private final String cloneToken = UUID.randomUUID().toString();
+
+  private final Map<String, Object> parameters = new HashMap<>();
+
+  private final Map<String, Map<Integer, Integer>> copiedIds = new HashMap<>();
+
+  private final Session session;
+
+  StudyVersionCloner(Session session) {
+    this.session = session;
+    // native statements do not trigger Hibernate's auto flush, so pending changes of the
+    // publishing flow have to reach the database before rows are copied from it
+    session.flush();
+    bind("cloneToken", cloneToken);
+  }
+
+  /** Builds the property to SQL expression map taken by the copy methods. */
+  static Map<String, String> overrides(String... propertiesAndExpressions) {
+    Map<String, String> overrides = new HashMap<>();
+    for (int i = 0; i < propertiesAndExpressions.length; i += 2) {
+      overrides.put(propertiesAndExpressions[i], propertiesAndExpressions[i + 1]);
+    }
+    return overrides;
+  }
+
+  /** Binds a named parameter for every later statement that uses it. */
+  StudyVersionCloner bind(String name, Object value) {
+    parameters.put(name, value);
+    return this;
+  }
+
+  /** SQL expression giving the new id of the old id held in {@code column}, or NULL. */
+  String mapped(String mapName, String column) {
+    return "(SELECT m.new_id FROM "
+        + MAP_TABLE
+        + " m WHERE m.clone_token = :cloneToken AND m.map_name = '"
+        + mapName
+        + "' AND m.old_id = "
+        + column
+        + ")";
+  }
+
+  /** SQL sub query selecting the old ids registered under {@code mapName}. */
+  String oldIds(String mapName) {
+    return "(SELECT m.old_id FROM "
+        + MAP_TABLE
+        + " m WHERE m.clone_token = :cloneToken AND m.map_name = '"
+        + mapName
+        + "')";
+  }
+
+  /**
+   * Registers the ids of the rows of {@code entityClass} matched by {@code where} under {@code
+   * mapName}. Their new ids are recorded when {@link #copyMapped} inserts the copies.
+   *
+   * @return the number of registered rows
+   */
+  int map(String mapName, Class<?> entityClass, String where) {
+    AbstractEntityPersister persister = persister(entityClass);
+    int count =
+        bindParameters(
+                session.createSQLQuery(
+                    "INSERT INTO "
+                        + MAP_TABLE
+                        + " (clone_token, map_name, old_id) SELECT :cloneToken, '"
+                        + mapName
+                        + "', src."
+                        + persister.getIdentifierColumnNames()[0]
+                        + " FROM "
+                        + persister.getTableName()
+                        + " src WHERE "
+                        + where))
+            .executeUpdate();
+    logger.debug("StudyVersionCloner - map() - " + mapName + " : " + count);
+    return count;
+  }
+
+  /**
+   * Copies the rows registered under {@code mapName} with one statement and records the id the
+   * database assigned to each copy. Each copy carries the id of its source row in {@code
+   * clone_source_id} until its new id has been recorded.
+   *
+   * @return the old ids mapped to their new ids, in old id order
+   */
+  @SuppressWarnings("unchecked")
+  Map<Integer, Integer> copyMapped(
+      String mapName, Class<?> entityClass, Map<String, String> overrides) {
+    AbstractEntityPersister persister = persister(entityClass);
+    String table = persister.getTableName();
+    String idColumn = persister.getIdentifierColumnNames()[0];
+    bindParameters(
+            session.createSQLQuery(
+                insertSql(
+                    persister,
+                    overrides,
+                    "src." + idColumn + " IN " + oldIds(mapName),
+                    CLONE_SOURCE_COLUMN)))
+        .executeUpdate();
+    bindParameters(
+            session.createSQLQuery(
+                "UPDATE "
+                    + MAP_TABLE
+                    + " m SET new_id = (SELECT dst."
+                    + idColumn
+                    + " FROM "
+                    + table
+                    + " dst WHERE dst."
+                    + CLONE_SOURCE_COLUMN
+                    + " = m.old_id) WHERE m.clone_token = :cloneToken AND m.map_name = '"
+                    + mapName
+                    + "'"))
+        .executeUpdate();
+    List<Object[]> idPairs =
+        bindParameters(
+                session.createSQLQuery(
+                    "SELECT m.old_id, m.new_id FROM "
+                        + MAP_TABLE
+                        + " m WHERE m.clone_token = :cloneToken AND m.map_name = '"
+                        + mapName
+                        + "' ORDER BY m.old_id"))
+            .list();
+    Map<Integer, Integer> ids = new LinkedHashMap<>();
+    for (Object[] idPair : idPairs) {
+      ids.put(((Number) idPair[0]).intValue(), ((Number) idPair[1]).intValue());
+    }
+    copiedIds.put(mapName, ids);
+
+    if (!ids.isEmpty()) {
+      // a later copy of the same source row must not find this one
+      session
+          .createSQLQuery(
+              "UPDATE "
+                  + table
+                  + " SET "
+                  + CLONE_SOURCE_COLUMN
+                  + " = NULL WHERE "
+                  + idColumn
+                  + " IN (:cloneNewIds)")
+          .setParameterList("cloneNewIds", ids.values())
+          .executeUpdate();
+    }
+    logger.debug("StudyVersionCloner - copyMapped() - " + mapName + " : " + ids.size());
+    return ids;
+  }
+
+  /**
+   * Sets columns of the copies made by {@link #copyMapped} from expressions over the copied row,
+   * which is aliased {@code dst}, for references that point at rows of the same copy and could not
+   * be mapped while the rows were still being inserted.
+   */
+  int remap(String mapName, Class<?> entityClass, Map<String, String> overrides) {
+    AbstractEntityPersister persister = persister(entityClass);
+    String table = persister.getTableName();
+    Map<Integer, Integer> ids = copiedIds.get(mapName);
+    if ((ids == null) || ids.isEmpty()) {
+      return 0;
+    }
+    StringBuilder assignments = new StringBuilder();
+    for (Map.Entry<String, String> override : overrides.entrySet()) {
+      String[] columns = persister.getPropertyColumnNames(override.getKey());
+      if (columns.length != 1) {
+        throw new IllegalArgumentException(
+            "Property " + override.getKey() + " of " + table + " does not map to one column");
+      }
+      if (assignments.length() > 0) {
+        assignments.append(", ");
+      }
+      assignments.append(columns[0]).append(" = ").append(override.getValue());
+    }
+    bind("cloneNewIds", ids.values());
+    String sql =
+        "UPDATE "
+            + table
+            + " dst SET "
+            + assignments
+            + " WHERE dst."
+            + persister.getIdentifierColumnNames()[0]
+            + " IN (:cloneNewIds)";
+    int count = bindParameters(session.createSQLQuery(sql)).executeUpdate();
+    logger.debug("StudyVersionCloner - remap() - " + table + " : " + count);
+    return count;
+  }
+
+  /** Copies the rows matched by {@code where}, letting the database assign their ids. */
+  int copy(Class<?> entityClass, Map<String, String> overrides, String where) {
+    AbstractEntityPersister persister = persister(entityClass);
+    int count =
+        bindParameters(session.createSQLQuery(insertSql(persister, overrides, where, null)))
+            .executeUpdate();
+    logger.debug("StudyVersionCloner - copy() - " + persister.getTableName() + " : " + count);
+    return count;
+  }
+
+  /** Removes the id pairs recorded by this copy. */
+  void release() {
+    session
+        .createSQLQuery("DELETE FROM " + MAP_TABLE + " WHERE clone_token = :cloneToken")
+        .setString("cloneToken", cloneToken)
+        .executeUpdate();
+  }
+
+  private String insertSql(
+      AbstractEntityPersister persister,
+      Map<String, String> overrides,
+      String where,
+      String sourceIdColumn) {
+    String table = persister.getTableName();
+    StringBuilder columns = new StringBuilder();
+    StringBuilder values = new StringBuilder();
+
+    Set<String> applied = new HashSet<>();
+    String[] propertyNames = persister.getPropertyNames();
+    boolean[] insertable = persister.getPropertyInsertability();
+    for (int i = 0; i < propertyNames.length; i++) {
+      if (!insertable[i]) {
+        continue;
+      }
+      String[] propertyColumns = persister.getPropertyColumnNames(i);
+      String override = overrides.get(propertyNames[i]);
+      if ((override != null) && (propertyColumns.length != 1)) {
+        throw new IllegalArgumentException(
+            "Property " + propertyNames[i] + " of " + table + " does not map to one column");
+      }
+      for (String column : propertyColumns) {
+        if (column == null) {
+          continue;
+        }
+        if (columns.length() > 0) {
+          columns.append(", ");
+          values.append(", ");
+        }
+        columns.append(column);
+        values.append((override != null) ? override : ("src." + column));
+      }
+      if (override != null) {
+        applied.add(propertyNames[i]);
+      }
+    }
+    if (applied.size() != overrides.size()) {
+      throw new IllegalArgumentException(
+          "Unknown properties of " + table + " in " + overrides.keySet());
+    }
+    if (sourceIdColumn != null) {
+      columns.append(", ").append(sourceIdColumn);
+      values.append(", src.").append(persister.getIdentifierColumnNames()[0]);
+    }
+
+    return "INSERT INTO "
+        + table
+        + " ("
+        + columns
+        + ") SELECT "
+        + values
+        + " FROM "
+        + table
+        + " src WHERE "
+        + where
+        + " ORDER BY src."
+        + persister.getIdentifierColumnNames()[0];
+  }
+
+  private Query bindParameters(Query query) {
+    for (String name : query.getNamedParameters()) {
+      if (!parameters.containsKey(name)) {
+        throw new IllegalStateException("No value bound for parameter " + name);
+      }
+      Object value = parameters.get(name);
+      if (value instanceof Collection) {
+        query.setParameterList(name, (Collection<?>) value);
+      } else {
+        query.setParameter(name, value);
+      }
+    }
+    return query;
+  }
+
+  private AbstractEntityPersister persister(Class<?> entityClass) {
+    return (AbstractEntityPersister) session.getSessionFactory().getClassMetadata(entityClass);
+  }
+}
@@ -44,29 +44,26 @@ import java.io.IOException;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import org.apache.commons.beanutils.BeanUtils;
+import javax.annotation.PreDestroy;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.http.HttpResponse;
-import org.apache.http.client.ClientProtocolException;
-import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.DefaultHttpClient;
-import org.apache.http.params.BasicHttpParams;
-import org.apache.http.params.HttpConnectionParams;
-import org.apache.http.params.HttpParams;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
 import org.apache.log4j.Logger;
 import org.codehaus.jackson.map.ObjectMapper;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpStatus;
@@ -93,6 +90,25 @@ public class FDASchedulerService {
 
   @Autowired private OAuthService oauthService;
 
+  private final CloseableHttpClient httpClient = createHttpClient();
+
+  private static CloseableHttpClient createHttpClient() {
+    PoolingHttpClientConnectionManager connectionManager =
+        new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(10);
+    connectionManager.setDefaultMaxPerRoute(10);
+    RequestConfig requestConfig =
+        RequestConfig.custom()
+            .setConnectTimeout(30000)
+            .setConnectionRequestTimeout(30000)
+            .setSocketTimeout(30000)
+            .build();
+    return HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(requestConfig)
+        .build();
+  }
+
   @Bean()
   public ThreadPoolTaskScheduler taskScheduler() {
     ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
@@ -125,26 +141,25 @@ public class FDASchedulerService {
       logger.error("FDASchedulerService - createAuditLogs - ERROR", e);
 
       List<String> emailAddresses = usersDAO.getSuperAdminList();
-      String failLogBody;
       if ((emailAddresses != null) && !emailAddresses.isEmpty()) {
-        Map<String, String> genarateEmailContentMap = new HashMap<>();
         String date =
             new SimpleDateFormat(FdahpStudyDesignerConstants.DB_SDF_DATE)
                 .format(FdahpStudyDesignerUtil.addDaysToDate(new Date(), -1));
-        if (emailAddresses.size() > 1) {
-          genarateEmailContentMap.put("$firstName", "Admin");
-        } else {
-          UserBO userBO = loginDAO.getValidUserByEmail(emailAddresses.get(0));
-          genarateEmailContentMap.put("$firstName", userBO.getFirstName());
+        Map<String, String> failLogBodyByEmail = new LinkedHashMap<>();
+        for (String emailAddress : emailAddresses) {
+          Map<String, String> genarateEmailContentMap = new HashMap<>();
+          UserBO userBO = loginDAO.getValidUserByEmail(emailAddress);
+          genarateEmailContentMap.put(
+              "$firstName", userBO != null ? userBO.getFirstName() : "Admin");
+          genarateEmailContentMap.put("$startTime", date + " 00:00:00");
+          genarateEmailContentMap.put("$endTime", date + " 23:59:59");
+          genarateEmailContentMap.put("$orgName", (String) configMap.get("orgName"));
+          failLogBodyByEmail.put(
+              emailAddress,
+              FdahpStudyDesignerUtil.genarateEmailContent(
+                  (String) configMap.get("mail.audit.failure.content"), genarateEmailContentMap));
         }
-        genarateEmailContentMap.put("$startTime", date + " 00:00:00");
-        genarateEmailContentMap.put("$endTime", date + " 23:59:59");
-        genarateEmailContentMap.put("$orgName", (String) configMap.get("orgName"));
-        failLogBody =
-            FdahpStudyDesignerUtil.genarateEmailContent(
-                (String) configMap.get("mail.audit.failure.content"), genarateEmailContentMap);
-        EmailNotification.sendEmailNotificationToMany(
-            "mail.audit.failure.subject", failLogBody, emailAddresses, null, null);
+        EmailNotification.sendEmailNotifications("mail.audit.failure.subject", failLogBodyByEmail);
       }
     }
     logger.info("FDASchedulerService - createAuditLogs - Ends");
@@ -153,89 +168,93 @@ public class FDASchedulerService {
   @Scheduled(cron = "0 * * * * ?")
   public void sendPushNotification() {
     logger.info("FDASchedulerService - sendPushNotification - Starts");
-    List<PushNotificationBean> pushNotificationBeans;
-    List<PushNotificationBean> pushNotificationBeanswithAppId =
-        new ArrayList<PushNotificationBean>();
-    List<PushNotificationBean> finalPushNotificationBeans = new ArrayList<PushNotificationBean>();
-    String date;
-    String time;
-    ObjectMapper objectMapper = new ObjectMapper();
-    String responseString = "";
     try {
-      date = FdahpStudyDesignerUtil.getCurrentDate();
-      time =
-          FdahpStudyDesignerUtil.privMinDateTime(
-              new SimpleDateFormat(FdahpStudyDesignerConstants.UI_SDF_TIME).format(new Date()),
-              FdahpStudyDesignerConstants.UI_SDF_TIME,
-              1);
-      pushNotificationBeans = notificationDAO.getPushNotificationList(date, time);
-      if ((pushNotificationBeans != null) && !pushNotificationBeans.isEmpty()) {
-        for (PushNotificationBean p : pushNotificationBeans) {
-          if (p.getAppId() == null) {
-            List<String> appIds = notificationService.getGatwayAppList();
-            if (!appIds.isEmpty()) {
-              for (String appId : appIds) {
-                PushNotificationBean pushBean = new PushNotificationBean();
-                BeanUtils.copyProperties(pushBean, p);
-                pushBean.setAppId(appId);
-                pushNotificationBeanswithAppId.add(pushBean);
-              }
-            }
-          }
-        }
-        if (!pushNotificationBeanswithAppId.isEmpty()) {
-          for (PushNotificationBean pushBean : pushNotificationBeanswithAppId) {
-            pushNotificationBeans.add(pushBean);
-          }
-        }
+      String now = FdahpStudyDesignerUtil.getCurrentDateTime();
+      enqueueDuePushNotifications(now);
 
-        if (!pushNotificationBeans.isEmpty()) {
-          for (PushNotificationBean pushBean : pushNotificationBeans) {
-            if (pushBean.getAppId() != null) {
-              finalPushNotificationBeans.add(pushBean);
-            }
-          }
+      int chunkSize = getIntProperty("push.notification.chunkSize", 100);
+      String staleClaimBefore =
+          FdahpStudyDesignerUtil.addMinutes(
+              now, -getIntProperty("push.notification.claimTimeoutMinutes", 5));
+      List<PushNotificationBean> chunk;
+      do {
+        String claimToken = UUID.randomUUID().toString();
+        chunk =
+            notificationDAO.claimDuePushNotifications(
+                claimToken, now, staleClaimBefore, chunkSize);
+        if (!chunk.isEmpty() && !sendPushNotificationChunk(claimToken, chunk)) {
+          // Remaining rows stay due and are picked up by the next run after the backoff
+          break;
         }
+      } while (chunk.size() == chunkSize);
+    } catch (Exception e) {
+      logger.error("FDASchedulerService - sendPushNotification - ERROR", e);
+      logSendNotificationFailedEvent(NOTIFICATION_METADATA_SEND_OPERATION_FAILED);
+    }
+    logger.info("FDASchedulerService - sendPushNotification - Ends");
+  }
 
-        JSONArray arrayToJson =
-            new JSONArray(objectMapper.writeValueAsString(finalPushNotificationBeans));
-        logger.info("FDASchedulerService - sendPushNotification " + arrayToJson);
-        JSONObject json = new JSONObject();
-        json.put("notifications", arrayToJson);
-
-        HttpParams httpParams = new BasicHttpParams();
-        HttpConnectionParams.setConnectionTimeout(httpParams, 30000);
-        HttpConnectionParams.setSoTimeout(httpParams, 30000);
-        HttpClient client = new DefaultHttpClient(httpParams);
+  /**
+   * Copies notifications that became due since the catch-up window started into the outbox, one
+   * row per target app, so that a missed scheduler run delays a notification instead of losing it.
+   */
+  private void enqueueDuePushNotifications(String now) {
+    String dueFrom =
+        FdahpStudyDesignerUtil.addHours(
+            now, -getIntProperty("push.notification.catchUpHours", 24));
+    int chunkSize = getIntProperty("push.notification.chunkSize", 100);
+    List<String> gatewayAppIds = notificationService.getGatwayAppList();
+    while (notificationDAO.enqueueDuePushNotifications(dueFrom, now, gatewayAppIds, chunkSize)
+        == chunkSize) {
+      logger.debug("FDASchedulerService - enqueueDuePushNotifications - next chunk");
+    }
+  }
 
-        HttpResponse response =
-            invokePushNotificationApi(json, client, oauthService.getAccessToken());
-        if (response.getStatusLine().getStatusCode() == HttpStatus.UNAUTHORIZED.value()) {
-          // Below method is called to indicate that the content of this entity is no longer
-          // required.This will fix the error
-          // Invalid use of BasicClientConnManager: connection still allocated.
-          // Make sure to release the connection before allocating another one.
-          response.getEntity().consumeContent();
-          response = invokePushNotificationApi(json, client, oauthService.getNewAccessToken());
-        }
+  private boolean sendPushNotificationChunk(
+      String claimToken, List<PushNotificationBean> pushNotificationBeans) {
+    String error;
+    try {
+      Map<String, Object> body = new HashMap<>();
+      body.put("notifications", pushNotificationBeans);
+      String json = new ObjectMapper().writeValueAsString(body);
 
-        if (response.getStatusLine().getStatusCode() != HttpStatus.OK.value()) {
-          logger.error(
-              String.format(
-                  "Push notification API failed with status=%d",
-                  response.getStatusLine().getStatusCode()));
-          logSendNotificationFailedEvent(NOTIFICATION_METADATA_SEND_OPERATION_FAILED);
-        } else {
-          logSendNotificationFailedEvent(NOTIFICATION_METADATA_SENT_TO_PARTICIPANT_DATASTORE);
-        }
+      int status = invokePushNotificationApi(json, oauthService.getAccessToken());
+      if (status == HttpStatus.UNAUTHORIZED.value()) {
+        status = invokePushNotificationApi(json, oauthService.getNewAccessToken());
+      }
+      if (status == HttpStatus.OK.value()) {
+        notificationDAO.markPushNotificationsSent(
+            claimToken, FdahpStudyDesignerUtil.getCurrentDateTime());
+        logSendNotificationFailedEvent(NOTIFICATION_METADATA_SENT_TO_PARTICIPANT_DATASTORE);
+        return true;
       }
+      error = String.format("Push notification API failed with status=%d", status);
     } catch (Exception e) {
-      logger.error("FDASchedulerService - sendPushNotification - ERROR", e.getCause());
-      e.printStackTrace();
-
-      logSendNotificationFailedEvent(NOTIFICATION_METADATA_SEND_OPERATION_FAILED);
+      logger.error("FDASchedulerService - sendPushNotificationChunk - ERROR", e);
+      error = e.toString();
     }
-    logger.info("FDASchedulerService - sendPushNotification - Ends");
+    logger.error(error);
+    notificationDAO.reschedulePushNotifications(
+        claimToken,
+        FdahpStudyDesignerUtil.getCurrentDateTime(),
+        error,
+        getIntProperty("push.notification.maxAttempts", 10),
+        getIntProperty("push.notification.retryBackoffSeconds", 60),
+        getIntProperty("push.notification.maxRetryBackoffSeconds", 3600));
+    logSendNotificationFailedEvent(NOTIFICATION_METADATA_SEND_OPERATION_FAILED);
+    return false;
+  }
+
+  private static int getIntProperty(String key, int defaultValue) {
+    String value = (String) configMap.get(key);
+    return StringUtils.isNumeric(StringUtils.trim(value))
+        ? Integer.parseInt(value.trim())
+        : defaultValue;
+  }
+
+  @PreDestroy
+  public void closeHttpClient() throws IOException {
+    httpClient.close();
   }
 
   private void logSendNotificationFailedEvent(StudyBuilderAuditEvent eventEnum) {
@@ -249,18 +268,16 @@ public class FDASchedulerService {
     auditLogEventHelper.logEvent(eventEnum, auditRequest);
   }
 
-  private HttpResponse invokePushNotificationApi(
-      JSONObject json, HttpClient client, String accessToken)
-      throws IOException, ClientProtocolException {
+  private int invokePushNotificationApi(String json, String accessToken) throws IOException {
     HttpPost post =
         new HttpPost(
             FdahpStudyDesignerUtil.getAppProperties().get("fda.registration.root.url")
                 + FdahpStudyDesignerUtil.getAppProperties().get("push.notification.uri"));
     post.setHeader("Authorization", "Bearer " + accessToken);
-    post.setHeader("Content-type", "application/json");
-
-    StringEntity requestEntity = new StringEntity(json.toString(), ContentType.APPLICATION_JSON);
-    post.setEntity(requestEntity);
-    return client.execute(post);
+    post.setEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
+    try (CloseableHttpResponse response = httpClient.execute(post)) {
+      EntityUtils.consume(response.getEntity());
+      return response.getStatusLine().getStatusCode();
+    }
   }
 }
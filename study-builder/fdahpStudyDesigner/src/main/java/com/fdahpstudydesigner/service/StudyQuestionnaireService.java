@@ -110,9 +110,14 @@ public interface StudyQuestionnaireService {
 
   public String reOrderFormStepQuestions(Integer formId, int oldOrderNumber, int newOrderNumber);
 
+  public String reOrderFormStepQuestions(Integer formId, List<Integer> orderedSequenceNos);
+
   public String reOrderQuestionnaireSteps(
       Integer questionnaireId, int oldOrderNumber, int newOrderNumber);
 
+  public String reOrderQuestionnaireSteps(
+      Integer questionnaireId, List<Integer> orderedSequenceNos);
+
   public QuestionnairesStepsBo saveOrUpdateFromStepQuestionnaire(
       QuestionnairesStepsBo questionnairesStepsBo, SessionObject sesObj, String customStudyId);
 
@@ -479,6 +479,23 @@ public class StudyQuestionnaireServiceImpl implements StudyQuestionnaireService
     return message;
   }
 
+  @Override
+  public String reOrderFormStepQuestions(Integer formId, List<Integer> orderedSequenceNos) {
+    logger.info(
+        "StudyQuestionnaireServiceImpl - reOrderFormStepQuestions(orderedSequenceNos) - Starts");
+    String message = FdahpStudyDesignerConstants.FAILURE;
+    try {
+      message = studyQuestionnaireDAO.reOrderFormStepQuestions(formId, orderedSequenceNos);
+    } catch (Exception e) {
+      logger.error(
+          "StudyQuestionnaireServiceImpl - reOrderFormStepQuestions(orderedSequenceNos) - Error",
+          e);
+    }
+    logger.info(
+        "StudyQuestionnaireServiceImpl - reOrderFormStepQuestions(orderedSequenceNos) - Ends");
+    return message;
+  }
+
   @Override
   public String reOrderQuestionnaireSteps(
       Integer questionnaireId, int oldOrderNumber, int newOrderNumber) {
@@ -495,6 +512,25 @@ public class StudyQuestionnaireServiceImpl implements StudyQuestionnaireService
     return message;
   }
 
+  @Override
+  public String reOrderQuestionnaireSteps(
+      Integer questionnaireId, List<Integer> orderedSequenceNos) {
+    logger.info(
+        "StudyQuestionnaireServiceImpl - reOrderQuestionnaireSteps(orderedSequenceNos) - Starts");
+    String message = FdahpStudyDesignerConstants.FAILURE;
+    try {
+      message =
+          studyQuestionnaireDAO.reOrderQuestionnaireSteps(questionnaireId, orderedSequenceNos);
+    } catch (Exception e) {
+      logger.error(
+          "StudyQuestionnaireServiceImpl - reOrderQuestionnaireSteps(orderedSequenceNos) - Error",
+          e);
+    }
+    logger.info(
+        "StudyQuestionnaireServiceImpl - reOrderQuestionnaireSteps(orderedSequenceNos) - Ends");
+    return message;
+  }
+
   @Override
   public QuestionnairesStepsBo saveOrUpdateFromStepQuestionnaire(
       QuestionnairesStepsBo questionnairesStepsBo, SessionObject sesObj, String customStudyId) {
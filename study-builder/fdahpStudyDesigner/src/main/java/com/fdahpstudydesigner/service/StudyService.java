@@ -132,13 +132,22 @@ public interface StudyService {
   public String reOrderComprehensionTestQuestion(
       Integer studyId, int oldOrderNumber, int newOrderNumber);
 
+  public String reOrderComprehensionTestQuestion(Integer studyId, List<Integer> orderedSequenceNos);
+
   public String reOrderConsentInfoList(Integer studyId, int oldOrderNumber, int newOrderNumber);
 
+  public String reOrderConsentInfoList(Integer studyId, List<Integer> orderedSequenceNos);
+
   public String reorderEligibilityTestQusAns(
       Integer eligibilityId, int oldOrderNumber, int newOrderNumber, Integer studyId);
 
+  public String reorderEligibilityTestQusAns(
+      Integer eligibilityId, List<Integer> orderedSequenceNos, Integer studyId);
+
   public String reOrderResourceList(Integer studyId, int oldOrderNumber, int newOrderNumber);
 
+  public String reOrderResourceList(Integer studyId, List<Integer> orderedSequenceNos);
+
   public boolean resetDraftStudyByCustomStudyId(String customStudyId);
 
   public int resourceOrder(Integer studyId);
@@ -617,6 +617,21 @@ public class StudyServiceImpl implements StudyService {
     return message;
   }
 
+  @Override
+  public String reOrderComprehensionTestQuestion(
+      Integer studyId, List<Integer> orderedSequenceNos) {
+    logger.info("StudyServiceImpl - reOrderComprehensionTestQuestion(orderedSequenceNos) - Starts");
+    String message = FdahpStudyDesignerConstants.FAILURE;
+    try {
+      message = studyDAO.reOrderComprehensionTestQuestion(studyId, orderedSequenceNos);
+    } catch (Exception e) {
+      logger.error(
+          "StudyServiceImpl - reOrderComprehensionTestQuestion(orderedSequenceNos) - Error", e);
+    }
+    logger.info("StudyServiceImpl - reOrderComprehensionTestQuestion(orderedSequenceNos) - Ends");
+    return message;
+  }
+
   @Override
   public String reOrderConsentInfoList(Integer studyId, int oldOrderNumber, int newOrderNumber) {
     logger.info("StudyServiceImpl - reOrderConsentInfoList() - Starts");
@@ -630,6 +645,19 @@ public class StudyServiceImpl implements StudyService {
     return message;
   }
 
+  @Override
+  public String reOrderConsentInfoList(Integer studyId, List<Integer> orderedSequenceNos) {
+    logger.info("StudyServiceImpl - reOrderConsentInfoList(orderedSequenceNos) - Starts");
+    String message = FdahpStudyDesignerConstants.FAILURE;
+    try {
+      message = studyDAO.reOrderConsentInfoList(studyId, orderedSequenceNos);
+    } catch (Exception e) {
+      logger.error("StudyServiceImpl - reOrderConsentInfoList(orderedSequenceNos) - Error", e);
+    }
+    logger.info("StudyServiceImpl - reOrderConsentInfoList(orderedSequenceNos) - Ends");
+    return message;
+  }
+
   @Override
   public String reorderEligibilityTestQusAns(
       Integer eligibilityId, int oldOrderNumber, int newOrderNumber, Integer studyId) {
@@ -646,6 +674,21 @@ public class StudyServiceImpl implements StudyService {
     return message;
   }
 
+  @Override
+  public String reorderEligibilityTestQusAns(
+      Integer eligibilityId, List<Integer> orderedSequenceNos, Integer studyId) {
+    logger.info("StudyServiceImpl - reorderEligibilityTestQusAns(orderedSequenceNos) - Starts");
+    String message = FdahpStudyDesignerConstants.FAILURE;
+    try {
+      message = studyDAO.reorderEligibilityTestQusAns(eligibilityId, orderedSequenceNos, studyId);
+    } catch (Exception e) {
+      logger.error(
+          "StudyServiceImpl - reorderEligibilityTestQusAns(orderedSequenceNos) - Error", e);
+    }
+    logger.info("StudyServiceImpl - reorderEligibilityTestQusAns(orderedSequenceNos) - Ends");
+    return message;
+  }
+
   @Override
   public String reOrderResourceList(Integer studyId, int oldOrderNumber, int newOrderNumber) {
     logger.info("StudyServiceImpl - reOrderResourceList() - Starts");
@@ -659,6 +702,19 @@ public class StudyServiceImpl implements StudyService {
     return message;
   }
 
+  @Override
+  public String reOrderResourceList(Integer studyId, List<Integer> orderedSequenceNos) {
+    logger.info("StudyServiceImpl - reOrderResourceList(orderedSequenceNos) - Starts");
+    String message = FdahpStudyDesignerConstants.FAILURE;
+    try {
+      message = studyDAO.reOrderResourceList(studyId, orderedSequenceNos);
+    } catch (Exception e) {
+      logger.error("StudyServiceImpl - reOrderResourceList(orderedSequenceNos) - Error", e);
+    }
+    logger.info("StudyServiceImpl - reOrderResourceList(orderedSequenceNos) - Ends");
+    return message;
+  }
+
   @Override
   public boolean resetDraftStudyByCustomStudyId(String customStudy) {
     logger.info("StudyServiceImpl - resetDraftStudyByCustomStudyId() - Starts");
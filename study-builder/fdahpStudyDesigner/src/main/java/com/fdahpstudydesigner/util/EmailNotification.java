@@ -68,26 +68,19 @@ public class EmailNotification {
     return sentMail;
   }
 
-  public static boolean sendEmailNotificationToMany(
-      String subjectProprtyName,
-      String content,
-      List<String> toMailList,
-      List<String> ccMailList,
-      List<String> bccMailList) {
+  /**
+   * Sends one mail per recipient, each with its own content, over a single pooled SMTP connection.
+   *
+   * @return the number of mails accepted by the server
+   */
+  public static int sendEmailNotifications(
+      String subjectProprtyName, Map<String, String> contentByToMail) {
+    logger.info("EmailNotification - Starts: sendEmailNotifications()");
     Map<String, String> propMap = FdahpStudyDesignerUtil.getAppProperties();
-    logger.info(
-        "EmailNotification - Starts: sendEmailNotificationToMany() - Input arg are ServletContext ");
-    boolean sentMail = false;
-    List<String> toMailListNew = new ArrayList<>();
-    try {
+    List<Mail> mails = new ArrayList<>();
+    for (Map.Entry<String, String> content : contentByToMail.entrySet()) {
       Mail mail = new Mail();
-      if ((toMailList != null) && !toMailList.isEmpty()) {
-        for (String mailId : toMailList) {
-          mailId = mailId.trim();
-          toMailListNew.add(mailId.toLowerCase());
-        }
-        mail.setToemail(StringUtils.join(toMailListNew, ','));
-      }
+      mail.setToemail(content.getKey().trim().toLowerCase());
       mail.setFromEmailAddress(propMap.get("from.email.address"));
       mail.setFromEmailPassword(propMap.get("from.email.password"));
       mail.setSmtpHostname(propMap.get("smtp.hostname"));
@@ -95,20 +88,13 @@ public class EmailNotification {
       mail.setSslFactory(propMap.get("sslfactory.value"));
       mail.setUseIpWhitelist(Boolean.parseBoolean(propMap.get("from.email.use_ip_whitelist")));
       mail.setFromEmailDomain(propMap.get("from.email.domain"));
-      mail.setCcEmail(StringUtils.join(ccMailList, ','));
-      mail.setBccEmail(StringUtils.join(bccMailList, ','));
       mail.setSubject(propMap.get(subjectProprtyName));
-      mail.setMessageBody(content);
-      mail.sendemail();
-      sentMail = true;
-    } catch (Exception e) {
-      sentMail = false;
-      logger.error("EmailNotification.sendEmailNotificationToMany() :: ERROR ", e);
+      mail.setMessageBody(content.getValue());
+      mails.add(mail);
     }
-    logger.info(
-        "EmailNotification - Ends: sendEmailNotificationToMany() - returning  a List value"
-            + " : ");
-    return sentMail;
+    int sent = Mail.sendBatch(mails);
+    logger.info("EmailNotification - Ends: sendEmailNotifications() - sent " + sent);
+    return sent;
   }
 
   public static boolean sendMailWithAttachment(
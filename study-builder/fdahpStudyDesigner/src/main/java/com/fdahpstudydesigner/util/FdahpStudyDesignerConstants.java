@@ -266,6 +266,11 @@ public class FdahpStudyDesignerConstants {
   public static final String NOTIFICATIONID = "notificationId";
   public static final String NUMBERS = "numbers";
   public static final String OLD_ORDER_NUMBER = "oldOrderNumber";
+  public static final String ORDERED_SEQUENCE_NUMBERS = "orderedSequenceNumbers";
+  public static final String OUTBOX_STATUS_CLAIMED = "CLAIMED";
+  public static final String OUTBOX_STATUS_FAILED = "FAILED";
+  public static final String OUTBOX_STATUS_PENDING = "PENDING";
+  public static final String OUTBOX_STATUS_SENT = "SENT";
   public static final String OVERVIEW_ERROR_MSG =
       "One or more of the study's sections are not marked as completed. Please complete all the sections and try again.";
 
@@ -684,6 +684,25 @@ public class FdahpStudyDesignerUtil {
     return finalDate;
   }
 
+  /**
+   * Parses a comma separated list of numbers, such as the new order of a reordered list.
+   *
+   * @return the numbers, or null when the value is empty or holds anything but numbers
+   */
+  public static List<Integer> getIntegerList(String commaSeparatedValues) {
+    if (StringUtils.isBlank(commaSeparatedValues)) {
+      return null;
+    }
+    List<Integer> values = new ArrayList<>();
+    for (String value : commaSeparatedValues.split(",")) {
+      if (!StringUtils.isNumeric(value.trim())) {
+        return null;
+      }
+      values.add(Integer.valueOf(value.trim()));
+    }
+    return values;
+  }
+
   public static String getRegExpression(
       String validCondition, String validCharacters, String exceptCharacters) {
     String regEx = "";
@@ -23,6 +23,10 @@
 
 package com.fdahpstudydesigner.util;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import javax.activation.DataHandler;
 import javax.activation.DataSource;
@@ -151,31 +155,8 @@ public class Mail {
     logger.info("Mail.sendemail() :: Starts");
     boolean sentMail = false;
     try {
-      final String username = this.getFromEmailAddress();
-      final String password = this.getFromEmailPassword();
-      Properties props = makeProperties(useIpWhitelist);
-      Session session =
-          useIpWhitelist ? makeSession(props) : makeSession(props, username, password);
-
-      Message message = new MimeMessage(session);
-      message.setFrom(new InternetAddress(username));
-      if (StringUtils.isNotBlank(this.getToemail())) {
-        if (this.getToemail().indexOf(',') != -1) {
-          message.setRecipients(
-              Message.RecipientType.BCC, InternetAddress.parse(this.getToemail()));
-        } else {
-          message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(this.getToemail()));
-        }
-      }
-      if (StringUtils.isNotBlank(this.getCcEmail())) {
-        message.setRecipients(Message.RecipientType.CC, InternetAddress.parse(this.getCcEmail()));
-      }
-      if (StringUtils.isNotBlank(this.getBccEmail())) {
-        message.setRecipients(Message.RecipientType.BCC, InternetAddress.parse(this.getBccEmail()));
-      }
-      message.setSubject(this.subject);
-      message.setContent(this.getMessageBody(), "text/html");
-      Transport.send(message);
+      MailTransportPool pool = MailTransportPool.getInstance();
+      pool.send(this, buildMessage(pool.getSession(this)));
       sentMail = true;
     } catch (SendFailedException se) {
       logger.error("ERROR: sendemail() - ", se);
@@ -194,6 +175,58 @@ public class Mail {
     return sentMail;
   }
 
+  /**
+   * Sends every mail as its own message. Mails that share connection settings go out over one
+   * pooled SMTP connection instead of connecting and logging in once per mail.
+   *
+   * @return the number of mails accepted by the server
+   */
+  public static int sendBatch(List<Mail> mails) {
+    return sendBatch(mails, MailTransportPool.getInstance());
+  }
+
+  static int sendBatch(List<Mail> mails, MailTransportPool pool) {
+    logger.info("Mail.sendBatch() :: Starts");
+    int sent = 0;
+    Map<String, List<Mail>> mailsByConnection = new LinkedHashMap<>();
+    for (Mail mail : mails) {
+      List<Mail> connectionMails = mailsByConnection.get(mail.getConnectionKey());
+      if (connectionMails == null) {
+        connectionMails = new ArrayList<>();
+        mailsByConnection.put(mail.getConnectionKey(), connectionMails);
+      }
+      connectionMails.add(mail);
+    }
+    for (List<Mail> connectionMails : mailsByConnection.values()) {
+      Mail first = connectionMails.get(0);
+      try {
+        Session session = pool.getSession(first);
+        List<Message> messages = new ArrayList<>();
+        for (Mail mail : connectionMails) {
+          try {
+            messages.add(mail.buildMessage(session));
+          } catch (MessagingException me) {
+            logger.error("ERROR: sendBatch() - ", me);
+          }
+        }
+        sent += pool.sendBatch(first, messages);
+      } catch (Exception e) {
+        logger.error("ERROR: sendBatch() - ", e);
+      }
+    }
+    logger.info("Mail.sendBatch() :: Ends");
+    return sent;
+  }
+
+  Message buildMessage(Session session) throws MessagingException {
+    Message message = new MimeMessage(session);
+    message.setFrom(new InternetAddress(this.getFromEmailAddress()));
+    this.setRecipients(message);
+    message.setSubject(this.subject);
+    message.setContent(this.getMessageBody(), "text/html");
+    return message;
+  }
+
   public boolean sendMailWithAttachment() {
     logger.info("Mail.sendMailWithAttachment() :: Starts");
     boolean sentMail = false;
@@ -202,26 +235,10 @@ public class Mail {
 
     try {
       final String username = this.getFromEmailAddress();
-      final String password = this.getFromEmailPassword();
-      Properties props = makeProperties(useIpWhitelist);
-      Session session =
-          useIpWhitelist ? makeSession(props) : makeSession(props, username, password);
-
-      Message message = new MimeMessage(session);
-      if (StringUtils.isNotBlank(this.getToemail())) {
-        if (this.getToemail().indexOf(',') != -1) {
-          message.setRecipients(
-              Message.RecipientType.BCC, InternetAddress.parse(this.getToemail()));
-        } else {
-          message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(this.getToemail()));
-        }
-      }
-      if (StringUtils.isNotBlank(this.getCcEmail())) {
-        message.setRecipients(Message.RecipientType.CC, InternetAddress.parse(this.getCcEmail()));
-      }
-      if (StringUtils.isNotBlank(this.getBccEmail())) {
-        message.setRecipients(Message.RecipientType.BCC, InternetAddress.parse(this.getBccEmail()));
-      }
+      MailTransportPool pool = MailTransportPool.getInstance();
+
+      Message message = new MimeMessage(pool.getSession(this));
+      this.setRecipients(message);
       message.setSubject(this.subject);
       message.setFrom(new InternetAddress(username));
 
@@ -246,7 +263,7 @@ public class Mail {
       multipart.addBodyPart(messageBodyPart);
 
       message.setContent(multipart);
-      Transport.send(message);
+      pool.send(this, message);
       sentMail = true;
     } catch (Exception e) {
       logger.error("ERROR:  sendemail() - ", e);
@@ -255,6 +272,57 @@ public class Mail {
     return sentMail;
   }
 
+  private void setRecipients(Message message) throws MessagingException {
+    if (StringUtils.isNotBlank(this.getToemail())) {
+      if (this.getToemail().indexOf(',') != -1) {
+        message.setRecipients(Message.RecipientType.BCC, InternetAddress.parse(this.getToemail()));
+      } else {
+        message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(this.getToemail()));
+      }
+    }
+    if (StringUtils.isNotBlank(this.getCcEmail())) {
+      message.setRecipients(Message.RecipientType.CC, InternetAddress.parse(this.getCcEmail()));
+    }
+    if (StringUtils.isNotBlank(this.getBccEmail())) {
+      message.setRecipients(Message.RecipientType.BCC, InternetAddress.parse(this.getBccEmail()));
+    }
+  }
+
+  // Identifies the SMTP connection this mail is sent over, pooled transports
+  // are only shared between mails with the same key.
+  String getConnectionKey() {
+    return this.getSmtpHostname()
+        + "|"
+        + this.getSmtpPortvalue()
+        + "|"
+        + this.getSslFactory()
+        + "|"
+        + useIpWhitelist
+        + "|"
+        + fromEmailDomain
+        + "|"
+        + this.getFromEmailAddress();
+  }
+
+  Session createSession() {
+    Properties props = makeProperties(useIpWhitelist);
+    return useIpWhitelist
+        ? makeSession(props)
+        : makeSession(props, this.getFromEmailAddress(), this.getFromEmailPassword());
+  }
+
+  void connect(Transport transport) throws MessagingException {
+    if (useIpWhitelist) {
+      transport.connect();
+    } else {
+      transport.connect(
+          this.getSmtpHostname(),
+          Integer.parseInt(this.getSmtpPortvalue()),
+          this.getFromEmailAddress(),
+          this.getFromEmailPassword());
+    }
+  }
+
   // Constructs a Propterties either relying on IP Whitelist on the SMTP
   // service or on authentication with email and password.
   private Properties makeProperties(Boolean useIpWhitelist) {
@@ -0,0 +1,255 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.fdahpstudydesigner.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.log4j.Logger;
+
+/**
+ * Keeps connected, authenticated SMTP {@link Transport}s for reuse, so that sending a mail does
+ * not pay for the TCP connect, TLS handshake and login every time.
+ *
+ * <p>Transports are pooled per connection settings of the {@link Mail} that sends through them. A
+ * transport that has been idle for longer than {@code mail.pool.idleTimeoutSeconds} is closed
+ * instead of being reused, and an idle transport is checked with {@link Transport#isConnected()},
+ * which sends an SMTP NOOP, before it is handed out again. At most {@code mail.pool.maxIdle}
+ * transports are kept per connection settings.
+ */
+public class MailTransportPool {
+
+  private static Logger logger = Logger.getLogger(MailTransportPool.class.getName());
+
+  private static final int DEFAULT_MAX_IDLE = 4;
+
+  private static final int DEFAULT_IDLE_TIMEOUT_SECONDS = 60;
+
+  private static MailTransportPool instance;
+
+  private final int maxIdle;
+
+  private final long idleTimeoutMillis;
+
+  private final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<String, Deque<IdleTransport>> idleTransports =
+      new ConcurrentHashMap<>();
+
+  MailTransportPool(int maxIdle, long idleTimeoutMillis) {
+    this.maxIdle = maxIdle;
+    this.idleTimeoutMillis = idleTimeoutMillis;
+  }
+
+  public static synchronized MailTransportPool getInstance() {
+    if (instance == null) {
+      Map<String, String> propMap = FdahpStudyDesignerUtil.getAppProperties();
+      instance =
+          new MailTransportPool(
+              NumberUtils.toInt(propMap.get("mail.pool.maxIdle"), DEFAULT_MAX_IDLE),
+              NumberUtils.toInt(
+                      propMap.get("mail.pool.idleTimeoutSeconds"), DEFAULT_IDLE_TIMEOUT_SECONDS)
+                  * 1000L);
+    }
+    return instance;
+  }
+
+  /** Returns the shared mail session for the connection settings of {@code mail}. */
+  public Session getSession(Mail mail) {
+    String key = mail.getConnectionKey();
+    Session session = sessions.get(key);
+    if (session == null) {
+      Session created = mail.createSession();
+      session = sessions.putIfAbsent(key, created);
+      if (session == null) {
+        session = created;
+      }
+    }
+    return session;
+  }
+
+  /** Sends one message over a pooled transport. */
+  public void send(Mail mail, Message message) throws MessagingException {
+    message.saveChanges();
+    Transport transport = borrow(mail);
+    boolean reusable = false;
+    try {
+      transport.sendMessage(message, message.getAllRecipients());
+      reusable = true;
+    } catch (SendFailedException e) {
+      // the server refused recipients, the connection itself is still good
+      reusable = true;
+      throw e;
+    } finally {
+      release(mail, transport, reusable);
+    }
+  }
+
+  /**
+   * Sends the messages one after the other over a single pooled transport. A message whose
+   * recipients are refused is logged and skipped; if the connection fails it is replaced once and
+   * the message is retried.
+   *
+   * @return the number of messages accepted by the server
+   */
+  public int sendBatch(Mail mail, List<? extends Message> messages) throws MessagingException {
+    int sent = 0;
+    if ((messages == null) || messages.isEmpty()) {
+      return sent;
+    }
+    Transport transport = borrow(mail);
+    boolean reconnected = false;
+    boolean reusable = false;
+    try {
+      for (Message message : messages) {
+        message.saveChanges();
+        try {
+          transport.sendMessage(message, message.getAllRecipients());
+          sent++;
+        } catch (SendFailedException e) {
+          logger.error("MailTransportPool.sendBatch() - message not sent ", e);
+        } catch (MessagingException e) {
+          if (reconnected) {
+            throw e;
+          }
+          close(transport);
+          transport = connect(mail);
+          reconnected = true;
+          transport.sendMessage(message, message.getAllRecipients());
+          sent++;
+        }
+      }
+      reusable = true;
+    } finally {
+      release(mail, transport, reusable);
+    }
+    return sent;
+  }
+
+  /** Closes every idle transport. */
+  public void closeAll() {
+    for (Deque<IdleTransport> idle : idleTransports.values()) {
+      synchronized (idle) {
+        for (IdleTransport idleTransport : idle) {
+          close(idleTransport.transport);
+        }
+        idle.clear();
+      }
+    }
+  }
+
+  private Transport borrow(Mail mail) throws MessagingException {
+    Deque<IdleTransport> idle = getIdleTransports(mail.getConnectionKey());
+    long now = System.currentTimeMillis();
+    while (true) {
+      IdleTransport idleTransport;
+      synchronized (idle) {
+        evictExpired(idle, now);
+        idleTransport = idle.pollFirst();
+      }
+      if (idleTransport == null) {
+        return connect(mail);
+      }
+      if (idleTransport.transport.isConnected()) {
+        return idleTransport.transport;
+      }
+      close(idleTransport.transport);
+    }
+  }
+
+  private void release(Mail mail, Transport transport, boolean reusable) {
+    if (!reusable) {
+      close(transport);
+      return;
+    }
+    Deque<IdleTransport> idle = getIdleTransports(mail.getConnectionKey());
+    synchronized (idle) {
+      evictExpired(idle, System.currentTimeMillis());
+      if (idle.size() < maxIdle) {
+        idle.addFirst(new IdleTransport(transport, System.currentTimeMillis()));
+        return;
+      }
+    }
+    close(transport);
+  }
+
+  private Transport connect(Mail mail) throws MessagingException {
+    Transport transport = getSession(mail).getTransport("smtp");
+    mail.connect(transport);
+    return transport;
+  }
+
+  private Deque<IdleTransport> getIdleTransports(String key) {
+    Deque<IdleTransport> idle = idleTransports.get(key);
+    if (idle == null) {
+      Deque<IdleTransport> created = new ArrayDeque<>();
+      idle = idleTransports.putIfAbsent(key, created);
+      if (idle == null) {
+        idle = created;
+      }
+    }
+    return idle;
+  }
+
+  private void evictExpired(Deque<IdleTransport> idle, long now) {
+    Iterator<IdleTransport> iterator = idle.iterator();
+    while (iterator.hasNext()) {
+      IdleTransport idleTransport = iterator.next();
+      if ((now - idleTransport.idleSince) >= idleTimeoutMillis) {
+        iterator.remove();
+        close(idleTransport.transport);
+      }
+    }
+  }
+
+  private void close(Transport transport) {
+    try {
+      transport.close();
+    } catch (MessagingException e) {
+      logger.debug("MailTransportPool.close() - " + e.getMessage());
+    }
+  }
+
+  private static class IdleTransport {
+
+    private final Transport transport;
+
+    private final long idleSince;
+
+    IdleTransport(Transport transport, long idleSince) {
+      this.transport = transport;
+      this.idleSince = idleSince;
+    }
+  }
+}
@@ -23,6 +23,8 @@
 
 package com.fdahpstudydesigner.util;
 
+import java.util.HashMap;
+import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 import org.apache.log4j.Logger;
@@ -31,64 +33,67 @@ public class RequestWrapper extends HttpServletRequestWrapper {
 
   private static Logger logger = Logger.getLogger(RequestWrapper.class);
 
+  // Sanitized values are kept for the lifetime of the request, controllers and
+  // Spring data binding read the same parameters several times.
+  private final Map<String, String> cleanHeaders = new HashMap<>();
+
+  private final Map<String, String> cleanParameters = new HashMap<>();
+
+  private final Map<String, String[]> cleanParameterValues = new HashMap<>();
+
   public RequestWrapper(HttpServletRequest servletRequest) {
     super(servletRequest);
   }
 
-  private String cleanXSS(String value) {
-    // You'll need to remove the spaces from the html entities below
-    logger.info("cleanXSS starts");
-    if (value == null) {
-      logger.info("cleanXSS ends");
-      return null;
-    }
-    String filteredValue =
-      value
-        .replaceAll("eval\\((.*)\\)", "")
-        .replaceAll("[\\\"\\\'][\\s]*javascript:(.*)[\\\"\\\']", "\"\"")
-        .replaceAll("(?i)<script.*?>.*?<script.*?>", "")
-        .replaceAll("(?i)<script.*?>.*?</script.*?>", "")
-        .replaceAll("(?i)<.*?javascript:.*?>.*?</.*?>", "");
-    /* to skip the coverted html content from truncating */
-    logger.info("cleanXSS ends");
-    return filteredValue;
-  }
-
   @Override
   public String getHeader(String name) {
-    logger.info("getHeader starts");
-    String value = super.getHeader(name);
-    if (value == null) {
-      return value;
+    logger.debug("getHeader starts");
+    String cleanValue = cleanHeaders.get(name);
+    if (cleanValue == null) {
+      String value = super.getHeader(name);
+      if (value == null) {
+        return value;
+      }
+      cleanValue = XssSanitizer.clean(value);
+      cleanHeaders.put(name, cleanValue);
     }
-    logger.info("getHeader ends");
-    return this.cleanXSS(value);
+    logger.debug("getHeader ends");
+    return cleanValue;
   }
 
   @Override
   public String getParameter(String parameter) {
-    logger.info("getParameter starts");
-    String value = super.getParameter(parameter);
-    if (value == null) {
-      return value;
+    logger.debug("getParameter starts");
+    String cleanValue = cleanParameters.get(parameter);
+    if (cleanValue == null) {
+      String value = super.getParameter(parameter);
+      if (value == null) {
+        return value;
+      }
+      cleanValue = XssSanitizer.clean(value);
+      cleanParameters.put(parameter, cleanValue);
     }
-    logger.info("getParameter ends");
-    return this.cleanXSS(value);
+    logger.debug("getParameter ends");
+    return cleanValue;
   }
 
   @Override
   public String[] getParameterValues(String parameter) {
-    logger.info("getParameterValues starts");
-    String[] values = super.getParameterValues(parameter);
-    if (values == null) {
-      return values;
-    }
-    int count = values.length;
-    String[] encodedValues = new String[count];
-    for (int i = 0; i < count; i++) {
-      encodedValues[i] = this.cleanXSS(values[i]);
+    logger.debug("getParameterValues starts");
+    String[] encodedValues = cleanParameterValues.get(parameter);
+    if (encodedValues == null) {
+      String[] values = super.getParameterValues(parameter);
+      if (values == null) {
+        return values;
+      }
+      int count = values.length;
+      encodedValues = new String[count];
+      for (int i = 0; i < count; i++) {
+        encodedValues[i] = XssSanitizer.clean(values[i]);
+      }
+      cleanParameterValues.put(parameter, encodedValues);
     }
-    logger.info("getParameterValues ends");
-    return encodedValues;
+    logger.debug("getParameterValues ends");
+    return encodedValues.clone();
   }
 }
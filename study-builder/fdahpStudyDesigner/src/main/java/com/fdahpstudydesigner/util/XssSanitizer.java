@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.fdahpstudydesigner.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Removes script content from request values. The patterns are compiled once and each one is only
+ * run when a plain text scan finds the token it needs, so ordinary form values are returned without
+ * running any regular expression.
+ */
+public class XssSanitizer {
+
+  private static final Pattern EVAL_PATTERN = Pattern.compile("eval\\((.*)\\)");
+
+  private static final Pattern JAVASCRIPT_ATTRIBUTE_PATTERN =
+      Pattern.compile("[\\\"\\\'][\\s]*javascript:(.*)[\\\"\\\']");
+
+  private static final Pattern NESTED_SCRIPT_PATTERN =
+      Pattern.compile("(?i)<script.*?>.*?<script.*?>");
+
+  private static final Pattern SCRIPT_PATTERN = Pattern.compile("(?i)<script.*?>.*?</script.*?>");
+
+  private static final Pattern JAVASCRIPT_ELEMENT_PATTERN =
+      Pattern.compile("(?i)<.*?javascript:.*?>.*?</.*?>");
+
+  private XssSanitizer() {}
+
+  /**
+   * Applies the same replacements, in the same order, as the former {@code replaceAll} chain in
+   * {@link RequestWrapper}.
+   */
+  public static String clean(String value) {
+    if (value == null) {
+      return null;
+    }
+    String filteredValue = value;
+    if (filteredValue.indexOf("eval(") != -1) {
+      filteredValue = EVAL_PATTERN.matcher(filteredValue).replaceAll("");
+    }
+    if (filteredValue.indexOf("javascript:") != -1) {
+      filteredValue = JAVASCRIPT_ATTRIBUTE_PATTERN.matcher(filteredValue).replaceAll("\"\"");
+    }
+    if (containsIgnoreCase(filteredValue, "<script")) {
+      filteredValue = NESTED_SCRIPT_PATTERN.matcher(filteredValue).replaceAll("");
+      filteredValue = SCRIPT_PATTERN.matcher(filteredValue).replaceAll("");
+    }
+    if (containsIgnoreCase(filteredValue, "javascript:")) {
+      filteredValue = JAVASCRIPT_ELEMENT_PATTERN.matcher(filteredValue).replaceAll("");
+    }
+    return filteredValue;
+  }
+
+  // Single pass over the value; token must be lower case ASCII.
+  static boolean containsIgnoreCase(String value, String token) {
+    char first = token.charAt(0);
+    int last = value.length() - token.length();
+    for (int i = 0; i <= last; i++) {
+      if ((Character.toLowerCase(value.charAt(i)) == first)
+          && value.regionMatches(true, i + 1, token, 1, token.length() - 1)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
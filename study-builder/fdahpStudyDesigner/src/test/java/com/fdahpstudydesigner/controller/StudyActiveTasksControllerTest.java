@@ -29,7 +29,7 @@ import com.fdahpstudydesigner.common.PathMappingUri;
 import com.fdahpstudydesigner.common.UserAccessLevel;
 import com.fdahpstudydesigner.dao.NotificationDAOImpl;
 import com.fdahpstudydesigner.dao.StudyActiveTasksDAOImpl;
-import com.fdahpstudydesigner.dao.StudyDAOImpl;
+import com.fdahpstudydesigner.dao.StudyDAO;
 import com.fdahpstudydesigner.util.FdahpStudyDesignerConstants;
 import com.fdahpstudydesigner.util.SessionObject;
 import java.util.ArrayList;
@@ -43,7 +43,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 public class StudyActiveTasksControllerTest extends BaseMockIT {
-  @Autowired StudyDAOImpl studyDaoImpl;
+  @Autowired StudyDAO studyDaoImpl;
 
   @Autowired StudyActiveTasksDAOImpl studyActiveTasksDAOImpl;
 
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2020 Google LLC
+ *
+ * Use of this source code is governed by an MIT-style
+ * license that can be found in the LICENSE file or at
+ * https://opensource.org/licenses/MIT.
+ */
+
+package com.fdahpstudydesigner.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.fdahpstudydesigner.bo.FormMappingBo;
+import com.fdahpstudydesigner.bo.InstructionsBo;
+import com.fdahpstudydesigner.bo.QuestionnairesStepsBo;
+import com.fdahpstudydesigner.bo.StudyBo;
+import com.fdahpstudydesigner.common.BaseMockIT;
+import com.fdahpstudydesigner.util.FdahpStudyDesignerConstants;
+import com.fdahpstudydesigner.util.SessionObject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Runs the same DAO calls from many threads at once and checks that every call gets the answer it
+ * gets when run alone.
+ */
+public class ConcurrentDaoAccessTest extends BaseMockIT {
+
+  private static final int THREADS = 8;
+
+  private static final int CALLS = 200;
+
+  private static final Integer[] STUDY_IDS = {678574, 678575, 678576, 678577, 678578, 678579};
+
+  private static final String[] SHORT_TITLES = {"onetime", "unknownShortTitle"};
+
+  private static final Integer QUESTIONNAIRE_STUDY_ID = 58;
+
+  private static final int WRITES = 40;
+
+  private static final int FORM_ID = 990001;
+
+  private static final int FORM_QUESTIONS = 5;
+
+  private static final int QUESTIONNAIRE_ID = 990002;
+
+  private static final String PUBLISH_STUDY_ID = "678576";
+
+  @Autowired private StudyDAO studyDAO;
+
+  @Autowired private StudyQuestionnaireDAO studyQuestionnaireDAO;
+
+  @Autowired private SessionFactory sessionFactory;
+
+  @Test
+  public void shouldReturnOwnStudyForParallelEditors() throws Exception {
+    final String[] expected = new String[STUDY_IDS.length];
+    for (int i = 0; i < STUDY_IDS.length; i++) {
+      StudyBo study = studyDAO.getStudyById(String.valueOf(STUDY_IDS[i]), 1);
+      assertNotNull(study);
+      expected[i] = study.getCustomStudyId();
+    }
+
+    List<Callable<String>> calls = new ArrayList<>();
+    for (int i = 0; i < CALLS; i++) {
+      final int index = i % STUDY_IDS.length;
+      calls.add(
+          new Callable<String>() {
+            @Override
+            public String call() {
+              StudyBo study = studyDAO.getStudyById(String.valueOf(STUDY_IDS[index]), 1);
+              assertEquals(STUDY_IDS[index], study.getId());
+              assertEquals(expected[index], study.getCustomStudyId());
+              return study.getCustomStudyId();
+            }
+          });
+    }
+    runAll(calls);
+  }
+
+  @Test
+  public void shouldCheckShortTitlesForParallelEditors() throws Exception {
+    final String[] expected = new String[SHORT_TITLES.length];
+    for (int i = 0; i < SHORT_TITLES.length; i++) {
+      expected[i] =
+          studyQuestionnaireDAO.checkQuestionnaireShortTitle(
+              QUESTIONNAIRE_STUDY_ID, SHORT_TITLES[i], null);
+    }
+
+    List<Callable<String>> calls = new ArrayList<>();
+    for (int i = 0; i < CALLS; i++) {
+      final int index = i % SHORT_TITLES.length;
+      calls.add(
+          new Callable<String>() {
+            @Override
+            public String call() {
+              String message =
+                  studyQuestionnaireDAO.checkQuestionnaireShortTitle(
+                      QUESTIONNAIRE_STUDY_ID, SHORT_TITLES[index], null);
+              assertEquals(expected[index], message);
+              return message;
+            }
+          });
+    }
+    runAll(calls);
+  }
+
+  @Test
+  public void shouldKeepSequenceNumbersForParallelReorders() throws Exception {
+    Session session = sessionFactory.openSession();
+    try {
+      session.beginTransaction();
+      for (int i = 1; i <= FORM_QUESTIONS; i++) {
+        FormMappingBo formMapping = new FormMappingBo();
+        formMapping.setFormId(FORM_ID);
+        formMapping.setQuestionId(FORM_ID + i);
+        formMapping.setSequenceNo(i);
+        formMapping.setActive(true);
+        session.save(formMapping);
+      }
+      session.getTransaction().commit();
+    } finally {
+      session.close();
+    }
+
+    List<Callable<String>> calls = new ArrayList<>();
+    for (int i = 0; i < WRITES; i++) {
+      final List<Integer> order = new ArrayList<>();
+      for (int j = 1; j <= FORM_QUESTIONS; j++) {
+        order.add(j);
+      }
+      Collections.rotate(order, i);
+      calls.add(
+          new Callable<String>() {
+            @Override
+            public String call() {
+              return studyQuestionnaireDAO.reOrderFormStepQuestions(FORM_ID, order);
+            }
+          });
+    }
+    runAll(calls);
+
+    List<Integer> sequenceNos =
+        query(
+            "select FMBO.sequenceNo From FormMappingBo FMBO where FMBO.formId="
+                + FORM_ID
+                + " order by FMBO.sequenceNo");
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), sequenceNos);
+  }
+
+  @Test
+  public void shouldKeepEveryStepSavedByParallelEditors() throws Exception {
+    final SessionObject sessionObject = new SessionObject();
+    sessionObject.setUserId(1);
+    List<Callable<String>> calls = new ArrayList<>();
+    for (int i = 0; i < WRITES; i++) {
+      final String title = "step" + i;
+      calls.add(
+          new Callable<String>() {
+            @Override
+            public String call() {
+              InstructionsBo instructionsBo = new InstructionsBo();
+              instructionsBo.setActive(true);
+              instructionsBo.setInstructionTitle(title);
+              instructionsBo.setInstructionText(title);
+              instructionsBo.setQuestionnaireId(QUESTIONNAIRE_ID);
+              instructionsBo.setType(FdahpStudyDesignerConstants.ACTION_TYPE_SAVE);
+              QuestionnairesStepsBo step = new QuestionnairesStepsBo();
+              step.setStepShortTitle(title);
+              instructionsBo.setQuestionnairesStepsBo(step);
+              instructionsBo =
+                  studyQuestionnaireDAO.saveOrUpdateInstructionsBo(
+                      instructionsBo, sessionObject, null);
+              assertNotNull(instructionsBo.getQuestionnairesStepsBo().getStepId());
+              return title;
+            }
+          });
+    }
+    runAll(calls);
+
+    List<String> titles =
+        query(
+            "select QSBO.stepShortTitle From QuestionnairesStepsBo QSBO where QSBO.questionnairesId="
+                + QUESTIONNAIRE_ID
+                + " and QSBO.active=1");
+    assertEquals(WRITES, titles.size());
+    assertEquals(
+        WRITES, query("From InstructionsBo IBO where IBO.instructionTitle like 'step%'").size());
+  }
+
+  @Test
+  public void shouldRecordEveryPublishFromParallelEditors() throws Exception {
+    final SessionObject sessionObject = new SessionObject();
+    sessionObject.setUserId(1);
+    int notifications = notificationCount();
+
+    List<Callable<String>> calls = new ArrayList<>();
+    for (int i = 0; i < WRITES; i++) {
+      calls.add(
+          new Callable<String>() {
+            @Override
+            public String call() {
+              String message =
+                  studyDAO.updateStudyActionOnAction(
+                      PUBLISH_STUDY_ID, FdahpStudyDesignerConstants.ACTION_PUBLISH, sessionObject);
+              assertEquals(FdahpStudyDesignerConstants.SUCCESS, message);
+              return message;
+            }
+          });
+    }
+    runAll(calls);
+
+    // every publish notifies the gateway once
+    assertEquals(notifications + WRITES, notificationCount());
+    StudyBo study = studyDAO.getStudyById(PUBLISH_STUDY_ID, 1);
+    assertEquals(FdahpStudyDesignerConstants.STUDY_PRE_PUBLISH, study.getStatus());
+    assertTrue(study.isStudyPreActiveFlag());
+  }
+
+  private int notificationCount() {
+    return query("From NotificationBO NBO where NBO.studyId=" + PUBLISH_STUDY_ID).size();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> List<T> query(String hql) {
+    Session session = sessionFactory.openSession();
+    try {
+      return session.createQuery(hql).list();
+    } finally {
+      session.close();
+    }
+  }
+
+  private void runAll(List<Callable<String>> calls) throws Exception {
+    // the DAOs read the audit details from the request bound to the calling thread
+    final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    List<Callable<String>> boundCalls = new ArrayList<>();
+    for (final Callable<String> call : calls) {
+      boundCalls.add(
+          new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+              RequestContextHolder.setRequestAttributes(requestAttributes);
+              try {
+                return call.call();
+              } finally {
+                RequestContextHolder.resetRequestAttributes();
+              }
+            }
+          });
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      // Future.get() rethrows any assertion error raised on a worker thread
+      for (Future<String> result : executor.invokeAll(boundCalls)) {
+        result.get();
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+  }
+}
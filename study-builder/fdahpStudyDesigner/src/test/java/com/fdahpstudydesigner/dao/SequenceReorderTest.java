@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Google LLC
+ *
+ * Use of this source code is governed by an MIT-style
+ * license that can be found in the LICENSE file or at
+ * https://opensource.org/licenses/MIT.
+ */
+
+package com.fdahpstudydesigner.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class SequenceReorderTest {
+
+  @Test
+  public void shouldMoveOnlyChangedRows() {
+    List<Object[]> rows = rows(11, 1, 12, 2, 13, 3, 14, 4);
+
+    List<Integer> orderedIds = SequenceReorder.orderedIds(rows, Arrays.asList(1, 3, 2, 4));
+    Map<Integer, Integer> moves = SequenceReorder.moves(rows, orderedIds);
+
+    assertEquals(Arrays.asList(11, 13, 12, 14), orderedIds);
+    assertEquals(2, moves.size());
+    assertEquals(Integer.valueOf(2), moves.get(13));
+    assertEquals(Integer.valueOf(3), moves.get(12));
+  }
+
+  @Test
+  public void shouldCloseGapsInSequenceNumbers() {
+    List<Object[]> rows = rows(11, 3, 12, 5);
+
+    Map<Integer, Integer> moves =
+        SequenceReorder.moves(rows, SequenceReorder.orderedIds(rows, Arrays.asList(5, 3)));
+
+    assertEquals(Integer.valueOf(1), moves.get(12));
+    assertEquals(Integer.valueOf(2), moves.get(11));
+  }
+
+  @Test
+  public void shouldReturnNoMovesForSameOrder() {
+    List<Object[]> rows = rows(11, 1, 12, 2);
+
+    assertTrue(
+        SequenceReorder.moves(rows, SequenceReorder.orderedIds(rows, Arrays.asList(1, 2)))
+            .isEmpty());
+  }
+
+  @Test
+  public void shouldRejectOrderNotMatchingCurrentRows() {
+    List<Object[]> rows = rows(11, 1, 12, 2, 13, 3);
+
+    assertNull(SequenceReorder.orderedIds(rows, Arrays.asList(1, 2)));
+    assertNull(SequenceReorder.orderedIds(rows, Arrays.asList(1, 2, 2)));
+    assertNull(SequenceReorder.orderedIds(rows, Arrays.asList(1, 2, 4)));
+    assertNull(SequenceReorder.orderedIds(rows, null));
+  }
+
+  private List<Object[]> rows(Integer... idsAndSequenceNos) {
+    List<Object[]> rows = new ArrayList<>();
+    for (int i = 0; i < idsAndSequenceNos.length; i += 2) {
+      rows.add(new Object[] {idsAndSequenceNos[i], idsAndSequenceNos[i + 1]});
+    }
+    return rows;
+  }
+}
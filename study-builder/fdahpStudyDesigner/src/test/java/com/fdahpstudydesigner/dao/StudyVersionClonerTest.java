@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020 Google LLC
+ *
+ * Use of this source code is governed by an MIT-style
+ * license that can be found in the LICENSE file or at
+ * https://opensource.org/licenses/MIT.
+ */
+
+package com.fdahpstudydesigner.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.fdahpstudydesigner.bo.FormBo;
+import com.fdahpstudydesigner.bo.FormMappingBo;
+import com.fdahpstudydesigner.bo.InstructionsBo;
+import com.fdahpstudydesigner.bo.QuestionnaireBo;
+import com.fdahpstudydesigner.bo.QuestionnairesStepsBo;
+import com.fdahpstudydesigner.bo.QuestionsBo;
+import com.fdahpstudydesigner.common.BaseMockIT;
+import com.fdahpstudydesigner.util.FdahpStudyDesignerConstants;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class StudyVersionClonerTest extends BaseMockIT {
+
+  private static final Integer STUDY_ID = 990101;
+
+  private static final Integer NEW_STUDY_ID = 990102;
+
+  private static final String CUSTOM_STUDY_ID = "CloneStudy";
+
+  @Autowired private SessionFactory sessionFactory;
+
+  @Test
+  public void shouldRemapStepsFormsAndQuestionsOfClonedQuestionnaire() {
+    Session session = sessionFactory.openSession();
+    try {
+      session.beginTransaction();
+      QuestionnaireBo questionnaire = new QuestionnaireBo();
+      questionnaire.setStudyId(STUDY_ID);
+      questionnaire.setCustomStudyId(CUSTOM_STUDY_ID);
+      questionnaire.setShortTitle("cloneQuestionnaire");
+      questionnaire.setActive(true);
+      session.save(questionnaire);
+
+      InstructionsBo instruction = new InstructionsBo();
+      instruction.setInstructionTitle("cloneInstruction");
+      instruction.setActive(true);
+      session.save(instruction);
+      QuestionsBo stepQuestion = question(session, "cloneStepQuestion");
+      FormBo form = new FormBo();
+      form.setActive(true);
+      session.save(form);
+      QuestionsBo firstFormQuestion = question(session, "cloneFormQuestion1");
+      QuestionsBo secondFormQuestion = question(session, "cloneFormQuestion2");
+      formMapping(session, form, firstFormQuestion, 1);
+      formMapping(session, form, secondFormQuestion, 2);
+
+      QuestionnairesStepsBo instructionStep =
+          step(
+              session,
+              questionnaire,
+              FdahpStudyDesignerConstants.INSTRUCTION_STEP,
+              instruction.getId(),
+              1);
+      QuestionnairesStepsBo questionStep =
+          step(
+              session,
+              questionnaire,
+              FdahpStudyDesignerConstants.QUESTION_STEP,
+              stepQuestion.getId(),
+              2);
+      QuestionnairesStepsBo formStep =
+          step(session, questionnaire, FdahpStudyDesignerConstants.FORM_STEP, form.getFormId(), 3);
+      // the instruction branches past the question straight to the form
+      instructionStep.setDestinationStep(formStep.getStepId());
+      questionStep.setDestinationStep(formStep.getStepId());
+      formStep.setDestinationStep(0);
+
+      StudyVersionCloner cloner =
+          new StudyVersionCloner(session)
+              .bind("newStudyId", NEW_STUDY_ID)
+              .bind("customStudyId", CUSTOM_STUDY_ID)
+              .bind("changedQuestionnaireIds", Arrays.asList(questionnaire.getId()))
+              .bind("instructionStep", FdahpStudyDesignerConstants.INSTRUCTION_STEP)
+              .bind("questionStep", FdahpStudyDesignerConstants.QUESTION_STEP)
+              .bind("formStep", FdahpStudyDesignerConstants.FORM_STEP);
+      cloner.map("questionnaire", QuestionnaireBo.class, "src.id IN (:changedQuestionnaireIds)");
+      Map<Integer, Integer> questionnaireIds =
+          cloner.copyMapped(
+              "questionnaire",
+              QuestionnaireBo.class,
+              StudyVersionCloner.overrides("studyId", ":newStudyId"));
+      new StudyDAOImpl().cloneQuestionnaireSteps(session, cloner);
+
+      Integer newQuestionnaireId = questionnaireIds.get(questionnaire.getId());
+      assertFalse(questionnaire.getId().equals(newQuestionnaireId));
+      List<?> steps =
+          session
+              .createSQLQuery(
+                  "SELECT step_id, step_type, instruction_form_id, destination_step"
+                      + " FROM questionnaires_steps WHERE questionnaires_id = :questionnaireId"
+                      + " ORDER BY sequence_no")
+              .setInteger("questionnaireId", newQuestionnaireId)
+              .list();
+      assertEquals(3, steps.size());
+      Object[] newInstructionStep = (Object[]) steps.get(0);
+      Object[] newQuestionStep = (Object[]) steps.get(1);
+      Object[] newFormStep = (Object[]) steps.get(2);
+      Integer newFormStepId = number(newFormStep[0]);
+      assertFalse(formStep.getStepId().equals(newFormStepId));
+
+      Integer newInstructionId = number(newInstructionStep[2]);
+      assertFalse(instruction.getId().equals(newInstructionId));
+      assertEquals(
+          "cloneInstruction",
+          session
+              .createSQLQuery("SELECT instruction_title FROM instructions WHERE id = :id")
+              .setInteger("id", newInstructionId)
+              .uniqueResult());
+      assertEquals(newFormStepId, number(newInstructionStep[3]));
+
+      Integer newStepQuestionId = number(newQuestionStep[2]);
+      assertFalse(stepQuestion.getId().equals(newStepQuestionId));
+      assertEquals("cloneStepQuestion", shortTitle(session, newStepQuestionId));
+      assertEquals(newFormStepId, number(newQuestionStep[3]));
+
+      Integer newFormId = number(newFormStep[2]);
+      assertFalse(form.getFormId().equals(newFormId));
+      assertEquals(Integer.valueOf(0), number(newFormStep[3]));
+      List<?> newFormQuestionIds =
+          session
+              .createSQLQuery(
+                  "SELECT question_id FROM form_mapping WHERE form_id = :formId"
+                      + " ORDER BY sequence_no")
+              .setInteger("formId", newFormId)
+              .list();
+      assertEquals(2, newFormQuestionIds.size());
+      Integer newFirstFormQuestionId = number(newFormQuestionIds.get(0));
+      Integer newSecondFormQuestionId = number(newFormQuestionIds.get(1));
+      assertFalse(firstFormQuestion.getId().equals(newFirstFormQuestionId));
+      assertFalse(secondFormQuestion.getId().equals(newSecondFormQuestionId));
+      assertEquals("cloneFormQuestion1", shortTitle(session, newFirstFormQuestionId));
+      assertEquals("cloneFormQuestion2", shortTitle(session, newSecondFormQuestionId));
+
+      for (String table :
+          new String[] {
+            "questionnaires", "questionnaires_steps", "instructions", "questions", "form"
+          }) {
+        assertEquals(
+            table,
+            0,
+            number(
+                    session
+                        .createSQLQuery(
+                            "SELECT COUNT(*) FROM " + table + " WHERE clone_source_id IS NOT NULL")
+                        .uniqueResult())
+                .intValue());
+      }
+      cloner.release();
+    } finally {
+      session.getTransaction().rollback();
+      session.close();
+    }
+  }
+
+  private QuestionsBo question(Session session, String shortTitle) {
+    QuestionsBo question = new QuestionsBo();
+    question.setShortTitle(shortTitle);
+    question.setActive(true);
+    session.save(question);
+    return question;
+  }
+
+  private void formMapping(Session session, FormBo form, QuestionsBo question, int sequenceNo) {
+    FormMappingBo formMapping = new FormMappingBo();
+    formMapping.setFormId(form.getFormId());
+    formMapping.setQuestionId(question.getId());
+    formMapping.setSequenceNo(sequenceNo);
+    formMapping.setActive(true);
+    session.save(formMapping);
+  }
+
+  private QuestionnairesStepsBo step(
+      Session session,
+      QuestionnaireBo questionnaire,
+      String stepType,
+      Integer instructionFormId,
+      int sequenceNo) {
+    QuestionnairesStepsBo step = new QuestionnairesStepsBo();
+    step.setQuestionnairesId(questionnaire.getId());
+    step.setStepType(stepType);
+    step.setInstructionFormId(instructionFormId);
+    step.setSequenceNo(sequenceNo);
+    step.setActive(true);
+    session.save(step);
+    return step;
+  }
+
+  private String shortTitle(Session session, Integer questionId) {
+    return (String)
+        session
+            .createSQLQuery("SELECT short_title FROM questions WHERE id = :id")
+            .setInteger("id", questionId)
+            .uniqueResult();
+  }
+
+  private Integer number(Object value) {
+    return ((Number) value).intValue();
+  }
+}
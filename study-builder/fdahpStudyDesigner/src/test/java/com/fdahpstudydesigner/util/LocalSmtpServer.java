@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.fdahpstudydesigner.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process SMTP server for tests and benchmarks. It accepts any login and any message,
+ * keeps the raw DATA of every message, and counts the connections it was opened with.
+ */
+public class LocalSmtpServer {
+
+  private final ServerSocket serverSocket;
+
+  private final AtomicInteger connectionCount = new AtomicInteger();
+
+  private final List<String> messages = Collections.synchronizedList(new ArrayList<String>());
+
+  private final List<Socket> clients = Collections.synchronizedList(new ArrayList<Socket>());
+
+  public LocalSmtpServer() throws IOException {
+    serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    Thread acceptor =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                accept();
+              }
+            },
+            "local-smtp-acceptor");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  public int getConnectionCount() {
+    return connectionCount.get();
+  }
+
+  public List<String> getMessages() {
+    synchronized (messages) {
+      return new ArrayList<>(messages);
+    }
+  }
+
+  /** Drops every open client connection without a reply, as an SMTP server timing out would. */
+  public void dropConnections() throws IOException {
+    synchronized (clients) {
+      for (Socket client : clients) {
+        client.close();
+      }
+      clients.clear();
+    }
+  }
+
+  public void stop() throws IOException {
+    serverSocket.close();
+    dropConnections();
+  }
+
+  private void accept() {
+    while (!serverSocket.isClosed()) {
+      try {
+        final Socket client = serverSocket.accept();
+        connectionCount.incrementAndGet();
+        clients.add(client);
+        Thread handler =
+            new Thread(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    handle(client);
+                  }
+                },
+                "local-smtp-client");
+        handler.setDaemon(true);
+        handler.start();
+      } catch (IOException e) {
+        // server stopped
+      }
+    }
+  }
+
+  private void handle(Socket client) {
+    try {
+      BufferedReader in =
+          new BufferedReader(
+              new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+      OutputStream out = client.getOutputStream();
+      reply(out, "220 localhost ESMTP");
+      String line;
+      while ((line = in.readLine()) != null) {
+        String command = line.toUpperCase();
+        if (command.startsWith("EHLO")) {
+          reply(out, "250-localhost\r\n250 AUTH LOGIN PLAIN");
+        } else if (command.startsWith("HELO")) {
+          reply(out, "250 localhost");
+        } else if (command.startsWith("AUTH LOGIN")) {
+          reply(out, "334 VXNlcm5hbWU6");
+          in.readLine();
+          reply(out, "334 UGFzc3dvcmQ6");
+          in.readLine();
+          reply(out, "235 Authentication successful");
+        } else if (command.startsWith("AUTH PLAIN")) {
+          if (command.trim().equals("AUTH PLAIN")) {
+            reply(out, "334 ");
+            in.readLine();
+          }
+          reply(out, "235 Authentication successful");
+        } else if (command.startsWith("DATA")) {
+          reply(out, "354 End data with <CR><LF>.<CR><LF>");
+          StringBuilder data = new StringBuilder();
+          while (((line = in.readLine()) != null) && !".".equals(line)) {
+            data.append(line).append("\r\n");
+          }
+          messages.add(data.toString());
+          reply(out, "250 OK");
+        } else if (command.startsWith("QUIT")) {
+          reply(out, "221 Bye");
+          break;
+        } else {
+          // MAIL, RCPT, RSET and NOOP
+          reply(out, "250 OK");
+        }
+      }
+    } catch (SocketException e) {
+      // connection dropped
+    } catch (IOException e) {
+      // connection dropped
+    } finally {
+      try {
+        client.close();
+      } catch (IOException e) {
+        // already closed
+      }
+    }
+  }
+
+  private void reply(OutputStream out, String reply) throws IOException {
+    out.write((reply + "\r\n").getBytes(StandardCharsets.UTF_8));
+    out.flush();
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.fdahpstudydesigner.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MailTransportPoolTest {
+
+  private LocalSmtpServer server;
+
+  private MailTransportPool pool;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new LocalSmtpServer();
+    pool = new MailTransportPool(4, 60000L);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    pool.closeAll();
+    server.stop();
+  }
+
+  @Test
+  public void shouldReuseConnectionForConsecutiveMails() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      Mail mail = newMail("user" + i + "@example.com");
+      pool.send(mail, mail.buildMessage(pool.getSession(mail)));
+    }
+
+    assertEquals(3, server.getMessages().size());
+    assertEquals(1, server.getConnectionCount());
+  }
+
+  @Test
+  public void shouldSendBatchOverOneConnection() throws Exception {
+    List<Mail> mails = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      mails.add(newMail("user" + i + "@example.com"));
+    }
+
+    int sent = Mail.sendBatch(mails, pool);
+
+    assertEquals(5, sent);
+    assertEquals(5, server.getMessages().size());
+    assertEquals(1, server.getConnectionCount());
+  }
+
+  @Test
+  public void shouldReplaceDroppedConnection() throws Exception {
+    Mail mail = newMail("user@example.com");
+    pool.send(mail, mail.buildMessage(pool.getSession(mail)));
+    server.dropConnections();
+
+    pool.send(mail, mail.buildMessage(pool.getSession(mail)));
+
+    assertEquals(2, server.getMessages().size());
+    assertEquals(2, server.getConnectionCount());
+  }
+
+  @Test
+  public void shouldNotReuseExpiredConnection() throws Exception {
+    pool = new MailTransportPool(4, 0L);
+    Mail mail = newMail("user@example.com");
+    pool.send(mail, mail.buildMessage(pool.getSession(mail)));
+    pool.send(mail, mail.buildMessage(pool.getSession(mail)));
+
+    assertEquals(2, server.getConnectionCount());
+    assertTrue(server.getMessages().get(1).contains("Subject: Test subject"));
+  }
+
+  private Mail newMail(String toEmail) {
+    Mail mail = new Mail();
+    mail.setSmtpHostname("127.0.0.1");
+    mail.setSmtpPortvalue(String.valueOf(server.getPort()));
+    mail.setSslFactory("javax.net.SocketFactory");
+    mail.setUseIpWhitelist(false);
+    mail.setFromEmailAddress("noreply@example.com");
+    mail.setFromEmailPassword("password");
+    mail.setToemail(toEmail);
+    mail.setSubject("Test subject");
+    mail.setMessageBody("<p>Test body</p>");
+    return mail;
+  }
+}
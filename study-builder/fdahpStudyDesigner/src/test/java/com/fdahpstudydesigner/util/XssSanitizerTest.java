@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.fdahpstudydesigner.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class XssSanitizerTest {
+
+  private static final String[] VALUES = {
+    "",
+    "Plain questionnaire title",
+    "<p>Consent <b>section</b> text with &nbsp; entities</p>",
+    "eval(alert(1))",
+    "value eval(x) and eval(y) end",
+    "<a href=\"javascript:alert(1)\">link</a>",
+    "<a href=' javascript:alert(1)'>link</a>",
+    "<SCRIPT>alert(1)</SCRIPT>",
+    "before<script src=x><script>after",
+    "<ScRiPt type=text/javascript>x</script >tail",
+    "<img src=x onerror=JavaScript:alert(1)></img>",
+    "<scrieval(x)pt>alert(1)</script>",
+    "multi\nline <script>\nalert(1)</script>",
+    "Javascript: is only text"
+  };
+
+  @Test
+  public void shouldMatchFormerReplaceAllChain() {
+    for (String value : VALUES) {
+      assertEquals(value, replaceAllChain(value), XssSanitizer.clean(value));
+    }
+  }
+
+  @Test
+  public void shouldReturnPlainValueUnchanged() {
+    String value = "Plain questionnaire title";
+    assertSame(value, XssSanitizer.clean(value));
+    assertNull(XssSanitizer.clean(null));
+  }
+
+  @Test
+  public void shouldFindTokenIgnoringCase() {
+    assertTrue(XssSanitizer.containsIgnoreCase("x<ScRiPt", "<script"));
+    assertTrue(XssSanitizer.containsIgnoreCase("JAVASCRIPT:", "javascript:"));
+    assertFalse(XssSanitizer.containsIgnoreCase("<scrip", "<script"));
+    assertFalse(XssSanitizer.containsIgnoreCase("", "<script"));
+  }
+
+  private String replaceAllChain(String value) {
+    return value
+        .replaceAll("eval\\((.*)\\)", "")
+        .replaceAll("[\\\"\\\'][\\s]*javascript:(.*)[\\\"\\\']", "\"\"")
+        .replaceAll("(?i)<script.*?>.*?<script.*?>", "")
+        .replaceAll("(?i)<script.*?>.*?</script.*?>", "")
+        .replaceAll("(?i)<.*?javascript:.*?>.*?</.*?>", "");
+  }
+}
@@ -67,3 +67,27 @@ INSERT INTO `studies` (`id`, `custom_study_id`, `name`, `full_name`, `type`, `pl
 INSERT INTO `study_sequence` (`study_sequence_id`, `study_id`, `actions`, `basic_info`, `check_list`, `comprehension_test`, `consent_edu_info`, `e_consent`, `eligibility`, `miscellaneous_branding`, `miscellaneous_notification`, `miscellaneous_resources`, `over_view`, `setting_admins`, `study_dashboard_chart`, `study_dashboard_stats`, `study_exc_active_task`, `study_exc_questionnaries`) VALUES (10248, 678680, 'N', 'N', 'N', 'N', 'N', 'N', 'N', 'N', 'N', 'N', 'N', 'N', 'N', 'N', 'N', 'N');
 
 INSERT INTO `consent_info` (`id`, `study_id`, `consent_item_type`, `content_type`, `brief_summary`, `elaborated`, `html_content`, `url`, `visual_step`, `sequence_no`, `created_by`, `created_on`, `modified_by`, `modified_on`, `display_title`, `status`, `consent_item_title_id`, `active`) VALUES (1143, 678680, 'ResearchKit/ResearchStack', NULL, 'Data gathering', '<p>&lt;Elaborated Content&nbsp;&gt;</p>', NULL, NULL, 'Yes', 1, 59, '2020-03-24 07:57:21', 59, '2020-03-24 07:57:25', 'Data gathering', 1, 3, 1);
+
+ALTER TABLE eligibility ADD COLUMN clone_source_id INT;
+CREATE INDEX eligibility_clone_source_id_idx ON eligibility (clone_source_id);
+
+ALTER TABLE questionnaires ADD COLUMN clone_source_id INT;
+CREATE INDEX questionnaires_clone_source_id_idx ON questionnaires (clone_source_id);
+
+ALTER TABLE questionnaires_steps ADD COLUMN clone_source_id INT;
+CREATE INDEX questionnaires_steps_clone_source_id_idx ON questionnaires_steps (clone_source_id);
+
+ALTER TABLE instructions ADD COLUMN clone_source_id INT;
+CREATE INDEX instructions_clone_source_id_idx ON instructions (clone_source_id);
+
+ALTER TABLE questions ADD COLUMN clone_source_id INT;
+CREATE INDEX questions_clone_source_id_idx ON questions (clone_source_id);
+
+ALTER TABLE form ADD COLUMN clone_source_id INT;
+CREATE INDEX form_clone_source_id_idx ON form (clone_source_id);
+
+ALTER TABLE active_task ADD COLUMN clone_source_id INT;
+CREATE INDEX active_task_clone_source_id_idx ON active_task (clone_source_id);
+
+ALTER TABLE comprehension_test_question ADD COLUMN clone_source_id INT;
+CREATE INDEX comprehension_test_question_clone_source_id_idx ON comprehension_test_question (clone_source_id);
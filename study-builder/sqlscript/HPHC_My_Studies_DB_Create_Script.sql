@@ -60,7 +60,11 @@ CREATE TABLE IF NOT EXISTS `active_task` (
   `active` tinyint(1) DEFAULT '1',
   `anchor_date_id` int(11) DEFAULT NULL,
   `schedule_type` varchar(255) DEFAULT NULL,
+  `version_key` int(11) GENERATED ALWAYS AS (ROUND(`version` * 10)) STORED,
+  `clone_source_id` int(11) DEFAULT NULL,
   PRIMARY KEY (`id`),
+  KEY `active_task_clone_source_id_idx` (`clone_source_id`),
+  KEY `active_task_custom_study_id_short_title_version_key_idx` (`custom_study_id`, `short_title`, `version_key`),
   KEY `study_id_idx` (`study_id`),
   CONSTRAINT `FK_study_active_task_id` FOREIGN KEY (`study_id`) REFERENCES `studies` (`id`) ON DELETE NO ACTION ON UPDATE NO ACTION
 ) ENGINE=InnoDB AUTO_INCREMENT=2850 DEFAULT CHARSET=utf8;
@@ -297,7 +301,9 @@ CREATE TABLE IF NOT EXISTS `comprehension_test_question` (
   `study_version` int(11) DEFAULT NULL,
   `active` bit(1) DEFAULT NULL,
   `status` bit(1) DEFAULT NULL,
+  `clone_source_id` int(11) DEFAULT NULL,
   PRIMARY KEY (`id`),
+  KEY `comprehension_test_question_clone_source_id_idx` (`clone_source_id`),
   KEY `consent_id_idx` (`study_id`),
   CONSTRAINT `FK_comprehension_test_question_studies` FOREIGN KEY (`study_id`) REFERENCES `studies` (`id`) ON DELETE NO ACTION ON UPDATE NO ACTION
 ) ENGINE=InnoDB AUTO_INCREMENT=532 DEFAULT CHARSET=utf8;
@@ -352,7 +358,9 @@ CREATE TABLE IF NOT EXISTS `consent` (
   `version` float DEFAULT NULL,
   `need_comprehension_test` varchar(255) DEFAULT NULL,
   `aggrement_of_consent` varchar(255) DEFAULT NULL,
+  `version_key` int(11) GENERATED ALWAYS AS (ROUND(`version` * 10)) STORED,
   PRIMARY KEY (`id`),
+  KEY `consent_custom_study_id_version_key_idx` (`custom_study_id`, `version_key`),
   KEY `study_id_idx` (`study_id`),
   CONSTRAINT `FK_study_consent_id` FOREIGN KEY (`study_id`) REFERENCES `studies` (`id`) ON DELETE NO ACTION ON UPDATE NO ACTION
 ) ENGINE=InnoDB AUTO_INCREMENT=341 DEFAULT CHARSET=utf8;
@@ -384,7 +392,9 @@ CREATE TABLE IF NOT EXISTS `consent_info` (
   `custom_study_id` varchar(255) DEFAULT NULL,
   `is_live` int(11) DEFAULT NULL,
   `version` float DEFAULT NULL,
+  `version_key` int(11) GENERATED ALWAYS AS (ROUND(`version` * 10)) STORED,
   PRIMARY KEY (`id`),
+  KEY `consent_info_custom_study_id_version_key_idx` (`custom_study_id`, `version_key`),
   KEY `consent_id_idx` (`study_id`),
   CONSTRAINT `FK_consent_info_studies` FOREIGN KEY (`study_id`) REFERENCES `studies` (`id`) ON DELETE NO ACTION ON UPDATE NO ACTION
 ) ENGINE=InnoDB AUTO_INCREMENT=1343 DEFAULT CHARSET=utf8;
@@ -414,7 +424,9 @@ CREATE TABLE IF NOT EXISTS `eligibility` (
   `created_on` varchar(255) DEFAULT NULL,
   `modified_by` int(11) DEFAULT NULL,
   `modified_on` varchar(255) DEFAULT NULL,
+  `clone_source_id` int(11) DEFAULT NULL,
   PRIMARY KEY (`id`),
+  KEY `eligibility_clone_source_id_idx` (`clone_source_id`),
   KEY `study_id_idx` (`study_id`),
   CONSTRAINT `FK_el_study_id` FOREIGN KEY (`study_id`) REFERENCES `studies` (`id`) ON DELETE NO ACTION ON UPDATE NO ACTION
 ) ENGINE=InnoDB AUTO_INCREMENT=1058 DEFAULT CHARSET=utf8;
@@ -482,7 +494,9 @@ CREATE TABLE IF NOT EXISTS `form` (
   `type` varchar(255) DEFAULT NULL,
   `active` bit(1) DEFAULT NULL,
   `study_version` int(11) DEFAULT NULL,
-  PRIMARY KEY (`form_id`)
+  `clone_source_id` int(11) DEFAULT NULL,
+  PRIMARY KEY (`form_id`),
+  KEY `form_clone_source_id_idx` (`clone_source_id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=24 DEFAULT CHARSET=utf8;
 
 -- Data exporting was unselected.
@@ -574,7 +588,9 @@ CREATE TABLE IF NOT EXISTS `instructions` (
   `active` tinyint(4) DEFAULT NULL,
   `study_version` int(11) DEFAULT NULL,
   `status` tinyint(4) DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  `clone_source_id` int(11) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `instructions_clone_source_id_idx` (`clone_source_id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=6218 DEFAULT CHARSET=utf8;
 
 -- Data exporting was unselected.
@@ -721,7 +737,9 @@ CREATE TABLE IF NOT EXISTS `notification` (
   `questionnarie_id` int(11) DEFAULT NULL,
   `active_task_id` int(11) DEFAULT NULL,
   `app_id` varchar(255) DEFAULT NULL,
-  PRIMARY KEY (`notification_id`)
+  `schedule_timestamp` datetime GENERATED ALWAYS AS (COALESCE(TIMESTAMP(`schedule_date`, COALESCE(`schedule_time`, '00:00:00')), `created_on`)) STORED,
+  PRIMARY KEY (`notification_id`),
+  KEY `notification_schedule_timestamp_idx` (`schedule_timestamp`, `notification_id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1511 DEFAULT CHARSET=latin1;
 
 -- Data exporting was unselected.
@@ -736,6 +754,32 @@ CREATE TABLE IF NOT EXISTS `notification_history` (
   CONSTRAINT `notification_history_id` FOREIGN KEY (`notification_id`) REFERENCES `notification` (`notification_id`) ON DELETE NO ACTION ON UPDATE NO ACTION
 ) ENGINE=InnoDB AUTO_INCREMENT=165 DEFAULT CHARSET=utf8;
 
+-- Data exporting was unselected.
+-- Dumping structure for table fda_hphc.notification_outbox
+DROP TABLE IF EXISTS `notification_outbox`;
+CREATE TABLE IF NOT EXISTS `notification_outbox` (
+  `outbox_id` int(11) NOT NULL AUTO_INCREMENT,
+  `notification_id` int(11) NOT NULL,
+  `app_id` varchar(255) NOT NULL,
+  `custom_study_id` varchar(255) DEFAULT NULL,
+  `notification_text` varchar(1024) DEFAULT NULL,
+  `notification_type` varchar(255) DEFAULT NULL,
+  `notification_subType` varchar(255) DEFAULT NULL,
+  `scheduled_at` datetime DEFAULT NULL,
+  `due_at` datetime NOT NULL,
+  `status` varchar(20) NOT NULL,
+  `attempts` int(11) NOT NULL DEFAULT '0',
+  `claim_token` varchar(36) DEFAULT NULL,
+  `claimed_at` datetime DEFAULT NULL,
+  `sent_on` datetime DEFAULT NULL,
+  `last_error` varchar(1024) DEFAULT NULL,
+  `created_on` datetime DEFAULT NULL,
+  PRIMARY KEY (`outbox_id`),
+  UNIQUE KEY `notification_outbox_notification_app_uk` (`notification_id`, `app_id`, `scheduled_at`),
+  KEY `notification_outbox_due_idx` (`status`, `due_at`, `outbox_id`),
+  KEY `notification_outbox_claim_idx` (`claim_token`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
 
 -- Data exporting was unselected.
 -- Dumping structure for table fda_hphc.pie_chart
@@ -795,7 +839,11 @@ CREATE TABLE IF NOT EXISTS `questionnaires` (
   `is_Change` tinyint(1) DEFAULT NULL,
   `schedule_type` varchar(50) DEFAULT NULL,
   `anchor_date_id` int(11) DEFAULT NULL,
+  `version_key` int(11) GENERATED ALWAYS AS (ROUND(`version` * 10)) STORED,
+  `clone_source_id` int(11) DEFAULT NULL,
   PRIMARY KEY (`id`),
+  KEY `questionnaires_clone_source_id_idx` (`clone_source_id`),
+  KEY `questionnaires_custom_study_id_short_title_version_key_idx` (`custom_study_id`, `short_title`, `version_key`),
   KEY `study_id_idx` (`study_id`),
   CONSTRAINT `FK_quest_study_id` FOREIGN KEY (`study_id`) REFERENCES `studies` (`id`) ON DELETE NO ACTION ON UPDATE NO ACTION
 ) ENGINE=InnoDB AUTO_INCREMENT=11093 DEFAULT CHARSET=utf8;
@@ -864,7 +912,9 @@ CREATE TABLE IF NOT EXISTS `questionnaires_steps` (
   `modified_on` varchar(255) DEFAULT NULL,
   `status` bit(1) DEFAULT NULL,
   `study_version` int(11) DEFAULT NULL,
+  `clone_source_id` int(11) DEFAULT NULL,
   PRIMARY KEY (`step_id`),
+  KEY `questionnaires_steps_clone_source_id_idx` (`clone_source_id`),
   KEY `questionnaires_id_idx` (`questionnaires_id`),
   CONSTRAINT `FK_questionnaires_qsteps_id` FOREIGN KEY (`questionnaires_id`) REFERENCES `questionnaires` (`id`) ON DELETE NO ACTION ON UPDATE NO ACTION
 ) ENGINE=InnoDB AUTO_INCREMENT=60022 DEFAULT CHARSET=utf8;
@@ -900,7 +950,9 @@ CREATE TABLE IF NOT EXISTS `questions` (
   `allow_healthkit` varchar(255) DEFAULT NULL,
   `healthkit_datatype` varchar(255) DEFAULT NULL,
   `anchor_date_id` int(11) DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  `clone_source_id` int(11) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `questions_clone_source_id_idx` (`clone_source_id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=84462 DEFAULT CHARSET=latin1;
 
 -- Data exporting was unselected.
@@ -1232,7 +1284,9 @@ CREATE TABLE IF NOT EXISTS `studies` (
   `has_questionnaire_draft` int(11) DEFAULT NULL,
   `enrollmentdate_as_anchordate` char(1) DEFAULT NULL,
   `app_id` varchar(255) DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  `version_key` int(11) GENERATED ALWAYS AS (ROUND(`version` * 10)) STORED,
+  PRIMARY KEY (`id`),
+  KEY `studies_custom_study_id_version_key_idx` (`custom_study_id`, `version_key`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1063 DEFAULT CHARSET=utf8;
 
 -- Data exporting was unselected.
@@ -1278,6 +1332,19 @@ CREATE TABLE IF NOT EXISTS `study_checklist` (
   CONSTRAINT `FK1_study_checklist_id` FOREIGN KEY (`study_id`) REFERENCES `studies` (`id`) ON DELETE NO ACTION ON UPDATE NO ACTION
 ) ENGINE=InnoDB AUTO_INCREMENT=76 DEFAULT CHARSET=latin1;
 
+-- Data exporting was unselected.
+-- Dumping structure for table fda_hphc.study_clone_id_map
+DROP TABLE IF EXISTS `study_clone_id_map`;
+CREATE TABLE IF NOT EXISTS `study_clone_id_map` (
+  `id` int(11) NOT NULL AUTO_INCREMENT,
+  `clone_token` varchar(36) NOT NULL,
+  `map_name` varchar(32) NOT NULL,
+  `old_id` int(11) NOT NULL,
+  `new_id` int(11) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `study_clone_id_map_lookup_idx` (`clone_token`, `map_name`, `old_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
 -- Data exporting was unselected.
 -- Dumping structure for table fda_hphc.study_page
 DROP TABLE IF EXISTS `study_page`;
@@ -1349,7 +1416,13 @@ CREATE TABLE IF NOT EXISTS `study_version` (
   `custom_study_id` varchar(255) DEFAULT NULL,
   `study_version` float DEFAULT NULL,
   `consent_version` float DEFAULT NULL,
-  PRIMARY KEY (`version_id`)
+  `study_version_key` int(11) GENERATED ALWAYS AS (ROUND(`study_version` * 10)) STORED,
+  `consent_version_key` int(11) GENERATED ALWAYS AS (ROUND(`consent_version` * 10)) STORED,
+  `activity_version_key` int(11) GENERATED ALWAYS AS (ROUND(`activity_version` * 10)) STORED,
+  PRIMARY KEY (`version_id`),
+  KEY `study_version_study_version_key_idx` (`custom_study_id`, `study_version_key`),
+  KEY `study_version_consent_version_key_idx` (`custom_study_id`, `consent_version_key`),
+  KEY `study_version_activity_version_key_idx` (`custom_study_id`, `activity_version_key`)
 ) ENGINE=InnoDB AUTO_INCREMENT=979 DEFAULT CHARSET=latin1;
 
 -- Data exporting was unselected.
@@ -0,0 +1,33 @@
+/*
+This script is intended to be run once on an existing `fda_hphc` database that was created before the
+`notification_outbox` table was introduced. New installations get the table from
+HPHC_My_Studies_DB_Create_Script.sql and do not need to run it.
+
+The Study builder push notification scheduler copies due notifications into this table, one row per
+target app, and delivers them in chunks ordered by `due_at`. Failed chunks are retried with backoff by
+moving `due_at` forward, so notifications are no longer lost when a scheduler minute is missed.
+*/
+USE `fda_hphc`;
+
+CREATE TABLE IF NOT EXISTS `notification_outbox` (
+  `outbox_id` int(11) NOT NULL AUTO_INCREMENT,
+  `notification_id` int(11) NOT NULL,
+  `app_id` varchar(255) NOT NULL,
+  `custom_study_id` varchar(255) DEFAULT NULL,
+  `notification_text` varchar(1024) DEFAULT NULL,
+  `notification_type` varchar(255) DEFAULT NULL,
+  `notification_subType` varchar(255) DEFAULT NULL,
+  `scheduled_at` datetime DEFAULT NULL,
+  `due_at` datetime NOT NULL,
+  `status` varchar(20) NOT NULL,
+  `attempts` int(11) NOT NULL DEFAULT '0',
+  `claim_token` varchar(36) DEFAULT NULL,
+  `claimed_at` datetime DEFAULT NULL,
+  `sent_on` datetime DEFAULT NULL,
+  `last_error` varchar(1024) DEFAULT NULL,
+  `created_on` datetime DEFAULT NULL,
+  PRIMARY KEY (`outbox_id`),
+  UNIQUE KEY `notification_outbox_notification_app_uk` (`notification_id`, `app_id`, `scheduled_at`),
+  KEY `notification_outbox_due_idx` (`status`, `due_at`, `outbox_id`),
+  KEY `notification_outbox_claim_idx` (`claim_token`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
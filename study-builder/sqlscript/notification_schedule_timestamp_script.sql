@@ -0,0 +1,15 @@
+/*
+This script is intended to be run once on an existing `fda_hphc` database that was created before the
+`notification`.`schedule_timestamp` column was introduced. New installations get the column from
+HPHC_My_Studies_DB_Create_Script.sql and do not need to run it.
+
+`schedule_timestamp` is derived by MySQL from `schedule_date` and `schedule_time` (falling back to
+`created_on` for anchor date notifications), so existing rows are backfilled when the column is added and
+no application write path has to maintain it. The Study datastore orders and pages the notifications feed
+on this column.
+*/
+USE `fda_hphc`;
+
+ALTER TABLE `notification`
+  ADD COLUMN `schedule_timestamp` datetime GENERATED ALWAYS AS (COALESCE(TIMESTAMP(`schedule_date`, COALESCE(`schedule_time`, '00:00:00')), `created_on`)) STORED,
+  ADD KEY `notification_schedule_timestamp_idx` (`schedule_timestamp`, `notification_id`);
@@ -0,0 +1,50 @@
+/*
+This script is intended to be run once on an existing `fda_hphc` database that was created before the
+`study_clone_id_map` table was introduced. New installations get the table from
+HPHC_My_Studies_DB_Create_Script.sql and do not need to run it.
+
+Publishing a study copies its draft into a new version with INSERT ... SELECT statements. This table
+holds the old to new id pairs of one copy so child rows can be pointed at their new parents. Old ids
+are registered first and new_id is filled in once auto_increment has assigned the id of the copy.
+The copies of a table are inserted with one statement and carry the id of their source row in
+clone_source_id until new_id has been filled in.
+Rows are written and removed inside the publishing transaction.
+*/
+USE `fda_hphc`;
+
+CREATE TABLE IF NOT EXISTS `study_clone_id_map` (
+  `id` int(11) NOT NULL AUTO_INCREMENT,
+  `clone_token` varchar(36) NOT NULL,
+  `map_name` varchar(32) NOT NULL,
+  `old_id` int(11) NOT NULL,
+  `new_id` int(11) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `study_clone_id_map_lookup_idx` (`clone_token`, `map_name`, `old_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- tables created by an earlier revision of this script required new_id up front
+ALTER TABLE `study_clone_id_map` MODIFY `new_id` int(11) DEFAULT NULL;
+
+ALTER TABLE `eligibility` ADD COLUMN `clone_source_id` int(11) DEFAULT NULL,
+  ADD KEY `eligibility_clone_source_id_idx` (`clone_source_id`);
+
+ALTER TABLE `questionnaires` ADD COLUMN `clone_source_id` int(11) DEFAULT NULL,
+  ADD KEY `questionnaires_clone_source_id_idx` (`clone_source_id`);
+
+ALTER TABLE `questionnaires_steps` ADD COLUMN `clone_source_id` int(11) DEFAULT NULL,
+  ADD KEY `questionnaires_steps_clone_source_id_idx` (`clone_source_id`);
+
+ALTER TABLE `instructions` ADD COLUMN `clone_source_id` int(11) DEFAULT NULL,
+  ADD KEY `instructions_clone_source_id_idx` (`clone_source_id`);
+
+ALTER TABLE `questions` ADD COLUMN `clone_source_id` int(11) DEFAULT NULL,
+  ADD KEY `questions_clone_source_id_idx` (`clone_source_id`);
+
+ALTER TABLE `form` ADD COLUMN `clone_source_id` int(11) DEFAULT NULL,
+  ADD KEY `form_clone_source_id_idx` (`clone_source_id`);
+
+ALTER TABLE `active_task` ADD COLUMN `clone_source_id` int(11) DEFAULT NULL,
+  ADD KEY `active_task_clone_source_id_idx` (`clone_source_id`);
+
+ALTER TABLE `comprehension_test_question` ADD COLUMN `clone_source_id` int(11) DEFAULT NULL,
+  ADD KEY `comprehension_test_question_clone_source_id_idx` (`clone_source_id`);
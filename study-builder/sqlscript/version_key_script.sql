@@ -0,0 +1,40 @@
+/*
+This script is intended to be run once on an existing `fda_hphc` database that was created before the
+`version_key` columns were introduced. New installations get the columns from
+HPHC_My_Studies_DB_Create_Script.sql and do not need to run it.
+
+Each `*_version_key` column is the one-decimal study, consent or activity version encoded as an integer
+(for example 1.3 is stored as 13). MySQL derives the value from the existing float column, so existing rows
+are backfilled when the column is added and the Study builder publish flow keeps it current without any
+code change. The Study datastore looks versions up through these columns so that the
+(`custom_study_id`, `version_key`) indexes can be used instead of scanning every version of a study.
+*/
+USE `fda_hphc`;
+
+ALTER TABLE `studies`
+  ADD COLUMN `version_key` int(11) GENERATED ALWAYS AS (ROUND(`version` * 10)) STORED,
+  ADD KEY `studies_custom_study_id_version_key_idx` (`custom_study_id`, `version_key`);
+
+ALTER TABLE `study_version`
+  ADD COLUMN `study_version_key` int(11) GENERATED ALWAYS AS (ROUND(`study_version` * 10)) STORED,
+  ADD COLUMN `consent_version_key` int(11) GENERATED ALWAYS AS (ROUND(`consent_version` * 10)) STORED,
+  ADD COLUMN `activity_version_key` int(11) GENERATED ALWAYS AS (ROUND(`activity_version` * 10)) STORED,
+  ADD KEY `study_version_study_version_key_idx` (`custom_study_id`, `study_version_key`),
+  ADD KEY `study_version_consent_version_key_idx` (`custom_study_id`, `consent_version_key`),
+  ADD KEY `study_version_activity_version_key_idx` (`custom_study_id`, `activity_version_key`);
+
+ALTER TABLE `consent`
+  ADD COLUMN `version_key` int(11) GENERATED ALWAYS AS (ROUND(`version` * 10)) STORED,
+  ADD KEY `consent_custom_study_id_version_key_idx` (`custom_study_id`, `version_key`);
+
+ALTER TABLE `consent_info`
+  ADD COLUMN `version_key` int(11) GENERATED ALWAYS AS (ROUND(`version` * 10)) STORED,
+  ADD KEY `consent_info_custom_study_id_version_key_idx` (`custom_study_id`, `version_key`);
+
+ALTER TABLE `active_task`
+  ADD COLUMN `version_key` int(11) GENERATED ALWAYS AS (ROUND(`version` * 10)) STORED,
+  ADD KEY `active_task_custom_study_id_short_title_version_key_idx` (`custom_study_id`, `short_title`, `version_key`);
+
+ALTER TABLE `questionnaires`
+  ADD COLUMN `version_key` int(11) GENERATED ALWAYS AS (ROUND(`version` * 10)) STORED,
+  ADD KEY `questionnaires_custom_study_id_short_title_version_key_idx` (`custom_study_id`, `short_title`, `version_key`);
@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.hphc.mystudies.util;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.temporal.ChronoUnit;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@code SimpleDateFormat} helpers StudyMetaDataUtil used before {@link
+ * DateTimeUtil} with their replacements. Each pair does the same work as one step of the weekly
+ * and monthly schedule loops in ActivityMetaDataDao: shift a date, name its day, compare it with
+ * the lifetime end and re-render a start time.
+ *
+ * <p>Run with {@code mvn -P benchmark compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateTimeUtilBenchmark {
+
+  private static final String START_DATE = "2020-03-27";
+
+  private static final String END_DATE = "2021-03-26";
+
+  private static final String START_DATE_TIME = "2020-03-27 09:30:00";
+
+  @Benchmark
+  public String legacyAddWeeks() throws ParseException {
+    SimpleDateFormat sdf = new SimpleDateFormat(StudyMetaDataConstants.SDF_DATE_PATTERN);
+    Calendar cal = Calendar.getInstance();
+    cal.setTime(sdf.parse(START_DATE));
+    cal.add(Calendar.WEEK_OF_MONTH, 1);
+    return sdf.format(cal.getTime());
+  }
+
+  @Benchmark
+  public String addWeeks() throws ParseException {
+    return DateTimeUtil.plus(
+        START_DATE, StudyMetaDataConstants.SDF_DATE_PATTERN, 1, ChronoUnit.WEEKS);
+  }
+
+  @Benchmark
+  public String legacyDayByDate() throws ParseException {
+    SimpleDateFormat sdf = new SimpleDateFormat(StudyMetaDataConstants.SDF_DATE_PATTERN);
+    Date date = sdf.parse(START_DATE);
+    sdf.applyPattern(StudyMetaDataConstants.SDF_DAY);
+    return sdf.format(date);
+  }
+
+  @Benchmark
+  public String dayByDate() throws ParseException {
+    return DateTimeUtil.reformat(
+        START_DATE, StudyMetaDataConstants.SDF_DATE_PATTERN, StudyMetaDataConstants.SDF_DAY);
+  }
+
+  @Benchmark
+  public boolean legacyIsOnOrBefore() throws ParseException {
+    SimpleDateFormat sdf = new SimpleDateFormat(StudyMetaDataConstants.SDF_DATE_PATTERN);
+    Date start = sdf.parse(START_DATE);
+    Date end = sdf.parse(END_DATE);
+    return start.equals(end) || start.before(end);
+  }
+
+  @Benchmark
+  public boolean isOnOrBefore() throws ParseException {
+    Date start = DateTimeUtil.parse(START_DATE, StudyMetaDataConstants.SDF_DATE_PATTERN);
+    Date end = DateTimeUtil.parse(END_DATE, StudyMetaDataConstants.SDF_DATE_PATTERN);
+    return start.equals(end) || start.before(end);
+  }
+
+  @Benchmark
+  public String legacyFormattedDateTimeZone() throws ParseException {
+    Date date =
+        new SimpleDateFormat(StudyMetaDataConstants.SDF_DATE_TIME_PATTERN).parse(START_DATE_TIME);
+    return new SimpleDateFormat(StudyMetaDataConstants.SDF_DATE_TIME_TIMEZONE_MILLISECONDS_PATTERN)
+        .format(date);
+  }
+
+  @Benchmark
+  public String formattedDateTimeZone() throws ParseException {
+    return DateTimeUtil.reformat(
+        START_DATE_TIME,
+        StudyMetaDataConstants.SDF_DATE_TIME_PATTERN,
+        StudyMetaDataConstants.SDF_DATE_TIME_TIMEZONE_MILLISECONDS_PATTERN);
+  }
+}
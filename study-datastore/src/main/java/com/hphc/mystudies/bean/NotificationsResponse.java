@@ -32,6 +32,8 @@ public class NotificationsResponse {
 
   private List<NotificationsBean> notifications = new ArrayList<>();
 
+  private String nextCursor = "";
+
   public String getMessage() {
     return message;
   }
@@ -47,4 +49,12 @@ public class NotificationsResponse {
   public void setNotifications(List<NotificationsBean> notifications) {
     this.notifications = notifications;
   }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
 }
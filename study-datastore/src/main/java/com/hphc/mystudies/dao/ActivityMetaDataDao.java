@@ -61,6 +61,7 @@ import com.hphc.mystudies.dto.QuestionsDto;
 import com.hphc.mystudies.dto.StudyDto;
 import com.hphc.mystudies.dto.StudyVersionDto;
 import com.hphc.mystudies.exception.DAOException;
+import com.hphc.mystudies.util.DateTimeUtil;
 import com.hphc.mystudies.util.HibernateUtil;
 import com.hphc.mystudies.util.StudyMetaDataConstants;
 import com.hphc.mystudies.util.StudyMetaDataEnum;
@@ -131,7 +132,9 @@ public class ActivityMetaDataDao {
                     .getNamedQuery("getLiveVersionDetailsByCustomStudyIdAndVersion")
                     .setString(
                         StudyMetaDataEnum.QF_CUSTOM_STUDY_ID.value(), studyDto.getCustomStudyId())
-                    .setFloat(StudyMetaDataEnum.QF_STUDY_VERSION.value(), studyDto.getVersion())
+                    .setInteger(
+                        StudyMetaDataEnum.QF_STUDY_VERSION_KEY.value(),
+                        StudyMetaDataUtil.getVersionKey(studyDto.getVersion()))
                     .setMaxResults(1)
                     .uniqueResult();
 
@@ -416,13 +419,15 @@ public class ActivityMetaDataDao {
                       "from ActiveTaskDto ATDTO"
                           + " where ATDTO.action=true and ATDTO.customStudyId= :customStudyId"
                           + " and ATDTO.shortTitle= :shortTitle"
-                          + " and ROUND(ATDTO.version, 1)= :version"
+                          + " and ATDTO.versionKey= :versionKey"
                           + " ORDER BY ATDTO.id DESC")
                   .setString(StudyMetaDataEnum.QF_CUSTOM_STUDY_ID.value(), studyId)
                   .setString(
                       StudyMetaDataEnum.QF_SHORT_TITLE.value(),
                       StudyMetaDataUtil.replaceSingleQuotes(activityId))
-                  .setFloat(StudyMetaDataEnum.QF_VERSION.value(), Float.parseFloat(activityVersion))
+                  .setInteger(
+                      StudyMetaDataEnum.QF_VERSION_KEY.value(),
+                      StudyMetaDataUtil.getVersionKey(activityVersion))
                   .setMaxResults(1)
                   .uniqueResult();
       if (activeTaskDto != null) {
@@ -618,13 +623,15 @@ public class ActivityMetaDataDao {
                   .createQuery(
                       "from QuestionnairesDto QDTO"
                           + " where QDTO.customStudyId= :customStudyId and QDTO.shortTitle= :shortTitle"
-                          + " and QDTO.status=true and ROUND(QDTO.version, 1)= :version"
+                          + " and QDTO.status=true and QDTO.versionKey= :versionKey"
                           + " ORDER BY QDTO.id DESC")
                   .setString(StudyMetaDataEnum.QF_CUSTOM_STUDY_ID.value(), studyId)
                   .setString(
                       StudyMetaDataEnum.QF_SHORT_TITLE.value(),
                       StudyMetaDataUtil.replaceSingleQuotes(activityId))
-                  .setFloat(StudyMetaDataEnum.QF_VERSION.value(), Float.parseFloat(activityVersion))
+                  .setInteger(
+                      StudyMetaDataEnum.QF_VERSION_KEY.value(),
+                      StudyMetaDataUtil.getVersionKey(activityVersion))
                   .setMaxResults(1)
                   .uniqueResult();
       if (questionnaireDto != null) {
@@ -1018,27 +1025,28 @@ public class ActivityMetaDataDao {
           }
 
           weekEndDate = StudyMetaDataUtil.addWeeksToDate(activeTaskStartDate, 1);
-          if ((StudyMetaDataConstants.SDF_DATE
-                  .parse(StudyMetaDataUtil.getCurrentDate())
-                  .equals(StudyMetaDataConstants.SDF_DATE.parse(weekEndDate)))
-              || (StudyMetaDataConstants.SDF_DATE
-                  .parse(StudyMetaDataUtil.getCurrentDate())
-                  .before(StudyMetaDataConstants.SDF_DATE.parse(weekEndDate)))) {
+          if ((DateTimeUtil.parse(
+                      StudyMetaDataUtil.getCurrentDate(), StudyMetaDataConstants.SDF_DATE_PATTERN)
+                  .equals(DateTimeUtil.parse(weekEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)))
+              || (DateTimeUtil.parse(
+                      StudyMetaDataUtil.getCurrentDate(), StudyMetaDataConstants.SDF_DATE_PATTERN)
+                  .before(
+                      DateTimeUtil.parse(weekEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)))) {
             flag = true;
           }
 
           if (flag) {
             activeTaskEndDate = weekEndDate;
-            if ((StudyMetaDataConstants.SDF_DATE
-                    .parse(weekEndDate)
+            if ((DateTimeUtil.parse(weekEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                     .equals(
-                        StudyMetaDataConstants.SDF_DATE.parse(
-                            activeTask.getActiveTaskLifetimeEnd())))
-                || (StudyMetaDataConstants.SDF_DATE
-                    .parse(weekEndDate)
+                        DateTimeUtil.parse(
+                            activeTask.getActiveTaskLifetimeEnd(),
+                            StudyMetaDataConstants.SDF_DATE_PATTERN)))
+                || (DateTimeUtil.parse(weekEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                     .after(
-                        StudyMetaDataConstants.SDF_DATE.parse(
-                            activeTask.getActiveTaskLifetimeEnd())))) {
+                        DateTimeUtil.parse(
+                            activeTask.getActiveTaskLifetimeEnd(),
+                            StudyMetaDataConstants.SDF_DATE_PATTERN)))) {
               activeTaskEndDate = activeTask.getActiveTaskLifetimeEnd();
               skipLoop = true;
             }
@@ -1084,27 +1092,29 @@ public class ActivityMetaDataDao {
           boolean skipLoop = false;
 
           monthEndDate = StudyMetaDataUtil.addMonthsToDate(activeTaskStartDate, 1);
-          if ((StudyMetaDataConstants.SDF_DATE
-                  .parse(StudyMetaDataUtil.getCurrentDate())
-                  .equals(StudyMetaDataConstants.SDF_DATE.parse(monthEndDate)))
-              || (StudyMetaDataConstants.SDF_DATE
-                  .parse(StudyMetaDataUtil.getCurrentDate())
-                  .before(StudyMetaDataConstants.SDF_DATE.parse(monthEndDate)))) {
+          if ((DateTimeUtil.parse(
+                      StudyMetaDataUtil.getCurrentDate(), StudyMetaDataConstants.SDF_DATE_PATTERN)
+                  .equals(
+                      DateTimeUtil.parse(monthEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)))
+              || (DateTimeUtil.parse(
+                      StudyMetaDataUtil.getCurrentDate(), StudyMetaDataConstants.SDF_DATE_PATTERN)
+                  .before(
+                      DateTimeUtil.parse(monthEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)))) {
             flag = true;
           }
 
           if (flag) {
             activeTaskEndDate = monthEndDate;
-            if ((StudyMetaDataConstants.SDF_DATE
-                    .parse(monthEndDate)
+            if ((DateTimeUtil.parse(monthEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                     .equals(
-                        StudyMetaDataConstants.SDF_DATE.parse(
-                            activeTask.getActiveTaskLifetimeEnd())))
-                || (StudyMetaDataConstants.SDF_DATE
-                    .parse(monthEndDate)
+                        DateTimeUtil.parse(
+                            activeTask.getActiveTaskLifetimeEnd(),
+                            StudyMetaDataConstants.SDF_DATE_PATTERN)))
+                || (DateTimeUtil.parse(monthEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                     .after(
-                        StudyMetaDataConstants.SDF_DATE.parse(
-                            activeTask.getActiveTaskLifetimeEnd())))) {
+                        DateTimeUtil.parse(
+                            activeTask.getActiveTaskLifetimeEnd(),
+                            StudyMetaDataConstants.SDF_DATE_PATTERN)))) {
               activeTaskEndDate = activeTask.getActiveTaskLifetimeEnd();
               skipLoop = true;
             }
@@ -1367,26 +1377,28 @@ public class ActivityMetaDataDao {
           }
 
           weekEndDate = StudyMetaDataUtil.addWeeksToDate(questionaireStartDate, 1);
-          if ((StudyMetaDataConstants.SDF_DATE
-                  .parse(StudyMetaDataUtil.getCurrentDate())
-                  .equals(StudyMetaDataConstants.SDF_DATE.parse(weekEndDate)))
-              || (StudyMetaDataConstants.SDF_DATE
-                  .parse(StudyMetaDataUtil.getCurrentDate())
-                  .before(StudyMetaDataConstants.SDF_DATE.parse(weekEndDate)))) {
+          if ((DateTimeUtil.parse(
+                      StudyMetaDataUtil.getCurrentDate(), StudyMetaDataConstants.SDF_DATE_PATTERN)
+                  .equals(DateTimeUtil.parse(weekEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)))
+              || (DateTimeUtil.parse(
+                      StudyMetaDataUtil.getCurrentDate(), StudyMetaDataConstants.SDF_DATE_PATTERN)
+                  .before(
+                      DateTimeUtil.parse(weekEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)))) {
             flag = true;
           }
 
           if (flag) {
             questionaireEndDate = weekEndDate;
-            if ((StudyMetaDataConstants.SDF_DATE
-                    .parse(weekEndDate)
+            if ((DateTimeUtil.parse(weekEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                     .equals(
-                        StudyMetaDataConstants.SDF_DATE.parse(questionaire.getStudyLifetimeEnd())))
-                || (StudyMetaDataConstants.SDF_DATE
-                    .parse(weekEndDate)
+                        DateTimeUtil.parse(
+                            questionaire.getStudyLifetimeEnd(),
+                            StudyMetaDataConstants.SDF_DATE_PATTERN)))
+                || (DateTimeUtil.parse(weekEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                     .after(
-                        StudyMetaDataConstants.SDF_DATE.parse(
-                            questionaire.getStudyLifetimeEnd())))) {
+                        DateTimeUtil.parse(
+                            questionaire.getStudyLifetimeEnd(),
+                            StudyMetaDataConstants.SDF_DATE_PATTERN)))) {
               questionaireEndDate = questionaire.getStudyLifetimeEnd();
               skipLoop = true;
             }
@@ -1434,26 +1446,29 @@ public class ActivityMetaDataDao {
           boolean skipLoop = false;
 
           monthEndDate = StudyMetaDataUtil.addMonthsToDate(questionaireStartDate, 1);
-          if ((StudyMetaDataConstants.SDF_DATE
-                  .parse(StudyMetaDataUtil.getCurrentDate())
-                  .equals(StudyMetaDataConstants.SDF_DATE.parse(monthEndDate)))
-              || (StudyMetaDataConstants.SDF_DATE
-                  .parse(StudyMetaDataUtil.getCurrentDate())
-                  .before(StudyMetaDataConstants.SDF_DATE.parse(monthEndDate)))) {
+          if ((DateTimeUtil.parse(
+                      StudyMetaDataUtil.getCurrentDate(), StudyMetaDataConstants.SDF_DATE_PATTERN)
+                  .equals(
+                      DateTimeUtil.parse(monthEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)))
+              || (DateTimeUtil.parse(
+                      StudyMetaDataUtil.getCurrentDate(), StudyMetaDataConstants.SDF_DATE_PATTERN)
+                  .before(
+                      DateTimeUtil.parse(monthEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)))) {
             flag = true;
           }
 
           if (flag) {
             questionaireEndDate = monthEndDate;
-            if ((StudyMetaDataConstants.SDF_DATE
-                    .parse(monthEndDate)
+            if ((DateTimeUtil.parse(monthEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                     .equals(
-                        StudyMetaDataConstants.SDF_DATE.parse(questionaire.getStudyLifetimeEnd())))
-                || (StudyMetaDataConstants.SDF_DATE
-                    .parse(monthEndDate)
+                        DateTimeUtil.parse(
+                            questionaire.getStudyLifetimeEnd(),
+                            StudyMetaDataConstants.SDF_DATE_PATTERN)))
+                || (DateTimeUtil.parse(monthEndDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                     .after(
-                        StudyMetaDataConstants.SDF_DATE.parse(
-                            questionaire.getStudyLifetimeEnd())))) {
+                        DateTimeUtil.parse(
+                            questionaire.getStudyLifetimeEnd(),
+                            StudyMetaDataConstants.SDF_DATE_PATTERN)))) {
               questionaireEndDate = questionaire.getStudyLifetimeEnd();
               skipLoop = true;
             }
@@ -2968,19 +2983,19 @@ public class ActivityMetaDataDao {
             String endDate = activeTaskCustomFrequencyList.get(0).getFrequencyEndDate();
 
             for (ActiveTaskCustomFrequenciesDto customFrequency : activeTaskCustomFrequencyList) {
-              if (StudyMetaDataConstants.SDF_DATE
-                  .parse(startDate)
+              if (DateTimeUtil.parse(startDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                   .after(
-                      StudyMetaDataConstants.SDF_DATE.parse(
-                          customFrequency.getFrequencyStartDate()))) {
+                      DateTimeUtil.parse(
+                          customFrequency.getFrequencyStartDate(),
+                          StudyMetaDataConstants.SDF_DATE_PATTERN))) {
                 startDate = customFrequency.getFrequencyStartDate();
               }
 
-              if (StudyMetaDataConstants.SDF_DATE
-                  .parse(endDate)
+              if (DateTimeUtil.parse(endDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                   .before(
-                      StudyMetaDataConstants.SDF_DATE.parse(
-                          customFrequency.getFrequencyEndDate()))) {
+                      DateTimeUtil.parse(
+                          customFrequency.getFrequencyEndDate(),
+                          StudyMetaDataConstants.SDF_DATE_PATTERN))) {
                 endDate = customFrequency.getFrequencyEndDate();
               }
             }
@@ -3130,19 +3145,19 @@ public class ActivityMetaDataDao {
 
             for (QuestionnairesCustomFrequenciesDto customFrequency :
                 questionnaireCustomFrequencyList) {
-              if (StudyMetaDataConstants.SDF_DATE
-                  .parse(startDate)
+              if (DateTimeUtil.parse(startDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                   .after(
-                      StudyMetaDataConstants.SDF_DATE.parse(
-                          customFrequency.getFrequencyStartDate()))) {
+                      DateTimeUtil.parse(
+                          customFrequency.getFrequencyStartDate(),
+                          StudyMetaDataConstants.SDF_DATE_PATTERN))) {
                 startDate = customFrequency.getFrequencyStartDate();
               }
 
-              if (StudyMetaDataConstants.SDF_DATE
-                  .parse(endDate)
+              if (DateTimeUtil.parse(endDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                   .before(
-                      StudyMetaDataConstants.SDF_DATE.parse(
-                          customFrequency.getFrequencyEndDate()))) {
+                      DateTimeUtil.parse(
+                          customFrequency.getFrequencyEndDate(),
+                          StudyMetaDataConstants.SDF_DATE_PATTERN))) {
                 endDate = customFrequency.getFrequencyEndDate();
               }
             }
@@ -35,19 +35,16 @@ import com.hphc.mystudies.dto.ResourcesDto;
 import com.hphc.mystudies.dto.StudyDto;
 import com.hphc.mystudies.dto.StudyVersionDto;
 import com.hphc.mystudies.exception.DAOException;
+import com.hphc.mystudies.util.DateTimeUtil;
 import com.hphc.mystudies.util.HibernateUtil;
 import com.hphc.mystudies.util.StudyMetaDataConstants;
 import com.hphc.mystudies.util.StudyMetaDataEnum;
 import com.hphc.mystudies.util.StudyMetaDataUtil;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
 import org.hibernate.Query;
@@ -65,6 +62,10 @@ public class AppMetaDataDao {
   @SuppressWarnings("unchecked")
   HashMap<String, String> authPropMap = StudyMetaDataUtil.getAuthorizationProperties();
 
+  private static final int NOTIFICATIONS_PAGE_SIZE = 20;
+
+  private static final String NOTIFICATION_CURSOR_SEPARATOR = "_";
+
   SessionFactory sessionFactory = HibernateUtil.getSessionFactory();
   Query query = null;
 
@@ -89,21 +90,19 @@ public class AppMetaDataDao {
   }
 
   @SuppressWarnings("unchecked")
-  public NotificationsResponse notifications(String skip, String authorization, String appId)
-      throws DAOException {
+  public NotificationsResponse notifications(
+      String skip, String cursor, String authorization, String appId) throws DAOException {
     LOGGER.info("INFO: AppMetaDataDao - notifications() :: Starts");
     Session session = null;
     NotificationsResponse notificationsResponse = new NotificationsResponse();
     List<NotificationDto> notificationList = null;
     String bundleIdType = "";
-    String platformType = "";
     List<NotificationsBean> notifyList = new ArrayList<>();
-    AppVersionDto appVersion = null;
     String notificationStudyTypeQuery = "";
-    String customStudyQuery = "";
     String deviceType = "";
-    String scheduledDate = "";
     String scheduledTime = "";
+    Date cursorScheduleTimestamp = null;
+    Integer cursorNotificationId = null;
     try {
       bundleIdType =
           StudyMetaDataUtil.platformType(
@@ -111,7 +110,11 @@ public class AppMetaDataDao {
       deviceType =
           StudyMetaDataUtil.platformType(authorization, StudyMetaDataConstants.STUDY_AUTH_TYPE_OS);
       if (StringUtils.isNotEmpty(bundleIdType) && StringUtils.isNotEmpty(deviceType)) {
-        platformType = deviceType.substring(0, 1).toUpperCase();
+        if (StringUtils.isNotEmpty(cursor)) {
+          String[] cursorParts = cursor.split(NOTIFICATION_CURSOR_SEPARATOR);
+          cursorScheduleTimestamp = new Date(Long.parseLong(cursorParts[0]));
+          cursorNotificationId = Integer.valueOf(cursorParts[1]);
+        }
         session = sessionFactory.openSession();
 
         List<String> notificationTypeList =
@@ -122,26 +125,35 @@ public class AppMetaDataDao {
                 StudyMetaDataConstants.NOTIFICATION_SUBTYPE_RESOURCE,
                 StudyMetaDataConstants.NOTIFICATION_SUBTYPE_STUDY_EVENT);
 
+        // Rows are ordered by the indexed schedule_timestamp column, so the page is already in
+        // display order and a cursor page seeks straight to the last row seen by the client.
         notificationStudyTypeQuery =
             "from NotificationDto NDTO"
-                + " where NDTO.notificationSubType in (:notificationTypeList) "
-                + " and NDTO.appId=:appId"
-                + " or NDTO.appId is null and NDTO.notificationSent=true"
-                + " ORDER BY NDTO.scheduleDate DESC";
-
-        notificationList =
+                + " where NDTO.notificationSubType in (:notificationTypeList)"
+                + " and (NDTO.appId=:appId"
+                + " or (NDTO.appId is null and NDTO.notificationSent=true))"
+                + (cursorScheduleTimestamp != null
+                    ? " and (NDTO.scheduleTimestamp < :scheduleTimestamp"
+                        + " or (NDTO.scheduleTimestamp = :scheduleTimestamp"
+                        + " and NDTO.notificationId < :notificationId))"
+                    : "")
+                + " ORDER BY NDTO.scheduleTimestamp DESC, NDTO.notificationId DESC";
+
+        Query notificationQuery =
             session
                 .createQuery(notificationStudyTypeQuery)
                 .setParameterList("notificationTypeList", notificationTypeList)
                 .setParameter("appId", appId)
-                .setFirstResult(Integer.parseInt(skip))
-                .setMaxResults(20)
-                .list();
+                .setMaxResults(NOTIFICATIONS_PAGE_SIZE);
+        if (cursorScheduleTimestamp != null) {
+          notificationQuery
+              .setTimestamp("scheduleTimestamp", cursorScheduleTimestamp)
+              .setInteger("notificationId", cursorNotificationId);
+        } else if (StringUtils.isNotEmpty(skip)) {
+          notificationQuery.setFirstResult(Integer.parseInt(skip));
+        }
+        notificationList = notificationQuery.list();
         if ((notificationList != null) && !notificationList.isEmpty()) {
-          Map<Integer, NotificationsBean> notificationTreeMap = new HashMap<>();
-          HashMap<Integer, String> hashMap = new HashMap<>();
-          List<Integer> notificationIdsList = new ArrayList<>();
-          List<String> scheduleDateTimes = new ArrayList<>();
           for (NotificationDto notificationDto : notificationList) {
             NotificationsBean notifyBean = new NotificationsBean();
             notifyBean.setNotificationId(notificationDto.getNotificationId().toString());
@@ -185,28 +197,32 @@ public class AppMetaDataDao {
                 StringUtils.isEmpty(notificationDto.getCustomStudyId())
                     ? ""
                     : notificationDto.getCustomStudyId());
-            scheduledDate =
-                notificationDto.isAnchorDate()
-                    ? StudyMetaDataUtil.getCurrentDate()
-                    : notificationDto.getScheduleDate();
-            scheduledTime =
-                StringUtils.isEmpty(notificationDto.getScheduleTime())
-                    ? StudyMetaDataConstants.DEFAULT_MIN_TIME
-                    : notificationDto.getScheduleTime();
-            notifyBean.setDate(
-                StudyMetaDataUtil.getFormattedDateTimeZone(
-                    scheduledDate + " " + scheduledTime,
-                    StudyMetaDataConstants.SDF_DATE_TIME_PATTERN,
-                    StudyMetaDataConstants.SDF_DATE_TIME_TIMEZONE_MILLISECONDS_PATTERN));
-
-            notificationIdsList.add(notificationDto.getNotificationId());
-            notificationTreeMap.put(notificationDto.getNotificationId(), notifyBean);
-            hashMap.put(notificationDto.getNotificationId(), scheduledDate + " " + scheduledTime);
+            if (notificationDto.isAnchorDate() || notificationDto.getScheduleTimestamp() == null) {
+              scheduledTime =
+                  StringUtils.isEmpty(notificationDto.getScheduleTime())
+                      ? StudyMetaDataConstants.DEFAULT_MIN_TIME
+                      : notificationDto.getScheduleTime();
+              notifyBean.setDate(
+                  StudyMetaDataUtil.getFormattedDateTimeZone(
+                      StudyMetaDataUtil.getCurrentDate() + " " + scheduledTime,
+                      StudyMetaDataConstants.SDF_DATE_TIME_PATTERN,
+                      StudyMetaDataConstants.SDF_DATE_TIME_TIMEZONE_MILLISECONDS_PATTERN));
+            } else {
+              notifyBean.setDate(
+                  DateTimeUtil.format(
+                      notificationDto.getScheduleTimestamp(),
+                      StudyMetaDataConstants.SDF_DATE_TIME_TIMEZONE_MILLISECONDS_PATTERN));
+            }
+            notifyList.add(notifyBean);
           }
 
-          LinkedHashMap<Integer, String> sortedMap = sortHashMapByValues(hashMap);
-          for (Integer id : sortedMap.keySet()) {
-            notifyList.add(notificationTreeMap.get(id));
+          NotificationDto lastNotification = notificationList.get(notificationList.size() - 1);
+          if ((notificationList.size() == NOTIFICATIONS_PAGE_SIZE)
+              && (lastNotification.getScheduleTimestamp() != null)) {
+            notificationsResponse.setNextCursor(
+                lastNotification.getScheduleTimestamp().getTime()
+                    + NOTIFICATION_CURSOR_SEPARATOR
+                    + lastNotification.getNotificationId());
           }
         }
       }
@@ -224,45 +240,6 @@ public class AppMetaDataDao {
     return notificationsResponse;
   }
 
-  public LinkedHashMap<Integer, String> sortHashMapByValues(HashMap<Integer, String> passedMap) {
-    List<Integer> mapKeys = new ArrayList<>(passedMap.keySet());
-    List<String> mapValues = new ArrayList<>(passedMap.values());
-    LinkedHashMap<Integer, String> sortedMap = new LinkedHashMap<>();
-    Iterator<String> valueIt = null;
-    Iterator<Integer> keyIt = null;
-
-    Collections.sort(mapKeys, Collections.reverseOrder());
-
-    Collections.sort(
-        mapValues,
-        new Comparator<String>() {
-
-          @Override
-          public int compare(String dateTimeOne, String dateTimeTwo) {
-            return dateTimeTwo.compareTo(dateTimeOne);
-          }
-        });
-
-    valueIt = mapValues.iterator();
-    while (valueIt.hasNext()) {
-      String val = valueIt.next();
-      keyIt = mapKeys.iterator();
-
-      while (keyIt.hasNext()) {
-        Integer key = keyIt.next();
-        String comp1 = passedMap.get(key);
-        String comp2 = val;
-
-        if (comp1.equals(comp2)) {
-          keyIt.remove();
-          sortedMap.put(key, val);
-          break;
-        }
-      }
-    }
-    return sortedMap;
-  }
-
   public AppUpdatesResponse appUpdates(String appVersion, String authCredentials)
       throws DAOException {
     LOGGER.info("INFO: AppMetaDataDao - appUpdates() :: Starts");
@@ -339,7 +316,9 @@ public class AppMetaDataDao {
           session
               .getNamedQuery("getStudyUpdatesDetailsByCurrentVersion")
               .setString(StudyMetaDataEnum.QF_CUSTOM_STUDY_ID.value(), studyId)
-              .setFloat(StudyMetaDataEnum.QF_STUDY_VERSION.value(), Float.valueOf(studyVersion))
+              .setInteger(
+                  StudyMetaDataEnum.QF_STUDY_VERSION_KEY.value(),
+                  StudyMetaDataUtil.getVersionKey(studyVersion))
               .list();
       if ((studyVersionList != null) && !studyVersionList.isEmpty()) {
         currentVersion = studyVersionList.get(0);
@@ -356,7 +335,9 @@ public class AppMetaDataDao {
                 session
                     .getNamedQuery("getActivityUpdatedOrNotByStudyIdAndVersion")
                     .setString(StudyMetaDataEnum.QF_CUSTOM_STUDY_ID.value(), studyId)
-                    .setFloat(StudyMetaDataEnum.QF_VERSION.value(), latestVersion.getStudyVersion())
+                    .setInteger(
+                        StudyMetaDataEnum.QF_VERSION_KEY.value(),
+                        StudyMetaDataUtil.getVersionKey(latestVersion.getStudyVersion()))
                     .uniqueResult();
         if ((studyActivityStatus != null)
             && (studyActivityStatus.getHasActivetaskDraft() != null)
@@ -386,9 +367,11 @@ public class AppMetaDataDao {
                     "from ResourcesDto RDTO"
                         + " where RDTO.studyId in (select SDTO.id"
                         + " from StudyDto SDTO"
-                        + " where SDTO.customStudyId= :customStudyId and ROUND(SDTO.version, 1)= :version)")
+                        + " where SDTO.customStudyId= :customStudyId and SDTO.versionKey= :versionKey)")
                 .setString(StudyMetaDataEnum.QF_CUSTOM_STUDY_ID.value(), studyId)
-                .setFloat(StudyMetaDataEnum.QF_VERSION.value(), latestVersion.getStudyVersion())
+                .setInteger(
+                    StudyMetaDataEnum.QF_VERSION_KEY.value(),
+                    StudyMetaDataUtil.getVersionKey(latestVersion.getStudyVersion()))
                 .list();
         if ((resourcesList == null) || resourcesList.isEmpty()) {
           updates.setResources(false);
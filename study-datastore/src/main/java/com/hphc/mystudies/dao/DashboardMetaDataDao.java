@@ -46,9 +46,11 @@ import com.hphc.mystudies.dto.StatisticImageListDto;
 import com.hphc.mystudies.dto.StudyDto;
 import com.hphc.mystudies.dto.StudyVersionDto;
 import com.hphc.mystudies.exception.DAOException;
+import com.hphc.mystudies.util.DateTimeUtil;
 import com.hphc.mystudies.util.HibernateUtil;
 import com.hphc.mystudies.util.StudyMetaDataConstants;
 import com.hphc.mystudies.util.StudyMetaDataEnum;
+import com.hphc.mystudies.util.StudyMetaDataUtil;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -104,7 +106,9 @@ public class DashboardMetaDataDao {
                     .getNamedQuery("getLiveVersionDetailsByCustomStudyIdAndVersion")
                     .setString(
                         StudyMetaDataEnum.QF_CUSTOM_STUDY_ID.value(), studyDto.getCustomStudyId())
-                    .setFloat(StudyMetaDataEnum.QF_STUDY_VERSION.value(), studyDto.getVersion())
+                    .setInteger(
+                        StudyMetaDataEnum.QF_STUDY_VERSION_KEY.value(),
+                        StudyMetaDataUtil.getVersionKey(studyDto.getVersion()))
                     .setMaxResults(1)
                     .uniqueResult();
 
@@ -124,11 +128,12 @@ public class DashboardMetaDataDao {
             if ((activeTask.getActive() != null) && (activeTask.getActive() == 1)) {
               addToDashboardFlag = true;
             } else {
-              if (StudyMetaDataConstants.SDF_DATE
-                  .parse(activeTask.getModifiedDate())
+              if (DateTimeUtil.parse(
+                      activeTask.getModifiedDate(), StudyMetaDataConstants.SDF_DATE_PATTERN)
                   .after(
-                      StudyMetaDataConstants.SDF_DATE.parse(
-                          activeTask.getActiveTaskLifetimeStart()))) {
+                      DateTimeUtil.parse(
+                          activeTask.getActiveTaskLifetimeStart(),
+                          StudyMetaDataConstants.SDF_DATE_PATTERN))) {
                 addToDashboardFlag = true;
               }
             }
@@ -160,11 +165,12 @@ public class DashboardMetaDataDao {
               addToDashboardFlag = true;
             } else {
               if (questionnaire.getStudyLifetimeStart() == null) {
-                if (StudyMetaDataConstants.SDF_DATE
-                    .parse(questionnaireDto.getModifiedDate())
+                if (DateTimeUtil.parse(
+                        questionnaireDto.getModifiedDate(), StudyMetaDataConstants.SDF_DATE_PATTERN)
                     .after(
-                        StudyMetaDataConstants.SDF_DATE.parse(
-                            questionnaireDto.getStudyLifetimeStart()))) {
+                        DateTimeUtil.parse(
+                            questionnaireDto.getStudyLifetimeStart(),
+                            StudyMetaDataConstants.SDF_DATE_PATTERN))) {
                   addToDashboardFlag = true;
                 }
               }
@@ -868,11 +874,11 @@ public class DashboardMetaDataDao {
             for (ActiveTaskCustomFrequenciesDto customFrequency : activeTaskCustomFrequencyList) {
 
               if (StringUtils.isNotEmpty(startDate)) {
-                if (StudyMetaDataConstants.SDF_DATE
-                    .parse(startDate)
+                if (DateTimeUtil.parse(startDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                     .after(
-                        StudyMetaDataConstants.SDF_DATE.parse(
-                            customFrequency.getFrequencyStartDate()))) {
+                        DateTimeUtil.parse(
+                            customFrequency.getFrequencyStartDate(),
+                            StudyMetaDataConstants.SDF_DATE_PATTERN))) {
                   startDate = customFrequency.getFrequencyStartDate();
                 }
               } else {
@@ -880,11 +886,11 @@ public class DashboardMetaDataDao {
               }
 
               if (StringUtils.isNotEmpty(endDate)) {
-                if (StudyMetaDataConstants.SDF_DATE
-                    .parse(endDate)
+                if (DateTimeUtil.parse(endDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                     .before(
-                        StudyMetaDataConstants.SDF_DATE.parse(
-                            customFrequency.getFrequencyEndDate()))) {
+                        DateTimeUtil.parse(
+                            customFrequency.getFrequencyEndDate(),
+                            StudyMetaDataConstants.SDF_DATE_PATTERN))) {
                   endDate = customFrequency.getFrequencyEndDate();
                 }
               } else {
@@ -1009,11 +1015,11 @@ public class DashboardMetaDataDao {
                 questionnaireCustomFrequencyList) {
 
               if (StringUtils.isNotEmpty(startDate)) {
-                if (StudyMetaDataConstants.SDF_DATE
-                    .parse(startDate)
+                if (DateTimeUtil.parse(startDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                     .after(
-                        StudyMetaDataConstants.SDF_DATE.parse(
-                            customFrequency.getFrequencyStartDate()))) {
+                        DateTimeUtil.parse(
+                            customFrequency.getFrequencyStartDate(),
+                            StudyMetaDataConstants.SDF_DATE_PATTERN))) {
                   startDate = customFrequency.getFrequencyStartDate();
                 }
               } else {
@@ -1021,11 +1027,11 @@ public class DashboardMetaDataDao {
               }
 
               if (StringUtils.isNotEmpty(endDate)) {
-                if (StudyMetaDataConstants.SDF_DATE
-                    .parse(endDate)
+                if (DateTimeUtil.parse(endDate, StudyMetaDataConstants.SDF_DATE_PATTERN)
                     .before(
-                        StudyMetaDataConstants.SDF_DATE.parse(
-                            customFrequency.getFrequencyEndDate()))) {
+                        DateTimeUtil.parse(
+                            customFrequency.getFrequencyEndDate(),
+                            StudyMetaDataConstants.SDF_DATE_PATTERN))) {
                   endDate = customFrequency.getFrequencyEndDate();
                 }
               } else {
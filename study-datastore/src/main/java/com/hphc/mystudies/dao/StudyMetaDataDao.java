@@ -90,6 +90,100 @@ public class StudyMetaDataDao {
 
   private static final Logger LOGGER = Logger.getLogger(StudyMetaDataDao.class);
 
+  // Questionnaires of a study, and the question and form steps of those questionnaires
+  private static final String STUDY_QUESTIONNAIRE_IDS =
+      "select QDTO.id from QuestionnairesDto QDTO where QDTO.customStudyId = :customStudyId";
+
+  private static final String STUDY_QUESTION_STEP_IDS =
+      "select QSDTO.instructionFormId from QuestionnairesStepsDto QSDTO"
+          + " where QSDTO.stepType = '"
+          + StudyMetaDataConstants.QUESTIONAIRE_STEP_TYPE_QUESTION
+          + "' and QSDTO.questionnairesId in ("
+          + STUDY_QUESTIONNAIRE_IDS
+          + ")";
+
+  private static final String STUDY_FORM_STEP_IDS =
+      "select QSDTO.instructionFormId from QuestionnairesStepsDto QSDTO"
+          + " where QSDTO.stepType = '"
+          + StudyMetaDataConstants.QUESTIONAIRE_STEP_TYPE_FORM
+          + "' and QSDTO.questionnairesId in ("
+          + STUDY_QUESTIONNAIRE_IDS
+          + ")";
+
+  /**
+   * Validator queries over every table served by the study metadata endpoints (study info,
+   * eligibility and consent, resources and dashboard). Tables with a modification column contribute
+   * their row count and latest modification; the others contribute the served columns of their
+   * rows. {@code :studyIds} are the published and live rows of the study and {@code :customStudyId}
+   * its custom id.
+   */
+  private static final String[] STUDY_VALIDATOR_CHILD_QUERIES = {
+    "select count(*), max(SPDTO.modifiedOn) from StudyPageDto SPDTO"
+        + " where SPDTO.studyId in (:studyIds)",
+    "select count(*), max(RDTO.modifiedOn) from ResourcesDto RDTO"
+        + " where RDTO.studyId in (:studyIds)",
+    "select count(*), max(EDTO.modifiedOn) from EligibilityDto EDTO"
+        + " where EDTO.studyId in (:studyIds)",
+    "select ETDTO.id, ETDTO.eligibilityId, ETDTO.shortTitle, ETDTO.question,"
+        + " ETDTO.responseFormat, ETDTO.sequenceNo, ETDTO.status, ETDTO.active,"
+        + " ETDTO.responseYesOption, ETDTO.responseNoOption"
+        + " from EligibilityTestDto ETDTO"
+        + " where ETDTO.eligibilityId in"
+        + " (select EDTO.id from EligibilityDto EDTO where EDTO.studyId in (:studyIds))"
+        + " ORDER BY ETDTO.id",
+    "select count(*), max(CDTO.modifiedOn) from ConsentDto CDTO"
+        + " where CDTO.studyId in (:studyIds)",
+    "select count(*), max(CIDTO.modifiedOn) from ConsentInfoDto CIDTO"
+        + " where CIDTO.studyId in (:studyIds)",
+    "select count(*), max(CTQDTO.modifiedOn) from ComprehensionTestQuestionDto CTQDTO"
+        + " where CTQDTO.studyId in (:studyIds)",
+    "select CTRDTO.id, CTRDTO.comprehensionTestQuestionId, CTRDTO.responseOption,"
+        + " CTRDTO.correctAnswer"
+        + " from ComprehensionTestResponseDto CTRDTO"
+        + " where CTRDTO.comprehensionTestQuestionId in"
+        + " (select CTQDTO.id from ComprehensionTestQuestionDto CTQDTO"
+        + " where CTQDTO.studyId in (:studyIds))"
+        + " ORDER BY CTRDTO.id",
+    "select ADTDTO.id, ADTDTO.name, ADTDTO.hasAnchortypeDraft, ADTDTO.version"
+        + " from AnchorDateTypeDto ADTDTO"
+        + " where ADTDTO.customStudyId = :customStudyId"
+        + " ORDER BY ADTDTO.id",
+    "select count(*), max(QDTO.modifiedDate) from QuestionnairesDto QDTO"
+        + " where QDTO.customStudyId = :customStudyId",
+    "select count(*), max(QSDTO.modifiedOn) from QuestionnairesStepsDto QSDTO"
+        + " where QSDTO.questionnairesId in ("
+        + STUDY_QUESTIONNAIRE_IDS
+        + ")",
+    "select count(*), max(QDTO.modifiedOn) from QuestionsDto QDTO"
+        + " where QDTO.id in ("
+        + STUDY_QUESTION_STEP_IDS
+        + ") or QDTO.id in (select FMDTO.questionId from FormMappingDto FMDTO"
+        + " where FMDTO.formId in ("
+        + STUDY_FORM_STEP_IDS
+        + "))",
+    "select count(*), max(FDTO.modifiedOn) from FormDto FDTO"
+        + " where FDTO.formId in ("
+        + STUDY_FORM_STEP_IDS
+        + ")",
+    "select FMDTO.id, FMDTO.formId, FMDTO.questionId, FMDTO.sequenceNo, FMDTO.active"
+        + " from FormMappingDto FMDTO"
+        + " where FMDTO.formId in ("
+        + STUDY_FORM_STEP_IDS
+        + ") ORDER BY FMDTO.id",
+    "select count(*), max(ATDTO.modifiedDate) from ActiveTaskDto ATDTO"
+        + " where ATDTO.customStudyId = :customStudyId",
+    "select ATAVDTO.attributeValueId, ATAVDTO.activeTaskId, ATAVDTO.activeTaskMasterAttrId,"
+        + " ATAVDTO.attributeVal, ATAVDTO.addToLineChart, ATAVDTO.timeRangeChart,"
+        + " ATAVDTO.rollbackChat, ATAVDTO.titleChat, ATAVDTO.useForStatistic,"
+        + " ATAVDTO.identifierNameStat, ATAVDTO.displayNameStat, ATAVDTO.displayUnitStat,"
+        + " ATAVDTO.uploadTypeStat, ATAVDTO.formulaAppliedStat, ATAVDTO.timeRangeStat,"
+        + " ATAVDTO.active"
+        + " from ActiveTaskAttrtibutesValuesDto ATAVDTO"
+        + " where ATAVDTO.activeTaskId in (select ATDTO.id from ActiveTaskDto ATDTO"
+        + " where ATDTO.customStudyId = :customStudyId)"
+        + " ORDER BY ATAVDTO.attributeValueId"
+  };
+
   @SuppressWarnings("unchecked")
   HashMap<String, String> propMap = StudyMetaDataUtil.getAppProperties();
 
@@ -403,7 +497,9 @@ public class StudyMetaDataDao {
                     .getNamedQuery("getLiveVersionDetailsByCustomStudyIdAndVersion")
                     .setString(
                         StudyMetaDataEnum.QF_CUSTOM_STUDY_ID.value(), studyDto.getCustomStudyId())
-                    .setFloat(StudyMetaDataEnum.QF_STUDY_VERSION.value(), studyDto.getVersion())
+                    .setInteger(
+                        StudyMetaDataEnum.QF_STUDY_VERSION_KEY.value(),
+                        StudyMetaDataUtil.getVersionKey(studyDto.getVersion()))
                     .setMaxResults(1)
                     .uniqueResult();
 
@@ -505,8 +601,9 @@ public class StudyMetaDataDao {
                       .setString(
                           StudyMetaDataEnum.QF_CUSTOM_STUDY_ID.value(),
                           studyVersionDto.getCustomStudyId())
-                      .setFloat(
-                          StudyMetaDataEnum.QF_VERSION.value(), studyVersionDto.getConsentVersion())
+                      .setInteger(
+                          StudyMetaDataEnum.QF_VERSION_KEY.value(),
+                          StudyMetaDataUtil.getVersionKey(studyVersionDto.getConsentVersion()))
                       .uniqueResult();
           if (null != consentDto) {
             consent.setVersion(
@@ -560,8 +657,9 @@ public class StudyMetaDataDao {
                     .setString(
                         StudyMetaDataEnum.QF_CUSTOM_STUDY_ID.value(),
                         studyVersionDto.getCustomStudyId())
-                    .setFloat(
-                        StudyMetaDataEnum.QF_VERSION.value(), studyVersionDto.getConsentVersion())
+                    .setInteger(
+                        StudyMetaDataEnum.QF_VERSION_KEY.value(),
+                        StudyMetaDataUtil.getVersionKey(studyVersionDto.getConsentVersion()))
                     .list();
             if ((null != consentInfoDtoList) && !consentInfoDtoList.isEmpty()) {
 
@@ -795,9 +893,9 @@ public class StudyMetaDataDao {
 
       if (studyDto != null) {
         if (StringUtils.isNotEmpty(consentVersion)) {
-          studyVersionQuery += " and ROUND(SVDTO.consentVersion, 1)=:consentVersion";
+          studyVersionQuery += " and SVDTO.consentVersionKey=:consentVersionKey";
         } else if (StringUtils.isNotEmpty(activityId) && StringUtils.isNotEmpty(activityVersion)) {
-          studyVersionQuery += " and ROUND(SVDTO.activityVersion, 1)=:activityVersion";
+          studyVersionQuery += " and SVDTO.activityVersionKey=:activityVersionKey";
         }
 
         /** Get study version details by version identifier in descending order */
@@ -813,7 +911,8 @@ public class StudyMetaDataDao {
                         .createQuery(studyVersionQuery)
                         .setMaxResults(1)
                         .setString("studyId", studyId)
-                        .setString("consentVersion", consentVersion)
+                        .setInteger(
+                            "consentVersionKey", StudyMetaDataUtil.getVersionKey(consentVersion))
                         .uniqueResult();
           } else if (StringUtils.isNotEmpty(activityId)
               && StringUtils.isNotEmpty(activityVersion)) {
@@ -823,7 +922,8 @@ public class StudyMetaDataDao {
                         .createQuery(studyVersionQuery)
                         .setMaxResults(1)
                         .setString("studyId", studyId)
-                        .setString("activityVersion", activityVersion)
+                        .setInteger(
+                            "activityVersionKey", StudyMetaDataUtil.getVersionKey(activityVersion))
                         .uniqueResult();
           } else {
             studyVersionDto =
@@ -847,9 +947,9 @@ public class StudyMetaDataDao {
                     session
                         .getNamedQuery("consentDetailsByCustomStudyIdAndVersion")
                         .setString(StudyMetaDataEnum.QF_CUSTOM_STUDY_ID.value(), studyId)
-                        .setFloat(
-                            StudyMetaDataEnum.QF_VERSION.value(),
-                            studyVersionDto.getConsentVersion())
+                        .setInteger(
+                            StudyMetaDataEnum.QF_VERSION_KEY.value(),
+                            StudyMetaDataUtil.getVersionKey(studyVersionDto.getConsentVersion()))
                         .uniqueResult();
           } else {
             consent =
@@ -1418,6 +1518,120 @@ public class StudyMetaDataDao {
     return isValidStudy;
   }
 
+  /**
+   * Returns the version markers (id, version, status, live flag and last modification) of the
+   * published and live rows of a study, or an empty string if there are none. Any publish, pause,
+   * resume or deactivation changes these markers, so they are used as the study's ETag validator.
+   * The markers of every child table served with the study are appended (see {@link
+   * #STUDY_VALIDATOR_CHILD_QUERIES}), so that an edit saved on a child row without touching the
+   * study row changes the validator too.
+   */
+  @SuppressWarnings("unchecked")
+  public String getStudyValidatorMarkers(String studyId) throws DAOException {
+    LOGGER.info("INFO: StudyMetaDataDao - getStudyValidatorMarkers() :: Starts");
+    Session session = null;
+    String markers = "";
+    try {
+      session = sessionFactory.openSession();
+      List<Object[]> markerList =
+          session
+              .createQuery(
+                  "select SDTO.id, SDTO.versionKey, SDTO.status, SDTO.live, SDTO.modifiedOn"
+                      + " from StudyDto SDTO"
+                      + " where SDTO.customStudyId= :customStudyId"
+                      + " and (SDTO.status= :status OR SDTO.live=1)"
+                      + " ORDER BY SDTO.id")
+              .setString(StudyMetaDataEnum.QF_CUSTOM_STUDY_ID.value(), studyId)
+              .setString(
+                  StudyMetaDataEnum.QF_STATUS.value(),
+                  StudyMetaDataConstants.STUDY_STATUS_PRE_PUBLISH)
+              .list();
+      if ((markerList != null) && !markerList.isEmpty()) {
+        List<Integer> studyIds = new ArrayList<>();
+        for (Object[] marker : markerList) {
+          studyIds.add((Integer) marker[0]);
+        }
+        StringBuilder childMarkers = new StringBuilder(joinValidatorMarkers(markerList));
+        for (String childQuery : STUDY_VALIDATOR_CHILD_QUERIES) {
+          Query query = session.createQuery(childQuery);
+          for (String parameter : query.getNamedParameters()) {
+            if ("studyIds".equals(parameter)) {
+              query.setParameterList(parameter, studyIds);
+            } else {
+              query.setString(parameter, studyId);
+            }
+          }
+          childMarkers.append(joinValidatorMarkers(query.list())).append('#');
+        }
+        markers = childMarkers.toString();
+      }
+    } catch (Exception e) {
+      LOGGER.error("StudyMetaDataDao - getStudyValidatorMarkers() :: ERROR", e);
+    } finally {
+      if (session != null) {
+        session.close();
+      }
+    }
+    LOGGER.info("INFO: StudyMetaDataDao - getStudyValidatorMarkers() :: Ends");
+    return markers;
+  }
+
+  /**
+   * Returns the version markers of every study listed by {@link #studyList(String, String)} for
+   * the app and the platform of the caller, or an empty string if the platform is unknown.
+   */
+  @SuppressWarnings("unchecked")
+  public String getStudyListValidatorMarkers(String authorization, String applicationId)
+      throws DAOException {
+    LOGGER.info("INFO: StudyMetaDataDao - getStudyListValidatorMarkers() :: Starts");
+    Session session = null;
+    String markers = "";
+    String platformType = "";
+    try {
+      platformType =
+          StudyMetaDataUtil.platformType(
+              authorization, StudyMetaDataConstants.STUDY_AUTH_TYPE_PLATFORM);
+      if (StringUtils.isNotEmpty(platformType)) {
+        session = sessionFactory.openSession();
+        List<Object[]> markerList =
+            session
+                .createQuery(
+                    "select SDTO.id, SDTO.versionKey, SDTO.status, SDTO.live, SDTO.modifiedOn"
+                        + " from StudyDto SDTO"
+                        + " where SDTO.platform like concat('%', :platformType, '%')"
+                        + " and SDTO.appId=:applicationId"
+                        + " and (SDTO.status= :status OR SDTO.live=1)"
+                        + " ORDER BY SDTO.id")
+                .setString(
+                    StudyMetaDataEnum.QF_STATUS.value(),
+                    StudyMetaDataConstants.STUDY_STATUS_PRE_PUBLISH)
+                .setString("platformType", platformType)
+                .setString("applicationId", applicationId)
+                .list();
+        // An app without studies still has a (empty) list representation worth validating
+        markers = platformType + ":" + joinValidatorMarkers(markerList);
+      }
+    } catch (Exception e) {
+      LOGGER.error("StudyMetaDataDao - getStudyListValidatorMarkers() :: ERROR", e);
+    } finally {
+      if (session != null) {
+        session.close();
+      }
+    }
+    LOGGER.info("INFO: StudyMetaDataDao - getStudyListValidatorMarkers() :: Ends");
+    return markers;
+  }
+
+  private String joinValidatorMarkers(List<Object[]> markerList) {
+    StringBuilder markers = new StringBuilder();
+    if (markerList != null) {
+      for (Object[] marker : markerList) {
+        markers.append(StringUtils.join(marker, '|')).append(';');
+      }
+    }
+    return markers.toString();
+  }
+
   public boolean isValidActivity(String activityId, String studyId, String activityVersion)
       throws DAOException {
     LOGGER.info("INFO: StudyMetaDataOrchestration - isValidActivity() :: Starts");
@@ -1433,12 +1647,14 @@ public class StudyMetaDataDao {
                   .createQuery(
                       "from ActiveTaskDto ATDTO"
                           + " where ATDTO.shortTitle= :shortTitle"
-                          + " and ROUND(ATDTO.version, 1)= :version and ATDTO.customStudyId= :customStudyId"
+                          + " and ATDTO.versionKey= :versionKey and ATDTO.customStudyId= :customStudyId"
                           + " ORDER BY ATDTO.id DESC")
                   .setString(
                       StudyMetaDataEnum.QF_SHORT_TITLE.value(),
                       StudyMetaDataUtil.replaceSingleQuotes(activityId))
-                  .setFloat(StudyMetaDataEnum.QF_VERSION.value(), Float.parseFloat(activityVersion))
+                  .setInteger(
+                      StudyMetaDataEnum.QF_VERSION_KEY.value(),
+                      StudyMetaDataUtil.getVersionKey(activityVersion))
                   .setString(StudyMetaDataEnum.QF_CUSTOM_STUDY_ID.value(), studyId)
                   .setMaxResults(1)
                   .uniqueResult();
@@ -1451,13 +1667,14 @@ public class StudyMetaDataDao {
                     .createQuery(
                         "from QuestionnairesDto QDTO"
                             + " where QDTO.shortTitle= :shortTitle"
-                            + " and ROUND(QDTO.version, 1)= :version and QDTO.customStudyId= :customStudyId"
+                            + " and QDTO.versionKey= :versionKey and QDTO.customStudyId= :customStudyId"
                             + " ORDER BY QDTO.id DESC")
                     .setString(
                         StudyMetaDataEnum.QF_SHORT_TITLE.value(),
                         StudyMetaDataUtil.replaceSingleQuotes(activityId))
-                    .setFloat(
-                        StudyMetaDataEnum.QF_VERSION.value(), Float.parseFloat(activityVersion))
+                    .setInteger(
+                        StudyMetaDataEnum.QF_VERSION_KEY.value(),
+                        StudyMetaDataUtil.getVersionKey(activityVersion))
                     .setString(StudyMetaDataEnum.QF_CUSTOM_STUDY_ID.value(), studyId)
                     .setMaxResults(1)
                     .uniqueResult();
@@ -1488,12 +1705,14 @@ public class StudyMetaDataDao {
                   .createQuery(
                       "from ActiveTaskDto ATDTO"
                           + " where ATDTO.shortTitle= :shortTitle"
-                          + " and ROUND(ATDTO.version, 1)= :version and ATDTO.customStudyId= :customStudyId"
+                          + " and ATDTO.versionKey= :versionKey and ATDTO.customStudyId= :customStudyId"
                           + " ORDER BY ATDTO.id DESC")
                   .setString(
                       StudyMetaDataEnum.QF_SHORT_TITLE.value(),
                       StudyMetaDataUtil.replaceSingleQuotes(activityId))
-                  .setFloat(StudyMetaDataEnum.QF_VERSION.value(), Float.parseFloat(activityVersion))
+                  .setInteger(
+                      StudyMetaDataEnum.QF_VERSION_KEY.value(),
+                      StudyMetaDataUtil.getVersionKey(activityVersion))
                   .setString(StudyMetaDataEnum.QF_CUSTOM_STUDY_ID.value(), studyId)
                   .setMaxResults(1)
                   .uniqueResult();
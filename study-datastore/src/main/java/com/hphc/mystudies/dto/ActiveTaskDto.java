@@ -112,6 +112,9 @@ public class ActiveTaskDto implements Serializable {
   @Column(name = "version")
   private Float version = 0f;
 
+  @Column(name = "version_key", insertable = false, updatable = false)
+  private Integer versionKey;
+
   @Column(name = "custom_study_id")
   private String customStudyId;
 
@@ -287,6 +290,14 @@ public class ActiveTaskDto implements Serializable {
     this.version = version;
   }
 
+  public Integer getVersionKey() {
+    return versionKey;
+  }
+
+  public void setVersionKey(Integer versionKey) {
+    this.versionKey = versionKey;
+  }
+
   public String getCustomStudyId() {
     return customStudyId;
   }
@@ -42,7 +42,7 @@ import org.hibernate.annotations.NamedQuery;
       name = "consentDetailsByCustomStudyIdAndVersion",
       query =
           " from ConsentDto CDTO"
-              + " where CDTO.customStudyId =:customStudyId and ROUND(CDTO.version, 1)=:version"),
+              + " where CDTO.customStudyId =:customStudyId and CDTO.versionKey=:versionKey"),
 })
 public class ConsentDto implements Serializable {
 
@@ -119,6 +119,9 @@ public class ConsentDto implements Serializable {
   @Column(name = "version")
   private Float version = 0f;
 
+  @Column(name = "version_key", insertable = false, updatable = false)
+  private Integer versionKey;
+
   @Column(name = "custom_study_id")
   private String customStudyId;
 
@@ -315,6 +318,14 @@ public class ConsentDto implements Serializable {
     this.version = version;
   }
 
+  public Integer getVersionKey() {
+    return versionKey;
+  }
+
+  public void setVersionKey(Integer versionKey) {
+    this.versionKey = versionKey;
+  }
+
   public String getCustomStudyId() {
     return customStudyId;
   }
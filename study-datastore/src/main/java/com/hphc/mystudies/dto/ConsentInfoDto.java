@@ -43,7 +43,7 @@ import org.hibernate.annotations.NamedQuery;
       name = "consentInfoDetailsByCustomStudyIdAndVersion",
       query =
           "from ConsentInfoDto CIDTO"
-              + " where CIDTO.customStudyId =:customStudyId and ROUND(CIDTO.version, 1)=:version"
+              + " where CIDTO.customStudyId =:customStudyId and CIDTO.versionKey=:versionKey"
               + " ORDER BY CIDTO.sequenceNo"),
 })
 public class ConsentInfoDto implements Serializable {
@@ -112,6 +112,9 @@ public class ConsentInfoDto implements Serializable {
   @Column(name = "version")
   private Float version = 0f;
 
+  @Column(name = "version_key", insertable = false, updatable = false)
+  private Integer versionKey;
+
   @Column(name = "custom_study_id")
   private String customStudyId;
 
@@ -278,6 +281,14 @@ public class ConsentInfoDto implements Serializable {
     this.version = version;
   }
 
+  public Integer getVersionKey() {
+    return versionKey;
+  }
+
+  public void setVersionKey(Integer versionKey) {
+    this.versionKey = versionKey;
+  }
+
   public String getCustomStudyId() {
     return customStudyId;
   }
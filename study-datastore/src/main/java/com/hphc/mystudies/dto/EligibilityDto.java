@@ -63,6 +63,9 @@ public class EligibilityDto implements Serializable {
   @Column(name = "study_version")
   private Integer studyVersion = 1;
 
+  @Column(name = "modified_on")
+  private String modifiedOn;
+
   public Integer getId() {
     return id;
   }
@@ -110,4 +113,12 @@ public class EligibilityDto implements Serializable {
   public void setStudyVersion(Integer studyVersion) {
     this.studyVersion = studyVersion;
   }
+
+  public String getModifiedOn() {
+    return modifiedOn;
+  }
+
+  public void setModifiedOn(String modifiedOn) {
+    this.modifiedOn = modifiedOn;
+  }
 }
@@ -47,6 +47,9 @@ public class FormDto implements Serializable {
   @Column(name = "active")
   private Boolean active;
 
+  @Column(name = "modified_on")
+  private String modifiedOn;
+
   public Integer getFormId() {
     return formId;
   }
@@ -70,4 +73,12 @@ public class FormDto implements Serializable {
   public void setActive(Boolean active) {
     this.active = active;
   }
+
+  public String getModifiedOn() {
+    return modifiedOn;
+  }
+
+  public void setModifiedOn(String modifiedOn) {
+    this.modifiedOn = modifiedOn;
+  }
 }
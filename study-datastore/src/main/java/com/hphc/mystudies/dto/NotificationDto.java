@@ -23,12 +23,15 @@
 package com.hphc.mystudies.dto;
 
 import java.io.Serializable;
+import java.util.Date;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
 
 @Entity
 @Table(name = "notification")
@@ -53,6 +56,11 @@ public class NotificationDto implements Serializable {
   @Column(name = "schedule_time")
   private String scheduleTime;
 
+  // Generated by the database from schedule_date and schedule_time; never written by the app.
+  @Temporal(TemporalType.TIMESTAMP)
+  @Column(name = "schedule_timestamp", insertable = false, updatable = false)
+  private Date scheduleTimestamp;
+
   @Column(name = "notification_action", length = 1)
   private boolean notificationAction;
 
@@ -144,6 +152,14 @@ public class NotificationDto implements Serializable {
     this.scheduleTime = scheduleTime;
   }
 
+  public Date getScheduleTimestamp() {
+    return scheduleTimestamp;
+  }
+
+  public void setScheduleTimestamp(Date scheduleTimestamp) {
+    this.scheduleTimestamp = scheduleTimestamp;
+  }
+
   public boolean isNotificationAction() {
     return notificationAction;
   }
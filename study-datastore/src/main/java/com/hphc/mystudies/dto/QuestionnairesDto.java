@@ -107,6 +107,9 @@ public class QuestionnairesDto implements Serializable {
   @Column(name = "version")
   private Float version = 0f;
 
+  @Column(name = "version_key", insertable = false, updatable = false)
+  private Integer versionKey;
+
   @Column(name = "custom_study_id")
   private String customStudyId;
 
@@ -255,6 +258,14 @@ public class QuestionnairesDto implements Serializable {
     this.version = version;
   }
 
+  public Integer getVersionKey() {
+    return versionKey;
+  }
+
+  public void setVersionKey(Integer versionKey) {
+    this.versionKey = versionKey;
+  }
+
   public String getCustomStudyId() {
     return customStudyId;
   }
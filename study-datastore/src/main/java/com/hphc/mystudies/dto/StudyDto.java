@@ -53,7 +53,7 @@ import org.hibernate.annotations.Type;
       name = "getActivityUpdatedOrNotByStudyIdAndVersion",
       query =
           "from StudyDto SDTO"
-              + " where SDTO.customStudyId =:customStudyId and ROUND(SDTO.version,1)=:version"),
+              + " where SDTO.customStudyId =:customStudyId and SDTO.versionKey=:versionKey"),
 })
 public class StudyDto implements Serializable {
 
@@ -145,6 +145,9 @@ public class StudyDto implements Serializable {
   @Column(name = "version")
   private Float version = 0f;
 
+  @Column(name = "version_key", insertable = false, updatable = false)
+  private Integer versionKey;
+
   @Column(name = "study_lunched_date")
   private String studylunchDate;
 
@@ -397,6 +400,14 @@ public class StudyDto implements Serializable {
     this.version = version;
   }
 
+  public Integer getVersionKey() {
+    return versionKey;
+  }
+
+  public void setVersionKey(Integer versionKey) {
+    this.versionKey = versionKey;
+  }
+
   public String getStudylunchDate() {
     return studylunchDate;
   }
@@ -48,13 +48,14 @@ import org.hibernate.annotations.NamedQuery;
       name = "getLiveVersionDetailsByCustomStudyIdAndVersion",
       query =
           "from StudyVersionDto SVDTO"
-              + " where SVDTO.customStudyId =:customStudyId and ROUND(SVDTO.studyVersion, 1)=:studyVersion"
+              + " where SVDTO.customStudyId =:customStudyId and SVDTO.studyVersionKey=:studyVersionKey"
               + " ORDER BY SVDTO.versionId DESC"),
   @NamedQuery(
       name = "getStudyUpdatesDetailsByCurrentVersion",
       query =
           "from StudyVersionDto SVDTO"
-              + " where SVDTO.customStudyId =:customStudyId and ROUND(SVDTO.studyVersion, 1)>=:studyVersion"),
+              + " where SVDTO.customStudyId =:customStudyId and SVDTO.studyVersionKey>=:studyVersionKey"
+              + " ORDER BY SVDTO.studyVersionKey, SVDTO.versionId"),
 })
 public class StudyVersionDto implements Serializable {
 
@@ -71,12 +72,21 @@ public class StudyVersionDto implements Serializable {
   @Column(name = "study_version")
   private Float studyVersion = 0f;
 
+  @Column(name = "study_version_key", insertable = false, updatable = false)
+  private Integer studyVersionKey;
+
   @Column(name = "activity_version")
   private Float activityVersion = 0f;
 
+  @Column(name = "activity_version_key", insertable = false, updatable = false)
+  private Integer activityVersionKey;
+
   @Column(name = "consent_version")
   private Float consentVersion = 0f;
 
+  @Column(name = "consent_version_key", insertable = false, updatable = false)
+  private Integer consentVersionKey;
+
   public Integer getVersionId() {
     return versionId;
   }
@@ -101,6 +111,14 @@ public class StudyVersionDto implements Serializable {
     this.studyVersion = studyVersion;
   }
 
+  public Integer getStudyVersionKey() {
+    return studyVersionKey;
+  }
+
+  public void setStudyVersionKey(Integer studyVersionKey) {
+    this.studyVersionKey = studyVersionKey;
+  }
+
   public Float getActivityVersion() {
     return activityVersion;
   }
@@ -109,6 +127,14 @@ public class StudyVersionDto implements Serializable {
     this.activityVersion = activityVersion;
   }
 
+  public Integer getActivityVersionKey() {
+    return activityVersionKey;
+  }
+
+  public void setActivityVersionKey(Integer activityVersionKey) {
+    this.activityVersionKey = activityVersionKey;
+  }
+
   public Float getConsentVersion() {
     return consentVersion;
   }
@@ -116,4 +142,12 @@ public class StudyVersionDto implements Serializable {
   public void setConsentVersion(Float consentVersion) {
     this.consentVersion = consentVersion;
   }
+
+  public Integer getConsentVersionKey() {
+    return consentVersionKey;
+  }
+
+  public void setConsentVersionKey(Integer consentVersionKey) {
+    this.consentVersionKey = consentVersionKey;
+  }
 }
@@ -33,6 +33,7 @@ import com.hphc.mystudies.bean.TermsPolicyResponse;
 import com.hphc.mystudies.dao.AppMetaDataDao;
 import com.hphc.mystudies.dto.AppVersionInfo;
 import com.hphc.mystudies.exception.OrchestrationException;
+import com.hphc.mystudies.util.ETagUtil;
 import com.hphc.mystudies.util.StudyMetaDataConstants;
 import com.hphc.mystudies.util.StudyMetaDataUtil;
 import java.util.HashMap;
@@ -61,12 +62,29 @@ public class AppMetaDataOrchestration {
     return termsPolicyResponse;
   }
 
-  public NotificationsResponse notifications(String skip, String authorization, String appId)
+  public String getTermsPolicyETag() throws OrchestrationException {
+    LOGGER.info("INFO: AppMetaDataOrchestration - getTermsPolicyETag() :: Starts");
+    String eTag = null;
+    try {
+      eTag =
+          ETagUtil.getStrongETag(
+              StringUtils.defaultString(propMap.get(StudyMetaDataConstants.FDA_SMD_PRIVACY_POLICY))
+                  + "|"
+                  + StringUtils.defaultString(propMap.get(StudyMetaDataConstants.FDA_SMD_TERMS)));
+    } catch (Exception e) {
+      LOGGER.error("AppMetaDataOrchestration - getTermsPolicyETag() :: ERROR", e);
+    }
+    LOGGER.info("INFO: AppMetaDataOrchestration - getTermsPolicyETag() :: Ends");
+    return eTag;
+  }
+
+  public NotificationsResponse notifications(
+      String skip, String cursor, String authorization, String appId)
       throws OrchestrationException {
     LOGGER.info("INFO: AppMetaDataOrchestration - notifications() :: Starts");
     NotificationsResponse notificationsResponse = new NotificationsResponse();
     try {
-      notificationsResponse = appMetaDataDao.notifications(skip, authorization, appId);
+      notificationsResponse = appMetaDataDao.notifications(skip, cursor, authorization, appId);
     } catch (Exception e) {
       LOGGER.error("AppMetaDataOrchestration - notifications() :: ERROR", e);
     }
@@ -30,6 +30,7 @@ import com.hphc.mystudies.bean.StudyInfoResponse;
 import com.hphc.mystudies.bean.StudyResponse;
 import com.hphc.mystudies.dao.StudyMetaDataDao;
 import com.hphc.mystudies.exception.OrchestrationException;
+import com.hphc.mystudies.util.ETagUtil;
 import com.hphc.mystudies.util.StudyMetaDataUtil;
 import java.util.HashMap;
 import org.apache.log4j.Logger;
@@ -194,4 +195,31 @@ public class StudyMetaDataOrchestration {
     LOGGER.info("INFO: StudyMetaDataOrchestration - study() :: Ends");
     return studyResponse;
   }
+
+  public String getStudyETag(String studyId) throws OrchestrationException {
+    LOGGER.info("INFO: StudyMetaDataOrchestration - getStudyETag() :: Starts");
+    String eTag = null;
+    try {
+      eTag = ETagUtil.getETag(studyMetaDataDao.getStudyValidatorMarkers(studyId));
+    } catch (Exception e) {
+      LOGGER.error("StudyMetaDataOrchestration - getStudyETag() :: ERROR", e);
+    }
+    LOGGER.info("INFO: StudyMetaDataOrchestration - getStudyETag() :: Ends");
+    return eTag;
+  }
+
+  public String getStudyListETag(String authorization, String applicationId)
+      throws OrchestrationException {
+    LOGGER.info("INFO: StudyMetaDataOrchestration - getStudyListETag() :: Starts");
+    String eTag = null;
+    try {
+      eTag =
+          ETagUtil.getETag(
+              studyMetaDataDao.getStudyListValidatorMarkers(authorization, applicationId));
+    } catch (Exception e) {
+      LOGGER.error("StudyMetaDataOrchestration - getStudyListETag() :: ERROR", e);
+    }
+    LOGGER.info("INFO: StudyMetaDataOrchestration - getStudyListETag() :: Ends");
+    return eTag;
+  }
 }
@@ -44,11 +44,14 @@ import com.hphc.mystudies.integration.ActivityMetaDataOrchestration;
 import com.hphc.mystudies.integration.AppMetaDataOrchestration;
 import com.hphc.mystudies.integration.DashboardMetaDataOrchestration;
 import com.hphc.mystudies.integration.StudyMetaDataOrchestration;
+import com.hphc.mystudies.util.ETagUtil;
+import com.hphc.mystudies.util.RequestMetricsRegistry;
 import com.hphc.mystudies.util.StudyMetaDataConstants;
 import com.hphc.mystudies.util.StudyMetaDataEnum;
 import com.hphc.mystudies.util.StudyMetaDataUtil;
 import java.util.HashMap;
 import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
@@ -117,12 +120,20 @@ public class StudyMetaDataService {
   public Object studyList(
       @HeaderParam("Authorization") String authorization,
       @HeaderParam("applicationId") String applicationId,
+      @HeaderParam(StudyMetaDataConstants.HEADER_IF_NONE_MATCH) String ifNoneMatch,
       @Context ServletContext context,
       @Context HttpServletResponse response) {
     LOGGER.info("INFO: StudyMetaDataService - studyList() :: Starts");
     StudyResponse studyResponse = new StudyResponse();
+    String eTag = null;
     try {
       if (!StringUtils.isEmpty(authorization) && !StringUtils.isEmpty(applicationId)) {
+        eTag = studyMetaDataOrchestration.getStudyListETag(authorization, applicationId);
+        if (ETagUtil.isNotModified(ifNoneMatch, eTag)) {
+          ETagUtil.setCacheHeaders(response, eTag);
+          return Response.status(Response.Status.NOT_MODIFIED).build();
+        }
+
         studyResponse = studyMetaDataOrchestration.studyList(authorization, applicationId);
         if (!studyResponse.getMessage().equals(StudyMetaDataConstants.SUCCESS)) {
           StudyMetaDataUtil.getFailureResponse(
@@ -145,6 +156,7 @@ public class StudyMetaDataService {
           .build();
     }
     LOGGER.info("INFO: StudyMetaDataService - studyList() :: Ends");
+    ETagUtil.setCacheHeaders(response, eTag);
     return studyResponse;
   }
 
@@ -154,13 +166,21 @@ public class StudyMetaDataService {
   @Path("eligibilityConsent")
   public Object eligibilityConsentMetadata(
       @QueryParam("studyId") String studyId,
+      @HeaderParam(StudyMetaDataConstants.HEADER_IF_NONE_MATCH) String ifNoneMatch,
       @Context ServletContext context,
       @Context HttpServletResponse response) {
     LOGGER.info("INFO: StudyMetaDataService - eligibilityConsentMetadata() :: Starts");
     EligibilityConsentResponse eligibilityConsentResponse = new EligibilityConsentResponse();
     Boolean isValidFlag = false;
+    String eTag = null;
     try {
       if (StringUtils.isNotEmpty(studyId)) {
+        eTag = studyMetaDataOrchestration.getStudyETag(studyId);
+        if (ETagUtil.isNotModified(ifNoneMatch, eTag)) {
+          ETagUtil.setCacheHeaders(response, eTag);
+          return Response.status(Response.Status.NOT_MODIFIED).build();
+        }
+
         isValidFlag = studyMetaDataOrchestration.isValidStudy(studyId);
         if (!isValidFlag) {
           StudyMetaDataUtil.getFailureResponse(
@@ -200,6 +220,7 @@ public class StudyMetaDataService {
           .build();
     }
     LOGGER.info("INFO: StudyMetaDataService - eligibilityConsentMetadata() :: Ends");
+    ETagUtil.setCacheHeaders(response, eTag);
     return eligibilityConsentResponse;
   }
 
@@ -269,13 +290,21 @@ public class StudyMetaDataService {
   @Path("resources")
   public Object resourcesForStudy(
       @QueryParam("studyId") String studyId,
+      @HeaderParam(StudyMetaDataConstants.HEADER_IF_NONE_MATCH) String ifNoneMatch,
       @Context ServletContext context,
       @Context HttpServletResponse response) {
     LOGGER.info("INFO: StudyMetaDataService - resourcesForStudy() :: Starts");
     ResourcesResponse resourcesResponse = new ResourcesResponse();
     Boolean isValidFlag = false;
+    String eTag = null;
     try {
       if (StringUtils.isNotEmpty(studyId)) {
+        eTag = studyMetaDataOrchestration.getStudyETag(studyId);
+        if (ETagUtil.isNotModified(ifNoneMatch, eTag)) {
+          ETagUtil.setCacheHeaders(response, eTag);
+          return Response.status(Response.Status.NOT_MODIFIED).build();
+        }
+
         isValidFlag = studyMetaDataOrchestration.isValidStudy(studyId);
         if (!isValidFlag) {
           StudyMetaDataUtil.getFailureResponse(
@@ -315,6 +344,7 @@ public class StudyMetaDataService {
           .build();
     }
     LOGGER.info("INFO: StudyMetaDataService - resourcesForStudy() :: Ends");
+    ETagUtil.setCacheHeaders(response, eTag);
     return resourcesResponse;
   }
 
@@ -324,13 +354,21 @@ public class StudyMetaDataService {
   @Path("studyInfo")
   public Object studyInfo(
       @QueryParam("studyId") String studyId,
+      @HeaderParam(StudyMetaDataConstants.HEADER_IF_NONE_MATCH) String ifNoneMatch,
       @Context ServletContext context,
       @Context HttpServletResponse response) {
     LOGGER.info("INFO: StudyMetaDataService - studyInfo() :: Starts");
     StudyInfoResponse studyInfoResponse = new StudyInfoResponse();
     Boolean isValidFlag = false;
+    String eTag = null;
     try {
       if (StringUtils.isNotEmpty(studyId)) {
+        eTag = studyMetaDataOrchestration.getStudyETag(studyId);
+        if (ETagUtil.isNotModified(ifNoneMatch, eTag)) {
+          ETagUtil.setCacheHeaders(response, eTag);
+          return Response.status(Response.Status.NOT_MODIFIED).build();
+        }
+
         isValidFlag = studyMetaDataOrchestration.isValidStudy(studyId);
         if (!isValidFlag) {
           StudyMetaDataUtil.getFailureResponse(
@@ -370,6 +408,7 @@ public class StudyMetaDataService {
           .build();
     }
     LOGGER.info("INFO: StudyMetaDataService - studyInfo() :: Ends");
+    ETagUtil.setCacheHeaders(response, eTag);
     return studyInfoResponse;
   }
 
@@ -540,13 +579,21 @@ public class StudyMetaDataService {
   @Path("studyDashboard")
   public Object studyDashboardInfo(
       @QueryParam("studyId") String studyId,
+      @HeaderParam(StudyMetaDataConstants.HEADER_IF_NONE_MATCH) String ifNoneMatch,
       @Context ServletContext context,
       @Context HttpServletResponse response) {
     LOGGER.info("INFO: StudyMetaDataService - studyDashboardInfo() :: Starts");
     StudyDashboardResponse studyDashboardResponse = new StudyDashboardResponse();
     Boolean isValidFlag = false;
+    String eTag = null;
     try {
       if (StringUtils.isNotEmpty(studyId)) {
+        eTag = studyMetaDataOrchestration.getStudyETag(studyId);
+        if (ETagUtil.isNotModified(ifNoneMatch, eTag)) {
+          ETagUtil.setCacheHeaders(response, eTag);
+          return Response.status(Response.Status.NOT_MODIFIED).build();
+        }
+
         isValidFlag = studyMetaDataOrchestration.isValidStudy(studyId);
         if (!isValidFlag) {
           StudyMetaDataUtil.getFailureResponse(
@@ -586,6 +633,7 @@ public class StudyMetaDataService {
           .build();
     }
     LOGGER.info("INFO: StudyMetaDataService - studyDashboardInfo() :: Ends");
+    ETagUtil.setCacheHeaders(response, eTag);
     return studyDashboardResponse;
   }
 
@@ -594,10 +642,19 @@ public class StudyMetaDataService {
   @Consumes(MediaType.APPLICATION_JSON)
   @Path("termsPolicy")
   public Object termsPolicy(
-      @Context ServletContext context, @Context HttpServletResponse response) {
+      @HeaderParam(StudyMetaDataConstants.HEADER_IF_NONE_MATCH) String ifNoneMatch,
+      @Context ServletContext context,
+      @Context HttpServletResponse response) {
     LOGGER.info("INFO: StudyMetaDataService - termsPolicy() :: Starts");
     TermsPolicyResponse termsPolicyResponse = new TermsPolicyResponse();
+    String eTag = null;
     try {
+      eTag = appMetaDataOrchestration.getTermsPolicyETag();
+      if (ETagUtil.isNotModified(ifNoneMatch, eTag)) {
+        ETagUtil.setCacheHeaders(response, eTag);
+        return Response.status(Response.Status.NOT_MODIFIED).build();
+      }
+
       termsPolicyResponse = appMetaDataOrchestration.termsPolicy();
       if (!termsPolicyResponse.getMessage().equals(StudyMetaDataConstants.SUCCESS)) {
         StudyMetaDataUtil.getFailureResponse(
@@ -615,6 +672,7 @@ public class StudyMetaDataService {
           .build();
     }
     LOGGER.info("INFO: StudyMetaDataService - termsPolicy() :: Ends");
+    ETagUtil.setCacheHeaders(response, eTag);
     return termsPolicyResponse;
   }
 
@@ -624,6 +682,7 @@ public class StudyMetaDataService {
   @Path("notifications")
   public Object notifications(
       @QueryParam("skip") String skip,
+      @QueryParam("cursor") String cursor,
       @HeaderParam("Authorization") String authorization,
       @HeaderParam("applicationId") String appId,
       @Context ServletContext context,
@@ -631,8 +690,9 @@ public class StudyMetaDataService {
     LOGGER.info("INFO: StudyMetaDataService - notifications() :: Starts");
     NotificationsResponse notificationsResponse = new NotificationsResponse();
     try {
-      if (StringUtils.isNotEmpty(skip)) {
-        notificationsResponse = appMetaDataOrchestration.notifications(skip, authorization, appId);
+      if (StringUtils.isNotEmpty(skip) || StringUtils.isNotEmpty(cursor)) {
+        notificationsResponse =
+            appMetaDataOrchestration.notifications(skip, cursor, authorization, appId);
         if (!notificationsResponse.getMessage().equals(StudyMetaDataConstants.SUCCESS)) {
           StudyMetaDataUtil.getFailureResponse(
               ErrorCodes.STATUS_103, ErrorCodes.NO_DATA, StudyMetaDataConstants.FAILURE, response);
@@ -888,6 +948,17 @@ public class StudyMetaDataService {
     return "200 OK!";
   }
 
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @Path("metrics")
+  public Object metrics(@Context HttpServletRequest request) {
+    String forwardedFor = request.getHeader(StudyMetaDataConstants.HEADER_X_FORWARDED_FOR);
+    if (!StudyMetaDataUtil.isLocalRequest(request.getRemoteAddr(), forwardedFor)) {
+      return Response.status(Response.Status.FORBIDDEN).build();
+    }
+    return RequestMetricsRegistry.snapshot();
+  }
+
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   @Consumes(MediaType.APPLICATION_JSON)
@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.hphc.mystudies.util;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Thread-safe date formatting, parsing and arithmetic built on immutable {@link
+ * DateTimeFormatter}s. Formatters are compiled once per pattern and shared across requests, so
+ * schedule and notification loops no longer allocate a {@code SimpleDateFormat} per value.
+ *
+ * <p>Parsing follows the lenient behaviour the DAOs relied on with {@code SimpleDateFormat}:
+ * trailing text after the pattern is ignored, a missing time resolves to midnight and a missing
+ * date resolves to 1970-01-01, all in the server time zone unless the pattern carries an offset.
+ */
+public class DateTimeUtil {
+
+  public static final ZoneId STUDY_ZONE = ZoneId.of(StudyMetaDataConstants.STUDY_TIME_ZONE);
+
+  private static final ConcurrentMap<String, DateTimeFormatter> FORMATTERS =
+      new ConcurrentHashMap<>();
+
+  private static final LocalDate EPOCH_DATE = LocalDate.of(1970, 1, 1);
+
+  static {
+    for (String pattern :
+        new String[] {
+          StudyMetaDataConstants.SDF_DATE_TIME_PATTERN,
+          StudyMetaDataConstants.SDF_DATE_TIME_12_PATTERN,
+          StudyMetaDataConstants.SDF_DATE_PATTERN,
+          StudyMetaDataConstants.SDF_TIME_24_PATTERN,
+          StudyMetaDataConstants.SDF_TIME_12_PATTERN,
+          StudyMetaDataConstants.SDF_MMDDYYYY_PATTERN,
+          StudyMetaDataConstants.DISPLAY_DATE_PATTERN,
+          StudyMetaDataConstants.DISPLAY_DATE_TIME_PATTERN,
+          StudyMetaDataConstants.DISPLAY_DATE_TIME_MIN_PATTERN,
+          StudyMetaDataConstants.SDF_DATE_TIME_TIMEZONE_PATTERN,
+          StudyMetaDataConstants.SDF_DATE_TIME_TIMEZONE_MILLISECONDS_PATTERN,
+          StudyMetaDataConstants.SDF_FILE_NAME_TIMESTAMP_PATTERN,
+          StudyMetaDataConstants.SDF_DAY
+        }) {
+      getFormatter(pattern);
+    }
+  }
+
+  public static DateTimeFormatter getFormatter(String pattern) {
+    DateTimeFormatter formatter = FORMATTERS.get(pattern);
+    if (formatter == null) {
+      formatter = DateTimeFormatter.ofPattern(pattern);
+      DateTimeFormatter existing = FORMATTERS.putIfAbsent(pattern, formatter);
+      if (existing != null) {
+        formatter = existing;
+      }
+    }
+    return formatter;
+  }
+
+  public static ZonedDateTime parseZoned(String input, String pattern) throws ParseException {
+    return parseZoned(input, pattern, ZoneId.systemDefault());
+  }
+
+  public static ZonedDateTime parseZoned(String input, String pattern, ZoneId zone)
+      throws ParseException {
+    if (input == null) {
+      throw new ParseException("Unparseable date: null", 0);
+    }
+    ParsePosition position = new ParsePosition(0);
+    try {
+      TemporalAccessor parsed = getFormatter(pattern).parse(input, position);
+      LocalDate date = parsed.query(TemporalQueries.localDate());
+      LocalTime time = parsed.query(TemporalQueries.localTime());
+      ZoneOffset offset = parsed.query(TemporalQueries.offset());
+      ZonedDateTime dateTime =
+          ZonedDateTime.of(
+              date == null ? EPOCH_DATE : date,
+              time == null ? LocalTime.MIDNIGHT : time,
+              offset == null ? zone : offset);
+      return offset == null ? dateTime : dateTime.withZoneSameInstant(zone);
+    } catch (DateTimeException e) {
+      ParseException parseException =
+          new ParseException(
+              "Unparseable date: \"" + input + "\"", Math.max(position.getErrorIndex(), 0));
+      parseException.initCause(e);
+      throw parseException;
+    }
+  }
+
+  public static Date parse(String input, String pattern) throws ParseException {
+    return Date.from(parseZoned(input, pattern).toInstant());
+  }
+
+  public static String format(Date date, String pattern) {
+    return format(date, pattern, ZoneId.systemDefault());
+  }
+
+  public static String format(Date date, String pattern, ZoneId zone) {
+    return getFormatter(pattern).format(Instant.ofEpochMilli(date.getTime()).atZone(zone));
+  }
+
+  public static String format(ZonedDateTime dateTime, String pattern) {
+    return getFormatter(pattern).format(dateTime);
+  }
+
+  public static String now(String pattern, ZoneId zone) {
+    return getFormatter(pattern).format(ZonedDateTime.now(zone));
+  }
+
+  /** Re-renders a date string from one pattern into another without an intermediate Date. */
+  public static String reformat(String input, String inputPattern, String outputPattern)
+      throws ParseException {
+    return format(parseZoned(input, inputPattern), outputPattern);
+  }
+
+  /**
+   * Adds the amount to a date string and renders it back in the same pattern. Date-based units
+   * keep the wall-clock time and time-based units move the instant, as {@code Calendar.add} does.
+   */
+  public static String plus(String input, String pattern, long amount, ChronoUnit unit)
+      throws ParseException {
+    return format(parseZoned(input, pattern).plus(amount, unit), pattern);
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.hphc.mystudies.util;
+
+import java.security.MessageDigest;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+
+/**
+ * Strong entity tags for the study metadata endpoints.
+ *
+ * <p>A validator is derived from the published version markers of a study (or of every study of an
+ * app) and recomputed on every request, so that a conditional GET carrying a matching {@code
+ * If-None-Match} can be answered with 304 without running the metadata queries.
+ */
+public class ETagUtil {
+
+  private static final Logger LOGGER = Logger.getLogger(ETagUtil.class);
+
+  /**
+   * Builds a strong entity tag from the given validator markers. Returns null when there are no
+   * markers, i.e. when the resource does not exist.
+   */
+  public static String getETag(String markers) {
+    if (StringUtils.isEmpty(markers)) {
+      return null;
+    }
+    return getStrongETag(markers);
+  }
+
+  public static String getStrongETag(String markers) {
+    StringBuilder sb = new StringBuilder("\"");
+    try {
+      MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+      byte[] digestBytes = messageDigest.digest(markers.getBytes("UTF-8"));
+      for (int i = 0; i < 16; i++) {
+        String hex = Integer.toHexString(0xFF & digestBytes[i]);
+        if (hex.length() < 2) {
+          sb.append("0");
+        }
+        sb.append(hex);
+      }
+    } catch (Exception e) {
+      LOGGER.error("ERROR: ETagUtil - getStrongETag() ", e);
+      return null;
+    }
+    return sb.append("\"").toString();
+  }
+
+  /**
+   * Evaluates an {@code If-None-Match} header against the current entity tag. Uses the weak
+   * comparison that RFC 7232 requires for this header.
+   */
+  public static boolean isNotModified(String ifNoneMatch, String eTag) {
+    if (StringUtils.isEmpty(ifNoneMatch) || StringUtils.isEmpty(eTag)) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if ("*".equals(tag)) {
+        return true;
+      }
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals(eTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Adds the entity tag and revalidation headers to a 200 or 304 response. */
+  public static void setCacheHeaders(HttpServletResponse response, String eTag) {
+    if (StringUtils.isNotEmpty(eTag)) {
+      response.setHeader(StudyMetaDataConstants.HEADER_ETAG, eTag);
+      response.setHeader(
+          StudyMetaDataConstants.HEADER_CACHE_CONTROL,
+          StudyMetaDataConstants.METADATA_CACHE_CONTROL);
+    }
+  }
+}
@@ -45,6 +45,7 @@ public class HibernateUtil {
                 .addProperties(
                     PropertiesUtil.makePropertiesWithEnvironmentVariables("application.properties"))
                 .configure("hibernate.cfg.xml")
+                .setInterceptor(new QueryMetricsInterceptor())
                 .buildSessionFactory();
       }
     } catch (Exception e) {
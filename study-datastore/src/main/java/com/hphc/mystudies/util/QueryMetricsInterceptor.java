@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.hphc.mystudies.util;
+
+import java.io.Serializable;
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+
+/** Counts the statements prepared and the entity rows loaded by the current request. */
+public class QueryMetricsInterceptor extends EmptyInterceptor {
+
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public String onPrepareStatement(String sql) {
+    RequestSpan span = RequestSpan.current();
+    if (span != null) {
+      span.recordStatement();
+    }
+    return sql;
+  }
+
+  @Override
+  public boolean onLoad(
+      Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+    RequestSpan span = RequestSpan.current();
+    if (span != null) {
+      span.recordRow();
+    }
+    return false;
+  }
+}
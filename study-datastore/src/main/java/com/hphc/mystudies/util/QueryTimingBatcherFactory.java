@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.hphc.mystudies.util;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.hibernate.HibernateException;
+import org.hibernate.Interceptor;
+import org.hibernate.jdbc.Batcher;
+import org.hibernate.jdbc.ConnectionManager;
+import org.hibernate.jdbc.Expectation;
+import org.hibernate.jdbc.NonBatchingBatcher;
+import org.hibernate.jdbc.NonBatchingBatcherFactory;
+
+/**
+ * Batcher factory, configured through {@code hibernate.jdbc.factory_class}, whose batchers add
+ * the time spent executing each JDBC statement to the current request span.
+ */
+public class QueryTimingBatcherFactory extends NonBatchingBatcherFactory {
+
+  @Override
+  public Batcher createBatcher(ConnectionManager connectionManager, Interceptor interceptor) {
+    return new QueryTimingBatcher(connectionManager, interceptor);
+  }
+
+  private static class QueryTimingBatcher extends NonBatchingBatcher {
+
+    QueryTimingBatcher(ConnectionManager connectionManager, Interceptor interceptor) {
+      super(connectionManager, interceptor);
+    }
+
+    @Override
+    public ResultSet getResultSet(PreparedStatement ps) throws SQLException {
+      long start = System.nanoTime();
+      try {
+        return super.getResultSet(ps);
+      } finally {
+        recordQueryTime(start);
+      }
+    }
+
+    @Override
+    public void addToBatch(Expectation expectation) throws SQLException, HibernateException {
+      long start = System.nanoTime();
+      try {
+        super.addToBatch(expectation);
+      } finally {
+        recordQueryTime(start);
+      }
+    }
+
+    private static void recordQueryTime(long start) {
+      RequestSpan span = RequestSpan.current();
+      if (span != null) {
+        span.recordQueryTime(System.nanoTime() - start);
+      }
+    }
+  }
+}
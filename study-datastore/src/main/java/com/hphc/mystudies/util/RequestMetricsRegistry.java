@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.hphc.mystudies.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Per-endpoint latency histograms and query totals, aggregated from finished request spans. */
+public class RequestMetricsRegistry {
+
+  /* Upper bounds, in milliseconds, of the latency buckets; the last bucket is unbounded. */
+  private static final long[] BUCKET_BOUNDS_MILLIS = {
+    5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000
+  };
+
+  /* Caps the number of tracked endpoints so unknown paths cannot grow the map without bound. */
+  private static final int MAX_ENDPOINTS = 200;
+
+  private static final String OTHER_ENDPOINT = "other";
+
+  private static final ConcurrentMap<String, EndpointMetrics> ENDPOINTS =
+      new ConcurrentHashMap<>();
+
+  private RequestMetricsRegistry() {}
+
+  public static void record(RequestSpan span, int status) {
+    String endpoint = span.getEndpoint();
+    if (!ENDPOINTS.containsKey(endpoint) && (ENDPOINTS.size() >= MAX_ENDPOINTS)) {
+      endpoint = OTHER_ENDPOINT;
+    }
+    EndpointMetrics metrics = ENDPOINTS.get(endpoint);
+    if (metrics == null) {
+      ENDPOINTS.putIfAbsent(endpoint, new EndpointMetrics());
+      metrics = ENDPOINTS.get(endpoint);
+    }
+    metrics.record(span, status);
+  }
+
+  public static Map<String, Object> snapshot() {
+    Map<String, Object> snapshot = new TreeMap<>();
+    for (Map.Entry<String, EndpointMetrics> entry : ENDPOINTS.entrySet()) {
+      snapshot.put(entry.getKey(), entry.getValue().snapshot());
+    }
+    return snapshot;
+  }
+
+  private static class EndpointMetrics {
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAdder queryNanos = new LongAdder();
+
+    private final LongAdder queries = new LongAdder();
+
+    private final LongAdder rows = new LongAdder();
+
+    void record(RequestSpan span, int status) {
+      long elapsedNanos = span.getElapsedNanos();
+      long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+      int bucket = 0;
+      while ((bucket < BUCKET_BOUNDS_MILLIS.length)
+          && (elapsedMillis > BUCKET_BOUNDS_MILLIS[bucket])) {
+        bucket++;
+      }
+      buckets.incrementAndGet(bucket);
+      count.increment();
+      if (status >= 500) {
+        errors.increment();
+      }
+      totalNanos.add(elapsedNanos);
+      queryNanos.add(span.getQueryNanos());
+      queries.add(span.getQueryCount());
+      rows.add(span.getRowCount());
+    }
+
+    Map<String, Object> snapshot() {
+      long requests = count.sum();
+      Map<String, Object> snapshot = new LinkedHashMap<>();
+      snapshot.put("count", requests);
+      snapshot.put("errors", errors.sum());
+      snapshot.put("totalMillis", TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()));
+      snapshot.put("queryMillis", TimeUnit.NANOSECONDS.toMillis(queryNanos.sum()));
+      snapshot.put("queries", queries.sum());
+      snapshot.put("rows", rows.sum());
+      snapshot.put("queriesPerRequest", requests == 0 ? 0 : queries.sum() / (double) requests);
+
+      Map<String, Long> histogram = new LinkedHashMap<>();
+      for (int i = 0; i < buckets.length(); i++) {
+        String label =
+            i < BUCKET_BOUNDS_MILLIS.length ? "le" + BUCKET_BOUNDS_MILLIS[i] + "ms" : "inf";
+        histogram.put(label, buckets.get(i));
+      }
+      snapshot.put("latency", histogram);
+      return snapshot;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.hphc.mystudies.util;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing and query counters for the request being served on the current thread. A span is
+ * opened by the request timing filter and filled in by the Hibernate interceptor and batcher, so
+ * DAOs do not need to be touched to see how many statements an endpoint issues.
+ */
+public class RequestSpan {
+
+  private static final ThreadLocal<RequestSpan> CURRENT = new ThreadLocal<>();
+
+  private final String endpoint;
+
+  private final long startNanos = System.nanoTime();
+
+  private int queryCount;
+
+  private int rowCount;
+
+  private long queryNanos;
+
+  private RequestSpan(String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  public static RequestSpan begin(String endpoint) {
+    RequestSpan span = new RequestSpan(endpoint);
+    CURRENT.set(span);
+    return span;
+  }
+
+  /** Returns the span of the current request, or null outside of a request. */
+  public static RequestSpan current() {
+    return CURRENT.get();
+  }
+
+  public static void end() {
+    CURRENT.remove();
+  }
+
+  public void recordStatement() {
+    queryCount++;
+  }
+
+  public void recordRow() {
+    rowCount++;
+  }
+
+  public void recordQueryTime(long nanos) {
+    queryNanos += nanos;
+  }
+
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  public int getQueryCount() {
+    return queryCount;
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  public long getQueryNanos() {
+    return queryNanos;
+  }
+
+  public long getElapsedNanos() {
+    return System.nanoTime() - startNanos;
+  }
+
+  /** Renders the span as a Server-Timing header value. */
+  public String toServerTiming() {
+    return String.format(
+        Locale.US,
+        "db;dur=%.1f;desc=\"%d queries, %d rows\", app;dur=%.1f",
+        toMillis(queryNanos),
+        queryCount,
+        rowCount,
+        toMillis(getElapsedNanos()));
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
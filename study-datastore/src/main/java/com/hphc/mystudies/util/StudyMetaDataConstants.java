@@ -22,8 +22,6 @@
  */
 package com.hphc.mystudies.util;
 
-import java.text.SimpleDateFormat;
-
 public interface StudyMetaDataConstants {
 
   public static final String SUCCESS = "SUCCESS";
@@ -41,24 +39,21 @@ public interface StudyMetaDataConstants {
   public final String INVALID_ENROLLMENT_TOKEN =
       "Sorry, the enrollment token is not valid. Please check and try again.";
 
-  SimpleDateFormat SDF_DATE_TIME = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-  SimpleDateFormat SDF_DATE_TIME_12 = new SimpleDateFormat("MM/dd/yyyy hh:mm a");
-  SimpleDateFormat SDF_DATE = new SimpleDateFormat("yyyy-MM-dd");
-  SimpleDateFormat SDF_TIME_24 = new SimpleDateFormat("HH:mm:ss");
-  SimpleDateFormat SDF_TIME_12 = new SimpleDateFormat("hh:mm a");
-
-  SimpleDateFormat SDF_MMDDYYYY = new SimpleDateFormat("MM/dd/yyyy");
-  SimpleDateFormat DISPLAY_DATE = new SimpleDateFormat("EEE, MMM dd, yyyy");
-  SimpleDateFormat DISPLAY_DATE_TIME = new SimpleDateFormat("EEE, MMM dd, yyyy 'at' hh:mm a");
-  SimpleDateFormat DISPLAY_DATE_TIME_MIN = new SimpleDateFormat("dd MMM yyyy  HH:mm:ss");
-  SimpleDateFormat SDF_DATE_TIME_TIMEZONE = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ");
-  SimpleDateFormat SDF_DATE_TIME_TIMEZONE_MILLISECONDS =
-      new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
-
   public static final String SDF_DATE_TIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
+  public static final String SDF_DATE_TIME_12_PATTERN = "MM/dd/yyyy hh:mm a";
+  public static final String SDF_DATE_PATTERN = "yyyy-MM-dd";
+  public static final String SDF_TIME_24_PATTERN = "HH:mm:ss";
+  public static final String SDF_TIME_12_PATTERN = "hh:mm a";
+  public static final String SDF_MMDDYYYY_PATTERN = "MM/dd/yyyy";
+  public static final String DISPLAY_DATE_PATTERN = "EEE, MMM dd, yyyy";
+  public static final String DISPLAY_DATE_TIME_PATTERN = "EEE, MMM dd, yyyy 'at' hh:mm a";
+  public static final String DISPLAY_DATE_TIME_MIN_PATTERN = "dd MMM yyyy  HH:mm:ss";
+  public static final String SDF_DATE_TIME_TIMEZONE_PATTERN = "yyyy-MM-dd'T'HH:mm:ssZ";
   public static final String SDF_DATE_TIME_TIMEZONE_MILLISECONDS_PATTERN =
       "yyyy-MM-dd'T'HH:mm:ss.SSSZ";
-  public static final String SDF_DATE_PATTERN = "yyyy-MM-dd";
+  public static final String SDF_FILE_NAME_TIMESTAMP_PATTERN = "MMddyyyyHHmmss";
+
+  public static final String STUDY_TIME_ZONE = "America/New_York";
 
   public static final String PASS_SALT = "BTCSoft";
 
@@ -214,6 +209,7 @@ public interface StudyMetaDataConstants {
   public static final String NOTIFICATION_AUDIENCE_LIMITED = "Limited";
 
   public static final String STUDY_DEFAULT_VERSION = "1.0";
+  public static final int VERSION_KEY_SCALE = 10;
 
   public static final String STUDY_AUTH_TYPE_PLATFORM = "platform";
   public static final String STUDY_AUTH_TYPE_OS = "os";
@@ -226,6 +222,7 @@ public interface StudyMetaDataConstants {
   public static final String INTERCEPTOR_URL_MAIL = "/mail";
   public static final String INTERCEPTOR_URL_APP_VERSION = "/updateAppVersion";
   public static final String INTERCEPTOR_URL_DB_QUERY = "/testQuery";
+  public static final String INTERCEPTOR_URL_METRICS = "/metrics";
 
   public static final String QUERY_INSERT = "INSERT";
   public static final String QUERY_UPDATE = "UPDATE";
@@ -296,6 +293,13 @@ public interface StudyMetaDataConstants {
   public static final String FDA_SMD_PRIVACY_POLICY = "fda.smd.pricaypolicy";
   public static final String FDA_SMD_TERMS = "fda.smd.terms";
 
+  public static final String HEADER_ETAG = "ETag";
+  public static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+  public static final String HEADER_CACHE_CONTROL = "Cache-Control";
+  public static final String METADATA_CACHE_CONTROL = "private, no-cache";
+  public static final String HEADER_SERVER_TIMING = "Server-Timing";
+  public static final String HEADER_X_FORWARDED_FOR = "X-Forwarded-For";
+
   public static final String ANCHOR_TYPE_ENROLLMENTDATE = "EnrollmentDate";
   public static final String ANCHOR_TYPE_ACTIVITYRESPONSE = "ActivityResponse";
   public static final String SCHEDULETYPE_REGULAR = "Regular";
@@ -67,6 +67,10 @@ public enum StudyMetaDataEnum {
 
   QF_VERSION("version"),
 
+  QF_VERSION_KEY("versionKey"),
+
+  QF_STUDY_VERSION_KEY("studyVersionKey"),
+
   QF_LIVE("live"),
 
   QF_ACTIVE("active"),
@@ -27,10 +27,12 @@ import com.sun.jersey.core.util.Base64;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.security.MessageDigest;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -121,10 +123,7 @@ public class StudyMetaDataUtil {
     LOGGER.info("INFO: StudyMetaDataUtil - noOfDaysForMonthYear() :: Starts");
     int numDays = 30;
     try {
-      Calendar calendar = Calendar.getInstance();
-      calendar.set(Calendar.YEAR, year);
-      calendar.set(Calendar.MONTH, month - 1);
-      numDays = calendar.getActualMaximum(Calendar.DATE);
+      numDays = YearMonth.of(year, month).lengthOfMonth();
     } catch (Exception e) {
       LOGGER.error("ERROR: StudyMetaDataUtil - noOfDaysForMonthYear() " + e);
     }
@@ -137,8 +136,8 @@ public class StudyMetaDataUtil {
     int daysdiff = 0;
     try {
       long diff =
-          StudyMetaDataConstants.SDF_DATE.parse(endDate).getTime()
-              - StudyMetaDataConstants.SDF_DATE.parse(startDate).getTime();
+          DateTimeUtil.parse(endDate, StudyMetaDataConstants.SDF_DATE_PATTERN).getTime()
+              - DateTimeUtil.parse(startDate, StudyMetaDataConstants.SDF_DATE_PATTERN).getTime();
       long diffDays = (diff / (24 * 60 * 60 * 1000)) + 1;
       daysdiff = (int) diffDays;
     } catch (Exception e) {
@@ -152,10 +151,8 @@ public class StudyMetaDataUtil {
     LOGGER.info("INFO: StudyMetaDataUtil - getCurrentDate() :: Starts");
     String dateNow = "";
     try {
-      Calendar currentDate = Calendar.getInstance();
-      SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd");
-      formatter.setTimeZone(TimeZone.getTimeZone("America/New_York"));
-      dateNow = formatter.format(currentDate.getTime());
+      dateNow =
+          DateTimeUtil.now(StudyMetaDataConstants.SDF_DATE_PATTERN, DateTimeUtil.STUDY_ZONE);
     } catch (Exception e) {
       LOGGER.error("ERROR: StudyMetaDataUtil - getCurrentDate() " + e);
     }
@@ -167,11 +164,9 @@ public class StudyMetaDataUtil {
     LOGGER.info("StudyMetaDataUtil: getCurrentDateTime() - Starts ");
     String getToday = "";
     try {
-      Date today = new Date();
-      SimpleDateFormat formatter =
-          new SimpleDateFormat(StudyMetaDataConstants.SDF_DATE_TIME_PATTERN);
-      formatter.setTimeZone(TimeZone.getTimeZone("America/New_York"));
-      getToday = formatter.format(today.getTime());
+      getToday =
+          DateTimeUtil.now(
+              StudyMetaDataConstants.SDF_DATE_TIME_PATTERN, DateTimeUtil.STUDY_ZONE);
     } catch (Exception e) {
       LOGGER.error("StudyMetaDataUtil - getCurrentDateTime() - ERROR ", e);
     }
@@ -183,14 +178,9 @@ public class StudyMetaDataUtil {
       String inputDate, String inputFormat, String outputFormat) {
     LOGGER.info("StudyMetaDataUtil: getFormattedDate1() - Starts ");
     String finalDate = "";
-    java.sql.Date formattedDate = null;
     if ((inputDate != null) && !"".equals(inputDate) && !"null".equalsIgnoreCase(inputDate)) {
       try {
-        SimpleDateFormat formatter = new SimpleDateFormat(inputFormat);
-        formattedDate = new java.sql.Date(formatter.parse(inputDate).getTime());
-
-        formatter = new SimpleDateFormat(outputFormat);
-        finalDate = formatter.format(formattedDate);
+        finalDate = DateTimeUtil.reformat(inputDate, inputFormat, outputFormat);
       } catch (Exception e) {
         LOGGER.error("StudyMetaDataUtil: getFormattedDate1() - ERROR", e);
       }
@@ -223,8 +213,8 @@ public class StudyMetaDataUtil {
     LOGGER.info("StudyMetaDataUtil: getTimeDiffInDaysHoursMins() - Starts ");
     String diff = "";
     try {
-      Date dateOne = StudyMetaDataConstants.SDF_DATE_TIME.parse(dateOne1);
-      Date dateTwo = StudyMetaDataConstants.SDF_DATE_TIME.parse(dateTwo2);
+      Date dateOne = DateTimeUtil.parse(dateOne1, StudyMetaDataConstants.SDF_DATE_TIME_PATTERN);
+      Date dateTwo = DateTimeUtil.parse(dateTwo2, StudyMetaDataConstants.SDF_DATE_TIME_PATTERN);
       long timeDiff = Math.abs(dateOne.getTime() - dateTwo.getTime());
       diff = String.format("%d", TimeUnit.MILLISECONDS.toMinutes(timeDiff));
     } catch (ParseException e) {
@@ -293,14 +283,9 @@ public class StudyMetaDataUtil {
   public static String getFormattedDate(String inputDate, String inputFormat, String outputFormat) {
     LOGGER.info("StudyMetaDataUtil: getFormattedDate() - Starts ");
     String finalDate = "";
-    java.sql.Date formattedDate = null;
     if ((inputDate != null) && !"".equals(inputDate) && !"null".equalsIgnoreCase(inputDate)) {
       try {
-        SimpleDateFormat formatter = new SimpleDateFormat(inputFormat);
-        formattedDate = new java.sql.Date(formatter.parse(inputDate).getTime());
-
-        formatter = new SimpleDateFormat(outputFormat);
-        finalDate = formatter.format(formattedDate);
+        finalDate = DateTimeUtil.reformat(inputDate, inputFormat, outputFormat);
       } catch (Exception e) {
         LOGGER.error("ERROR: getFormattedDate ", e);
       }
@@ -313,13 +298,9 @@ public class StudyMetaDataUtil {
     LOGGER.info("StudyMetaDataUtil: addMinutes() - Starts ");
     String newdateStr = "";
     try {
-      SimpleDateFormat date = new SimpleDateFormat(StudyMetaDataConstants.SDF_DATE_TIME_PATTERN);
-      Date dt = date.parse(dtStr);
-      Calendar cal = Calendar.getInstance();
-      cal.setTime(dt);
-      cal.add(Calendar.MINUTE, minutes);
-      Date newDate = cal.getTime();
-      newdateStr = date.format(newDate);
+      newdateStr =
+          DateTimeUtil.plus(
+              dtStr, StudyMetaDataConstants.SDF_DATE_TIME_PATTERN, minutes, ChronoUnit.MINUTES);
     } catch (ParseException e) {
       LOGGER.error("StudyMetaDataUtil - addMinutes() - ERROR ", e);
     }
@@ -331,12 +312,9 @@ public class StudyMetaDataUtil {
     LOGGER.info("StudyMetaDataUtil: addDays() - Starts ");
     String newdateStr = "";
     try {
-      Date dt = StudyMetaDataConstants.SDF_DATE_TIME.parse(dtStr);
-      Calendar cal = Calendar.getInstance();
-      cal.setTime(dt);
-      cal.add(Calendar.DATE, days);
-      Date newDate = cal.getTime();
-      newdateStr = StudyMetaDataConstants.SDF_DATE_TIME.format(newDate);
+      newdateStr =
+          DateTimeUtil.plus(
+              dtStr, StudyMetaDataConstants.SDF_DATE_TIME_PATTERN, days, ChronoUnit.DAYS);
     } catch (ParseException e) {
       LOGGER.error("StudyMetaDataUtil - addDays() - ERROR ", e);
     }
@@ -348,12 +326,9 @@ public class StudyMetaDataUtil {
     LOGGER.info("StudyMetaDataUtil: addMonth() - Starts ");
     String newdateStr = "";
     try {
-      Date dt = StudyMetaDataConstants.SDF_DATE.parse(dtStr);
-      Calendar cal = Calendar.getInstance();
-      cal.setTime(dt);
-      cal.add(Calendar.MONTH, months);
-      Date newDate = cal.getTime();
-      newdateStr = StudyMetaDataConstants.SDF_DATE.format(newDate);
+      newdateStr =
+          DateTimeUtil.plus(
+              dtStr, StudyMetaDataConstants.SDF_DATE_PATTERN, months, ChronoUnit.MONTHS);
     } catch (ParseException e) {
       LOGGER.error("StudyMetaDataUtil - addMonth() - ERROR ", e);
     }
@@ -365,12 +340,9 @@ public class StudyMetaDataUtil {
     LOGGER.info("StudyMetaDataUtil: addYear() - Starts ");
     String newdateStr = "";
     try {
-      Date dt = StudyMetaDataConstants.SDF_DATE.parse(dtStr);
-      Calendar cal = Calendar.getInstance();
-      cal.setTime(dt);
-      cal.add(Calendar.YEAR, years);
-      Date newDate = cal.getTime();
-      newdateStr = StudyMetaDataConstants.SDF_DATE.format(newDate);
+      newdateStr =
+          DateTimeUtil.plus(
+              dtStr, StudyMetaDataConstants.SDF_DATE_PATTERN, years, ChronoUnit.YEARS);
     } catch (ParseException e) {
       LOGGER.error("StudyMetaDataUtil - addYear() - ERROR ", e);
     }
@@ -382,8 +354,8 @@ public class StudyMetaDataUtil {
     LOGGER.info("StudyMetaDataUtil: getDateToSeconds() - Starts ");
     Long getInSeconds = null;
     try {
-      Date dt = StudyMetaDataConstants.SDF_DATE.parse(getCurrentDate);
-      getInSeconds = dt.getTime();
+      getInSeconds =
+          DateTimeUtil.parse(getCurrentDate, StudyMetaDataConstants.SDF_DATE_PATTERN).getTime();
     } catch (ParseException e) {
       LOGGER.error("StudyMetaDataUtil - getDateToSeconds() - ERROR ", e);
     }
@@ -395,10 +367,11 @@ public class StudyMetaDataUtil {
     LOGGER.info("StudyMetaDataUtil: getSecondsToDate() - Starts ");
     String dateText;
     long getLongValue = Long.parseLong(value);
-    Date date = new Date(getLongValue);
-    SimpleDateFormat df2 = new SimpleDateFormat("MM/dd/yyyy"); // yyyy-MM-dd
-    df2.setTimeZone(TimeZone.getTimeZone("America/New_York"));
-    dateText = df2.format(date);
+    dateText =
+        DateTimeUtil.format(
+            new Date(getLongValue),
+            StudyMetaDataConstants.SDF_MMDDYYYY_PATTERN,
+            DateTimeUtil.STUDY_ZONE);
     LOGGER.info("StudyMetaDataUtil: getSecondsToDate() - Ends ");
     return dateText;
   }
@@ -406,9 +379,11 @@ public class StudyMetaDataUtil {
   public static String getToDate(String value) {
     LOGGER.info("StudyMetaDataUtil: getToDate() - Starts ");
     String dateText;
-    SimpleDateFormat df2 = new SimpleDateFormat("yyyy-MM-dd"); // yyyy-MM-dd
-    df2.setTimeZone(TimeZone.getTimeZone("America/New_York"));
-    dateText = df2.format(value);
+    dateText =
+        DateTimeUtil.format(
+            new Date(Long.parseLong(value)),
+            StudyMetaDataConstants.SDF_DATE_PATTERN,
+            DateTimeUtil.STUDY_ZONE);
     LOGGER.info("StudyMetaDataUtil: getToDate() - Ends ");
     return dateText;
   }
@@ -416,15 +391,16 @@ public class StudyMetaDataUtil {
   public static String getCurrentDateTimeInUTC() {
     LOGGER.info("StudyMetaDataUtil: getCurrentDateTimeInUTC() - Starts ");
     String dateNow = null;
-    final SimpleDateFormat sdf = new SimpleDateFormat(StudyMetaDataConstants.SDF_DATE_TIME_PATTERN);
     String timeZone = "UTC";
     try {
       String strDate = new Date() + "";
       if (strDate.indexOf("IST") != -1) {
         timeZone = "IST";
       }
-      sdf.setTimeZone(TimeZone.getTimeZone(timeZone));
-      dateNow = sdf.format(new Date());
+      dateNow =
+          DateTimeUtil.now(
+              StudyMetaDataConstants.SDF_DATE_TIME_PATTERN,
+              TimeZone.getTimeZone(timeZone).toZoneId());
     } catch (Exception e) {
       LOGGER.error("StudyMetaDataUtil: getCurrentDateTimeInUTC(): ERROR " + e);
     }
@@ -527,10 +503,9 @@ public class StudyMetaDataUtil {
     String actualDay = "";
     try {
       if (StringUtils.isNotEmpty(input)) {
-        SimpleDateFormat newDateFormat = new SimpleDateFormat("yyyy-MM-dd");
-        Date MyDate = newDateFormat.parse(input);
-        newDateFormat.applyPattern(StudyMetaDataConstants.SDF_DAY);
-        actualDay = newDateFormat.format(MyDate);
+        actualDay =
+            DateTimeUtil.reformat(
+                input, StudyMetaDataConstants.SDF_DATE_PATTERN, StudyMetaDataConstants.SDF_DAY);
       }
     } catch (Exception e) {
       LOGGER.error("StudyMetaDataUtil - getDayByDate() - ERROR ", e);
@@ -543,12 +518,8 @@ public class StudyMetaDataUtil {
     LOGGER.info("StudyMetaDataUtil: addDaysToDate() - Starts ");
     String output = "";
     try {
-      Date dt = StudyMetaDataConstants.SDF_DATE.parse(input);
-      Calendar cal = Calendar.getInstance();
-      cal.setTime(dt);
-      cal.add(Calendar.DATE, days);
-      Date newDate = cal.getTime();
-      output = StudyMetaDataConstants.SDF_DATE.format(newDate);
+      output =
+          DateTimeUtil.plus(input, StudyMetaDataConstants.SDF_DATE_PATTERN, days, ChronoUnit.DAYS);
     } catch (ParseException e) {
       LOGGER.error("StudyMetaDataUtil - addDaysToDate() - ERROR ", e);
     }
@@ -560,12 +531,9 @@ public class StudyMetaDataUtil {
     LOGGER.info("StudyMetaDataUtil: addWeeksToDate() - Starts ");
     String output = "";
     try {
-      Date dt = StudyMetaDataConstants.SDF_DATE.parse(input);
-      Calendar cal = Calendar.getInstance();
-      cal.setTime(dt);
-      cal.add(Calendar.WEEK_OF_MONTH, weeks);
-      Date newDate = cal.getTime();
-      output = StudyMetaDataConstants.SDF_DATE.format(newDate);
+      output =
+          DateTimeUtil.plus(
+              input, StudyMetaDataConstants.SDF_DATE_PATTERN, weeks, ChronoUnit.WEEKS);
     } catch (ParseException e) {
       LOGGER.error("StudyMetaDataUtil - addWeeksToDate() - ERROR ", e);
     }
@@ -577,12 +545,9 @@ public class StudyMetaDataUtil {
     LOGGER.info("StudyMetaDataUtil: addMonthsToDate() - Starts ");
     String output = "";
     try {
-      Date dt = StudyMetaDataConstants.SDF_DATE.parse(input);
-      Calendar cal = Calendar.getInstance();
-      cal.setTime(dt);
-      cal.add(Calendar.MONTH, months);
-      Date newDate = cal.getTime();
-      output = StudyMetaDataConstants.SDF_DATE.format(newDate);
+      output =
+          DateTimeUtil.plus(
+              input, StudyMetaDataConstants.SDF_DATE_PATTERN, months, ChronoUnit.MONTHS);
     } catch (ParseException e) {
       LOGGER.error("StudyMetaDataUtil - addMonthsToDate() - ERROR ", e);
     }
@@ -596,10 +561,7 @@ public class StudyMetaDataUtil {
     String output = "";
     try {
       if (StringUtils.isNotEmpty(input)) {
-        SimpleDateFormat inputSDF = new SimpleDateFormat(inputFormat);
-        Date inputDate = inputSDF.parse(input);
-        SimpleDateFormat outputSDF = new SimpleDateFormat(outputFormat);
-        output = outputSDF.format(inputDate);
+        output = DateTimeUtil.reformat(input, inputFormat, outputFormat);
       }
     } catch (Exception e) {
       LOGGER.error("AuthenticationService - getFormattedDateTimeZone() :: ERROR", e);
@@ -612,13 +574,9 @@ public class StudyMetaDataUtil {
     LOGGER.info("StudyMetaDataUtil: addSeconds() - Starts ");
     String newdateStr = "";
     try {
-      SimpleDateFormat date = new SimpleDateFormat(StudyMetaDataConstants.SDF_DATE_TIME_PATTERN);
-      Date dt = date.parse(dtStr);
-      Calendar cal = Calendar.getInstance();
-      cal.setTime(dt);
-      cal.add(Calendar.SECOND, seconds);
-      Date newDate = cal.getTime();
-      newdateStr = date.format(newDate);
+      newdateStr =
+          DateTimeUtil.plus(
+              dtStr, StudyMetaDataConstants.SDF_DATE_TIME_PATTERN, seconds, ChronoUnit.SECONDS);
     } catch (ParseException e) {
       LOGGER.error("AuthenticationService - addSeconds() :: ERROR", e);
     }
@@ -629,8 +587,7 @@ public class StudyMetaDataUtil {
   public static String getMilliSecondsForImagePath() {
     LOGGER.info("StudyMetaDataUtil: getMilliSecondsForImagePath() - Starts ");
     String milliSeconds;
-    Calendar cal = Calendar.getInstance();
-    milliSeconds = "?v=" + cal.getTimeInMillis();
+    milliSeconds = "?v=" + System.currentTimeMillis();
     LOGGER.info("StudyMetaDataUtil: getMilliSecondsForImagePath() - Ends ");
     return milliSeconds;
   }
@@ -670,6 +627,50 @@ public class StudyMetaDataUtil {
     return newActivityId;
   }
 
+  /**
+   * Encodes a one-decimal version (e.g. 1.3) as the integer stored in the indexed version_key
+   * columns (e.g. 13).
+   */
+  public static Integer getVersionKey(Float version) {
+    return version == null
+        ? null
+        : Math.round(version.floatValue() * StudyMetaDataConstants.VERSION_KEY_SCALE);
+  }
+
+  public static Integer getVersionKey(String version) {
+    return StringUtils.isEmpty(version) ? null : getVersionKey(Float.valueOf(version));
+  }
+
+  /**
+   * Returns true when the request was made from this host. A reverse proxy on the same host also
+   * connects from a loopback address, so every client it lists in the X-Forwarded-For header has to
+   * be a loopback address too. Requests relayed by a same-host proxy that does not set that header
+   * cannot be told apart from local ones.
+   */
+  public static boolean isLocalRequest(String remoteAddress, String forwardedFor) {
+    if (!isLoopbackAddress(remoteAddress)) {
+      return false;
+    }
+    if (StringUtils.isNotBlank(forwardedFor)) {
+      for (String forwardedAddress : forwardedFor.split(",")) {
+        if (!isLoopbackAddress(forwardedAddress.trim())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static boolean isLoopbackAddress(String remoteAddress) {
+    try {
+      return StringUtils.isNotEmpty(remoteAddress)
+          && InetAddress.getByName(remoteAddress).isLoopbackAddress();
+    } catch (UnknownHostException e) {
+      LOGGER.error("StudyMetaDataUtil - isLoopbackAddress() :: ERROR ", e);
+      return false;
+    }
+  }
+
   // Get the day for the WeekName
   public static int getDayName(String dayName) {
     int day = 0;
@@ -775,7 +776,9 @@ public class StudyMetaDataUtil {
       fileName =
           new StringBuilder()
               .append("FDAHPHCI_")
-              .append(new SimpleDateFormat("MMddyyyyHHmmss").format(new Date()))
+              .append(
+                  DateTimeUtil.format(
+                      new Date(), StudyMetaDataConstants.SDF_FILE_NAME_TIMESTAMP_PATTERN))
               .append("_")
               .append(studyId)
               .append("_")
@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2017-2018 Harvard Pilgrim Health Care Institute (HPHCI) and its Contributors.
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * Funding Source: Food and Drug Administration ("Funding Agency") effective 18 September 2014 as Contract no.
+ * HHSF22320140030I/HHSF22301006T (the "Prime Contract").
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.hphc.mystudies.web.servlet;
+
+import com.hphc.mystudies.util.RequestMetricsRegistry;
+import com.hphc.mystudies.util.RequestSpan;
+import java.io.IOException;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+
+/** Opens a request span around every call and records it in the per-endpoint histograms. */
+public class RequestTimingFilter implements Filter {
+
+  private static final Logger LOGGER = Logger.getLogger(RequestTimingFilter.class);
+
+  @Override
+  public void init(FilterConfig filterConfig) throws ServletException {}
+
+  @Override
+  public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+      throws IOException, ServletException {
+    if (!(request instanceof HttpServletRequest)) {
+      chain.doFilter(request, response);
+      return;
+    }
+    HttpServletRequest httpServletRequest = (HttpServletRequest) request;
+    RequestSpan span =
+        RequestSpan.begin(
+            httpServletRequest.getMethod()
+                + " "
+                + StringUtils.defaultIfEmpty(
+                    httpServletRequest.getPathInfo(), httpServletRequest.getServletPath()));
+    int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+    try {
+      chain.doFilter(request, response);
+      status = ((HttpServletResponse) response).getStatus();
+    } finally {
+      RequestSpan.end();
+      RequestMetricsRegistry.record(span, status);
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(
+            "RequestTimingFilter - doFilter() :: "
+                + span.getEndpoint()
+                + " "
+                + status
+                + " "
+                + span.toServerTiming());
+      }
+    }
+  }
+
+  @Override
+  public void destroy() {}
+}
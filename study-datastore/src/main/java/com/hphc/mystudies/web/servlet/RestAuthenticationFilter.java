@@ -72,6 +72,8 @@ public class RestAuthenticationFilter implements Filter {
           || StudyMetaDataConstants.INTERCEPTOR_URL_APP_VERSION.equalsIgnoreCase(
               httpServletRequest.getPathInfo())
           || StudyMetaDataConstants.INTERCEPTOR_URL_DB_QUERY.equalsIgnoreCase(
+              httpServletRequest.getPathInfo())
+          || StudyMetaDataConstants.INTERCEPTOR_URL_METRICS.equalsIgnoreCase(
               httpServletRequest.getPathInfo())) {
         filter.doFilter(request, response);
       } else {
@@ -20,17 +20,36 @@
  * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
  * OTHER DEALINGS IN THE SOFTWARE.
  */
+
 package com.hphc.mystudies.web.servlet;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
 import org.apache.log4j.Logger;
 
 public class StudyMetaDataController extends HttpServlet {
@@ -39,22 +58,83 @@ public class StudyMetaDataController extends HttpServlet {
 
   private static final long serialVersionUID = 1L;
 
+  private static final int BUFFER_SIZE = 8192;
+
+  private static final int DEFAULT_MAX_CONNECTIONS = 50;
+
+  private static final int DEFAULT_TIMEOUT_MILLIS = 30000;
+
+  /* Connection-level headers that must not be relayed between hops (RFC 7230, 6.1). */
+  private static final Set<String> HOP_BY_HOP_HEADERS =
+      new HashSet<>(
+          Arrays.asList(
+              "connection",
+              "keep-alive",
+              "proxy-authenticate",
+              "proxy-authorization",
+              "te",
+              "trailer",
+              "transfer-encoding",
+              "upgrade",
+              "host",
+              "content-length"));
+
   private String port = "";
 
   private String forwardURL = "";
 
+  private transient CloseableHttpClient httpClient;
+
+  private transient PoolingHttpClientConnectionManager connectionManager;
+
   @Override
   public void init(ServletConfig servletConfig) throws ServletException {
     LOGGER.info("INFO: StudyMetaDataController - init() :: Starts");
     super.init(servletConfig);
+    forwardURL = StringUtils.defaultString(servletConfig.getInitParameter("forwardURL"));
+    port = StringUtils.defaultString(servletConfig.getInitParameter("port"));
+    int maxConnections =
+        getIntInitParameter(servletConfig, "maxConnections", DEFAULT_MAX_CONNECTIONS);
+    int timeout = getIntInitParameter(servletConfig, "timeoutMillis", DEFAULT_TIMEOUT_MILLIS);
+
+    connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(maxConnections);
+    connectionManager.setDefaultMaxPerRoute(maxConnections);
+    RequestConfig requestConfig =
+        RequestConfig.custom()
+            .setConnectTimeout(timeout)
+            .setConnectionRequestTimeout(timeout)
+            .setSocketTimeout(timeout)
+            .build();
+    httpClient =
+        HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .disableContentCompression()
+            .disableRedirectHandling()
+            .build();
     LOGGER.info("INFO: StudyMetaDataController - init() :: Ends");
   }
 
+  @Override
+  public void destroy() {
+    LOGGER.info("INFO: StudyMetaDataController - destroy() :: Starts");
+    try {
+      if (httpClient != null) {
+        httpClient.close();
+      }
+    } catch (IOException e) {
+      LOGGER.error("StudyMetaDataController - destroy() :: ERROR", e);
+    }
+    super.destroy();
+    LOGGER.info("INFO: StudyMetaDataController - destroy() :: Ends");
+  }
+
   @Override
   public void doGet(HttpServletRequest req, HttpServletResponse resp)
       throws ServletException, IOException {
     LOGGER.info("INFO: StudyMetaDataController - doGet() :: Starts");
-    doPost(req, resp);
+    forward(req, resp, new HttpGet(getTargetURL(req)));
     LOGGER.info("INFO: StudyMetaDataController - doGet() :: Ends");
   }
 
@@ -62,47 +142,121 @@ public class StudyMetaDataController extends HttpServlet {
   public void doPost(HttpServletRequest req, HttpServletResponse resp)
       throws ServletException, IOException {
     LOGGER.info("INFO: StudyMetaDataController - doPost() :: Starts");
-    String jsonp_callback = null;
-    String localForwardURL = forwardURL;
-    URL URL = new URL(localForwardURL);
-    HttpURLConnection urlConnection = (HttpURLConnection) URL.openConnection();
-    BufferedInputStream buffer = new BufferedInputStream(urlConnection.getInputStream());
-    StringBuilder builder = new StringBuilder();
-    int byteRead;
-    try {
-      jsonp_callback = (String) req.getSession().getServletContext().getAttribute("jsonp.callback");
-    } catch (Exception e) {
-      LOGGER.error(
-          "StudyMetaDataController - doPost() :: ERROR ==> jsonp_callback key is missing... ", e);
+    HttpPost httpPost = new HttpPost(getTargetURL(req));
+    httpPost.setEntity(new InputStreamEntity(req.getInputStream(), req.getContentLength()));
+    forward(req, resp, httpPost);
+    LOGGER.info("INFO: StudyMetaDataController - doPost() :: Ends ");
+  }
+
+  /**
+   * Builds the upstream URL from the configured forward URL, optional port and the incoming
+   * request path before any connection is opened.
+   */
+  private String getTargetURL(HttpServletRequest req) {
+    StringBuilder targetURL = new StringBuilder(forwardURL);
+    if (StringUtils.isNumeric(port)) {
+      targetURL.append(':').append(port);
     }
+    targetURL.append(req.getContextPath()).append(StringUtils.defaultString(req.getPathInfo()));
+    if (StringUtils.isNotEmpty(req.getQueryString())) {
+      targetURL.append('?').append(req.getQueryString());
+    }
+    return targetURL.toString();
+  }
 
-    try {
-      localForwardURL +=
-          ":"
-              + new Integer(port).toString()
-              + req.getContextPath()
-              + req.getPathInfo()
-              + "?"
-              + req.getQueryString();
-    } catch (NumberFormatException e) {
-      localForwardURL += req.getContextPath() + req.getPathInfo() + "?" + req.getQueryString();
+  /**
+   * Relays the request upstream over a pooled keep-alive connection and streams the upstream
+   * status, headers and body back to the client, optionally wrapped in a JSONP callback.
+   */
+  private void forward(
+      HttpServletRequest req, HttpServletResponse resp, HttpRequestBase upstreamRequest)
+      throws IOException {
+    String jsonpCallback = getJsonpCallback(req);
+    Enumeration<String> headerNames = req.getHeaderNames();
+    while (headerNames.hasMoreElements()) {
+      String headerName = headerNames.nextElement();
+      if (HOP_BY_HOP_HEADERS.contains(headerName.toLowerCase())
+          || (jsonpCallback != null && HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(headerName))) {
+        // the JSONP callback wraps the body as it is, so it must come back uncompressed
+        continue;
+      }
+      Enumeration<String> headerValues = req.getHeaders(headerName);
+      while (headerValues.hasMoreElements()) {
+        upstreamRequest.addHeader(headerName, headerValues.nextElement());
+      }
     }
 
-    while ((byteRead = buffer.read()) != -1) {
-      builder.append((char) byteRead);
+    try (CloseableHttpResponse upstreamResponse = httpClient.execute(upstreamRequest)) {
+      resp.setStatus(upstreamResponse.getStatusLine().getStatusCode());
+      for (Header header : upstreamResponse.getAllHeaders()) {
+        if (!HOP_BY_HOP_HEADERS.contains(header.getName().toLowerCase())) {
+          resp.addHeader(header.getName(), header.getValue());
+        }
+      }
+
+      HttpEntity entity = upstreamResponse.getEntity();
+      if (entity == null) {
+        return;
+      }
+      if (jsonpCallback == null && entity.getContentLength() >= 0) {
+        resp.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(entity.getContentLength()));
+      }
+
+      OutputStream out = resp.getOutputStream();
+      try (InputStream in = entity.getContent()) {
+        if (jsonpCallback != null) {
+          out.write((jsonpCallback + "(").getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int bytesRead;
+        long totalBytes = 0;
+        while ((bytesRead = in.read(buffer)) != -1) {
+          out.write(buffer, 0, bytesRead);
+          totalBytes += bytesRead;
+        }
+        if (jsonpCallback != null) {
+          out.write(")".getBytes(StandardCharsets.UTF_8));
+        }
+        out.flush();
+        LOGGER.debug(
+            "StudyMetaDataController - forward() :: "
+                + upstreamRequest.getMethod()
+                + " "
+                + upstreamRequest.getURI()
+                + " -> "
+                + upstreamResponse.getStatusLine().getStatusCode()
+                + " ("
+                + totalBytes
+                + " bytes)");
+      } finally {
+        EntityUtils.consumeQuietly(entity);
+      }
     }
-    buffer.close();
-    LOGGER.info(
-        "INFO: StudyMetaDataController - doPost() :: HttpURLConnection.response = " + builder);
-    if (req.getParameter(jsonp_callback) != null) {
-      if (req.getPathInfo().indexOf("/json") != -1) {
-        resp.getWriter().write(req.getParameter(jsonp_callback) + "(" + builder.toString() + ")");
-      } else {
-        resp.getWriter().write(builder.toString());
+  }
+
+  /**
+   * Returns the JSONP callback to wrap the response in, or null when the request is not a JSONP
+   * request for a JSON resource.
+   */
+  private String getJsonpCallback(HttpServletRequest req) {
+    try {
+      String callbackParameter = (String) getServletContext().getAttribute("jsonp.callback");
+      if (StringUtils.isNotEmpty(callbackParameter)
+          && StringUtils.isNotEmpty(req.getParameter(callbackParameter))
+          && StringUtils.contains(req.getPathInfo(), "/json")) {
+        return req.getParameter(callbackParameter);
       }
-    } else {
-      resp.getWriter().write(builder.toString());
+    } catch (Exception e) {
+      LOGGER.error(
+          "StudyMetaDataController - getJsonpCallback() :: ERROR ==> jsonp_callback key is missing",
+          e);
     }
-    LOGGER.info("INFO: StudyMetaDataController - doPost() :: Ends ");
+    return null;
+  }
+
+  private static int getIntInitParameter(
+      ServletConfig servletConfig, String name, int defaultValue) {
+    String value = servletConfig.getInitParameter(name);
+    return StringUtils.isNumeric(value) ? Integer.parseInt(value) : defaultValue;
   }
 }